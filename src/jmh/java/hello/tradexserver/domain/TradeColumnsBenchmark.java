@@ -0,0 +1,126 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.MarketCondition;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.domain.enums.PositionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 리스크/전략 전체 재계산 — 엔티티 순회(기존) vs 열 지향 스냅샷(TradeColumns).
+ * 쿼리 이후 in-memory 구간만 측정한다. ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TradeColumnsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int trades;
+
+    private List<Position> positions;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] symbols = {"BTCUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT", "DOGEUSDT", "BNBUSDT"};
+        ExchangeName[] exchanges = ExchangeName.values();
+        MarketCondition[] conditions = MarketCondition.values();
+        List<String> indicators = List.of("RSI", "MACD", "BB", "EMA");
+
+        positions = new ArrayList<>(trades);
+        LocalDateTime entry = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < trades; i++) {
+            entry = entry.plusMinutes(random.nextInt(20));
+            TradingJournal journal = random.nextInt(3) == 0 ? null : TradingJournal.builder()
+                    .entryReason(random.nextBoolean() ? "돌파" : null)
+                    .indicators(new ArrayList<>(List.of(indicators.get(random.nextInt(4)), indicators.get(random.nextInt(4)))))
+                    .build();
+            positions.add(Position.builder()
+                    .id((long) i)
+                    .exchangeName(exchanges[random.nextInt(exchanges.length)])
+                    .symbol(symbols[random.nextInt(symbols.length)])
+                    .side(random.nextBoolean() ? PositionSide.LONG : PositionSide.SHORT)
+                    .avgEntryPrice(new BigDecimal("100"))
+                    .avgExitPrice(BigDecimal.valueOf(9_500 + random.nextInt(1_000), 2))
+                    .stopLossPrice(random.nextBoolean() ? new BigDecimal("97") : null)
+                    .targetPrice(random.nextBoolean() ? new BigDecimal("104") : null)
+                    .realizedPnl(BigDecimal.valueOf(random.nextInt(200_001) - 100_000, 4))
+                    .entryTime(entry)
+                    .exitTime(entry.plusMinutes(1 + random.nextInt(30)))
+                    .marketCondition(conditions[random.nextInt(conditions.length)])
+                    .status(PositionStatus.CLOSED)
+                    .tradingJournal(journal)
+                    .build());
+        }
+    }
+
+    /**
+     * 기존 재계산 — 포지션별 기여분 생성 후 전 거래소/거래소별 RiskPattern에 반영
+     */
+    @Benchmark
+    public List<RiskPattern> riskEntityPass() {
+        RiskPattern all = RiskPattern.builder().build();
+        Map<ExchangeName, RiskPattern> byExchange = new EnumMap<>(ExchangeName.class);
+        for (RiskContribution contribution : RiskContribution.ofAll(positions, Map.of())) {
+            all.apply(contribution, 1);
+            byExchange.computeIfAbsent(contribution.exchangeName(), ex -> RiskPattern.builder().exchangeName(ex).build())
+                    .apply(contribution, 1);
+        }
+        List<RiskPattern> result = new ArrayList<>(byExchange.values());
+        result.add(all);
+        return result;
+    }
+
+    @Benchmark
+    public List<RiskPattern> riskColumnar() {
+        TradeColumns columns = TradeColumns.of(positions, Map.of());
+        List<RiskPattern> result = new ArrayList<>();
+        for (ExchangeName exchangeName : ExchangeName.values()) {
+            result.add(columns.riskPattern(exchangeName));
+        }
+        result.add(columns.riskPattern(null));
+        return result;
+    }
+
+    /**
+     * 기존 전략 집계 — 전략 키로 groupingBy 후 그룹별 BigDecimal 합산
+     */
+    @Benchmark
+    public List<BigDecimal> strategyEntityPass() {
+        Map<TradeColumns.StrategyKey, List<Position>> grouped = positions.stream()
+                .filter(p -> p.getTradingJournal() != null)
+                .collect(Collectors.groupingBy(p -> new TradeColumns.StrategyKey(
+                        p.getTradingJournal().getIndicators().stream().sorted().toList(),
+                        List.of(), List.of(), p.getSide(), p.getMarketCondition())));
+        List<BigDecimal> sums = new ArrayList<>(grouped.size());
+        for (List<Position> group : grouped.values()) {
+            sums.add(group.stream()
+                    .map(p -> p.getRealizedPnl() != null ? p.getRealizedPnl() : BigDecimal.ZERO)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+        return sums;
+    }
+
+    @Benchmark
+    public List<TradeColumns.StrategyStats> strategyColumnar() {
+        return TradeColumns.of(positions, Map.of()).strategyStats();
+    }
+}
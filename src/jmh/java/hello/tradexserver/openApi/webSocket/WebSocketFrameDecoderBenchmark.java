@@ -0,0 +1,211 @@
+package hello.tradexserver.openApi.webSocket;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.openApi.webSocket.dto.BinanceAccountUpdateData;
+import hello.tradexserver.openApi.webSocket.dto.BinanceOrderUpdateData;
+import hello.tradexserver.openApi.webSocket.dto.BitgetOrderData;
+import hello.tradexserver.openApi.webSocket.dto.BitgetOrderMessage;
+import hello.tradexserver.openApi.webSocket.dto.BitgetPositionData;
+import hello.tradexserver.openApi.webSocket.dto.BitgetPositionMessage;
+import hello.tradexserver.openApi.webSocket.dto.BybitOrderData;
+import hello.tradexserver.openApi.webSocket.dto.BybitOrderMessage;
+import hello.tradexserver.openApi.webSocket.dto.BybitPositionData;
+import hello.tradexserver.openApi.webSocket.dto.BybitPositionMessage;
+import hello.tradexserver.openApi.webSocket.dto.WebSocketFrame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 프레임 디코딩 — readTree 후 readValue 재파싱(기존) vs WebSocketFrameDecoder 단일 스트리밍 패스.
+ * 캡처 파일(WebSocketFrameLog)을 지정하면 실제 프레임을, 없으면 거래소별 대표 프레임을 사용한다.
+ * ./gradlew jmh (캡처 파일은 jmh { benchmarkParameters = [captureFile: ...] }로 지정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WebSocketFrameDecoderBenchmark {
+
+    // WebSocketFrameLog 캡처 파일 경로 (빈 값이면 내장 샘플 프레임)
+    @Param({""})
+    private String captureFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final WebSocketFrameDecoder decoder = new WebSocketFrameDecoder(objectMapper);
+
+    private List<WebSocketFrameLog.Frame> frames;
+
+    private JavaType bybitPositionList;
+    private JavaType bybitOrderList;
+    private JavaType bitgetPositionList;
+    private JavaType bitgetOrderList;
+    private JavaType binanceAccountUpdate;
+    private JavaType binanceOrderUpdate;
+
+    @Setup
+    public void setUp() throws IOException {
+        bybitPositionList = decoder.listType(BybitPositionData.class);
+        bybitOrderList = decoder.listType(BybitOrderData.class);
+        bitgetPositionList = decoder.listType(BitgetPositionData.class);
+        bitgetOrderList = decoder.listType(BitgetOrderData.class);
+        binanceAccountUpdate = decoder.type(BinanceAccountUpdateData.class);
+        binanceOrderUpdate = decoder.type(BinanceOrderUpdateData.class);
+
+        frames = captureFile.isEmpty() ? sampleFrames() : readCapture(Path.of(captureFile));
+    }
+
+    /**
+     * 기존 경로 — 라우팅용 readTree 후 payload 프레임은 메시지 전체를 DTO로 다시 파싱
+     */
+    @Benchmark
+    public void treeThenReadValue(Blackhole blackhole) throws IOException {
+        for (WebSocketFrameLog.Frame frame : frames) {
+            String message = frame.message();
+            JsonNode node = objectMapper.readTree(message);
+            Object payload = switch (frame.exchange()) {
+                case BYBIT -> {
+                    String topic = node.path("topic").asText("");
+                    if (topic.startsWith("position")) yield objectMapper.readValue(message, BybitPositionMessage.class);
+                    if (topic.startsWith("order")) yield objectMapper.readValue(message, BybitOrderMessage.class);
+                    yield node;
+                }
+                case BITGET -> {
+                    if (node.has("event")) yield node;
+                    String channel = node.path("arg").path("channel").asText("");
+                    if ("positions".equals(channel)) yield objectMapper.readValue(message, BitgetPositionMessage.class);
+                    if ("orders".equals(channel)) yield objectMapper.readValue(message, BitgetOrderMessage.class);
+                    yield node;
+                }
+                case BINANCE -> {
+                    String event = node.path("e").asText("");
+                    if ("ACCOUNT_UPDATE".equals(event)) yield objectMapper.treeToValue(node.get("a"), BinanceAccountUpdateData.class);
+                    if ("ORDER_TRADE_UPDATE".equals(event)) yield objectMapper.treeToValue(node.get("o"), BinanceOrderUpdateData.class);
+                    yield node;
+                }
+            };
+            blackhole.consume(payload);
+        }
+    }
+
+    @Benchmark
+    public void streamingDecoder(Blackhole blackhole) throws IOException {
+        for (WebSocketFrameLog.Frame frame : frames) {
+            WebSocketFrame decoded = switch (frame.exchange()) {
+                case BYBIT -> decoder.decode(frame.message(), this::resolveBybit);
+                case BITGET -> decoder.decode(frame.message(), this::resolveBitget);
+                case BINANCE -> decoder.decode(frame.message(), this::resolveBinance);
+            };
+            blackhole.consume(decoded);
+        }
+    }
+
+    // 각 WebSocket 클라이언트의 resolvePayloadType과 동일
+    private JavaType resolveBybit(String field, WebSocketFrame frame) {
+        if (!"data".equals(field) || frame.getTopic() == null) return null;
+        if (frame.getTopic().startsWith("position")) return bybitPositionList;
+        if (frame.getTopic().startsWith("order")) return bybitOrderList;
+        return null;
+    }
+
+    private JavaType resolveBitget(String field, WebSocketFrame frame) {
+        if (!"data".equals(field) || frame.getEvent() != null) return null;
+        if ("positions".equals(frame.getChannel())) return bitgetPositionList;
+        if ("orders".equals(frame.getChannel())) return bitgetOrderList;
+        return null;
+    }
+
+    private JavaType resolveBinance(String field, WebSocketFrame frame) {
+        if ("a".equals(field) && "ACCOUNT_UPDATE".equals(frame.getEvent())) return binanceAccountUpdate;
+        if ("o".equals(field) && "ORDER_TRADE_UPDATE".equals(frame.getEvent())) return binanceOrderUpdate;
+        return null;
+    }
+
+    private List<WebSocketFrameLog.Frame> readCapture(Path path) throws IOException {
+        List<WebSocketFrameLog.Frame> result = new ArrayList<>();
+        try (WebSocketFrameLog.Reader reader = new WebSocketFrameLog.Reader(path)) {
+            WebSocketFrameLog.Frame frame;
+            while ((frame = reader.next()) != null) {
+                result.add(frame);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 거래소별 대표 프레임 — 체결/포지션 프레임 위주에 제어 응답 일부
+     */
+    private List<WebSocketFrameLog.Frame> sampleFrames() {
+        Map<ExchangeName, List<String>> messages = Map.of(
+                ExchangeName.BYBIT, List.of(
+                        "{\"id\":\"5923240c6880ab-c59f-420b-9adb-3639adc9dd90\",\"topic\":\"order\",\"creationTime\":1672364262474,"
+                                + "\"data\":[{\"symbol\":\"BTCUSDT\",\"orderId\":\"5cf98598-39a7-459e-97bf-76ca765ee020\","
+                                + "\"side\":\"Sell\",\"orderType\":\"Market\",\"price\":\"41800.5\",\"qty\":\"0.01\","
+                                + "\"timeInForce\":\"IOC\",\"orderStatus\":\"Filled\",\"positionIdx\":0,\"reduceOnly\":false,"
+                                + "\"avgPrice\":\"41819.9\",\"cumExecQty\":\"0.01\",\"cumExecValue\":\"418.199\","
+                                + "\"cumExecFee\":\"0.2300095\",\"closedPnl\":\"0\",\"createdTime\":\"1672364262444\","
+                                + "\"updatedTime\":\"1672364262457\",\"category\":\"linear\"}]}",
+                        "{\"id\":\"1003076014fb7eedb-c7e6-45d6-a8c1-270f0169171a\",\"topic\":\"position\",\"creationTime\":1697682317044,"
+                                + "\"data\":[{\"positionIdx\":0,\"tradeMode\":0,\"riskId\":1,\"symbol\":\"BTCUSDT\",\"side\":\"Buy\","
+                                + "\"size\":\"0.01\",\"entryPrice\":\"41819.9\",\"leverage\":\"10\",\"positionValue\":\"418.199\","
+                                + "\"markPrice\":\"41830.1\",\"positionStatus\":\"Normal\",\"unrealisedPnl\":\"0.102\","
+                                + "\"cumRealisedPnl\":\"-0.2300095\",\"createdTime\":\"1676538056258\","
+                                + "\"updatedTime\":\"1697673600012\",\"category\":\"linear\"}]}",
+                        "{\"success\":true,\"ret_msg\":\"pong\",\"conn_id\":\"0970e817-426e-429a-a679-ff7f55e0b16a\",\"op\":\"pong\"}"),
+                ExchangeName.BITGET, List.of(
+                        "{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"orders\",\"instId\":\"default\"},"
+                                + "\"data\":[{\"accBaseVolume\":\"0.01\",\"cTime\":\"1695718781129\",\"clientOid\":\"1\","
+                                + "\"feeDetail\":[{\"feeCoin\":\"USDT\",\"fee\":\"-0.162003\"}],\"fillFee\":\"-0.162003\","
+                                + "\"fillPrice\":\"27000\",\"instId\":\"BTCUSDT\",\"leverage\":\"12\",\"marginCoin\":\"USDT\","
+                                + "\"marginMode\":\"crossed\",\"orderId\":\"1\",\"orderType\":\"market\",\"posMode\":\"hedge_mode\","
+                                + "\"posSide\":\"long\",\"price\":\"0\",\"priceAvg\":\"27000\",\"reduceOnly\":\"no\",\"side\":\"buy\","
+                                + "\"size\":\"0.01\",\"status\":\"filled\",\"tradeSide\":\"open\",\"totalProfits\":\"0\","
+                                + "\"uTime\":\"1695718781146\"}],\"ts\":1695718781206}",
+                        "{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"positions\",\"instId\":\"default\"},"
+                                + "\"data\":[{\"posId\":\"1\",\"instId\":\"BTCUSDT\",\"marginCoin\":\"USDT\",\"marginSize\":\"22.5\","
+                                + "\"marginMode\":\"crossed\",\"holdSide\":\"long\",\"posMode\":\"hedge_mode\",\"total\":\"0.01\","
+                                + "\"available\":\"0.01\",\"openPriceAvg\":\"27000\",\"leverage\":\"12\",\"achievedProfits\":\"0\","
+                                + "\"unrealizedPL\":\"0.3\",\"cTime\":\"1695718781129\",\"uTime\":\"1695718781146\"}],"
+                                + "\"ts\":1695718781206}",
+                        "{\"event\":\"subscribe\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"orders\",\"instId\":\"default\"}}"),
+                ExchangeName.BINANCE, List.of(
+                        "{\"e\":\"ORDER_TRADE_UPDATE\",\"E\":1568879465651,\"T\":1568879465650,\"o\":{\"s\":\"BTCUSDT\","
+                                + "\"c\":\"TEST\",\"S\":\"SELL\",\"o\":\"MARKET\",\"f\":\"GTC\",\"q\":\"0.001\",\"p\":\"0\","
+                                + "\"ap\":\"9910.2\",\"sp\":\"0\",\"x\":\"TRADE\",\"X\":\"FILLED\",\"i\":8886774,\"l\":\"0.001\","
+                                + "\"z\":\"0.001\",\"L\":\"9910.2\",\"N\":\"USDT\",\"n\":\"0.0039\",\"T\":1568879465650,"
+                                + "\"t\":1863,\"b\":\"0\",\"a\":\"9.91\",\"m\":false,\"R\":true,\"wt\":\"CONTRACT_PRICE\","
+                                + "\"ot\":\"MARKET\",\"ps\":\"LONG\",\"cp\":false,\"rp\":\"0.2\"}}",
+                        "{\"e\":\"ACCOUNT_UPDATE\",\"E\":1564745798939,\"T\":1564745798938,\"a\":{\"m\":\"ORDER\","
+                                + "\"B\":[{\"a\":\"USDT\",\"wb\":\"122624.12345678\",\"cw\":\"100.12345678\",\"bc\":\"50.12345678\"}],"
+                                + "\"P\":[{\"s\":\"BTCUSDT\",\"pa\":\"0.001\",\"ep\":\"9910.2\",\"cr\":\"200\",\"up\":\"0.2\","
+                                + "\"mt\":\"isolated\",\"iw\":\"0.00000000\",\"ps\":\"LONG\"}]}}"));
+
+        List<WebSocketFrameLog.Frame> result = new ArrayList<>();
+        long micros = 0;
+        for (int i = 0; i < 100; i++) {
+            for (Map.Entry<ExchangeName, List<String>> entry : messages.entrySet()) {
+                for (String message : entry.getValue()) {
+                    result.add(new WebSocketFrameLog.Frame(micros++, entry.getKey(), 1L, 1L, message));
+                }
+            }
+        }
+        return result;
+    }
+}
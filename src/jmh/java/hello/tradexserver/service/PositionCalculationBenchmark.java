@@ -0,0 +1,153 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.common.util.FixedPoint;
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.enums.PositionEffect;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.domain.enums.PositionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포지션 재계산 — BigDecimal 스트림(기존) vs scaled long 단일 순회(FixedPoint).
+ * 가중평균은 BigDecimal 곱/나눗셈(기존) vs FixedPoint long 커널을 함께 비교한다. ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PositionCalculationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int orders;
+
+    private final PositionCalculationService calculationService = new PositionCalculationService();
+
+    private List<Order> orderList;
+    private BigDecimal[] prices;
+    private BigDecimal[] quantities;
+    private long[] scaledPrices;
+    private long[] scaledQuantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        orderList = new ArrayList<>(orders);
+        prices = new BigDecimal[orders];
+        quantities = new BigDecimal[orders];
+        scaledPrices = new long[orders];
+        scaledQuantities = new long[orders];
+        for (int i = 0; i < orders; i++) {
+            BigDecimal price = BigDecimal.valueOf(4_000_000 + random.nextInt(200_000), 2);
+            BigDecimal qty = BigDecimal.valueOf(1 + random.nextInt(10_000), 4);
+            prices[i] = price;
+            quantities[i] = qty;
+            scaledPrices[i] = FixedPoint.toScaled(price);
+            scaledQuantities[i] = FixedPoint.toScaled(qty);
+            orderList.add(Order.builder()
+                    .positionEffect(random.nextInt(3) == 0 ? PositionEffect.OPEN : PositionEffect.CLOSE)
+                    .filledPrice(price)
+                    .filledQuantity(qty)
+                    .cumExecFee(BigDecimal.valueOf(random.nextInt(10_000), 4))
+                    .realizedPnl(BigDecimal.valueOf(random.nextInt(2_000_001) - 1_000_000, 4))
+                    .build());
+        }
+    }
+
+    /**
+     * 기존 재계산 — 진입/청산 필터 후 항목별 스트림 합산
+     */
+    @Benchmark
+    public Position recalculateStreams() {
+        List<Order> entryOrders = orderList.stream()
+                .filter(o -> o.getPositionEffect() == PositionEffect.OPEN)
+                .toList();
+        List<Order> exitOrders = orderList.stream()
+                .filter(o -> o.getPositionEffect() == PositionEffect.CLOSE)
+                .toList();
+
+        BigDecimal closedSize = exitOrders.stream()
+                .map(Order::getFilledQuantity)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal closedFee = exitOrders.stream()
+                .map(o -> o.getCumExecFee() != null ? o.getCumExecFee() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal avgExitPrice = BigDecimal.ZERO;
+        if (closedSize.compareTo(BigDecimal.ZERO) > 0) {
+            BigDecimal totalNotional = exitOrders.stream()
+                    .map(o -> o.getFilledPrice().multiply(o.getFilledQuantity()))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            avgExitPrice = totalNotional.divide(closedSize, 8, RoundingMode.HALF_UP);
+        }
+        BigDecimal realizedPnl = exitOrders.stream()
+                .map(o -> o.getRealizedPnl() != null ? o.getRealizedPnl() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal openFee = entryOrders.stream()
+                .map(o -> o.getCumExecFee() != null ? o.getCumExecFee() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Position position = newPosition();
+        position.applyMappingResult(avgExitPrice, realizedPnl, closedFee, openFee, closedSize);
+        return position;
+    }
+
+    @Benchmark
+    public Position recalculateScaled() {
+        Position position = newPosition();
+        calculationService.recalculateFromOrders(position, orderList);
+        return position;
+    }
+
+    /**
+     * 기존 addEntry 가중평균 — 오더마다 BigDecimal 곱/합/나눗셈
+     */
+    @Benchmark
+    public BigDecimal weightedAverageDecimal() {
+        BigDecimal avg = prices[0];
+        BigDecimal size = quantities[0];
+        for (int i = 1; i < orders; i++) {
+            BigDecimal next = size.add(quantities[i]);
+            avg = avg.multiply(size).add(prices[i].multiply(quantities[i]))
+                    .divide(next, 8, RoundingMode.HALF_UP);
+            size = next;
+        }
+        return avg;
+    }
+
+    @Benchmark
+    public long weightedAverageScaled() {
+        long avg = scaledPrices[0];
+        long size = scaledQuantities[0];
+        for (int i = 1; i < orders; i++) {
+            long next = size + scaledQuantities[i];
+            avg = FixedPoint.weightedAverage(avg, size, scaledPrices[i], scaledQuantities[i], next);
+            size = next;
+        }
+        return avg;
+    }
+
+    private Position newPosition() {
+        return Position.builder()
+                .symbol("BTCUSDT")
+                .side(PositionSide.LONG)
+                .avgEntryPrice(prices[0])
+                .currentSize(BigDecimal.ZERO)
+                .entryTime(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .status(PositionStatus.OPEN)
+                .build();
+    }
+}
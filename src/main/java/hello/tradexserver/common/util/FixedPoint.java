@@ -0,0 +1,164 @@
+package hello.tradexserver.common.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 소수점 8자리 고정소수점(scaled long) 연산 — 포지션/PnL hot path용.
+ * 엔티티 상태는 DB 컬럼과 같은 BigDecimal로 두고, 계산 구간만 long으로 수행한다.
+ * DB 컬럼(numeric(20,8))과 같은 scale을 쓰므로 BigDecimal 계산과 결과가 정확히 일치한다.
+ * - 값은 "실제값 × 10^8"인 long으로 표현
+ * - 가격×수량 곱(scale 16)은 128bit(hi, lo)로 누적해 오버플로 없이 나눈다
+ * - long 범위를 벗어나거나 소수점 8자리를 넘는 입력은 ArithmeticException → 호출부에서 BigDecimal로 계산
+ */
+public final class FixedPoint {
+
+    public static final int SCALE = 8;
+
+    private static final long HALF_WORD = 1L << 32;
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * BigDecimal → scaled long. 손실 없이 표현할 수 없으면 ArithmeticException
+     */
+    public static long toScaled(BigDecimal value) {
+        return value.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * null은 0으로 취급 (수수료/PnL 누적용)
+     */
+    public static long toScaledOrZero(BigDecimal value) {
+        return value != null ? toScaled(value) : 0L;
+    }
+
+    public static BigDecimal toDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    /**
+     * 가중평균 (p1×q1 + p2×q2) / divisor — scale 8, HALF_UP.
+     * 엔티티 경계(BigDecimal 컬럼)용. long 범위를 벗어나는 입력은 BigDecimal로 동일하게 계산한다.
+     */
+    public static BigDecimal weightedAverage(BigDecimal p1, BigDecimal q1,
+                                             BigDecimal p2, BigDecimal q2, BigDecimal divisor) {
+        try {
+            return toDecimal(weightedAverage(toScaled(p1), toScaled(q1), toScaled(p2), toScaled(q2), toScaled(divisor)));
+        } catch (ArithmeticException e) {
+            return p1.multiply(q1).add(p2.multiply(q2)).divide(divisor, SCALE, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * scaled long 가중평균 — 누적기 없이 지역 변수로 128bit 합을 계산한다 (할당 없음)
+     */
+    public static long weightedAverage(long p1, long q1, long p2, long q2, long divisor) {
+        long lo1 = p1 * q1;
+        long hi1 = Math.multiplyHigh(p1, q1);
+        long lo2 = p2 * q2;
+        long hi2 = Math.multiplyHigh(p2, q2);
+        long lo = lo1 + lo2;
+        long carry = Long.compareUnsigned(lo, lo1) < 0 ? 1 : 0;
+        long hi = Math.addExact(Math.addExact(hi1, hi2), carry);
+        return divide(hi, lo, divisor);
+    }
+
+    /**
+     * 가격×수량 합계 누적기 (scale 16, 128bit 부호 있는 정수)
+     */
+    public static final class Notional {
+
+        private long hi;
+        private long lo;
+
+        public void add(long price, long quantity) {
+            long productLo = price * quantity;
+            long productHi = Math.multiplyHigh(price, quantity);
+            long sumLo = lo + productLo;
+            long carry = Long.compareUnsigned(sumLo, lo) < 0 ? 1 : 0;
+            hi = Math.addExact(Math.addExact(hi, productHi), carry);
+            lo = sumLo;
+        }
+
+        public boolean isZero() {
+            return hi == 0 && lo == 0;
+        }
+
+        /**
+         * 누적값(scale 16) / divisor(scale 8) → scale 8, HALF_UP (BigDecimal.divide와 동일한 반올림)
+         */
+        public long divide(long divisor) {
+            return FixedPoint.divide(hi, lo, divisor);
+        }
+    }
+
+    /**
+     * 128bit 부호 있는 값(hi:lo, scale 16) / divisor(scale 8) → scale 8, HALF_UP
+     */
+    private static long divide(long hi, long lo, long divisor) {
+        if (divisor == 0) throw new ArithmeticException("Division by zero");
+        if (divisor == Long.MIN_VALUE) throw new ArithmeticException("Divisor out of range");
+
+        boolean negative = (hi < 0) != (divisor < 0);
+        long uHi = hi;
+        long uLo = lo;
+        if (uHi < 0) {
+            uLo = -uLo;
+            uHi = ~uHi + (uLo == 0 ? 1 : 0);
+            if (uHi < 0) throw new ArithmeticException("Notional out of range");
+        }
+        long d = Math.abs(divisor);
+        // 몫이 64bit를 넘는 경우
+        if (Long.compareUnsigned(uHi, d) >= 0) throw new ArithmeticException("Quotient out of range");
+
+        long q = divideUnsigned128(uHi, uLo, d);
+        long r = uLo - q * d;
+        // HALF_UP: 나머지가 제수의 절반 이상이면 절댓값 올림 (r < d < 2^63 이므로 r << 1은 넘치지 않음)
+        if (Long.compareUnsigned(r << 1, d) >= 0) {
+            q++;
+        }
+        if (q < 0) throw new ArithmeticException("Quotient out of range");
+        return negative ? -q : q;
+    }
+
+    /**
+     * (uHi:uLo) / d, 부호 없는 128/64 나눗셈 (Hacker's Delight divlu). uHi < d 전제.
+     */
+    private static long divideUnsigned128(long uHi, long uLo, long d) {
+        if (uHi == 0 && uLo >= 0) {
+            return uLo / d;
+        }
+        int shift = Long.numberOfLeadingZeros(d);
+        d <<= shift;
+        long dHi = d >>> 32;
+        long dLo = d & LOW_MASK;
+
+        long un32 = shift == 0 ? uHi : (uHi << shift) | (uLo >>> (64 - shift));
+        long un10 = uLo << shift;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & LOW_MASK;
+
+        long q1 = Long.divideUnsigned(un32, dHi);
+        long rhat = un32 - q1 * dHi;
+        while (Long.compareUnsigned(q1, HALF_WORD) >= 0
+                || Long.compareUnsigned(q1 * dLo, (rhat << 32) + un1) > 0) {
+            q1--;
+            rhat += dHi;
+            if (Long.compareUnsigned(rhat, HALF_WORD) >= 0) break;
+        }
+
+        long un21 = (un32 << 32) + un1 - q1 * d;
+        long q0 = Long.divideUnsigned(un21, dHi);
+        rhat = un21 - q0 * dHi;
+        while (Long.compareUnsigned(q0, HALF_WORD) >= 0
+                || Long.compareUnsigned(q0 * dLo, (rhat << 32) + un0) > 0) {
+            q0--;
+            rhat += dHi;
+            if (Long.compareUnsigned(rhat, HALF_WORD) >= 0) break;
+        }
+        return (q1 << 32) + q0;
+    }
+}
@@ -0,0 +1,26 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 분석 API 결과 캐시 (AnalysisResultCache) — 로컬 + Redis 2단계.
+ * 사용자 데이터 변경 시 사용자 단위로 무효화되므로 TTL은 무효화 메시지 유실 대비 상한이다.
+ */
+@Component
+@ConfigurationProperties(prefix = "analysis.cache")
+@Getter
+@Setter
+public class AnalysisCacheProperties {
+    // false면 항상 계산
+    private boolean enabled = true;
+    // 로컬(노드 메모리) 보관 기간
+    private long localTtlMs = 60000;
+    // 사용자 1명당 로컬 보관 결과 수 — 초과하면 해당 사용자 로컬 캐시를 비운다 (custom 기간 조합 폭주 방지)
+    private int localMaxEntriesPerUser = 64;
+    // Redis 보관 기간 (false면 로컬만 사용)
+    private boolean redisEnabled = true;
+    private long redisTtlMs = 600000;
+}
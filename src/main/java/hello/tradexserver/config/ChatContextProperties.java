@@ -0,0 +1,22 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 채팅 시스템 컨텍스트 사전 계산 (ChatContextService)
+ */
+@Component
+@ConfigurationProperties(prefix = "chat.context")
+@Getter
+@Setter
+public class ChatContextProperties {
+    // 데이터 변경 후 재생성까지 대기 — 동기화 중 연속 변경을 한 번의 재생성으로 묶는다
+    private long refreshDelayMs = 2000;
+    // 재생성 스레드 수 (노드 전체 공유)
+    private int refreshThreads = 2;
+    // 스냅샷/버전 키 보관 기간 — 만료되면 다음 채팅에서 동기 생성
+    private long snapshotTtlHours = 720;
+}
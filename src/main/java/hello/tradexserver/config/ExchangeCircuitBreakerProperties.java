@@ -0,0 +1,25 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.circuit-breaker")
+@Getter
+@Setter
+public class ExchangeCircuitBreakerProperties {
+    // 실패율 계산에 쓰는 최근 호출 수 / 실패율을 판단하기 위한 최소 호출 수
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    // 최근 호출 중 실패(타임아웃, 연결 오류, 5xx) 비율이 이 값(%) 이상이면 차단
+    private int failureRateThreshold = 50;
+    // 차단 유지 시간 — 지나면 시험 호출(half-open)을 허용
+    private long openDurationMs = 30000;
+    // half-open 상태에서 허용하는 시험 호출 수 — 모두 성공하면 차단 해제
+    private int halfOpenProbes = 3;
+    // 거래소별 동시 호출 상한(bulkhead)과 자리가 날 때까지 기다리는 시간
+    private int maxConcurrentCalls = 20;
+    private long maxWaitMs = 200;
+}
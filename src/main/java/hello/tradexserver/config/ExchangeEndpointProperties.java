@@ -0,0 +1,27 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 거래소 REST / WebSocket 접속 주소 — 기본값은 운영(live) 주소.
+ * 데모 트레이딩이나 목(mock) 거래소로 돌릴 때 설정으로 교체한다.
+ */
+@Component
+@ConfigurationProperties(prefix = "exchange.endpoints")
+@Getter
+@Setter
+public class ExchangeEndpointProperties {
+    // demo: https://api-demo.bybit.com/v5, wss://stream-demo.bybit.com/v5/private
+    private String bybitRestUrl = "https://api.bybit.com/v5";
+    private String bybitWsUrl = "wss://stream.bybit.com/v5/private";
+    // testnet: https://testnet.binancefuture.com, wss://fstream.binancefuture.com
+    // WS는 base 주소 — 연결 시 /ws/{listenKey}를 붙인다
+    private String binanceRestUrl = "https://fapi.binance.com";
+    private String binanceWsUrl = "wss://fstream.binance.com";
+    // demo: wss://wspap.bitget.com/v2/ws/private
+    private String bitgetRestUrl = "https://api.bitget.com";
+    private String bitgetWsUrl = "wss://ws.bitget.com/v2/ws/private";
+}
@@ -0,0 +1,35 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 거래소 REST 호출용 HTTP 클라이언트 — 커넥션 풀 / 타임아웃 / 프로토콜 설정.
+ * 거래소 REST 클라이언트와 차트(kline) 조회가 같은 풀을 공유하고,
+ * 리액티브 클라이언트(WebClient)도 같은 타임아웃/커넥션 한도를 따른다.
+ */
+@Component
+@ConfigurationProperties(prefix = "exchange.http")
+@Getter
+@Setter
+public class ExchangeHttpProperties {
+    // TCP + TLS 연결 수립 제한
+    private long connectTimeoutMs = 3000;
+    // 응답 대기(소켓 read) 제한 — 멈춘 소켓이 스레드를 무기한 붙잡지 않도록
+    private long readTimeoutMs = 10000;
+    // 풀에서 커넥션을 빌려오기까지 대기 제한 — 초과하면 풀 포화로 요청 실패
+    private long connectionRequestTimeoutMs = 5000;
+    // 호스트(거래소)별 / 전체 최대 커넥션 수
+    private int maxConnectionsPerHost = 20;
+    private int maxConnectionsTotal = 100;
+    // 서버가 Keep-Alive 헤더를 주지 않을 때 유휴 커넥션 재사용 기간 (이보다 오래 쉰 커넥션은 정리)
+    private long keepAliveMs = 30000;
+    // 커넥션 최대 수명 — 거래소 LB 교체/DNS 변경을 따라가도록 주기적으로 새로 연결
+    private long connectionTtlMs = 300000;
+    // true면 JDK HttpClient(HTTP/2, 미지원 호스트는 HTTP/1.1로 협상)를 사용 — 풀 지표는 진행 중 요청 수만 제공
+    private boolean http2Enabled = false;
+    // 여러 거래소 동시 조회(fan-out) 시 거래소 1건당 응답 제한 — 초과한 거래소는 결과에서 제외
+    private long fanOutTimeoutMs = 5000;
+}
@@ -0,0 +1,43 @@
+package hello.tradexserver.config;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.rate-limit")
+@Getter
+@Setter
+public class ExchangeRateLimitProperties {
+    // apiKey(UID)별 분당 weight 예산 — 거래소 공식 한도보다 여유 있게 설정
+    private Map<ExchangeName, Integer> weightPerMinute = new EnumMap<>(Map.of(
+            ExchangeName.BINANCE, 1200,
+            ExchangeName.BYBIT, 600,
+            ExchangeName.BITGET, 600
+    ));
+    // 노드(IP)별 분당 weight 예산 — 공식 한도: Binance 2400/분, Bybit 600/5초, Bitget 6000/분
+    private Map<ExchangeName, Integer> ipWeightPerMinute = new EnumMap<>(Map.of(
+            ExchangeName.BINANCE, 2000,
+            ExchangeName.BYBIT, 6000,
+            ExchangeName.BITGET, 5000
+    ));
+    // 예산이 모자랄 때 최대 대기 시간 — 초과하면 요청을 보내지 않음
+    private long maxWaitMs = 30000;
+    // 사용자 요청 경로(차트, 자산 조회)의 최대 대기 시간
+    private long interactiveMaxWaitMs = 2000;
+    // 429/418 응답에 Retry-After가 없을 때 해당 거래소 호출을 멈추는 시간
+    private long defaultBackoffMs = 60000;
+
+    public int weightPerMinute(ExchangeName exchangeName) {
+        return weightPerMinute.getOrDefault(exchangeName, 600);
+    }
+
+    public int ipWeightPerMinute(ExchangeName exchangeName) {
+        return ipWeightPerMinute.getOrDefault(exchangeName, 1200);
+    }
+}
@@ -0,0 +1,49 @@
+package hello.tradexserver.config;
+
+import hello.tradexserver.openApi.rest.ExchangeCircuitBreaker;
+import hello.tradexserver.openApi.rest.ExchangeRateLimitInterceptor;
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class ExchangeWebClientConfig {
+
+    /**
+     * 리액티브 거래소 REST 클라이언트 공용 WebClient — 풀/타임아웃은 RestTemplate과 같은 ExchangeHttpProperties.
+     * 커넥션 풀 지표는 reactor.netty.connection.provider.* (name=exchange)로 노출된다.
+     */
+    @Bean
+    public WebClient exchangeWebClient(ExchangeHttpProperties properties,
+                                       ExchangeCircuitBreaker exchangeCircuitBreaker,
+                                       ExchangeRateLimitInterceptor exchangeRateLimitInterceptor) {
+        ConnectionProvider provider = ConnectionProvider.builder("exchange")
+                .maxConnections(properties.getMaxConnectionsPerHost())
+                .pendingAcquireTimeout(Duration.ofMillis(properties.getConnectionRequestTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(properties.getKeepAliveMs()))
+                .maxLifeTime(Duration.ofMillis(properties.getConnectionTtlMs()))
+                .evictInBackground(Duration.ofMillis(properties.getKeepAliveMs()))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(properties.getReadTimeoutMs()));
+        if (properties.isHttp2Enabled()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(exchangeCircuitBreaker.webClientFilter())
+                .filter(exchangeRateLimitInterceptor.webClientFilter())
+                .build();
+    }
+}
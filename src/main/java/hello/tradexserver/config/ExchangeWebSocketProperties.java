@@ -0,0 +1,18 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.websocket")
+@Getter
+@Setter
+public class ExchangeWebSocketProperties {
+    // 모든 거래소 WebSocket 연결이 공유하는 IO 스레드 수 (프레임 수신 콜백 실행)
+    private int ioThreads = 4;
+    // 재연결 백오프, ping, listenKey 연장 등 타이머 작업용 스레드 수
+    private int schedulerThreads = 2;
+    private int connectTimeoutSeconds = 10;
+}
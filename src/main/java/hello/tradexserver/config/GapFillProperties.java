@@ -0,0 +1,17 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.gapfill")
+@Getter
+@Setter
+public class GapFillProperties {
+    // 심볼별 오더 조회를 동시에 실행할 스레드 수 (전체 apiKey 공유)
+    private int threads = 8;
+    // 한 번의 gap fill 전체 대기 상한
+    private long timeoutSeconds = 120;
+}
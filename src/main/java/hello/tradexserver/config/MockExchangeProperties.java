@@ -0,0 +1,30 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 부하 테스트용 목(mock) 거래소 — enabled일 때만 /mock/** 엔드포인트가 뜬다.
+ * exchange.endpoints를 이 서버 주소로 돌리면 실제 거래소 없이 수집 파이프라인 전체를 돌릴 수 있다.
+ */
+@Component
+@ConfigurationProperties(prefix = "exchange.mock")
+@Getter
+@Setter
+public class MockExchangeProperties {
+    private boolean enabled = false;
+    // 전체 계정 합산 초당 체결 수 (요청이 한 번이라도 들어온 계정에 무작위 배분)
+    private double fillsPerSecond = 50;
+    private List<String> symbols = List.of("BTCUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT");
+    // 계정별 보관 체결/청산 이력 수 (REST 조회 대상)
+    private int historyLimit = 1000;
+    // REST 응답 지연 = latencyMs + [0, latencyJitterMs)
+    private long latencyMs = 30;
+    private long latencyJitterMs = 40;
+    // REST 요청 중 rate limit 오류로 응답할 비율 (0.0 ~ 1.0)
+    private double rateLimitErrorRate = 0.0;
+}
@@ -0,0 +1,33 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.ingestion")
+@Getter
+@Setter
+public class OrderIngestionProperties {
+    // 워커(레인) 수: apiKeyId+symbol 해시로 레인을 고정해 키 단위 FIFO 보장
+    private int workers = 8;
+    // 레인별 큐 용량
+    private int queueCapacity = 1000;
+    // 기본은 GAP_FILL — WS IO 스레드는 디코딩/큐 투입만 하고 대기하지 않는다
+    private OverflowPolicy overflowPolicy = OverflowPolicy.GAP_FILL;
+    // BLOCK 정책에서 WS IO 스레드를 최대 얼마나 붙잡을지
+    private long blockTimeoutMs = 200;
+    // 큐 초과로 버린 오더는 이 주기로 REST gap fill 요청
+    private long gapFillDelayMs = 5000;
+    // 마이크로 배치: 첫 오더 이후 batchWindowMs 동안 최대 batchMaxSize건을 모아 저장 (1이면 건별 저장)
+    private int batchMaxSize = 100;
+    private long batchWindowMs = 20;
+
+    public enum OverflowPolicy {
+        // 큐가 찰 때 blockTimeoutMs 동안 대기, 그래도 가득 차면 GAP_FILL로 처리
+        BLOCK,
+        // 즉시 버리고 해당 apiKey를 REST gap fill 대상으로 표시
+        GAP_FILL
+    }
+}
@@ -0,0 +1,15 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.position-events")
+@Getter
+@Setter
+public class PositionEventProperties {
+    // 워커(레인) 수: apiKeyId 해시로 레인을 고정해 키 단위 순서 보장
+    private int workers = 4;
+}
@@ -0,0 +1,22 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "position.recovery")
+@Getter
+@Setter
+public class PositionRecoveryProperties {
+    // 서버 시작 시 미매핑 오더 전체 재구성 실행 여부 (옵트인 — 데이터 복구가 필요한 배포에서만 켠다)
+    // 켜면 부트스트랩이 샤드 배정 후 WebSocket 연결(gap fill) 전에 담당 키만 재구성, 재생 모드에서는 생략
+    private boolean enabled = false;
+    // 동시에 재구성할 apiKey 수 (apiKey 내부는 항상 순차)
+    private int parallelism = 4;
+    // 한 번에 읽어올 미매핑 오더 수
+    private int pageSize = 500;
+    // 진행률/ETA 로그 주기
+    private long progressLogIntervalMs = 10000;
+}
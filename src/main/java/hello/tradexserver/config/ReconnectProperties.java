@@ -0,0 +1,26 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.reconnect")
+@Getter
+@Setter
+public class ReconnectProperties {
+    // 거래소별 초당 재연결/보완 허용 수 (토큰 버킷 충전 속도)
+    private double permitsPerSecondPerExchange = 5;
+    // 거래소별 순간 허용량 (버킷 용량)
+    private int burstPerExchange = 10;
+    // 전체 거래소 합산 초당 허용 수 / 순간 허용량
+    private double globalPermitsPerSecond = 10;
+    private int globalBurst = 20;
+    // 백오프 지연 중 무작위로 흩뿌릴 비율 (0.5 → 지연의 50~100% 사이)
+    private double jitterRatio = 0.5;
+    // 대기열 배출 주기
+    private long dispatchIntervalMs = 100;
+    // 이 시간 안에 오더가 있었던 계정을 우선 처리
+    private long recentActivityWindowMinutes = 60;
+}
@@ -1,5 +1,8 @@
 package hello.tradexserver.config;
 
+import hello.tradexserver.openApi.rest.ExchangeCircuitBreaker;
+import hello.tradexserver.openApi.rest.ExchangeHttpClientFactory;
+import hello.tradexserver.openApi.rest.ExchangeRateLimitInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -7,8 +10,20 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * 거래소 REST 클라이언트와 ChartService가 공유
+     * - 풀/타임아웃: ExchangeHttpProperties
+     * - 거래소별 circuit breaker/bulkhead: ExchangeCircuitBreaker
+     * - 응답 사용량 헤더/429 → rate limiter: ExchangeRateLimitInterceptor
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ExchangeHttpClientFactory exchangeHttpClientFactory,
+                                     ExchangeCircuitBreaker exchangeCircuitBreaker,
+                                     ExchangeRateLimitInterceptor exchangeRateLimitInterceptor) {
+        RestTemplate restTemplate = new RestTemplate(exchangeHttpClientFactory.requestFactory());
+        restTemplate.getInterceptors().add(exchangeHttpClientFactory);
+        restTemplate.getInterceptors().add(exchangeCircuitBreaker);
+        restTemplate.getInterceptors().add(exchangeRateLimitInterceptor);
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
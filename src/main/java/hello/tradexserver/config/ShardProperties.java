@@ -0,0 +1,25 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.shard")
+@Getter
+@Setter
+public class ShardProperties {
+    // false면 단일 노드로 동작 (모든 API Key를 이 노드가 담당, Redis 미사용). 다중 노드 배포에서만 켠다
+    private boolean enabled = false;
+    // apiKeyId를 나눌 샤드 수 — 노드 수보다 충분히 크게, 운영 중 변경 금지
+    private int shardCount = 256;
+    // 노드 식별자 (비어 있으면 hostname + 임의값). 로컬에서 여러 인스턴스를 띄울 때 지정
+    private String nodeId;
+    // 샤드 리스/노드 하트비트 유효 시간 — 이 시간 동안 갱신이 없으면 다른 노드가 인수
+    private long leaseTtlMs = 15000;
+    // 하트비트/리스 갱신/재분배 주기 (leaseTtlMs의 1/3 이하 권장)
+    private long heartbeatIntervalMs = 5000;
+    // 담당 샤드의 활성 키 중 연결이 빠진 것을 보정하는 주기
+    private long reconcileIntervalMs = 60000;
+}
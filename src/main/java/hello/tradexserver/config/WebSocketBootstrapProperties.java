@@ -0,0 +1,21 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.bootstrap")
+@Getter
+@Setter
+public class WebSocketBootstrapProperties {
+    // 활성 API Key를 한 번에 읽어올 개수
+    private int pageSize = 200;
+    // 초당 WebSocket 연결 시도 수 (거래소 연결 한도/DB 부하 보호)
+    private double connectsPerSecond = 20;
+    // 연결 대상 중 이 비율 이상 인증되면 readiness UP
+    private double readyFraction = 0.9;
+    // 이 시간이 지나면 비율과 무관하게 readiness UP (일부 키 장애로 배포가 막히지 않도록)
+    private long readyTimeoutSeconds = 300;
+}
@@ -0,0 +1,21 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.capture")
+@Getter
+@Setter
+public class WebSocketCaptureProperties {
+    // 수신 원본 프레임을 파일로 기록 (재생 하네스 입력용)
+    private boolean enabled = false;
+    // 캡처 파일 디렉터리 — 실행마다 새 파일(ws-frames-<시각>.bin.gz) 생성
+    private String directory = "captures";
+    // 기록 대기 큐 용량 — 초과분은 WS IO 스레드를 막지 않도록 버리고 카운트
+    private int queueCapacity = 100_000;
+    // 파일 flush 주기
+    private long flushIntervalMs = 1000;
+}
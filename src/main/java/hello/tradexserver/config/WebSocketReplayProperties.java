@@ -0,0 +1,24 @@
+package hello.tradexserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "exchange.replay")
+@Getter
+@Setter
+public class WebSocketReplayProperties {
+    // 재생할 캡처 파일 — 지정 시 기동 후 재생 실행 (WebSocket 부트스트랩은 exchange.bootstrap 설정과 무관하게 생략)
+    private String file;
+    // 재생 속도 배수 (1 = 캡처 시각 간격 그대로, 10 = 10배속, 0 이하 = 대기 없이 최대 속도)
+    private double speed = 1.0;
+    // 마지막 프레임 이후 모든 오더 처리 완료를 기다릴 최대 시간
+    private long completionTimeoutSeconds = 120;
+    // 결과 파일 경로 접두사 — <prefix>.report.txt(처리량/지연), <prefix>.positions.txt(최종 포지션, 실행 간 diff용)
+    // 비어 있으면 캡처 파일 경로 사용
+    private String outputPrefix;
+    // 재생 완료 후 애플리케이션 종료
+    private boolean exitOnComplete = true;
+}
@@ -103,6 +103,28 @@ public class Order {
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    // WS 프레임 수신 시각 (epoch millis) — 수집 지연 측정용, 저장하지 않음
+    @Transient
+    private Long receivedAt;
+
+    // WS 프레임 디코딩 완료 시각 (epoch millis) — 수집 지연 측정용, 저장하지 않음
+    @Transient
+    private Long decodedAt;
+
+    /**
+     * WS 프레임 수신 시각 기록 (실시간 수신 오더만 — REST gap fill 오더는 null)
+     */
+    public void markReceived(long receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    /**
+     * WS 프레임 디코딩 완료 시각 기록 — 클라이언트가 decode 직후 찍은 값
+     */
+    public void markDecoded(long decodedAt) {
+        this.decodedAt = decodedAt;
+    }
+
     public void assignToPosition(Position position) {
         this.position = position;
     }
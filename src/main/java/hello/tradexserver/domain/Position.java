@@ -1,5 +1,6 @@
 package hello.tradexserver.domain;
 
+import hello.tradexserver.common.util.FixedPoint;
 import hello.tradexserver.domain.enums.DataSource;
 import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.domain.enums.MappingStatus;
@@ -164,16 +165,15 @@ public class Position extends BaseTimeEntity {
     }
 
     // ============ 오더 기반 포지션 재구성용 도메인 메서드 ============
+    // 상태는 numeric(20,8) 컬럼과 같은 BigDecimal로 유지하고, 가중평균 계산만 FixedPoint(scaled long)로 수행한다
 
     /**
      * 진입 오더 반영: 가중평균 진입가 계산 + currentSize 증가
      */
     public void addEntry(BigDecimal price, BigDecimal qty, BigDecimal fee) {
-        BigDecimal oldNotional = this.avgEntryPrice.multiply(this.currentSize);
-        BigDecimal newNotional = price.multiply(qty);
-        this.currentSize = this.currentSize.add(qty);
-        this.avgEntryPrice = oldNotional.add(newNotional)
-                .divide(this.currentSize, 8, RoundingMode.HALF_UP);
+        BigDecimal prevSize = this.currentSize;
+        this.currentSize = prevSize.add(qty);
+        this.avgEntryPrice = FixedPoint.weightedAverage(this.avgEntryPrice, prevSize, price, qty, this.currentSize);
         this.openFee = (this.openFee != null ? this.openFee : BigDecimal.ZERO)
                 .add(fee != null ? fee : BigDecimal.ZERO);
     }
@@ -183,12 +183,10 @@ public class Position extends BaseTimeEntity {
      */
     public void addPartialClose(BigDecimal price, BigDecimal qty, BigDecimal fee, BigDecimal pnl) {
         BigDecimal prevClosedSize = this.closedSize != null ? this.closedSize : BigDecimal.ZERO;
-        BigDecimal prevExitNotional = (this.avgExitPrice != null ? this.avgExitPrice : BigDecimal.ZERO)
-                .multiply(prevClosedSize);
+        BigDecimal prevAvgExitPrice = this.avgExitPrice != null ? this.avgExitPrice : BigDecimal.ZERO;
 
         this.closedSize = prevClosedSize.add(qty);
-        this.avgExitPrice = prevExitNotional.add(price.multiply(qty))
-                .divide(this.closedSize, 8, RoundingMode.HALF_UP);
+        this.avgExitPrice = FixedPoint.weightedAverage(prevAvgExitPrice, prevClosedSize, price, qty, this.closedSize);
         this.currentSize = this.currentSize.subtract(qty);
         this.closedFee = (this.closedFee != null ? this.closedFee : BigDecimal.ZERO)
                 .add(fee != null ? fee : BigDecimal.ZERO);
@@ -0,0 +1,81 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 종료 포지션 일별 집계 — (사용자, 거래소, 심볼, 종료일) 버킷.
+ * 선물 요약/페어 랭킹/종료 포지션 요약은 포지션 대신 이 행들을 합산한다.
+ * 버킷은 포지션 종료·수정 시 해당 버킷 포지션으로 다시 계산하므로 중복 반영이 없다.
+ */
+@Entity
+@Table(name = "position_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "exchange_name", "symbol", "stat_date"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionDailyRollup extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExchangeName exchangeName;
+
+    @Column(nullable = false, length = 50)
+    private String symbol;
+
+    // 포지션 종료일 (exitTime 기준)
+    @Column(nullable = false, name = "stat_date")
+    private LocalDate statDate;
+
+    private int tradeCount;
+
+    private int winCount;                  // realizedPnl > 0
+
+    private int lossCount;                 // realizedPnl <= 0
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal realizedPnl;
+
+    private int longCount;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal longPnl;
+
+    private int shortCount;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal shortPnl;
+
+    // 거래 규모 (entryPrice * closedSize * leverage)
+    @Column(precision = 30, scale = 8)
+    private BigDecimal volume;
+
+    public void overwrite(PositionDailyRollup source) {
+        this.tradeCount = source.tradeCount;
+        this.winCount = source.winCount;
+        this.lossCount = source.lossCount;
+        this.realizedPnl = source.realizedPnl;
+        this.longCount = source.longCount;
+        this.longPnl = source.longPnl;
+        this.shortCount = source.shortCount;
+        this.shortPnl = source.shortPnl;
+        this.volume = source.volume;
+    }
+}
@@ -0,0 +1,69 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.LedgerEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 포지션 원장 이벤트 — 포지션에 반영된 오더 1건당 1행 (append-only)
+ */
+@Entity
+@Table(
+    name = "position_ledger_events",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_position_ledger_sequence",
+        columnNames = {"position_id", "sequence"}
+    )
+)
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionLedgerEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "position_id", nullable = false)
+    private Position position;
+
+    // 포지션 내 이벤트 순번 (1부터)
+    @Column(nullable = false)
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LedgerEventType eventType;
+
+    // 반영된 오더 (RECALCULATED는 null)
+    private Long orderId;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal price;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal fee;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal realizedPnl;
+
+    private LocalDateTime eventTime;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,74 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.PositionStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 포지션 원장 스냅샷 — sequence 시점까지의 이벤트를 반영한 포지션 상태
+ */
+@Entity
+@Table(
+    name = "position_snapshots",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_position_snapshot_sequence",
+        columnNames = {"position_id", "sequence"}
+    )
+)
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "position_id", nullable = false)
+    private Position position;
+
+    @Column(nullable = false)
+    private Long sequence;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal avgEntryPrice;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal currentSize;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal openFee;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal closedFee;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal closedSize;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal avgExitPrice;
+
+    @Column(precision = 20, scale = 8)
+    private BigDecimal realizedPnl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private PositionStatus status;
+
+    private LocalDateTime exitTime;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
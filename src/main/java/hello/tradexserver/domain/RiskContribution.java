@@ -0,0 +1,228 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.MarketCondition;
+import hello.tradexserver.domain.enums.PositionSide;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종료 포지션 1건이 리스크 집계에 더하는 값.
+ * 직전 포지션과의 관계(재진입, 연속 진입 체인)는 같은 거래소·심볼에서 진입 시각이 앞선
+ * 종료 포지션 최대 3건만 보면 결정되므로, 전체 재계산과 증분 반영이 같은 값을 만든다.
+ */
+public record RiskContribution(
+        ExchangeName exchangeName,
+        BigDecimal pnl,
+        boolean win,
+        boolean loss,
+        boolean unplanned,
+        boolean emotionalReEntry,
+        int impulsiveTrades,
+        boolean slTarget,
+        boolean slViolation,
+        BigDecimal slDelay,
+        boolean tpTarget,
+        boolean earlyTp,
+        boolean addEntry,
+        boolean averagingDown,
+        boolean overconfident,
+        boolean immediateReverse,
+        int entryHour,
+        MarketCondition marketCondition
+) {
+
+    private static final BigDecimal SL_TOLERANCE = new BigDecimal("0.003"); // 0.3%
+    static final long REENTRY_WINDOW_MINUTES = 15;
+    // 뇌동매매 체인 최소 길이
+    static final int IMPULSIVE_CHAIN_LENGTH = 3;
+
+    /**
+     * @param predecessors 같은 거래소·심볼의 앞선 종료 포지션 (가까운 순, 최대 3건)
+     * @param openOrders   진입 오더 (fillTime 순) — 물타기 판단용
+     */
+    public static RiskContribution of(Position p, List<Position> predecessors, List<Order> openOrders) {
+        TradingJournal journal = p.getTradingJournal();
+        BigDecimal pnl = p.getRealizedPnl();
+        boolean win = pnl != null && pnl.compareTo(BigDecimal.ZERO) > 0;
+        boolean loss = pnl != null && pnl.compareTo(BigDecimal.ZERO) < 0;
+        boolean unplanned = journal == null || !StringUtils.hasText(journal.getEntryReason());
+
+        // 직전 포지션과의 관계
+        Position prev = predecessors.isEmpty() ? null : predecessors.get(0);
+        boolean reEntry = prev != null && isReEntry(prev, p);
+        boolean prevLoss = reEntry && prev.getRealizedPnl() != null
+                && prev.getRealizedPnl().compareTo(BigDecimal.ZERO) < 0;
+        boolean prevWin = reEntry && prev.getRealizedPnl() != null
+                && prev.getRealizedPnl().compareTo(BigDecimal.ZERO) > 0;
+
+        // 청산: SL 우선순위 매매일지 stopLoss > Position.stopLossPrice, TP도 동일
+        boolean slTarget = false, slViolation = false, tpTarget = false, earlyTp = false;
+        BigDecimal slDelay = null;
+        if (p.getAvgExitPrice() != null) {
+            BigDecimal sl = journal != null && journal.getStopLoss() != null
+                    ? journal.getStopLoss() : p.getStopLossPrice();
+            if (sl != null) {
+                slTarget = true;
+                if (isSlViolated(p, sl)) {
+                    slViolation = true;
+                    slDelay = calcSlDelay(p, sl);
+                }
+            }
+            BigDecimal tp = journal != null && journal.getTargetPrice() != null
+                    ? journal.getTargetPrice() : p.getTargetPrice();
+            if (tp != null) {
+                tpTarget = true;
+                earlyTp = isEarlyTp(p, tp);
+            }
+        }
+
+        boolean addEntry = openOrders.size() > 1;
+
+        return new RiskContribution(
+                p.getExchangeName(),
+                pnl,
+                win,
+                loss,
+                unplanned,
+                prevLoss && unplanned,
+                impulsiveTrades(p, predecessors),
+                slTarget,
+                slViolation,
+                slDelay,
+                tpTarget,
+                earlyTp,
+                addEntry,
+                addEntry && hasAveragingDown(p, openOrders),
+                prevWin && loss,
+                prevLoss && p.getSide() != prev.getSide(),
+                p.getEntryTime().getHour(),
+                p.getMarketCondition()
+        );
+    }
+
+    /**
+     * 전체 재계산 — positions는 entryTime ASC 정렬
+     */
+    public static List<RiskContribution> ofAll(List<Position> positions, Map<Long, List<Order>> ordersByPosition) {
+        Map<String, List<Position>> predecessorsBySymbol = new HashMap<>();
+        List<RiskContribution> result = new ArrayList<>(positions.size());
+        for (Position p : positions) {
+            List<Position> predecessors = predecessorsBySymbol
+                    .computeIfAbsent(p.getExchangeName() + ":" + p.getSymbol(), k -> new ArrayList<>());
+            result.add(of(p, predecessors, ordersByPosition.getOrDefault(p.getId(), List.of())));
+            predecessors.add(0, p);
+            if (predecessors.size() > IMPULSIVE_CHAIN_LENGTH) predecessors.remove(IMPULSIVE_CHAIN_LENGTH);
+        }
+        return result;
+    }
+
+    /**
+     * 이전 포지션 종료 후 15분 이내 진입
+     */
+    private static boolean isReEntry(Position prev, Position curr) {
+        if (prev.getExitTime() == null) return false;
+        long minutes = Duration.between(prev.getExitTime(), curr.getEntryTime()).toMinutes();
+        return minutes >= 0 && minutes <= REENTRY_WINDOW_MINUTES;
+    }
+
+    /**
+     * 연속 진입 체인에 이 포지션이 붙을 때 늘어나는 뇌동매매 포지션 수
+     * - 체인 길이가 3이 되는 순간 3, 이후 1씩
+     */
+    private static int impulsiveTrades(Position p, List<Position> predecessors) {
+        if (predecessors.isEmpty() || !isReEntry(predecessors.get(0), p)) return 0;
+
+        int prevChainLen = 1;
+        for (int i = 1; i < predecessors.size() && prevChainLen < IMPULSIVE_CHAIN_LENGTH; i++) {
+            if (!isReEntry(predecessors.get(i), predecessors.get(i - 1))) break;
+            prevChainLen++;
+        }
+        int chainLen = prevChainLen + 1;
+        if (chainLen == IMPULSIVE_CHAIN_LENGTH) return IMPULSIVE_CHAIN_LENGTH;
+        return chainLen > IMPULSIVE_CHAIN_LENGTH ? 1 : 0;
+    }
+
+    /**
+     * SL 미준수 판단 (0.3% 허용 오차)
+     * LONG: 실제 청산가 < SL * (1 - 0.003)
+     * SHORT: 실제 청산가 > SL * (1 + 0.003)
+     */
+    static boolean isSlViolated(Position p, BigDecimal sl) {
+        BigDecimal exit = p.getAvgExitPrice();
+        if (p.getSide() == PositionSide.LONG) {
+            return exit.compareTo(sl.multiply(BigDecimal.ONE.subtract(SL_TOLERANCE))) < 0;
+        } else {
+            return exit.compareTo(sl.multiply(BigDecimal.ONE.add(SL_TOLERANCE))) > 0;
+        }
+    }
+
+    /**
+     * 손절 지연 오차율 (%)
+     * LONG: (exit - sl) / sl * 100 → 음수
+     * SHORT: (sl - exit) / sl * 100 → 음수
+     */
+    static BigDecimal calcSlDelay(Position p, BigDecimal sl) {
+        if (sl.compareTo(BigDecimal.ZERO) == 0) return BigDecimal.ZERO;
+        BigDecimal exit = p.getAvgExitPrice();
+        BigDecimal diff = p.getSide() == PositionSide.LONG
+                ? exit.subtract(sl)
+                : sl.subtract(exit);
+        return diff.divide(sl, 6, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+
+    /**
+     * 조기 익절 판단
+     * LONG: 실제 청산가 < TP (목표 달성 전 청산)
+     * SHORT: 실제 청산가 > TP
+     */
+    static boolean isEarlyTp(Position p, BigDecimal tp) {
+        BigDecimal exit = p.getAvgExitPrice();
+        if (p.getSide() == PositionSide.LONG) {
+            return exit.compareTo(tp) < 0;
+        } else {
+            return exit.compareTo(tp) > 0;
+        }
+    }
+
+    /**
+     * 물타기 여부 판단
+     * 추가 진입 오더들을 fillTime 순으로 재구성하며 평균 진입가를 업데이트,
+     * 추가 진입 시점에 미실현 손실 상태(현재가가 평균 진입가보다 불리)이면 물타기
+     *
+     * LONG: 추가진입 filledPrice < 현재 avgEntryPrice → 손실 구간
+     * SHORT: 추가진입 filledPrice > 현재 avgEntryPrice → 손실 구간
+     */
+    static boolean hasAveragingDown(Position p, List<Order> openOrders) {
+        BigDecimal runningAvgPrice = openOrders.get(0).getFilledPrice();
+        BigDecimal runningSize = openOrders.get(0).getFilledQuantity();
+
+        for (int i = 1; i < openOrders.size(); i++) {
+            Order addOrder = openOrders.get(i);
+            BigDecimal addPrice = addOrder.getFilledPrice();
+
+            boolean isAveragingDown = p.getSide() == PositionSide.LONG
+                    ? addPrice.compareTo(runningAvgPrice) < 0
+                    : addPrice.compareTo(runningAvgPrice) > 0;
+
+            if (isAveragingDown) return true;
+
+            // 평균 진입가 업데이트
+            BigDecimal addQty = addOrder.getFilledQuantity();
+            BigDecimal newSize = runningSize.add(addQty);
+            runningAvgPrice = runningAvgPrice.multiply(runningSize)
+                    .add(addPrice.multiply(addQty))
+                    .divide(newSize, 8, RoundingMode.HALF_UP);
+            runningSize = newSize;
+        }
+        return false;
+    }
+}
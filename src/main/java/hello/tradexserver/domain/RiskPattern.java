@@ -1,6 +1,7 @@
 package hello.tradexserver.domain;
 
 import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.MarketCondition;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,9 +13,20 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
+/**
+ * 사용자별 전체 기간 리스크 집계 — exchangeName이 null이면 전 거래소 합계.
+ * 포지션 종료/매매일지 수정 시 포지션 1건의 기여분(RiskContribution)만 더하고 빼며,
+ * 비율은 카운터에서 다시 계산한다. stale이면 카운터를 믿지 않고 전체 재계산한다.
+ */
 @Entity
 @Table(name = "risk_patterns",
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "exchange_name"}))
@@ -71,6 +83,239 @@ public class RiskPattern {
     @Column(precision = 5, scale = 2)
     private BigDecimal sidewaysWinRate;
 
+    // ============ 비율 계산용 누적 카운터 ============
+
+    @Builder.Default
+    private Integer winCount = 0;
+
+    @Builder.Default
+    private Integer lossCount = 0;
+
+    // 익절 합계 / 손절 합계(절대값) — 평균 손익비 계산용
+    @Column(precision = 20, scale = 8)
+    @Builder.Default
+    private BigDecimal winPnlSum = BigDecimal.ZERO;
+
+    @Column(precision = 20, scale = 8)
+    @Builder.Default
+    private BigDecimal lossPnlSum = BigDecimal.ZERO;
+
+    @Builder.Default
+    private Integer unplannedWinCount = 0;
+
+    @Builder.Default
+    private Integer plannedWinCount = 0;
+
+    // SL/TP가 설정된 포지션 수 (미준수/조기 익절 비율의 분모)
+    @Builder.Default
+    private Integer slTargetCount = 0;
+
+    @Column(precision = 20, scale = 8)
+    @Builder.Default
+    private BigDecimal slDelaySum = BigDecimal.ZERO;
+
+    @Builder.Default
+    private Integer tpTargetCount = 0;
+
+    // 추가 진입이 있었던 포지션 수 (물타기 비율의 분모)
+    @Builder.Default
+    private Integer addEntryCount = 0;
+
+    @Builder.Default
+    private Integer overconfidentEntryCount = 0;
+
+    @Builder.Default
+    private Integer immediateReverseCount = 0;
+
+    // key: 진입 시각 "0" ~ "23"
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Integer> hourlyTrades = new HashMap<>();
+
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Integer> hourlyWins = new HashMap<>();
+
+    @Builder.Default
+    private Integer uptrendTrades = 0;
+
+    @Builder.Default
+    private Integer uptrendWins = 0;
+
+    @Builder.Default
+    private Integer downtrendTrades = 0;
+
+    @Builder.Default
+    private Integer downtrendWins = 0;
+
+    @Builder.Default
+    private Integer sidewaysTrades = 0;
+
+    @Builder.Default
+    private Integer sidewaysWins = 0;
+
+    // 포지션 수정/삭제 등 증분 반영이 불가능한 변경 후 true — 재집계 전까지 전체 재계산으로 응답
+    @Builder.Default
+    private boolean stale = false;
+
+    // 마지막 전체 재집계 시작 시각 — 이전에 종료된 포지션은 이미 반영된 것으로 보고 종료 이벤트를 건너뜀
+    private LocalDateTime rebuiltAt;
+
     @LastModifiedDate
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    /**
+     * 포지션 1건의 기여분 반영 (sign: 1 추가, -1 제거)
+     */
+    public void apply(RiskContribution c, int sign) {
+        totalTrades += sign;
+        if (c.win()) {
+            winCount += sign;
+            winPnlSum = winPnlSum.add(c.pnl().multiply(BigDecimal.valueOf(sign)));
+        }
+        if (c.loss()) {
+            lossCount += sign;
+            lossPnlSum = lossPnlSum.add(c.pnl().abs().multiply(BigDecimal.valueOf(sign)));
+        }
+
+        if (c.unplanned()) {
+            unplannedEntryCount += sign;
+            if (c.win()) unplannedWinCount += sign;
+        } else if (c.win()) {
+            plannedWinCount += sign;
+        }
+        if (c.emotionalReEntry()) emotionalTradeCount += sign;
+        consecutiveEntryCount += c.impulsiveTrades() * sign;
+
+        if (c.slTarget()) slTargetCount += sign;
+        if (c.slViolation()) {
+            slViolationCount += sign;
+            slDelaySum = slDelaySum.add(c.slDelay().multiply(BigDecimal.valueOf(sign)));
+        }
+        if (c.tpTarget()) tpTargetCount += sign;
+        if (c.earlyTp()) earlyTpCount += sign;
+
+        if (c.addEntry()) addEntryCount += sign;
+        if (c.averagingDown()) averagingDownCount += sign;
+
+        if (c.overconfident()) overconfidentEntryCount += sign;
+        if (c.immediateReverse()) immediateReverseCount += sign;
+
+        String hour = String.valueOf(c.entryHour());
+        hourlyTrades.merge(hour, sign, Integer::sum);
+        if (c.win()) hourlyWins.merge(hour, sign, Integer::sum);
+        hourlyTrades.values().removeIf(v -> v == 0);
+        hourlyWins.values().removeIf(v -> v == 0);
+
+        if (c.marketCondition() == MarketCondition.UPTREND) {
+            uptrendTrades += sign;
+            if (c.win()) uptrendWins += sign;
+        } else if (c.marketCondition() == MarketCondition.DOWNTREND) {
+            downtrendTrades += sign;
+            if (c.win()) downtrendWins += sign;
+        } else if (c.marketCondition() == MarketCondition.SIDEWAYS) {
+            sidewaysTrades += sign;
+            if (c.win()) sidewaysWins += sign;
+        }
+
+        refreshRates();
+    }
+
+    /**
+     * 전체 재계산 결과로 카운터를 덮어쓰고 stale 해제
+     */
+    public void overwrite(RiskPattern source, LocalDateTime rebuiltAt) {
+        this.unplannedEntryCount = source.unplannedEntryCount;
+        this.emotionalTradeCount = source.emotionalTradeCount;
+        this.consecutiveEntryCount = source.consecutiveEntryCount;
+        this.slViolationCount = source.slViolationCount;
+        this.earlyTpCount = source.earlyTpCount;
+        this.averagingDownCount = source.averagingDownCount;
+        this.totalTrades = source.totalTrades;
+        this.winCount = source.winCount;
+        this.lossCount = source.lossCount;
+        this.winPnlSum = source.winPnlSum;
+        this.lossPnlSum = source.lossPnlSum;
+        this.unplannedWinCount = source.unplannedWinCount;
+        this.plannedWinCount = source.plannedWinCount;
+        this.slTargetCount = source.slTargetCount;
+        this.slDelaySum = source.slDelaySum;
+        this.tpTargetCount = source.tpTargetCount;
+        this.addEntryCount = source.addEntryCount;
+        this.overconfidentEntryCount = source.overconfidentEntryCount;
+        this.immediateReverseCount = source.immediateReverseCount;
+        this.hourlyTrades = new HashMap<>(source.hourlyTrades);
+        this.hourlyWins = new HashMap<>(source.hourlyWins);
+        this.uptrendTrades = source.uptrendTrades;
+        this.uptrendWins = source.uptrendWins;
+        this.downtrendTrades = source.downtrendTrades;
+        this.downtrendWins = source.downtrendWins;
+        this.sidewaysTrades = source.sidewaysTrades;
+        this.sidewaysWins = source.sidewaysWins;
+        this.stale = false;
+        this.rebuiltAt = rebuiltAt;
+        refreshRates();
+    }
+
+    /**
+     * 전체 재계산 결과와 다른 카운터 이름 목록 (검증 배치용)
+     */
+    public List<String> mismatches(RiskPattern expected) {
+        List<String> result = new ArrayList<>();
+        compare(result, "totalTrades", totalTrades, expected.totalTrades);
+        compare(result, "winCount", winCount, expected.winCount);
+        compare(result, "lossCount", lossCount, expected.lossCount);
+        compareAmount(result, "winPnlSum", winPnlSum, expected.winPnlSum);
+        compareAmount(result, "lossPnlSum", lossPnlSum, expected.lossPnlSum);
+        compare(result, "unplannedEntryCount", unplannedEntryCount, expected.unplannedEntryCount);
+        compare(result, "unplannedWinCount", unplannedWinCount, expected.unplannedWinCount);
+        compare(result, "plannedWinCount", plannedWinCount, expected.plannedWinCount);
+        compare(result, "emotionalTradeCount", emotionalTradeCount, expected.emotionalTradeCount);
+        compare(result, "consecutiveEntryCount", consecutiveEntryCount, expected.consecutiveEntryCount);
+        compare(result, "slTargetCount", slTargetCount, expected.slTargetCount);
+        compare(result, "slViolationCount", slViolationCount, expected.slViolationCount);
+        compareAmount(result, "slDelaySum", slDelaySum, expected.slDelaySum);
+        compare(result, "tpTargetCount", tpTargetCount, expected.tpTargetCount);
+        compare(result, "earlyTpCount", earlyTpCount, expected.earlyTpCount);
+        compare(result, "addEntryCount", addEntryCount, expected.addEntryCount);
+        compare(result, "averagingDownCount", averagingDownCount, expected.averagingDownCount);
+        compare(result, "overconfidentEntryCount", overconfidentEntryCount, expected.overconfidentEntryCount);
+        compare(result, "immediateReverseCount", immediateReverseCount, expected.immediateReverseCount);
+        compare(result, "hourlyTrades", hourlyTrades, expected.hourlyTrades);
+        compare(result, "hourlyWins", hourlyWins, expected.hourlyWins);
+        compare(result, "uptrendTrades", uptrendTrades, expected.uptrendTrades);
+        compare(result, "uptrendWins", uptrendWins, expected.uptrendWins);
+        compare(result, "downtrendTrades", downtrendTrades, expected.downtrendTrades);
+        compare(result, "downtrendWins", downtrendWins, expected.downtrendWins);
+        compare(result, "sidewaysTrades", sidewaysTrades, expected.sidewaysTrades);
+        compare(result, "sidewaysWins", sidewaysWins, expected.sidewaysWins);
+        return result;
+    }
+
+    private static void compare(List<String> result, String name, Object actual, Object expected) {
+        if (!Objects.equals(actual, expected)) result.add(name);
+    }
+
+    private static void compareAmount(List<String> result, String name, BigDecimal actual, BigDecimal expected) {
+        if (actual.compareTo(expected) != 0) result.add(name);
+    }
+
+    void refreshRates() {
+        Map<String, Object> rates = new TreeMap<>();
+        hourlyTrades.forEach((hour, trades) -> rates.put(hour, winRate(hourlyWins.getOrDefault(hour, 0), trades)));
+        this.hourlyWinRates = rates;
+        this.uptrendWinRate = winRate(uptrendWins, uptrendTrades);
+        this.downtrendWinRate = winRate(downtrendWins, downtrendTrades);
+        this.sidewaysWinRate = winRate(sidewaysWins, sidewaysTrades);
+    }
+
+    private static BigDecimal winRate(int wins, int trades) {
+        if (trades <= 0) return null;
+        return BigDecimal.valueOf(wins)
+                .divide(BigDecimal.valueOf(trades), 6, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
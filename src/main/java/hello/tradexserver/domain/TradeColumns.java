@@ -0,0 +1,474 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.MarketCondition;
+import hello.tradexserver.domain.enums.PositionSide;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종료 포지션 목록의 열 지향 스냅샷 — 리스크/전략/성과 지표를 배열 1~2회 순회로 계산한다.
+ * 엔티티 목록을 지표마다 다시 돌며 "거래소:심볼" 문자열 키로 그루핑하지 않도록, 한 번 읽을 때 원시 배열로 옮긴다.
+ * - 시각: epoch millis (LocalDateTime을 UTC로 간주), 종료 시각 없음은 NO_TIME
+ * - 손익: 소수 8자리 고정 소수점 long (Position.realizedPnl scale과 동일, 합계 ±9.2e10 범위)
+ * - 거래소·심볼, 전략 조합: 등장 순서대로 부여한 int id
+ * - 매매일지/청산 판단: BitSet (SL·TP·물타기 판단은 적재 시 RiskContribution과 같은 규칙으로 한 번만)
+ * 행 순서는 입력 순서 그대로 — 리스크는 entryTime ASC, 성과 곡선은 exitTime ASC 목록이어야 한다.
+ */
+public final class TradeColumns {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final int PNL_SCALE = 8;
+    private static final int SL_DELAY_SCALE = 6;
+    private static final int CHAIN = RiskContribution.IMPULSIVE_CHAIN_LENGTH;
+    private static final ExchangeName[] EXCHANGES = ExchangeName.values();
+    private static final MarketCondition[] CONDITIONS = MarketCondition.values();
+
+    private final int size;
+    private final long[] entryMillis;
+    private final long[] exitMillis;
+    private final long[] pnl;
+    private final long[] slDelay;
+    private final int[] symbolIds;
+    private final int[] strategyIds;
+    private final byte[] exchanges;
+    private final byte[] sides;
+    private final byte[] conditions;
+    private final byte[] entryHours;
+
+    private final BitSet unplanned = new BitSet();
+    private final BitSet slTarget = new BitSet();
+    private final BitSet slViolation = new BitSet();
+    private final BitSet tpTarget = new BitSet();
+    private final BitSet earlyTp = new BitSet();
+    private final BitSet addEntry = new BitSet();
+    private final BitSet averagingDown = new BitSet();
+
+    private int symbolCount;
+    private final List<StrategyKey> strategyKeys = new ArrayList<>();
+
+    // 리스크 집계 결과 — [0]: 전 거래소, [ordinal + 1]: 거래소별
+    private RiskCounters[] riskCounters;
+
+    private TradeColumns(int size) {
+        this.size = size;
+        this.entryMillis = new long[size];
+        this.exitMillis = new long[size];
+        this.pnl = new long[size];
+        this.slDelay = new long[size];
+        this.symbolIds = new int[size];
+        this.strategyIds = new int[size];
+        this.exchanges = new byte[size];
+        this.sides = new byte[size];
+        this.conditions = new byte[size];
+        this.entryHours = new byte[size];
+    }
+
+    /**
+     * @param ordersByPosition 포지션별 진입 오더 (fillTime 순) — 물타기 판단용, 비어 있으면 추가 진입 없음으로 본다
+     */
+    public static TradeColumns of(List<Position> positions, Map<Long, List<Order>> ordersByPosition) {
+        TradeColumns columns = new TradeColumns(positions.size());
+        List<Map<String, Integer>> symbolIdsByExchange = new ArrayList<>(EXCHANGES.length);
+        for (int i = 0; i < EXCHANGES.length; i++) symbolIdsByExchange.add(new HashMap<>());
+        Map<StrategyKey, Integer> strategyIdsByKey = new HashMap<>();
+
+        for (int i = 0; i < positions.size(); i++) {
+            columns.load(i, positions.get(i), ordersByPosition.getOrDefault(positions.get(i).getId(), List.of()),
+                    symbolIdsByExchange, strategyIdsByKey);
+        }
+        return columns;
+    }
+
+    private void load(int i, Position p, List<Order> openOrders,
+                      List<Map<String, Integer>> symbolIdsByExchange, Map<StrategyKey, Integer> strategyIdsByKey) {
+        entryMillis[i] = toMillis(p.getEntryTime());
+        exitMillis[i] = p.getExitTime() != null ? toMillis(p.getExitTime()) : NO_TIME;
+        pnl[i] = p.getRealizedPnl() != null ? scaled(p.getRealizedPnl(), PNL_SCALE) : 0;
+        exchanges[i] = (byte) p.getExchangeName().ordinal();
+        sides[i] = p.getSide() != null ? (byte) p.getSide().ordinal() : -1;
+        conditions[i] = p.getMarketCondition() != null ? (byte) p.getMarketCondition().ordinal() : -1;
+        entryHours[i] = (byte) p.getEntryTime().getHour();
+        symbolIds[i] = symbolIdsByExchange.get(exchanges[i]).computeIfAbsent(p.getSymbol(), s -> symbolCount++);
+
+        TradingJournal journal = p.getTradingJournal();
+        if (journal == null || !StringUtils.hasText(journal.getEntryReason())) {
+            unplanned.set(i);
+        }
+        if (journal != null) {
+            StrategyKey key = StrategyKey.of(p, journal);
+            strategyIds[i] = strategyIdsByKey.computeIfAbsent(key, k -> {
+                strategyKeys.add(k);
+                return strategyKeys.size() - 1;
+            });
+        } else {
+            strategyIds[i] = -1;
+        }
+
+        // 청산: SL 우선순위 매매일지 stopLoss > Position.stopLossPrice, TP도 동일
+        if (p.getAvgExitPrice() != null) {
+            BigDecimal sl = journal != null && journal.getStopLoss() != null
+                    ? journal.getStopLoss() : p.getStopLossPrice();
+            if (sl != null) {
+                slTarget.set(i);
+                if (RiskContribution.isSlViolated(p, sl)) {
+                    slViolation.set(i);
+                    slDelay[i] = scaled(RiskContribution.calcSlDelay(p, sl), SL_DELAY_SCALE);
+                }
+            }
+            BigDecimal tp = journal != null && journal.getTargetPrice() != null
+                    ? journal.getTargetPrice() : p.getTargetPrice();
+            if (tp != null) {
+                tpTarget.set(i);
+                if (RiskContribution.isEarlyTp(p, tp)) earlyTp.set(i);
+            }
+        }
+
+        if (openOrders.size() > 1) {
+            addEntry.set(i);
+            if (RiskContribution.hasAveragingDown(p, openOrders)) averagingDown.set(i);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 리스크 — 1회 순회, 심볼별 직전 3건은 int 링 버퍼
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * RiskContribution.ofAll 합산과 같은 카운터 (exchangeName이 null이면 전 거래소)
+     */
+    public RiskPattern riskPattern(ExchangeName exchangeName) {
+        if (riskCounters == null) {
+            riskCounters = computeRisk();
+        }
+        RiskCounters c = riskCounters[exchangeName == null ? 0 : exchangeName.ordinal() + 1];
+
+        RiskPattern pattern = RiskPattern.builder()
+                .exchangeName(exchangeName)
+                .totalTrades(c.total)
+                .winCount(c.win)
+                .lossCount(c.loss)
+                .winPnlSum(BigDecimal.valueOf(c.winPnl, PNL_SCALE))
+                .lossPnlSum(BigDecimal.valueOf(c.lossPnl, PNL_SCALE))
+                .unplannedEntryCount(c.unplanned)
+                .unplannedWinCount(c.unplannedWin)
+                .plannedWinCount(c.plannedWin)
+                .emotionalTradeCount(c.emotional)
+                .consecutiveEntryCount(c.impulsive)
+                .slTargetCount(c.slTarget)
+                .slViolationCount(c.slViolation)
+                .slDelaySum(BigDecimal.valueOf(c.slDelay, SL_DELAY_SCALE))
+                .tpTargetCount(c.tpTarget)
+                .earlyTpCount(c.earlyTp)
+                .addEntryCount(c.addEntry)
+                .averagingDownCount(c.averagingDown)
+                .overconfidentEntryCount(c.overconfident)
+                .immediateReverseCount(c.immediateReverse)
+                .hourlyTrades(hourMap(c.hourTrades))
+                .hourlyWins(hourMap(c.hourWins))
+                .uptrendTrades(c.conditionTrades[MarketCondition.UPTREND.ordinal()])
+                .uptrendWins(c.conditionWins[MarketCondition.UPTREND.ordinal()])
+                .downtrendTrades(c.conditionTrades[MarketCondition.DOWNTREND.ordinal()])
+                .downtrendWins(c.conditionWins[MarketCondition.DOWNTREND.ordinal()])
+                .sidewaysTrades(c.conditionTrades[MarketCondition.SIDEWAYS.ordinal()])
+                .sidewaysWins(c.conditionWins[MarketCondition.SIDEWAYS.ordinal()])
+                .build();
+        pattern.refreshRates();
+        return pattern;
+    }
+
+    private RiskCounters[] computeRisk() {
+        RiskCounters[] counters = new RiskCounters[EXCHANGES.length + 1];
+        for (int k = 0; k < counters.length; k++) counters[k] = new RiskCounters();
+
+        // 심볼별 앞선 포지션 행 번호 (가까운 순, 최대 CHAIN건), 없으면 -1
+        int[] recent = new int[symbolCount * CHAIN];
+        Arrays.fill(recent, -1);
+
+        for (int i = 0; i < size; i++) {
+            int base = symbolIds[i] * CHAIN;
+            int prev = recent[base];
+            boolean reEntry = prev >= 0 && isReEntry(prev, i);
+            boolean prevLoss = reEntry && pnl[prev] < 0;
+            boolean prevWin = reEntry && pnl[prev] > 0;
+            int impulsive = reEntry ? impulsiveTrades(recent, base) : 0;
+
+            counters[0].add(this, i, prevLoss, prevWin, prev, impulsive);
+            counters[exchanges[i] + 1].add(this, i, prevLoss, prevWin, prev, impulsive);
+
+            System.arraycopy(recent, base, recent, base + 1, CHAIN - 1);
+            recent[base] = i;
+        }
+        return counters;
+    }
+
+    /**
+     * RiskContribution.impulsiveTrades와 같은 규칙 — 직전 포지션은 이미 재진입으로 확인된 상태
+     */
+    private int impulsiveTrades(int[] recent, int base) {
+        int prevChainLen = 1;
+        for (int k = 1; k < CHAIN && prevChainLen < CHAIN; k++) {
+            int older = recent[base + k];
+            if (older < 0 || !isReEntry(older, recent[base + k - 1])) break;
+            prevChainLen++;
+        }
+        int chainLen = prevChainLen + 1;
+        if (chainLen == CHAIN) return CHAIN;
+        return chainLen > CHAIN ? 1 : 0;
+    }
+
+    /**
+     * 이전 포지션 종료 후 15분 이내 진입 (Duration.toMinutes와 같은 절사)
+     */
+    private boolean isReEntry(int prev, int curr) {
+        if (exitMillis[prev] == NO_TIME) return false;
+        long minutes = Math.floorDiv(entryMillis[curr] - exitMillis[prev], 1000L) / 60;
+        return minutes >= 0 && minutes <= RiskContribution.REENTRY_WINDOW_MINUTES;
+    }
+
+    private static Map<String, Integer> hourMap(int[] byHour) {
+        Map<String, Integer> result = new HashMap<>();
+        for (int hour = 0; hour < byHour.length; hour++) {
+            if (byHour[hour] != 0) result.put(String.valueOf(hour), byHour[hour]);
+        }
+        return result;
+    }
+
+    private static final class RiskCounters {
+        int total, win, loss, unplanned, unplannedWin, plannedWin, emotional, impulsive;
+        int slTarget, slViolation, tpTarget, earlyTp, addEntry, averagingDown, overconfident, immediateReverse;
+        long winPnl, lossPnl, slDelay;
+        final int[] hourTrades = new int[24];
+        final int[] hourWins = new int[24];
+        final int[] conditionTrades = new int[CONDITIONS.length];
+        final int[] conditionWins = new int[CONDITIONS.length];
+
+        void add(TradeColumns t, int i, boolean prevLoss, boolean prevWin, int prev, int impulsiveTrades) {
+            long p = t.pnl[i];
+            boolean isWin = p > 0;
+            boolean isLoss = p < 0;
+            boolean isUnplanned = t.unplanned.get(i);
+
+            total++;
+            if (isWin) {
+                win++;
+                winPnl = Math.addExact(winPnl, p);
+            }
+            if (isLoss) {
+                loss++;
+                lossPnl = Math.addExact(lossPnl, -p);
+            }
+            if (isUnplanned) {
+                unplanned++;
+                if (isWin) unplannedWin++;
+            } else if (isWin) {
+                plannedWin++;
+            }
+            if (prevLoss && isUnplanned) emotional++;
+            impulsive += impulsiveTrades;
+
+            if (t.slTarget.get(i)) slTarget++;
+            if (t.slViolation.get(i)) {
+                slViolation++;
+                slDelay = Math.addExact(slDelay, t.slDelay[i]);
+            }
+            if (t.tpTarget.get(i)) tpTarget++;
+            if (t.earlyTp.get(i)) earlyTp++;
+            if (t.addEntry.get(i)) addEntry++;
+            if (t.averagingDown.get(i)) averagingDown++;
+
+            if (prevWin && isLoss) overconfident++;
+            if (prevLoss && t.sides[i] != t.sides[prev]) immediateReverse++;
+
+            hourTrades[t.entryHours[i]]++;
+            if (isWin) hourWins[t.entryHours[i]]++;
+            byte condition = t.conditions[i];
+            if (condition >= 0) {
+                conditionTrades[condition]++;
+                if (isWin) conditionWins[condition]++;
+            }
+        }
+    }
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 전략 — 1회 순회, 전략 조합 id별 배열 누적
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * 매매일지가 있는 포지션의 전략 조합별 집계 (등장 순서)
+     * - 손실 합계는 손익 0 이하 포지션의 절대값 합
+     */
+    public List<StrategyStats> strategyStats() {
+        int count = strategyKeys.size();
+        int[] trades = new int[count];
+        int[] wins = new int[count];
+        long[] pnlSum = new long[count];
+        long[] winSum = new long[count];
+        long[] lossSum = new long[count];
+
+        for (int i = 0; i < size; i++) {
+            int id = strategyIds[i];
+            if (id < 0) continue;
+            long p = pnl[i];
+            trades[id]++;
+            pnlSum[id] = Math.addExact(pnlSum[id], p);
+            if (p > 0) {
+                wins[id]++;
+                winSum[id] = Math.addExact(winSum[id], p);
+            } else {
+                lossSum[id] = Math.addExact(lossSum[id], -p);
+            }
+        }
+
+        List<StrategyStats> result = new ArrayList<>(count);
+        for (int id = 0; id < count; id++) {
+            result.add(new StrategyStats(strategyKeys.get(id), trades[id], wins[id],
+                    BigDecimal.valueOf(pnlSum[id], PNL_SCALE),
+                    BigDecimal.valueOf(winSum[id], PNL_SCALE),
+                    BigDecimal.valueOf(lossSum[id], PNL_SCALE)));
+        }
+        return result;
+    }
+
+    /**
+     * 전략 그루핑 키 — 리스트는 정렬해 ["MACD","RSI"] == ["RSI","MACD"] 동일 전략으로 처리
+     */
+    public record StrategyKey(
+            List<String> indicators,
+            List<String> technicalAnalyses,
+            List<String> timeframes,
+            PositionSide side,
+            MarketCondition marketCondition
+    ) {
+        static StrategyKey of(Position p, TradingJournal j) {
+            return new StrategyKey(
+                    sortedList(j.getIndicators()),
+                    sortedList(j.getTechnicalAnalyses()),
+                    sortedList(j.getTimeframes()),
+                    p.getSide(),
+                    p.getMarketCondition()
+            );
+        }
+
+        private static List<String> sortedList(List<String> list) {
+            if (list == null || list.isEmpty()) return List.of();
+            return list.stream().sorted().toList();
+        }
+    }
+
+    public record StrategyStats(StrategyKey key, int trades, int wins,
+                                BigDecimal pnlSum, BigDecimal winPnlSum, BigDecimal lossPnlSum) {
+        public int losses() {
+            return trades - wins;
+        }
+    }
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 성과 곡선 — exitTime ASC 행을 단위 구간별로 1회 순회
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * 종료일 기준 구간별 손익 (granularity: DAILY / WEEKLY / MONTHLY), 종료 시각 없는 행은 제외
+     * 날짜 변환은 종료일이 바뀔 때만 한다
+     */
+    public List<PeriodStats> periodStats(String granularity) {
+        List<PeriodStats> result = new ArrayList<>();
+        long lastDay = Long.MIN_VALUE;
+        LocalDate bucketStart = null;
+        LocalDate currentStart = null;
+        int trades = 0, wins = 0;
+        long pnlSum = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (exitMillis[i] == NO_TIME) continue;
+            long day = Math.floorDiv(exitMillis[i], 86_400_000L);
+            if (day != lastDay) {
+                lastDay = day;
+                bucketStart = bucketStart(LocalDate.ofEpochDay(day), granularity);
+            }
+            if (!bucketStart.equals(currentStart)) {
+                if (currentStart != null) {
+                    result.add(PeriodStats.of(currentStart, granularity, trades, wins, pnlSum));
+                }
+                currentStart = bucketStart;
+                trades = 0;
+                wins = 0;
+                pnlSum = 0;
+            }
+            trades++;
+            if (pnl[i] > 0) wins++;
+            pnlSum = Math.addExact(pnlSum, pnl[i]);
+        }
+        if (currentStart != null) {
+            result.add(PeriodStats.of(currentStart, granularity, trades, wins, pnlSum));
+        }
+        return result;
+    }
+
+    /**
+     * 행 순서대로 최대 연속 승/패 (손익 0 이하는 패)와 총 손익
+     */
+    public StreakStats streakStats() {
+        int maxWin = 0, maxLoss = 0, curWin = 0, curLoss = 0;
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total = Math.addExact(total, pnl[i]);
+            if (pnl[i] > 0) {
+                curWin++;
+                curLoss = 0;
+                maxWin = Math.max(maxWin, curWin);
+            } else {
+                curLoss++;
+                curWin = 0;
+                maxLoss = Math.max(maxLoss, curLoss);
+            }
+        }
+        return new StreakStats(maxWin, maxLoss, BigDecimal.valueOf(total, PNL_SCALE));
+    }
+
+    private static LocalDate bucketStart(LocalDate date, String granularity) {
+        return switch (granularity) {
+            case "WEEKLY" -> date.with(DayOfWeek.MONDAY);
+            case "MONTHLY" -> date.withDayOfMonth(1);
+            default -> date; // DAILY
+        };
+    }
+
+    public record PeriodStats(LocalDate startDate, LocalDate endDate, int trades, int wins, BigDecimal pnl) {
+        static PeriodStats of(LocalDate start, String granularity, int trades, int wins, long pnl) {
+            LocalDate end = switch (granularity) {
+                case "WEEKLY" -> start.plusDays(6);
+                case "MONTHLY" -> start.withDayOfMonth(start.lengthOfMonth());
+                default -> start;
+            };
+            return new PeriodStats(start, end, trades, wins, BigDecimal.valueOf(pnl, PNL_SCALE));
+        }
+    }
+
+    public record StreakStats(int maxWinStreak, int maxLossStreak, BigDecimal totalPnl) {}
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long scaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
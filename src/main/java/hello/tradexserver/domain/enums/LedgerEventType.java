@@ -0,0 +1,9 @@
+package hello.tradexserver.domain.enums;
+
+public enum LedgerEventType {
+    OPEN,           // 신규 포지션 진입
+    ENTRY,          // 추가 진입
+    PARTIAL_CLOSE,  // 부분 청산
+    CLOSE,          // 완전 청산 (포지션 종료)
+    RECALCULATED    // 오더 수정으로 재계산 — 같은 sequence의 스냅샷이 기준 상태
+}
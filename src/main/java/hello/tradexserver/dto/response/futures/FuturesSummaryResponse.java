@@ -3,6 +3,7 @@ package hello.tradexserver.dto.response.futures;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,6 +11,7 @@ import java.util.List;
 
 @Data
 @Builder
+@Jacksonized
 @Schema(description = "선물 거래 요약 데이터")
 public class FuturesSummaryResponse {
 
@@ -36,6 +38,7 @@ public class FuturesSummaryResponse {
 
     @Data
     @Builder
+    @Jacksonized
     @Schema(description = "손익 차트 데이터")
     public static class PnlChartData {
 
@@ -3,6 +3,7 @@ package hello.tradexserver.dto.response.portfolio;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,6 +11,7 @@ import java.util.List;
 
 @Data
 @Builder
+@Jacksonized
 @Schema(description = "기간별 누적 손익 시계열 데이터")
 public class CumulativeProfitResponse {
 
@@ -30,6 +32,7 @@ public class CumulativeProfitResponse {
 
     @Data
     @Builder
+    @Jacksonized
     @Schema(description = "일별 누적 손익 데이터")
     public static class DailyProfit {
 
@@ -2,11 +2,13 @@ package hello.tradexserver.dto.response.risk;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Getter
 @Builder
+@Jacksonized
 public class EntryRiskResponse {
 
     /** 계획 외 진입 횟수 (entryScenario 없는 포지션) */
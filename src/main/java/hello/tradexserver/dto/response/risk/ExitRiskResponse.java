@@ -2,11 +2,13 @@ package hello.tradexserver.dto.response.risk;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Getter
 @Builder
+@Jacksonized
 public class ExitRiskResponse {
 
     /** 손절가 미준수 횟수 (SL 대비 0.3% 이상 불리한 가격 청산) */
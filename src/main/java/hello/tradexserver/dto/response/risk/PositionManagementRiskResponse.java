@@ -2,11 +2,13 @@ package hello.tradexserver.dto.response.risk;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Getter
 @Builder
+@Jacksonized
 public class PositionManagementRiskResponse {
 
     /** 평균 손익비 R/R = avg_win / |avg_loss| */
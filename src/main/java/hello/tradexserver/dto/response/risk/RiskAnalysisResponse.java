@@ -2,9 +2,11 @@ package hello.tradexserver.dto.response.risk;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 public class RiskAnalysisResponse {
 
     private int totalTrades;
@@ -2,12 +2,14 @@ package hello.tradexserver.dto.response.risk;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.util.Map;
 
 @Getter
 @Builder
+@Jacksonized
 public class TimeRiskResponse {
 
     /**
@@ -2,12 +2,14 @@ package hello.tradexserver.dto.response.strategy;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Getter
 @Builder
+@Jacksonized
 public class PerformanceResponse {
 
     /** 그래프 단위: DAILY | WEEKLY | MONTHLY */
@@ -19,6 +21,7 @@ public class PerformanceResponse {
 
     @Getter
     @Builder
+    @Jacksonized
     public static class DataPoint {
         /** DAILY: "2026-02-15" / WEEKLY: "2026-W07" / MONTHLY: "2026-02" */
         private String label;
@@ -33,6 +36,7 @@ public class PerformanceResponse {
 
     @Getter
     @Builder
+    @Jacksonized
     public static class Summary {
         private int maxWinStreak;
         private int maxLossStreak;
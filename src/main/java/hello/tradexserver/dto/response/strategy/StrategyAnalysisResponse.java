@@ -4,12 +4,14 @@ import hello.tradexserver.domain.enums.MarketCondition;
 import hello.tradexserver.domain.enums.PositionSide;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Getter
 @Builder
+@Jacksonized
 public class StrategyAnalysisResponse {
 
     private int totalTrades;
@@ -19,6 +21,7 @@ public class StrategyAnalysisResponse {
 
     @Getter
     @Builder
+    @Jacksonized
     public static class StrategyItem {
         private List<String> indicators;
         private List<String> technicalAnalyses;
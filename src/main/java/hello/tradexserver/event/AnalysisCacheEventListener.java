@@ -0,0 +1,31 @@
+package hello.tradexserver.event;
+
+import hello.tradexserver.service.AnalysisResultCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisCacheEventListener {
+
+    private final AnalysisResultCache analysisResultCache;
+
+    /**
+     * 포지션 종료 커밋 → 분석 결과 무효화
+     * 일별 집계/리스크 집계는 각 리스너가 갱신을 커밋한 뒤 한 번 더 무효화한다
+     */
+    @Async
+    @TransactionalEventListener
+    public void onPositionClose(PositionCloseEvent event) {
+        try {
+            analysisResultCache.evictUser(event.getUserId());
+        } catch (Exception e) {
+            log.error("[AnalysisCacheListener] 분석 캐시 무효화 실패 - userId: {}, error: {}",
+                    event.getUserId(), e.getMessage());
+        }
+    }
+}
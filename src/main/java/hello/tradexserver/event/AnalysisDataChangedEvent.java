@@ -0,0 +1,13 @@
+package hello.tradexserver.event;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 사용자의 분석 원천 데이터(포지션/오더/매매일지/일별 집계) 변경 — 커밋 이후 발행
+ */
+@Getter
+@Builder
+public class AnalysisDataChangedEvent {
+    private final Long userId;
+}
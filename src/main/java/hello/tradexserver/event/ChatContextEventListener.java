@@ -0,0 +1,29 @@
+package hello.tradexserver.event;
+
+import hello.tradexserver.service.ChatContextService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatContextEventListener {
+
+    private final ChatContextService chatContextService;
+
+    /**
+     * 분석 데이터 변경 → 채팅 컨텍스트 버전 증가 + 재생성 예약 (재생성은 별도 스레드에서 지연 실행)
+     */
+    @EventListener
+    public void onAnalysisDataChanged(AnalysisDataChangedEvent event) {
+        try {
+            chatContextService.markStale(event.getUserId());
+        } catch (Exception e) {
+            // 스냅샷 TTL 만료 또는 다음 변경 시 다시 생성됨
+            log.error("[ChatContextListener] 채팅 컨텍스트 갱신 예약 실패 - userId: {}, error: {}",
+                    event.getUserId(), e.getMessage());
+        }
+    }
+}
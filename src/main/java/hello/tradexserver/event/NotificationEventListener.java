@@ -2,6 +2,8 @@ package hello.tradexserver.event;
 
 import hello.tradexserver.domain.enums.NotificationType;
 import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.service.FillLatencyRecorder;
+import hello.tradexserver.service.FillLatencyRecorder.Stage;
 import hello.tradexserver.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,7 @@ import org.springframework.transaction.event.TransactionalEventListener;
 public class NotificationEventListener {
 
     private final NotificationService notificationService;
+    private final FillLatencyRecorder fillLatencyRecorder;
 
     @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
@@ -42,6 +45,7 @@ public class NotificationEventListener {
     @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void onPositionClose(PositionCloseEvent event) {
+        recordLatency(Stage.PUBLISHED, event);
         log.info("[NotificationEventListener] PositionCloseEvent - positionId: {}, userId: {}",
                 event.getPositionId(), event.getUserId());
 
@@ -60,9 +64,16 @@ public class NotificationEventListener {
             notificationService.createPositionNotification(
                     event.getUserId(), event.getPositionId(),
                     NotificationType.POSITION_EXIT, title, message);
+            recordLatency(Stage.PUSHED, event);
         } catch (Exception e) {
             log.error("[NotificationEventListener] 포지션 종료 알림 생성 실패 - positionId: {}, error: {}",
                     event.getPositionId(), e.getMessage());
         }
     }
+
+    private void recordLatency(Stage stage, PositionCloseEvent event) {
+        if (event.getExchangeFillTime() == null) return;
+        fillLatencyRecorder.record(stage, event.getExchangeName(), event.getExchangeFillTime(),
+                System.currentTimeMillis());
+    }
 }
@@ -1,6 +1,7 @@
 package hello.tradexserver.event;
 
 import hello.tradexserver.service.DailyStatsAggregationService;
+import hello.tradexserver.service.PositionRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -15,12 +16,20 @@ import java.math.BigDecimal;
 public class OrderSyncEventListener {
 
     private final DailyStatsAggregationService aggregationService;
+    private final PositionRollupService positionRollupService;
 
     @Async
     @TransactionalEventListener
     public void onPositionClose(PositionCloseEvent event) {
         log.info("[OrderSyncListener] PositionCloseEvent 수신 - positionId: {}", event.getPositionId());
 
+        try {
+            positionRollupService.onPositionClosed(event.getPositionId());
+        } catch (Exception e) {
+            log.error("[OrderSyncListener] 일별 집계 갱신 실패 - positionId: {}, error: {}",
+                    event.getPositionId(), e.getMessage());
+        }
+
         BigDecimal pnl = event.getRealizedPnl();
         if (pnl == null) {
             log.warn("[OrderSyncListener] realizedPnl is null - positionId: {}, 집계 스킵", event.getPositionId());
@@ -1,10 +1,12 @@
 package hello.tradexserver.event;
 
+import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.domain.enums.PositionSide;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Getter
 @Builder
@@ -14,4 +16,7 @@ public class PositionCloseEvent {
     private final String symbol;
     private final PositionSide side;
     private final BigDecimal realizedPnl;
+    private final ExchangeName exchangeName;
+    // 실시간(WS) 수신 오더로 종료된 경우에만 채움 — 체결 지연 측정용
+    private final LocalDateTime exchangeFillTime;
 }
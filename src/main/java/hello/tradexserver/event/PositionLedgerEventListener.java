@@ -0,0 +1,30 @@
+package hello.tradexserver.event;
+
+import hello.tradexserver.service.PositionLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PositionLedgerEventListener {
+
+    private final PositionLedgerService positionLedgerService;
+
+    /**
+     * 포지션 종료 커밋 → 원장 재생 결과와 저장된 포지션 상태 대조 (불일치는 지표/로그로만 남김)
+     */
+    @Async
+    @TransactionalEventListener
+    public void onPositionClose(PositionCloseEvent event) {
+        try {
+            positionLedgerService.verify(event.getPositionId());
+        } catch (Exception e) {
+            log.error("[LedgerListener] 원장 대조 실패 - positionId: {}, error: {}",
+                    event.getPositionId(), e.getMessage());
+        }
+    }
+}
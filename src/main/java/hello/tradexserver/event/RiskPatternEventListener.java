@@ -0,0 +1,28 @@
+package hello.tradexserver.event;
+
+import hello.tradexserver.service.RiskPatternService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskPatternEventListener {
+
+    private final RiskPatternService riskPatternService;
+
+    @Async
+    @TransactionalEventListener
+    public void onPositionClose(PositionCloseEvent event) {
+        try {
+            riskPatternService.onPositionClosed(event.getUserId(), event.getPositionId());
+        } catch (Exception e) {
+            // 누락분은 집계 검증 배치가 바로잡음
+            log.error("[RiskPatternListener] 리스크 집계 반영 실패 - positionId: {}, error: {}",
+                    event.getPositionId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package hello.tradexserver.event;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 다른 노드에서 전달된 WebSocket 연결/해제 요청 (API Key 담당 노드에서 수행)
+ */
+@Getter
+@Builder
+public class ShardCommandEvent {
+    private final Action action;
+    private final Long userId;
+    private final String exchange;
+    private final Long apiKeyId;
+
+    public enum Action {
+        CONNECT, DISCONNECT
+    }
+}
@@ -0,0 +1,13 @@
+package hello.tradexserver.event;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Set;
+
+@Getter
+@Builder
+public class ShardOwnershipChangedEvent {
+    private final Set<Integer> gained;
+    private final Set<Integer> lost;
+}
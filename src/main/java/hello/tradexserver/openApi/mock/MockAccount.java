@@ -0,0 +1,186 @@
+package hello.tradexserver.openApi.mock;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.Getter;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * 목 거래소 계정 1개의 상태 — 원웨이 모드(Bybit positionIdx 0 / Binance BOTH) 기준.
+ * 체결마다 오픈/추가/전량 청산 중 하나를 골라 포지션을 갱신하고,
+ * 체결 이력과 청산 손익 이력은 최근 historyLimit건만 보관한다.
+ */
+public class MockAccount {
+
+    private static final BigDecimal FEE_RATE = new BigDecimal("0.00055");
+    private static final int SCALE = 8;
+    private static final int LEVERAGE = 10;
+
+    @Getter
+    private final ExchangeName exchange;
+    @Getter
+    private final String apiKey;
+    private final int historyLimit;
+
+    private final Deque<Fill> fills = new ArrayDeque<>();
+    private final Deque<ClosedPnl> closedPnls = new ArrayDeque<>();
+    private final Map<String, PositionState> positions = new TreeMap<>();
+    // 스트림이 연결된 세션 (Bybit: 인증 완료 후, Binance: listenKey 접속 시 등록)
+    @Getter
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+
+    public MockAccount(ExchangeName exchange, String apiKey, int historyLimit) {
+        this.exchange = exchange;
+        this.apiKey = apiKey;
+        this.historyLimit = historyLimit;
+    }
+
+    public record Fill(long orderId, String symbol, boolean buy, BigDecimal qty, BigDecimal price,
+                       BigDecimal fee, BigDecimal realizedPnl, boolean reduceOnly, long time) {}
+
+    /**
+     * buy는 청산 주문의 방향 (롱 청산이면 false)
+     */
+    public record ClosedPnl(long orderId, String symbol, boolean buy, BigDecimal qty,
+                            BigDecimal avgEntryPrice, BigDecimal avgExitPrice, BigDecimal closedPnl,
+                            BigDecimal openFee, BigDecimal closeFee, long time) {}
+
+    /**
+     * size는 부호 포함 (롱 +, 숏 -, 청산 0)
+     */
+    public record PositionView(String symbol, BigDecimal size, BigDecimal entryPrice, int leverage,
+                               BigDecimal realizedPnl, long createdTime, long updatedTime) {}
+
+    private static final class PositionState {
+        private BigDecimal size = BigDecimal.ZERO;
+        private BigDecimal entryPrice = BigDecimal.ZERO;
+        private BigDecimal openFee = BigDecimal.ZERO;
+        private BigDecimal realizedPnl = BigDecimal.ZERO;
+        private long createdTime;
+        private long updatedTime;
+    }
+
+    /**
+     * 체결 1건 생성 — 포지션이 없으면 오픈, 있으면 40% 추가 / 60% 전량 청산
+     */
+    public synchronized Fill fill(long orderId, String symbol, BigDecimal price, BigDecimal qty,
+                                  RandomGenerator random, long now) {
+        PositionState position = positions.computeIfAbsent(symbol, s -> new PositionState());
+        int direction = position.size.signum();
+
+        Fill fill;
+        if (direction != 0 && random.nextDouble() >= 0.4) {
+            fill = close(orderId, symbol, position, price, now);
+        } else {
+            boolean buy = direction != 0 ? direction > 0 : random.nextBoolean();
+            fill = open(orderId, symbol, position, buy, price, qty, now);
+        }
+
+        fills.addLast(fill);
+        if (fills.size() > historyLimit) fills.removeFirst();
+        return fill;
+    }
+
+    private Fill open(long orderId, String symbol, PositionState position, boolean buy,
+                      BigDecimal price, BigDecimal qty, long now) {
+        BigDecimal fee = fee(price, qty);
+        BigDecimal currentQty = position.size.abs();
+        BigDecimal newQty = currentQty.add(qty);
+
+        if (currentQty.signum() == 0) {
+            position.createdTime = now;
+            position.openFee = BigDecimal.ZERO;
+            position.realizedPnl = BigDecimal.ZERO;
+        }
+        position.entryPrice = position.entryPrice.multiply(currentQty).add(price.multiply(qty))
+                .divide(newQty, SCALE, RoundingMode.HALF_UP);
+        position.size = buy ? newQty : newQty.negate();
+        position.openFee = position.openFee.add(fee);
+        position.realizedPnl = position.realizedPnl.subtract(fee);
+        position.updatedTime = now;
+
+        return new Fill(orderId, symbol, buy, qty, price, fee, BigDecimal.ZERO, false, now);
+    }
+
+    private Fill close(long orderId, String symbol, PositionState position, BigDecimal price, long now) {
+        BigDecimal qty = position.size.abs();
+        boolean wasLong = position.size.signum() > 0;
+        BigDecimal fee = fee(price, qty);
+        BigDecimal pnl = price.subtract(position.entryPrice).multiply(qty)
+                .multiply(BigDecimal.valueOf(wasLong ? 1 : -1))
+                .setScale(SCALE, RoundingMode.HALF_UP);
+
+        closedPnls.addLast(new ClosedPnl(orderId, symbol, !wasLong, qty, position.entryPrice, price,
+                pnl.subtract(position.openFee).subtract(fee), position.openFee, fee, now));
+        if (closedPnls.size() > historyLimit) closedPnls.removeFirst();
+
+        position.size = BigDecimal.ZERO;
+        position.realizedPnl = position.realizedPnl.add(pnl).subtract(fee);
+        position.updatedTime = now;
+
+        return new Fill(orderId, symbol, !wasLong, qty, price, fee, pnl, true, now);
+    }
+
+    public synchronized PositionView position(String symbol) {
+        PositionState position = positions.get(symbol);
+        return position != null ? view(symbol, position) : null;
+    }
+
+    public synchronized List<PositionView> openPositions() {
+        List<PositionView> result = new ArrayList<>();
+        positions.forEach((symbol, position) -> {
+            if (position.size.signum() != 0) result.add(view(symbol, position));
+        });
+        return result;
+    }
+
+    /**
+     * 기간 내 체결 조회 — newestFirst면 최신부터(Bybit), 아니면 오래된 것부터(Binance) limit건
+     */
+    public synchronized List<Fill> fills(String symbol, Long startTime, Long endTime, int limit, boolean newestFirst) {
+        List<Fill> result = new ArrayList<>();
+        Iterator<Fill> it = newestFirst ? fills.descendingIterator() : fills.iterator();
+        while (it.hasNext() && result.size() < limit) {
+            Fill fill = it.next();
+            if (matches(fill.symbol(), fill.time(), symbol, startTime, endTime)) result.add(fill);
+        }
+        return result;
+    }
+
+    public synchronized List<ClosedPnl> closedPnls(String symbol, Long startTime, Long endTime, int limit) {
+        List<ClosedPnl> result = new ArrayList<>();
+        Iterator<ClosedPnl> it = closedPnls.descendingIterator();
+        while (it.hasNext() && result.size() < limit) {
+            ClosedPnl closed = it.next();
+            if (matches(closed.symbol(), closed.time(), symbol, startTime, endTime)) result.add(closed);
+        }
+        return result;
+    }
+
+    private boolean matches(String itemSymbol, long time, String symbol, Long startTime, Long endTime) {
+        if (symbol != null && !symbol.isEmpty() && !symbol.equals(itemSymbol)) return false;
+        if (startTime != null && time < startTime) return false;
+        return endTime == null || time <= endTime;
+    }
+
+    private PositionView view(String symbol, PositionState position) {
+        return new PositionView(symbol, position.size, position.entryPrice, LEVERAGE,
+                position.realizedPnl, position.createdTime, position.updatedTime);
+    }
+
+    private BigDecimal fee(BigDecimal price, BigDecimal qty) {
+        return price.multiply(qty).multiply(FEE_RATE).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
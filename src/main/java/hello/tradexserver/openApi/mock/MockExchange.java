@@ -0,0 +1,200 @@
+package hello.tradexserver.openApi.mock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.config.MockExchangeProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 목 거래소 본체 — 계정 상태, 체결 생성기, 스트림 발행, REST 지연/rate limit 시뮬레이션.
+ * 계정은 REST 요청이나 스트림 인증으로 처음 보이는 apiKey마다 자동 생성되고,
+ * 체결은 스트림 연결 여부와 무관하게 생성된다 (끊긴 동안의 체결은 REST gap fill로만 복구 가능).
+ * Bitget은 접속 주소 설정만 지원하고 목 거래소 대상에서는 제외.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "exchange.mock", name = "enabled", havingValue = "true")
+public class MockExchange {
+
+    private static final long TICK_MS = 100;
+    private static final Map<String, BigDecimal> BASE_PRICES = Map.of(
+            "BTCUSDT", new BigDecimal("60000"),
+            "ETHUSDT", new BigDecimal("3000"),
+            "SOLUSDT", new BigDecimal("150"),
+            "XRPUSDT", new BigDecimal("0.6"));
+
+    private final MockExchangeProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, MockAccount> accounts = new ConcurrentHashMap<>();
+    // 체결 대상 무작위 선택용
+    private final List<MockAccount> accountList = new CopyOnWriteArrayList<>();
+    private final Map<String, MockAccount> listenKeys = new ConcurrentHashMap<>();
+    private final Map<String, BigDecimal> prices = new ConcurrentHashMap<>();
+    private final AtomicLong orderIdSequence = new AtomicLong(System.currentTimeMillis());
+
+    private ScheduledExecutorService generator;
+    private double pendingFills;
+
+    @PostConstruct
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mock-exchange-");
+        threadFactory.setDaemon(true);
+        generator = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        generator.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+        log.warn("[MockExchange] 목 거래소 활성화 - fillsPerSecond: {}, latency: {}+{}ms, rateLimitErrorRate: {}",
+                properties.getFillsPerSecond(), properties.getLatencyMs(), properties.getLatencyJitterMs(),
+                properties.getRateLimitErrorRate());
+    }
+
+    @PreDestroy
+    public void stop() {
+        generator.shutdownNow();
+    }
+
+    public MockAccount account(ExchangeName exchange, String apiKey) {
+        return accounts.computeIfAbsent(exchange + ":" + apiKey, key -> {
+            MockAccount account = new MockAccount(exchange, apiKey, properties.getHistoryLimit());
+            accountList.add(account);
+            return account;
+        });
+    }
+
+    public String createListenKey(MockAccount account) {
+        String listenKey = UUID.randomUUID().toString().replace("-", "");
+        listenKeys.put(listenKey, account);
+        return listenKey;
+    }
+
+    public MockAccount accountByListenKey(String listenKey) {
+        return listenKeys.get(listenKey);
+    }
+
+    public List<String> getSymbols() {
+        return properties.getSymbols();
+    }
+
+    /**
+     * REST 응답 지연 재현 — 요청 스레드를 그대로 붙잡는다
+     */
+    public void simulateLatency() {
+        long delay = properties.getLatencyMs();
+        if (properties.getLatencyJitterMs() > 0) {
+            delay += ThreadLocalRandom.current().nextLong(properties.getLatencyJitterMs());
+        }
+        if (delay <= 0) return;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean shouldRateLimit() {
+        return ThreadLocalRandom.current().nextDouble() < properties.getRateLimitErrorRate();
+    }
+
+    public String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("목 거래소 메시지 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * TICK_MS마다 fillsPerSecond에 맞춰 체결 생성 (소수점 이하는 다음 tick으로 이월)
+     */
+    private void tick() {
+        try {
+            if (accountList.isEmpty()) return;
+            pendingFills += properties.getFillsPerSecond() * TICK_MS / 1000.0;
+            int count = (int) pendingFills;
+            pendingFills -= count;
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<String> symbols = properties.getSymbols();
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                MockAccount account = accountList.get(random.nextInt(accountList.size()));
+                String symbol = symbols.get(random.nextInt(symbols.size()));
+                BigDecimal price = nextPrice(symbol, random);
+                MockAccount.Fill fill = account.fill(orderIdSequence.incrementAndGet(), symbol, price,
+                        randomQty(price, random), random, now);
+                publish(account, fill, now);
+            }
+        } catch (Exception e) {
+            log.error("[MockExchange] 체결 생성 실패", e);
+        }
+    }
+
+    private void publish(MockAccount account, MockAccount.Fill fill, long now) {
+        if (account.getSessions().isEmpty()) return;
+        MockAccount.PositionView position = account.position(fill.symbol());
+
+        List<String> frames = switch (account.getExchange()) {
+            case BYBIT -> List.of(
+                    toJson(MockExchangeFormat.bybitStream("order", List.of(MockExchangeFormat.bybitOrder(fill)), now)),
+                    toJson(MockExchangeFormat.bybitStream("position", List.of(MockExchangeFormat.bybitPosition(position)), now)));
+            case BINANCE -> List.of(
+                    toJson(MockExchangeFormat.binanceAccountUpdate(position, now)),
+                    toJson(MockExchangeFormat.binanceOrderTradeUpdate(fill, now)));
+            case BITGET -> List.of();
+        };
+
+        for (WebSocketSession session : account.getSessions()) {
+            try {
+                for (String frame : frames) {
+                    session.sendMessage(new TextMessage(frame));
+                }
+            } catch (IOException | IllegalStateException e) {
+                account.getSessions().remove(session);
+                log.debug("[MockExchange] 스트림 전송 실패 - 세션 제거: {}", session.getId());
+            }
+        }
+    }
+
+    /**
+     * 심볼별 ±0.1% 랜덤 워크
+     */
+    private BigDecimal nextPrice(String symbol, ThreadLocalRandom random) {
+        return prices.compute(symbol, (s, current) -> {
+            BigDecimal base = current != null ? current : BASE_PRICES.getOrDefault(s, new BigDecimal("100"));
+            BigDecimal factor = BigDecimal.valueOf(1 + (random.nextDouble() - 0.5) * 0.002);
+            return base.multiply(factor).setScale(4, RoundingMode.HALF_UP);
+        });
+    }
+
+    /**
+     * 명목가 100 ~ 1000 USDT 수준의 수량
+     */
+    private BigDecimal randomQty(BigDecimal price, ThreadLocalRandom random) {
+        BigDecimal notional = BigDecimal.valueOf(100 + random.nextInt(900));
+        BigDecimal qty = notional.divide(price, 3, RoundingMode.DOWN);
+        return qty.max(new BigDecimal("0.001"));
+    }
+}
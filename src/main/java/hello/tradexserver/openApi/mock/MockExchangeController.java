@@ -0,0 +1,161 @@
+package hello.tradexserver.openApi.mock;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 목 거래소 REST — 수집/gap fill/포지션 복구가 호출하는 엔드포인트만 구현.
+ * 서명은 검증하지 않고 API Key 헤더로 계정만 구분한다.
+ * 조회 엔드포인트는 설정된 지연 후 응답하고, 일정 비율로 거래소별 rate limit 오류를 돌려준다.
+ */
+@Hidden
+@RestController
+@RequestMapping("/mock")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "exchange.mock", name = "enabled", havingValue = "true")
+public class MockExchangeController {
+
+    private static final String BYBIT_API_KEY = "X-BAPI-API-KEY";
+    private static final String BINANCE_API_KEY = "X-MBX-APIKEY";
+
+    private final MockExchange mockExchange;
+
+    // ================ Bybit (/v5) ================
+
+    @GetMapping("/bybit/v5/user/query-api")
+    public ResponseEntity<Object> bybitQueryApi(@RequestHeader(BYBIT_API_KEY) String apiKey) {
+        mockExchange.account(ExchangeName.BYBIT, apiKey);
+        return bybit(() -> MockExchangeFormat.bybitOk(Map.of("apiKey", apiKey, "readOnly", 1)));
+    }
+
+    @GetMapping("/bybit/v5/account/wallet-balance")
+    public ResponseEntity<Object> bybitWalletBalance(@RequestHeader(BYBIT_API_KEY) String apiKey) {
+        Map<String, Object> account = Map.of(
+                "accountType", "UNIFIED",
+                "totalEquity", "10000",
+                "coin", List.of(Map.of("coin", "USDT", "walletBalance", "10000", "usdValue", "10000")));
+        return bybit(() -> MockExchangeFormat.bybitOk(Map.of("list", List.of(account))));
+    }
+
+    @GetMapping("/bybit/v5/order/history")
+    public ResponseEntity<Object> bybitOrderHistory(@RequestHeader(BYBIT_API_KEY) String apiKey,
+                                                    @RequestParam(required = false) String symbol,
+                                                    @RequestParam(required = false) Long startTime,
+                                                    @RequestParam(required = false) Long endTime,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        MockAccount account = mockExchange.account(ExchangeName.BYBIT, apiKey);
+        return bybit(() -> MockExchangeFormat.bybitOk(MockExchangeFormat.bybitList(
+                account.fills(symbol, startTime, endTime, limit, true).stream()
+                        .map(MockExchangeFormat::bybitOrder).toList())));
+    }
+
+    @GetMapping("/bybit/v5/position/list")
+    public ResponseEntity<Object> bybitPositionList(@RequestHeader(BYBIT_API_KEY) String apiKey) {
+        MockAccount account = mockExchange.account(ExchangeName.BYBIT, apiKey);
+        return bybit(() -> MockExchangeFormat.bybitOk(MockExchangeFormat.bybitList(
+                account.openPositions().stream().map(MockExchangeFormat::bybitPosition).toList())));
+    }
+
+    @GetMapping("/bybit/v5/position/closed-pnl")
+    public ResponseEntity<Object> bybitClosedPnl(@RequestHeader(BYBIT_API_KEY) String apiKey,
+                                                 @RequestParam(required = false) String symbol,
+                                                 @RequestParam(required = false) Long startTime,
+                                                 @RequestParam(required = false) Long endTime,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        MockAccount account = mockExchange.account(ExchangeName.BYBIT, apiKey);
+        return bybit(() -> MockExchangeFormat.bybitOk(MockExchangeFormat.bybitList(
+                account.closedPnls(symbol, startTime, endTime, limit).stream()
+                        .map(MockExchangeFormat::bybitClosedPnl).toList())));
+    }
+
+    // ================ Binance (/fapi) ================
+
+    @PostMapping("/binance/fapi/v1/listenKey")
+    public ResponseEntity<Object> binanceCreateListenKey(@RequestHeader(BINANCE_API_KEY) String apiKey) {
+        MockAccount account = mockExchange.account(ExchangeName.BINANCE, apiKey);
+        return ResponseEntity.ok(Map.of("listenKey", mockExchange.createListenKey(account)));
+    }
+
+    @PutMapping("/binance/fapi/v1/listenKey")
+    public ResponseEntity<Object> binanceKeepAliveListenKey(@RequestHeader(BINANCE_API_KEY) String apiKey) {
+        return ResponseEntity.ok(Map.of());
+    }
+
+    @GetMapping("/binance/fapi/v3/balance")
+    public ResponseEntity<Object> binanceBalance(@RequestHeader(BINANCE_API_KEY) String apiKey) {
+        mockExchange.account(ExchangeName.BINANCE, apiKey);
+        return binance(() -> List.of(Map.of("asset", "USDT", "balance", "10000", "availableBalance", "10000")));
+    }
+
+    @GetMapping("/binance/fapi/v1/allOrders")
+    public ResponseEntity<Object> binanceAllOrders(@RequestHeader(BINANCE_API_KEY) String apiKey,
+                                                   @RequestParam String symbol,
+                                                   @RequestParam(required = false) Long startTime,
+                                                   @RequestParam(required = false) Long endTime,
+                                                   @RequestParam(defaultValue = "500") int limit) {
+        MockAccount account = mockExchange.account(ExchangeName.BINANCE, apiKey);
+        return binance(() -> account.fills(symbol, startTime, endTime, limit, false).stream()
+                .map(MockExchangeFormat::binanceOrder).toList());
+    }
+
+    @GetMapping("/binance/fapi/v1/userTrades")
+    public ResponseEntity<Object> binanceUserTrades(@RequestHeader(BINANCE_API_KEY) String apiKey,
+                                                    @RequestParam String symbol,
+                                                    @RequestParam(required = false) Long startTime,
+                                                    @RequestParam(required = false) Long endTime,
+                                                    @RequestParam(defaultValue = "500") int limit) {
+        MockAccount account = mockExchange.account(ExchangeName.BINANCE, apiKey);
+        return binance(() -> account.fills(symbol, startTime, endTime, limit, false).stream()
+                .map(MockExchangeFormat::binanceTrade).toList());
+    }
+
+    @GetMapping("/binance/fapi/v2/positionRisk")
+    public ResponseEntity<Object> binancePositionRisk(@RequestHeader(BINANCE_API_KEY) String apiKey,
+                                                      @RequestParam(required = false) String symbol) {
+        MockAccount account = mockExchange.account(ExchangeName.BINANCE, apiKey);
+        List<String> symbols = symbol != null && !symbol.isEmpty() ? List.of(symbol) : mockExchange.getSymbols();
+        return binance(() -> symbols.stream()
+                .map(s -> MockExchangeFormat.binancePositionRisk(s, account.position(s)))
+                .toList());
+    }
+
+    // ================ 공통 ================
+
+    /**
+     * Bybit은 rate limit도 HTTP 200 + retCode 10006으로 응답
+     */
+    private ResponseEntity<Object> bybit(Supplier<Object> body) {
+        mockExchange.simulateLatency();
+        if (mockExchange.shouldRateLimit()) {
+            return ResponseEntity.ok()
+                    .header("X-Bapi-Limit-Status", "0")
+                    .body(MockExchangeFormat.bybitRateLimited());
+        }
+        return ResponseEntity.ok(body.get());
+    }
+
+    private ResponseEntity<Object> binance(Supplier<Object> body) {
+        mockExchange.simulateLatency();
+        if (mockExchange.shouldRateLimit()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "1")
+                    .body(MockExchangeFormat.binanceRateLimited());
+        }
+        return ResponseEntity.ok(body.get());
+    }
+}
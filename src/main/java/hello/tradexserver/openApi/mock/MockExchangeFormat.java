@@ -0,0 +1,274 @@
+package hello.tradexserver.openApi.mock;
+
+import hello.tradexserver.openApi.mock.MockAccount.ClosedPnl;
+import hello.tradexserver.openApi.mock.MockAccount.Fill;
+import hello.tradexserver.openApi.mock.MockAccount.PositionView;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 목 거래소 응답/스트림 메시지를 실제 거래소 포맷으로 변환 (Bybit v5 linear, Binance USDⓈ-M futures).
+ * 수신 측 DTO가 쓰는 필드 + 실제 거래소가 함께 보내는 주요 필드만 채운다.
+ */
+final class MockExchangeFormat {
+
+    private MockExchangeFormat() {
+    }
+
+    // ================ Bybit ================
+
+    static Map<String, Object> bybitOk(Object result) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("retCode", 0);
+        body.put("retMsg", "OK");
+        body.put("result", result);
+        body.put("retExtInfo", Map.of());
+        body.put("time", System.currentTimeMillis());
+        return body;
+    }
+
+    static Map<String, Object> bybitRateLimited() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("retCode", 10006);
+        body.put("retMsg", "Too many visits!");
+        body.put("result", Map.of());
+        body.put("time", System.currentTimeMillis());
+        return body;
+    }
+
+    static Map<String, Object> bybitList(List<?> items) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("category", "linear");
+        result.put("nextPageCursor", "");
+        result.put("list", items);
+        return result;
+    }
+
+    static Map<String, Object> bybitStream(String topic, List<?> data, long now) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("id", UUID.randomUUID().toString());
+        frame.put("topic", topic);
+        frame.put("creationTime", now);
+        frame.put("data", data);
+        return frame;
+    }
+
+    static Map<String, Object> bybitOpResponse(String op, String connId, String retMsg) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("success", true);
+        frame.put("ret_msg", retMsg);
+        frame.put("op", op);
+        frame.put("conn_id", connId);
+        return frame;
+    }
+
+    /**
+     * order 스트림 data 항목 겸 order/history 항목
+     */
+    static Map<String, Object> bybitOrder(Fill fill) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("category", "linear");
+        order.put("orderId", String.valueOf(fill.orderId()));
+        order.put("orderLinkId", "");
+        order.put("symbol", fill.symbol());
+        order.put("price", plain(fill.price()));
+        order.put("qty", plain(fill.qty()));
+        order.put("side", fill.buy() ? "Buy" : "Sell");
+        order.put("positionIdx", 0);
+        order.put("orderStatus", "Filled");
+        order.put("orderType", "Market");
+        order.put("avgPrice", plain(fill.price()));
+        order.put("leavesQty", "0");
+        order.put("cumExecQty", plain(fill.qty()));
+        order.put("cumExecValue", plain(fill.price().multiply(fill.qty())));
+        order.put("cumExecFee", plain(fill.fee()));
+        order.put("closedPnl", plain(fill.realizedPnl()));
+        order.put("stopOrderType", "");
+        order.put("triggerPrice", "0");
+        order.put("takeProfit", "0");
+        order.put("stopLoss", "0");
+        order.put("reduceOnly", fill.reduceOnly());
+        order.put("createdTime", String.valueOf(fill.time()));
+        order.put("updatedTime", String.valueOf(fill.time()));
+        return order;
+    }
+
+    /**
+     * position 스트림 data 항목 겸 position/list 항목 (청산 시 side "", size "0")
+     */
+    static Map<String, Object> bybitPosition(PositionView position) {
+        int direction = position.size().signum();
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("category", "linear");
+        item.put("positionIdx", 0);
+        item.put("symbol", position.symbol());
+        item.put("side", direction > 0 ? "Buy" : direction < 0 ? "Sell" : "");
+        item.put("size", plain(position.size().abs()));
+        item.put("entryPrice", plain(position.entryPrice()));
+        item.put("avgPrice", plain(position.entryPrice()));
+        item.put("leverage", String.valueOf(position.leverage()));
+        item.put("takeProfit", "0");
+        item.put("stopLoss", "0");
+        item.put("curRealisedPnl", plain(position.realizedPnl()));
+        item.put("positionStatus", "Normal");
+        item.put("createdTime", String.valueOf(position.createdTime()));
+        item.put("updatedTime", String.valueOf(position.updatedTime()));
+        return item;
+    }
+
+    static Map<String, Object> bybitClosedPnl(ClosedPnl closed) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("symbol", closed.symbol());
+        item.put("orderId", String.valueOf(closed.orderId()));
+        item.put("side", closed.buy() ? "Buy" : "Sell");
+        item.put("qty", plain(closed.qty()));
+        item.put("orderPrice", plain(closed.avgExitPrice()));
+        item.put("orderType", "Market");
+        item.put("execType", "Trade");
+        item.put("closedSize", plain(closed.qty()));
+        item.put("cumEntryValue", plain(closed.avgEntryPrice().multiply(closed.qty())));
+        item.put("avgEntryPrice", plain(closed.avgEntryPrice()));
+        item.put("cumExitValue", plain(closed.avgExitPrice().multiply(closed.qty())));
+        item.put("avgExitPrice", plain(closed.avgExitPrice()));
+        item.put("closedPnl", plain(closed.closedPnl()));
+        item.put("fillCount", "1");
+        item.put("leverage", "10");
+        item.put("openFee", plain(closed.openFee()));
+        item.put("closeFee", plain(closed.closeFee()));
+        item.put("createdTime", String.valueOf(closed.time()));
+        item.put("updatedTime", String.valueOf(closed.time()));
+        return item;
+    }
+
+    // ================ Binance ================
+
+    static Map<String, Object> binanceRateLimited() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("code", -1003);
+        body.put("msg", "Too many requests; current limit of IP is 2400 requests per minute.");
+        return body;
+    }
+
+    /**
+     * allOrders 항목
+     */
+    static Map<String, Object> binanceOrder(Fill fill) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderId", fill.orderId());
+        order.put("symbol", fill.symbol());
+        order.put("status", "FILLED");
+        order.put("clientOrderId", "mock-" + fill.orderId());
+        order.put("price", "0");
+        order.put("avgPrice", plain(fill.price()));
+        order.put("origQty", plain(fill.qty()));
+        order.put("executedQty", plain(fill.qty()));
+        order.put("cumQuote", plain(fill.price().multiply(fill.qty())));
+        order.put("type", "MARKET");
+        order.put("origType", "MARKET");
+        order.put("side", fill.buy() ? "BUY" : "SELL");
+        order.put("positionSide", "BOTH");
+        order.put("reduceOnly", fill.reduceOnly());
+        order.put("time", fill.time());
+        order.put("updateTime", fill.time());
+        return order;
+    }
+
+    /**
+     * userTrades 항목 — 목 거래소는 주문 1건 = 체결 1건
+     */
+    static Map<String, Object> binanceTrade(Fill fill) {
+        Map<String, Object> trade = new LinkedHashMap<>();
+        trade.put("id", fill.orderId());
+        trade.put("orderId", fill.orderId());
+        trade.put("symbol", fill.symbol());
+        trade.put("side", fill.buy() ? "BUY" : "SELL");
+        trade.put("price", plain(fill.price()));
+        trade.put("qty", plain(fill.qty()));
+        trade.put("quoteQty", plain(fill.price().multiply(fill.qty())));
+        trade.put("commission", plain(fill.fee()));
+        trade.put("commissionAsset", "USDT");
+        trade.put("realizedPnl", plain(fill.realizedPnl()));
+        trade.put("positionSide", "BOTH");
+        trade.put("buyer", fill.buy());
+        trade.put("maker", false);
+        trade.put("time", fill.time());
+        return trade;
+    }
+
+    /**
+     * positionRisk 항목 (포지션이 없으면 수량 0)
+     */
+    static Map<String, Object> binancePositionRisk(String symbol, PositionView position) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("symbol", symbol);
+        item.put("positionAmt", position != null ? plain(position.size()) : "0");
+        item.put("entryPrice", position != null ? plain(position.entryPrice()) : "0");
+        item.put("breakEvenPrice", position != null ? plain(position.entryPrice()) : "0");
+        item.put("leverage", position != null ? String.valueOf(position.leverage()) : "10");
+        item.put("unRealizedProfit", "0");
+        item.put("marginType", "cross");
+        item.put("positionSide", "BOTH");
+        item.put("updateTime", position != null ? position.updatedTime() : 0L);
+        return item;
+    }
+
+    static Map<String, Object> binanceOrderTradeUpdate(Fill fill, long now) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("s", fill.symbol());
+        order.put("c", "mock-" + fill.orderId());
+        order.put("S", fill.buy() ? "BUY" : "SELL");
+        order.put("o", "MARKET");
+        order.put("x", "TRADE");
+        order.put("X", "FILLED");
+        order.put("i", fill.orderId());
+        order.put("q", plain(fill.qty()));
+        order.put("l", plain(fill.qty()));
+        order.put("z", plain(fill.qty()));
+        order.put("L", plain(fill.price()));
+        order.put("ap", plain(fill.price()));
+        order.put("n", plain(fill.fee()));
+        order.put("N", "USDT");
+        order.put("rp", plain(fill.realizedPnl()));
+        order.put("R", fill.reduceOnly());
+        order.put("ps", "BOTH");
+        order.put("T", fill.time());
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("e", "ORDER_TRADE_UPDATE");
+        frame.put("E", now);
+        frame.put("T", fill.time());
+        frame.put("o", order);
+        return frame;
+    }
+
+    static Map<String, Object> binanceAccountUpdate(PositionView position, long now) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("s", position.symbol());
+        item.put("pa", plain(position.size()));
+        item.put("ep", plain(position.entryPrice()));
+        item.put("cr", plain(position.realizedPnl()));
+        item.put("up", "0");
+        item.put("mt", "cross");
+        item.put("ps", "BOTH");
+
+        Map<String, Object> account = new LinkedHashMap<>();
+        account.put("m", "ORDER");
+        account.put("B", List.of());
+        account.put("P", List.of(item));
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("e", "ACCOUNT_UPDATE");
+        frame.put("E", now);
+        frame.put("T", position.updatedTime());
+        frame.put("a", account);
+        return frame;
+    }
+
+    private static String plain(BigDecimal value) {
+        return value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,33 @@
+package hello.tradexserver.openApi.mock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * 목 거래소 경로(/mock/**) 인증 해제 — exchange.mock.enabled일 때만 등록.
+ * 기본 SecurityFilterChain보다 먼저 매칭되며, 비활성화 시 /mock/** 는 일반 API와 같이 인증 대상이다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "exchange.mock", name = "enabled", havingValue = "true")
+public class MockExchangeSecurityConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain mockExchangeSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/mock/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+}
@@ -0,0 +1,110 @@
+package hello.tradexserver.openApi.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * 목 거래소 private 스트림
+ * - Bybit: /mock/bybit/v5/private (auth → subscribe → order/position 토픽, 서명은 검증하지 않음)
+ * - Binance: /mock/binance/ws/{listenKey} (접속 즉시 ORDER_TRADE_UPDATE / ACCOUNT_UPDATE 수신)
+ */
+@Slf4j
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "exchange.mock", name = "enabled", havingValue = "true")
+public class MockExchangeWebSocketConfig implements WebSocketConfigurer {
+
+    // 체결 생성 스레드와 응답 전송이 겹칠 수 있어 전송을 직렬화한 세션을 속성에 보관
+    private static final String SESSION_ATTR = "mockSession";
+    private static final String ACCOUNT_ATTR = "mockAccount";
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int BUFFER_SIZE_LIMIT = 512 * 1024;
+
+    private final MockExchange mockExchange;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new BybitStreamHandler(), "/mock/bybit/v5/private").setAllowedOrigins("*");
+        registry.addHandler(new BinanceStreamHandler(), "/mock/binance/ws/*").setAllowedOrigins("*");
+    }
+
+    private abstract class StreamHandler extends TextWebSocketHandler {
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) {
+            session.getAttributes().put(SESSION_ATTR,
+                    new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, BUFFER_SIZE_LIMIT));
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+            MockAccount account = (MockAccount) session.getAttributes().get(ACCOUNT_ATTR);
+            if (account != null) {
+                account.getSessions().remove(sendable(session));
+            }
+        }
+
+        protected WebSocketSession sendable(WebSocketSession session) {
+            return (WebSocketSession) session.getAttributes().get(SESSION_ATTR);
+        }
+
+        protected void register(WebSocketSession session, MockAccount account) {
+            session.getAttributes().put(ACCOUNT_ATTR, account);
+            account.getSessions().add(sendable(session));
+        }
+    }
+
+    private class BybitStreamHandler extends StreamHandler {
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+            JsonNode request = objectMapper.readTree(message.getPayload());
+            String op = request.path("op").asText();
+
+            switch (op) {
+                case "auth" -> {
+                    String apiKey = request.path("args").path(0).asText();
+                    register(session, mockExchange.account(ExchangeName.BYBIT, apiKey));
+                    reply(session, "auth", "");
+                }
+                case "subscribe" -> reply(session, "subscribe", "");
+                case "ping" -> reply(session, "pong", "pong");
+                default -> log.debug("[MockExchange] Bybit 미지원 op: {}", op);
+            }
+        }
+
+        private void reply(WebSocketSession session, String op, String retMsg) throws Exception {
+            sendable(session).sendMessage(new TextMessage(mockExchange.toJson(
+                    MockExchangeFormat.bybitOpResponse(op, session.getId(), retMsg))));
+        }
+    }
+
+    private class BinanceStreamHandler extends StreamHandler {
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            super.afterConnectionEstablished(session);
+            String path = session.getUri() != null ? session.getUri().getPath() : "";
+            String listenKey = path.substring(path.lastIndexOf('/') + 1);
+
+            MockAccount account = mockExchange.accountByListenKey(listenKey);
+            if (account == null) {
+                session.close(CloseStatus.POLICY_VIOLATION.withReason("Invalid listenKey"));
+                return;
+            }
+            register(session, account);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package hello.tradexserver.openApi.rest;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.config.ExchangeEndpointProperties;
 import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.openApi.rest.dto.BinanceAllOrderItem;
 import hello.tradexserver.openApi.rest.dto.BinancePositionRisk;
 import hello.tradexserver.openApi.rest.dto.BinanceUserTrade;
@@ -26,16 +28,14 @@ import java.util.List;
 public class BinanceRestClient implements ExchangeRestClient {
 
     private final RestTemplate restTemplate;
+    private final ExchangeRateLimiter rateLimiter;
     private final ObjectMapper objectMapper;
-
-    // Testnet API
-    // private static final String BASE_URL = "https://testnet.binancefuture.com";
-    // Live API
-    private static final String BASE_URL = "https://fapi.binance.com";
+    private final ExchangeEndpointProperties endpointProperties;
 
     @Override
     public boolean validateApiKey(ExchangeApiKey apiKey) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BINANCE, apiKey.getId(), ExchangeEndpointWeights.BINANCE_BALANCE);
             String timestamp = String.valueOf(System.currentTimeMillis());
             String queryString = "timestamp=" + timestamp;
             String signature = BinanceSignatureUtil.generateSignature(apiKey.getApiSecret(), queryString);
@@ -43,7 +43,7 @@ public class BinanceRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(createApiKeyHeader(apiKey));
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + "/fapi/v3/balance?" + queryString,
+                    baseUrl() + "/fapi/v3/balance?" + queryString,
                     HttpMethod.GET, entity, String.class);
 
             return response.getStatusCode().is2xxSuccessful();
@@ -58,9 +58,10 @@ public class BinanceRestClient implements ExchangeRestClient {
      */
     public String createListenKey(ExchangeApiKey apiKey) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BINANCE, apiKey.getId(), ExchangeEndpointWeights.BINANCE_LISTEN_KEY);
             HttpEntity<String> entity = new HttpEntity<>(createApiKeyHeader(apiKey));
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + "/fapi/v1/listenKey", HttpMethod.POST, entity, String.class);
+                    baseUrl() + "/fapi/v1/listenKey", HttpMethod.POST, entity, String.class);
 
             String body = response.getBody();
             if (body != null && body.contains("listenKey")) {
@@ -82,9 +83,10 @@ public class BinanceRestClient implements ExchangeRestClient {
      */
     public void keepAliveListenKey(ExchangeApiKey apiKey) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BINANCE, apiKey.getId(), ExchangeEndpointWeights.BINANCE_LISTEN_KEY);
             HttpEntity<String> entity = new HttpEntity<>(createApiKeyHeader(apiKey));
             restTemplate.exchange(
-                    BASE_URL + "/fapi/v1/listenKey", HttpMethod.PUT, entity, String.class);
+                    baseUrl() + "/fapi/v1/listenKey", HttpMethod.PUT, entity, String.class);
             log.debug("[Binance] ListenKey 연장 완료");
         } catch (Exception e) {
             log.error("[Binance] ListenKey 연장 실패", e);
@@ -96,6 +98,7 @@ public class BinanceRestClient implements ExchangeRestClient {
      */
     public List<BinancePositionRisk> fetchPositionRisk(ExchangeApiKey apiKey, String symbol) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BINANCE, apiKey.getId(), ExchangeEndpointWeights.BINANCE_POSITION_RISK);
             String timestamp = String.valueOf(System.currentTimeMillis());
             StringBuilder qs = new StringBuilder("timestamp=").append(timestamp);
             if (symbol != null && !symbol.isEmpty()) {
@@ -107,7 +110,7 @@ public class BinanceRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(createApiKeyHeader(apiKey));
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + "/fapi/v2/positionRisk?" + queryString,
+                    baseUrl() + "/fapi/v2/positionRisk?" + queryString,
                     HttpMethod.GET, entity, String.class);
 
             String body = response.getBody();
@@ -126,6 +129,7 @@ public class BinanceRestClient implements ExchangeRestClient {
     public List<BinanceAllOrderItem> fetchAllOrders(ExchangeApiKey apiKey, String symbol,
                                                      Long startTime, Long endTime) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BINANCE, apiKey.getId(), ExchangeEndpointWeights.BINANCE_ALL_ORDERS);
             String timestamp = String.valueOf(System.currentTimeMillis());
             StringBuilder qs = new StringBuilder("symbol=").append(symbol)
                     .append("&timestamp=").append(timestamp);
@@ -138,16 +142,19 @@ public class BinanceRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(createApiKeyHeader(apiKey));
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + "/fapi/v1/allOrders?" + queryString,
+                    baseUrl() + "/fapi/v1/allOrders?" + queryString,
                     HttpMethod.GET, entity, String.class);
 
             String body = response.getBody();
-            if (body == null) return List.of();
+            if (body == null) {
+                throw new IllegalStateException("Binance allOrders 응답 없음");
+            }
 
             return objectMapper.readValue(body, new TypeReference<List<BinanceAllOrderItem>>() {});
         } catch (Exception e) {
+            // gap fill이 빈 결과와 구분해 재시도하도록 실패를 전파
             log.error("[Binance] allOrders 조회 실패 - apiKeyId: {}, symbol: {}", apiKey.getId(), symbol, e);
-            return List.of();
+            throw e instanceof RuntimeException re ? re : new IllegalStateException("Binance allOrders 조회 실패", e);
         }
     }
 
@@ -157,6 +164,7 @@ public class BinanceRestClient implements ExchangeRestClient {
     public List<BinanceUserTrade> fetchUserTrades(ExchangeApiKey apiKey, String symbol,
                                                    Long startTime, Long endTime) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BINANCE, apiKey.getId(), ExchangeEndpointWeights.BINANCE_USER_TRADES);
             String timestamp = String.valueOf(System.currentTimeMillis());
             StringBuilder qs = new StringBuilder("symbol=").append(symbol)
                     .append("&timestamp=").append(timestamp);
@@ -169,7 +177,7 @@ public class BinanceRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(createApiKeyHeader(apiKey));
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + "/fapi/v1/userTrades?" + queryString,
+                    baseUrl() + "/fapi/v1/userTrades?" + queryString,
                     HttpMethod.GET, entity, String.class);
 
             String body = response.getBody();
@@ -194,6 +202,10 @@ public class BinanceRestClient implements ExchangeRestClient {
         return null;
     }
 
+    private String baseUrl() {
+        return endpointProperties.getBinanceRestUrl();
+    }
+
     private HttpHeaders createApiKeyHeader(ExchangeApiKey apiKey) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("X-MBX-APIKEY", apiKey.getApiKey());
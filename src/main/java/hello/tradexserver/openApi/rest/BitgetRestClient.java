@@ -2,7 +2,9 @@ package hello.tradexserver.openApi.rest;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.config.ExchangeEndpointProperties;
 import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.openApi.rest.dto.BitgetOrderHistoryItem;
 import hello.tradexserver.openApi.rest.dto.BitgetPositionItem;
 import hello.tradexserver.openApi.rest.dto.WalletBalanceResponse;
@@ -25,9 +27,9 @@ import java.util.List;
 public class BitgetRestClient implements ExchangeRestClient {
 
     private final RestTemplate restTemplate;
+    private final ExchangeRateLimiter rateLimiter;
     private final ObjectMapper objectMapper;
-
-    private static final String BASE_URL = "https://api.bitget.com";
+    private final ExchangeEndpointProperties endpointProperties;
 
     // 데모 모드 여부 (데모 트레이딩 시 true)
     private static final boolean IS_DEMO_MODE = false;
@@ -35,6 +37,7 @@ public class BitgetRestClient implements ExchangeRestClient {
     @Override
     public boolean validateApiKey(ExchangeApiKey apiKey) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BITGET, apiKey.getId(), ExchangeEndpointWeights.BITGET_DEFAULT);
             String requestPath = "/api/v2/mix/account/accounts";
             String queryString = "productType=USDT-FUTURES";
             String fullPath = requestPath + "?" + queryString;
@@ -44,7 +47,7 @@ public class BitgetRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(headers);
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + fullPath, HttpMethod.GET, entity, String.class);
+                    baseUrl() + fullPath, HttpMethod.GET, entity, String.class);
 
             String body = response.getBody();
             if (body == null) return false;
@@ -77,6 +80,7 @@ public class BitgetRestClient implements ExchangeRestClient {
     public List<BitgetOrderHistoryItem> fetchOrderHistory(ExchangeApiKey apiKey, String symbol,
                                                            Long startTime, Long endTime) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BITGET, apiKey.getId(), ExchangeEndpointWeights.BITGET_DEFAULT);
             String requestPath = "/api/v2/mix/order/orders-history";
             StringBuilder qs = new StringBuilder("productType=USDT-FUTURES");
             if (symbol != null && !symbol.isEmpty()) {
@@ -94,16 +98,17 @@ public class BitgetRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(headers);
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + fullPath, HttpMethod.GET, entity, String.class);
+                    baseUrl() + fullPath, HttpMethod.GET, entity, String.class);
 
             String body = response.getBody();
-            if (body == null) return List.of();
+            if (body == null) {
+                throw new IllegalStateException("Bitget orders-history 응답 없음");
+            }
 
             JsonNode root = objectMapper.readTree(body);
             if (!"00000".equals(root.path("code").asText())) {
-                log.error("[Bitget] fetchOrderHistory 실패 - code: {}, msg: {}",
-                        root.path("code").asText(), root.path("msg").asText());
-                return List.of();
+                throw new IllegalStateException("Bitget orders-history 오류 - code: " + root.path("code").asText()
+                        + ", msg: " + root.path("msg").asText());
             }
 
             JsonNode orderList = root.path("data").path("orderList");
@@ -114,8 +119,9 @@ public class BitgetRestClient implements ExchangeRestClient {
                     objectMapper.getTypeFactory().constructCollectionType(List.class, BitgetOrderHistoryItem.class)
             );
         } catch (Exception e) {
+            // gap fill이 빈 결과와 구분해 재시도하도록 실패를 전파
             log.error("[Bitget] fetchOrderHistory 실패 - apiKeyId: {}", apiKey.getId(), e);
-            return List.of();
+            throw e instanceof RuntimeException re ? re : new IllegalStateException("Bitget orders-history 조회 실패", e);
         }
     }
 
@@ -125,6 +131,7 @@ public class BitgetRestClient implements ExchangeRestClient {
      */
     public List<BitgetPositionItem> fetchAllPositions(ExchangeApiKey apiKey) {
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BITGET, apiKey.getId(), ExchangeEndpointWeights.BITGET_DEFAULT);
             String requestPath = "/api/v2/mix/position/all-position";
             String queryString = "productType=USDT-FUTURES";
             String fullPath = requestPath + "?" + queryString;
@@ -134,7 +141,7 @@ public class BitgetRestClient implements ExchangeRestClient {
 
             HttpEntity<String> entity = new HttpEntity<>(headers);
             ResponseEntity<String> response = restTemplate.exchange(
-                    BASE_URL + fullPath, HttpMethod.GET, entity, String.class);
+                    baseUrl() + fullPath, HttpMethod.GET, entity, String.class);
 
             String body = response.getBody();
             if (body == null) return List.of();
@@ -159,6 +166,10 @@ public class BitgetRestClient implements ExchangeRestClient {
         }
     }
 
+    private String baseUrl() {
+        return endpointProperties.getBitgetRestUrl();
+    }
+
     private HttpHeaders createAuthHeaders(ExchangeApiKey apiKey, String timestamp,
                                            String method, String requestPath, String body) {
         try {
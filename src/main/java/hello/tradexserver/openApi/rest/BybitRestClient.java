@@ -1,9 +1,11 @@
 package hello.tradexserver.openApi.rest;
 
+import hello.tradexserver.config.ExchangeEndpointProperties;
 import hello.tradexserver.openApi.rest.dto.BybitClosedPnlResponse;
 import hello.tradexserver.openApi.rest.dto.CoinBalanceDto;
 import hello.tradexserver.openApi.rest.dto.WalletBalanceResponse;
 import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.openApi.rest.dto.*;
 import hello.tradexserver.openApi.util.BybitSignatureUtil;
 import lombok.RequiredArgsConstructor;
@@ -28,17 +30,17 @@ import java.util.Map;
 public class BybitRestClient implements ExchangeRestClient {
 
     private final RestTemplate restTemplate;
-
-    // private static final String BASE_URL = "https://api-demo.bybit.com/v5";
-    private static final String BASE_URL = "https://api.bybit.com/v5";
+    private final ExchangeRateLimiter rateLimiter;
+    private final ExchangeEndpointProperties endpointProperties;
 
     @Override
     public boolean validateApiKey(ExchangeApiKey apiKey) {
         String queryString = "";
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT);
             HttpEntity<String> entity = new HttpEntity<>(createSignedHeaders(apiKey, queryString));
             ResponseEntity<Map> response = restTemplate.exchange(
-                    BASE_URL + "/user/query-api",
+                    baseUrl() + "/user/query-api",
                     HttpMethod.GET, entity, Map.class);
 
             Map<String, Object> body = response.getBody();
@@ -61,24 +63,25 @@ public class BybitRestClient implements ExchangeRestClient {
         String queryString = qs.toString();
 
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT);
             HttpEntity<String> entity = new HttpEntity<>(createSignedHeaders(apiKey, queryString));
             ResponseEntity<BybitOrderHistoryResponse> response = restTemplate.exchange(
-                    BASE_URL + "/order/history?" + queryString,
+                    baseUrl() + "/order/history?" + queryString,
                     HttpMethod.GET, entity, BybitOrderHistoryResponse.class
             );
             BybitOrderHistoryResponse body = response.getBody();
             if (body == null || body.getResult() == null) {
-                log.info("[Bybit] order/history 응답 없음 - apiKeyId: {}", apiKey.getId());
-                return null;
+                throw new IllegalStateException("Bybit order/history 응답 없음");
             }
             if (body.getRetCode() != 0) {
-                log.warn("[Bybit] order/history 오류 - retCode: {}, msg: {}", body.getRetCode(), body.getRetMsg());
-                return null;
+                throw new IllegalStateException("Bybit order/history 오류 - retCode: " + body.getRetCode()
+                        + ", msg: " + body.getRetMsg());
             }
             return body.getResult();
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            // gap fill이 빈 결과와 구분해 재시도하도록 실패를 전파
             log.error("[Bybit] order/history 조회 실패 - apiKeyId: {}", apiKey.getId(), e);
-            return null;
+            throw e;
         }
     }
 
@@ -86,9 +89,10 @@ public class BybitRestClient implements ExchangeRestClient {
         String queryString = "category=linear&settleCoin=USDT&limit=200";
 
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT);
             HttpEntity<String> entity = new HttpEntity<>(createSignedHeaders(apiKey, queryString));
             ResponseEntity<BybitPositionListResponse> response = restTemplate.exchange(
-                    BASE_URL + "/position/list?" + queryString,
+                    baseUrl() + "/position/list?" + queryString,
                     HttpMethod.GET, entity, BybitPositionListResponse.class
             );
             BybitPositionListResponse body = response.getBody();
@@ -126,90 +130,95 @@ public class BybitRestClient implements ExchangeRestClient {
         String queryString = "accountType=UNIFIED";
 
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT);
             HttpEntity<String> entity = new HttpEntity<>(createSignedHeaders(apiKey, queryString));
 
             ResponseEntity<Map> responseEntity = restTemplate.exchange(
-                    BASE_URL + "/account/wallet-balance?" + queryString,
+                    baseUrl() + "/account/wallet-balance?" + queryString,
                     HttpMethod.GET,
                     entity,
                     Map.class
             );
 
-            Map<String, Object> response = responseEntity.getBody();
-
-            if (response == null) {
-                log.warn("Bybit wallet-balance 응답 없음");
-                return WalletBalanceResponse.builder()
-                        .totalEquity(BigDecimal.ZERO)
-                        .coins(List.of())
-                        .build();
-            }
-
-            int retCode = (int) response.getOrDefault("retCode", -1);
-            if (retCode != 0) {
-                log.warn("Bybit wallet-balance 에러: {}", response.get("retMsg"));
-                return WalletBalanceResponse.builder()
-                        .totalEquity(BigDecimal.ZERO)
-                        .coins(List.of())
-                        .build();
-            }
-
-            Map<String, Object> result = (Map<String, Object>) response.get("result");
-            if (result == null) {
-                return WalletBalanceResponse.builder()
-                        .totalEquity(BigDecimal.ZERO)
-                        .coins(List.of())
-                        .build();
-            }
-
-            List<Map<String, Object>> accountList = (List<Map<String, Object>>) result.get("list");
-            if (accountList == null || accountList.isEmpty()) {
-                return WalletBalanceResponse.builder()
-                        .totalEquity(BigDecimal.ZERO)
-                        .coins(List.of())
-                        .build();
-            }
+            return parseWalletBalance(responseEntity.getBody());
+        } catch (Exception e) {
+            log.error("Bybit getWalletBalance 실패", e);
+            return WalletBalanceResponse.builder()
+                    .totalEquity(BigDecimal.ZERO)
+                    .coins(List.of())
+                    .build();
+        }
+    }
 
-            Map<String, Object> account = accountList.get(0);
-            String totalEquityStr = (String) account.get("totalEquity");
-            BigDecimal totalEquity = totalEquityStr != null ? new BigDecimal(totalEquityStr) : BigDecimal.ZERO;
-
-            List<CoinBalanceDto> coinBalances = new ArrayList<>();
-            List<Map<String, Object>> coinList = (List<Map<String, Object>>) account.get("coin");
-
-            if (coinList != null) {
-                for (Map<String, Object> coinData : coinList) {
-                    String coin = (String) coinData.get("coin");
-                    String walletBalanceStr = (String) coinData.get("walletBalance");
-                    String usdValueStr = (String) coinData.get("usdValue");
-
-                    BigDecimal walletBalance = walletBalanceStr != null ? new BigDecimal(walletBalanceStr) : BigDecimal.ZERO;
-                    BigDecimal usdValue = usdValueStr != null ? new BigDecimal(usdValueStr) : BigDecimal.ZERO;
-
-                    if (walletBalance.compareTo(BigDecimal.ZERO) > 0) {
-                        coinBalances.add(CoinBalanceDto.builder()
-                                .coin(coin)
-                                .walletBalance(walletBalance)
-                                .usdValue(usdValue)
-                                .build());
-                    }
-                }
-            }
+    /**
+     * account/wallet-balance 응답 변환 — ReactiveBybitRestClient와 공유
+     */
+    WalletBalanceResponse parseWalletBalance(Map<String, Object> response) {
+        if (response == null) {
+            log.warn("Bybit wallet-balance 응답 없음");
+            return WalletBalanceResponse.builder()
+                    .totalEquity(BigDecimal.ZERO)
+                    .coins(List.of())
+                    .build();
+        }
 
-            log.info("Bybit 지갑 잔고 조회 성공 - 총 자산: {}, 코인 수: {}", totalEquity, coinBalances.size());
+        int retCode = (int) response.getOrDefault("retCode", -1);
+        if (retCode != 0) {
+            log.warn("Bybit wallet-balance 에러: {}", response.get("retMsg"));
+            return WalletBalanceResponse.builder()
+                    .totalEquity(BigDecimal.ZERO)
+                    .coins(List.of())
+                    .build();
+        }
 
+        Map<String, Object> result = (Map<String, Object>) response.get("result");
+        if (result == null) {
             return WalletBalanceResponse.builder()
-                    .totalEquity(totalEquity)
-                    .coins(coinBalances)
+                    .totalEquity(BigDecimal.ZERO)
+                    .coins(List.of())
                     .build();
+        }
 
-        } catch (Exception e) {
-            log.error("Bybit getWalletBalance 실패", e);
+        List<Map<String, Object>> accountList = (List<Map<String, Object>>) result.get("list");
+        if (accountList == null || accountList.isEmpty()) {
             return WalletBalanceResponse.builder()
                     .totalEquity(BigDecimal.ZERO)
                     .coins(List.of())
                     .build();
         }
+
+        Map<String, Object> account = accountList.get(0);
+        String totalEquityStr = (String) account.get("totalEquity");
+        BigDecimal totalEquity = totalEquityStr != null ? new BigDecimal(totalEquityStr) : BigDecimal.ZERO;
+
+        List<CoinBalanceDto> coinBalances = new ArrayList<>();
+        List<Map<String, Object>> coinList = (List<Map<String, Object>>) account.get("coin");
+
+        if (coinList != null) {
+            for (Map<String, Object> coinData : coinList) {
+                String coin = (String) coinData.get("coin");
+                String walletBalanceStr = (String) coinData.get("walletBalance");
+                String usdValueStr = (String) coinData.get("usdValue");
+
+                BigDecimal walletBalance = walletBalanceStr != null ? new BigDecimal(walletBalanceStr) : BigDecimal.ZERO;
+                BigDecimal usdValue = usdValueStr != null ? new BigDecimal(usdValueStr) : BigDecimal.ZERO;
+
+                if (walletBalance.compareTo(BigDecimal.ZERO) > 0) {
+                    coinBalances.add(CoinBalanceDto.builder()
+                            .coin(coin)
+                            .walletBalance(walletBalance)
+                            .usdValue(usdValue)
+                            .build());
+                }
+            }
+        }
+
+        log.info("Bybit 지갑 잔고 조회 성공 - 총 자산: {}, 코인 수: {}", totalEquity, coinBalances.size());
+
+        return WalletBalanceResponse.builder()
+                .totalEquity(totalEquity)
+                .coins(coinBalances)
+                .build();
     }
 
     public BybitClosedPnlData fetchClosedPnl(ExchangeApiKey apiKey, String symbol,
@@ -221,9 +230,10 @@ public class BybitRestClient implements ExchangeRestClient {
         String queryString = qs.toString();
 
         try {
+            rateLimiter.acquireOrThrow(ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT);
             HttpEntity<String> entity = new HttpEntity<>(createSignedHeaders(apiKey, queryString));
             ResponseEntity<BybitClosedPnlResponse> response = restTemplate.exchange(
-                    BASE_URL + "/position/closed-pnl?" + queryString,
+                    baseUrl() + "/position/closed-pnl?" + queryString,
                     HttpMethod.GET, entity, BybitClosedPnlResponse.class
             );
             BybitClosedPnlResponse body = response.getBody();
@@ -242,7 +252,7 @@ public class BybitRestClient implements ExchangeRestClient {
         }
     }
 
-    private HttpHeaders createSignedHeaders(ExchangeApiKey apiKey, String queryString) {
+    HttpHeaders createSignedHeaders(ExchangeApiKey apiKey, String queryString) {
         String timestamp = String.valueOf(System.currentTimeMillis());
         String recvWindow = "5000";
         String signature = BybitSignatureUtil.generateRestSignature(
@@ -256,6 +266,10 @@ public class BybitRestClient implements ExchangeRestClient {
         return headers;
     }
 
+    String baseUrl() {
+        return endpointProperties.getBybitRestUrl();
+    }
+
     private long toEpochMilli(LocalDateTime dateTime) {
         return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
@@ -0,0 +1,283 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeCircuitBreakerProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 거래소별 circuit breaker + bulkhead — 한 거래소 API 장애가 다른 거래소 기능까지 끌어내리지 않도록.
+ * RestTemplate 인터셉터 / WebClient 필터로 모든 거래소 REST 호출(클라이언트, 차트)을 감싼다.
+ * - CLOSED: 최근 slidingWindowSize건 중 실패율이 임계치를 넘으면 OPEN
+ * - OPEN: 호출 없이 즉시 ExchangeUnavailableException (호출자는 캐시된 마지막 값으로 대체)
+ * - HALF_OPEN: openDurationMs 후 halfOpenProbes건만 시험 호출, 모두 성공하면 CLOSED / 하나라도 실패하면 다시 OPEN
+ * - bulkhead: 거래소별 동시 호출 상한 — 느려진 거래소가 스레드를 모두 붙잡지 않도록
+ * 실패는 연결 오류/타임아웃(IOException)과 5xx만 센다. 429/418은 rate limiter가 처리.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExchangeCircuitBreaker implements ClientHttpRequestInterceptor {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final ExchangeCircuitBreakerProperties properties;
+    private final ExchangeEndpointResolver endpointResolver;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ExchangeName, Circuit> circuits = new EnumMap<>(ExchangeName.class);
+    private final Map<ExchangeName, Semaphore> bulkheads = new EnumMap<>(ExchangeName.class);
+
+    @PostConstruct
+    public void init() {
+        for (ExchangeName exchange : ExchangeName.values()) {
+            Circuit circuit = new Circuit(exchange);
+            circuits.put(exchange, circuit);
+            bulkheads.put(exchange, new Semaphore(properties.getMaxConcurrentCalls()));
+
+            String tag = exchange.name().toLowerCase();
+            Gauge.builder("exchange.circuit.state", circuit, c -> c.state().ordinal())
+                    .description("거래소 REST circuit 상태 (0: closed, 1: half-open, 2: open)")
+                    .tag("exchange", tag)
+                    .register(meterRegistry);
+            Gauge.builder("exchange.bulkhead.available", bulkheads.get(exchange), Semaphore::availablePermits)
+                    .description("거래소별 남은 동시 호출 자리")
+                    .tag("exchange", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 호출 가능 여부만 확인 (OPEN이면 false) — gap fill처럼 빈 결과가 곧 데이터 누락인 작업을 미룰 때 사용
+     */
+    public boolean isAvailable(ExchangeName exchangeName) {
+        return circuits.get(exchangeName).state() != State.OPEN;
+    }
+
+    public State getState(ExchangeName exchangeName) {
+        return circuits.get(exchangeName).state();
+    }
+
+    /**
+     * actuator 노출용 거래소별 상태 스냅샷
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<ExchangeName, Circuit> entry : circuits.entrySet()) {
+            Map<String, Object> detail = entry.getValue().snapshot();
+            detail.put("bulkheadAvailable", bulkheads.get(entry.getKey()).availablePermits());
+            result.put(entry.getKey().name(), detail);
+        }
+        return result;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        ExchangeName exchangeName = endpointResolver.resolve(request.getURI());
+        if (exchangeName == null) {
+            return execution.execute(request, body);
+        }
+
+        Circuit circuit = circuits.get(exchangeName);
+        circuit.acquirePermission();
+        Semaphore bulkhead = enterBulkhead(exchangeName, circuit);
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            circuit.record(!response.getStatusCode().is5xxServerError());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            circuit.record(false);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public ExchangeFilterFunction webClientFilter() {
+        return (request, next) -> {
+            ExchangeName exchangeName = endpointResolver.resolve(request.url());
+            if (exchangeName == null) {
+                return next.exchange(request);
+            }
+            Circuit circuit = circuits.get(exchangeName);
+            return Mono.defer(() -> {
+                circuit.acquirePermission();
+                // 리액티브 경로는 대기하지 않는다 — 자리가 없으면 즉시 거절
+                Semaphore bulkhead = bulkheads.get(exchangeName);
+                if (!bulkhead.tryAcquire()) {
+                    circuit.releaseProbe();
+                    throw rejected(exchangeName, "bulkhead");
+                }
+                AtomicBoolean recorded = new AtomicBoolean();
+                return next.exchange(request)
+                        .doOnNext(response -> {
+                            recorded.set(true);
+                            circuit.record(!response.statusCode().is5xxServerError());
+                        })
+                        .doOnError(e -> {
+                            recorded.set(true);
+                            circuit.record(false);
+                        })
+                        .doFinally(signal -> {
+                            // 호출자 timeout 등으로 결과 없이 취소되면 시험 호출 자리만 반납 (HALF_OPEN 고착 방지)
+                            if (!recorded.get()) {
+                                circuit.releaseProbe();
+                            }
+                            bulkhead.release();
+                        });
+            });
+        };
+    }
+
+    private Semaphore enterBulkhead(ExchangeName exchangeName, Circuit circuit) {
+        Semaphore bulkhead = bulkheads.get(exchangeName);
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(properties.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            circuit.releaseProbe();
+            throw rejected(exchangeName, "bulkhead");
+        }
+        return bulkhead;
+    }
+
+    private ExchangeUnavailableException rejected(ExchangeName exchangeName, String reason) {
+        meterRegistry.counter("exchange.circuit.rejected",
+                "exchange", exchangeName.name().toLowerCase(), "reason", reason).increment();
+        return new ExchangeUnavailableException(exchangeName, reason);
+    }
+
+    /**
+     * 거래소 1곳의 상태 — 최근 호출 결과는 고정 크기 링 버퍼
+     */
+    private final class Circuit {
+
+        private final ExchangeName exchangeName;
+        private final boolean[] outcomes = new boolean[properties.getSlidingWindowSize()];
+        private int recorded;
+        private int cursor;
+        private int failures;
+
+        private State state = State.CLOSED;
+        private long openedAtMillis;
+        private int probesInFlight;
+        private int probeSuccesses;
+
+        Circuit(ExchangeName exchangeName) {
+            this.exchangeName = exchangeName;
+        }
+
+        synchronized State state() {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAtMillis >= properties.getOpenDurationMs()) {
+                transition(State.HALF_OPEN);
+            }
+            return state;
+        }
+
+        synchronized void acquirePermission() {
+            State current = state();
+            if (current == State.OPEN) {
+                throw rejected(exchangeName, "open");
+            }
+            if (current == State.HALF_OPEN) {
+                if (probesInFlight + probeSuccesses >= properties.getHalfOpenProbes()) {
+                    throw rejected(exchangeName, "open");
+                }
+                probesInFlight++;
+            }
+        }
+
+        /**
+         * 허가 후 bulkhead에서 거절되거나 결과 없이 취소된 시험 호출은 자리만 반납
+         */
+        synchronized void releaseProbe() {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+
+        synchronized void record(boolean success) {
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight > 0) probesInFlight--;
+                if (!success) {
+                    transition(State.OPEN);
+                } else if (++probeSuccesses >= properties.getHalfOpenProbes()) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) return;
+
+            if (recorded == outcomes.length) {
+                if (!outcomes[cursor]) failures--;
+            } else {
+                recorded++;
+            }
+            outcomes[cursor] = success;
+            if (!success) failures++;
+            cursor = (cursor + 1) % outcomes.length;
+
+            if (recorded >= properties.getMinimumCalls()
+                    && failures * 100 >= properties.getFailureRateThreshold() * recorded) {
+                transition(State.OPEN);
+            }
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("state", state().name());
+            detail.put("calls", recorded);
+            detail.put("failures", failures);
+            if (state == State.OPEN) {
+                detail.put("retryInMs", Math.max(0,
+                        properties.getOpenDurationMs() - (System.currentTimeMillis() - openedAtMillis)));
+            }
+            return detail;
+        }
+
+        private void transition(State next) {
+            State previous = state;
+            state = next;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            if (next == State.OPEN) {
+                openedAtMillis = System.currentTimeMillis();
+            }
+            if (next == State.CLOSED) {
+                recorded = 0;
+                cursor = 0;
+                failures = 0;
+            }
+
+            if (next == State.OPEN) {
+                log.error("[CircuitBreaker] {} REST 차단 - {} → OPEN (최근 {}건 중 실패 {}건), {}ms 후 시험 호출",
+                        exchangeName, previous, recorded, failures, properties.getOpenDurationMs());
+            } else {
+                log.warn("[CircuitBreaker] {} 상태 변경 - {} → {}", exchangeName, previous, next);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package hello.tradexserver.openApi.rest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/exchangecircuits — 거래소별 circuit 상태, 최근 실패 수, bulkhead 여유
+ */
+@Component
+@Endpoint(id = "exchangecircuits")
+@RequiredArgsConstructor
+public class ExchangeCircuitEndpoint {
+
+    private final ExchangeCircuitBreaker circuitBreaker;
+
+    @ReadOperation
+    public Map<String, Object> circuits() {
+        return circuitBreaker.snapshot();
+    }
+}
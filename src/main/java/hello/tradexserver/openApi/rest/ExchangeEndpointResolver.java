@@ -0,0 +1,37 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeEndpointProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+
+/**
+ * 요청 URL → 거래소. HTTP 계층(rate limit, circuit breaker)이 거래소별 상태를 찾을 때 사용.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExchangeEndpointResolver {
+
+    private final ExchangeEndpointProperties endpointProperties;
+
+    /**
+     * 설정된 REST 주소(목 거래소 포함) 우선, 그 외에는 운영 도메인으로 판별 (차트 시세 조회)
+     *
+     * @return 거래소 호출이 아니면 null
+     */
+    public ExchangeName resolve(URI uri) {
+        String url = uri.toString();
+        if (url.startsWith(endpointProperties.getBybitRestUrl())) return ExchangeName.BYBIT;
+        if (url.startsWith(endpointProperties.getBinanceRestUrl())) return ExchangeName.BINANCE;
+        if (url.startsWith(endpointProperties.getBitgetRestUrl())) return ExchangeName.BITGET;
+
+        String host = uri.getHost();
+        if (host == null) return null;
+        if (host.endsWith("bybit.com")) return ExchangeName.BYBIT;
+        if (host.endsWith("binance.com")) return ExchangeName.BINANCE;
+        if (host.endsWith("bitget.com")) return ExchangeName.BITGET;
+        return null;
+    }
+}
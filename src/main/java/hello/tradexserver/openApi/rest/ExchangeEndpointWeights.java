@@ -0,0 +1,36 @@
+package hello.tradexserver.openApi.rest;
+
+/**
+ * 거래소 REST 엔드포인트별 weight (rate limit 예산 차감량).
+ * - Binance: 공식 문서의 REQUEST_WEIGHT
+ * - Bybit / Bitget: 엔드포인트별 초당 횟수 제한이라 요청 1건 = 1
+ */
+public final class ExchangeEndpointWeights {
+
+    private ExchangeEndpointWeights() {
+    }
+
+    // ================ Binance (USDⓈ-M futures) ================
+    public static final int BINANCE_BALANCE = 5;
+    public static final int BINANCE_LISTEN_KEY = 1;
+    public static final int BINANCE_POSITION_RISK = 5;
+    public static final int BINANCE_ALL_ORDERS = 5;
+    public static final int BINANCE_USER_TRADES = 5;
+    public static final int BINANCE_EXCHANGE_INFO = 1;
+
+    /**
+     * klines는 limit 구간에 따라 weight가 달라진다
+     */
+    public static int binanceKlines(int limit) {
+        if (limit < 100) return 1;
+        if (limit < 500) return 2;
+        if (limit <= 1000) return 5;
+        return 10;
+    }
+
+    // ================ Bybit (v5) ================
+    public static final int BYBIT_DEFAULT = 1;
+
+    // ================ Bitget (v2) ================
+    public static final int BITGET_DEFAULT = 1;
+}
@@ -4,6 +4,8 @@ import hello.tradexserver.domain.enums.ExchangeName;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 @RequiredArgsConstructor
 public class ExchangeFactory {
@@ -11,6 +13,7 @@ public class ExchangeFactory {
     private final BybitRestClient bybitRestClient;
     private final BinanceRestClient binanceRestClient;
     private final BitgetRestClient bitgetRestClient;
+    private final ReactiveBybitRestClient reactiveBybitRestClient;
 
     public ExchangeRestClient getExchangeService(ExchangeName exchangeName) {
         return switch (exchangeName) {
@@ -19,4 +22,14 @@ public class ExchangeFactory {
             case BITGET -> bitgetRestClient;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * 논블로킹 클라이언트는 Bybit만 구현 — 나머지 거래소는 빈 Optional (호출자가 조회 대상에서 제외)
+     */
+    public Optional<ReactiveExchangeRestClient> findReactiveExchangeService(ExchangeName exchangeName) {
+        return switch (exchangeName) {
+            case BYBIT -> Optional.of(reactiveBybitRestClient);
+            case BINANCE, BITGET -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeHttpProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 거래소 REST 호출 공용 HTTP 클라이언트 계층.
+ * - 기본: Apache HttpClient 커넥션 풀 — 호스트(route)별 풀, keep-alive 재사용, 유휴/만료 커넥션 정리
+ * - http2Enabled: JDK HttpClient — HTTP/2 멀티플렉싱 (커넥션 관리는 JDK에 위임)
+ * 지표는 처음 호출되는 호스트마다 등록한다.
+ * - exchange.http.in.flight{host}: 응답 헤더 수신 전까지 진행 중인 요청 수
+ * - exchange.http.pool.{leased,pending,available,max}{host}: 풀 사용량 (pending > 0 이면 풀 포화)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExchangeHttpClientFactory implements ClientHttpRequestInterceptor {
+
+    private final ExchangeHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private ClientHttpRequestFactory requestFactory;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient pooledClient;
+
+    @PostConstruct
+    public void init() {
+        if (properties.isHttp2Enabled()) {
+            HttpClient jdkClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(jdkClient);
+            factory.setReadTimeout(Duration.ofMillis(properties.getReadTimeoutMs()));
+            requestFactory = factory;
+        } else {
+            connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnPerRoute(properties.getMaxConnectionsPerHost())
+                    .setMaxConnTotal(properties.getMaxConnectionsTotal())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                            .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeoutMs()))
+                            .setTimeToLive(TimeValue.ofMilliseconds(properties.getConnectionTtlMs()))
+                            // 잠시 쉬었던 커넥션은 재사용 전에 끊겼는지 확인
+                            .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                            .build())
+                    .build();
+            pooledClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeoutMs()))
+                            .setResponseTimeout(Timeout.ofMilliseconds(properties.getReadTimeoutMs()))
+                            .setConnectionKeepAlive(TimeValue.ofMilliseconds(properties.getKeepAliveMs()))
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(properties.getKeepAliveMs()))
+                    .build();
+            requestFactory = new HttpComponentsClientHttpRequestFactory(pooledClient);
+        }
+
+        log.info("[ExchangeHttp] HTTP 클라이언트 초기화 - mode: {}, connectTimeout: {}ms, readTimeout: {}ms, maxPerHost: {}, maxTotal: {}",
+                properties.isHttp2Enabled() ? "http2" : "pooled",
+                properties.getConnectTimeoutMs(), properties.getReadTimeoutMs(),
+                properties.getMaxConnectionsPerHost(), properties.getMaxConnectionsTotal());
+    }
+
+    /**
+     * JDK HttpClient(Java 17)는 close가 없어 GC에 맡기고, 풀 클라이언트만 정리
+     */
+    @PreDestroy
+    public void close() {
+        try {
+            if (pooledClient != null) {
+                pooledClient.close();
+            }
+        } catch (IOException e) {
+            log.warn("[ExchangeHttp] HTTP 클라이언트 종료 실패", e);
+        }
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        AtomicInteger counter = inFlight.computeIfAbsent(hostKey(request.getURI()),
+                host -> registerHostMetrics(host, request.getURI()));
+        counter.incrementAndGet();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            counter.decrementAndGet();
+        }
+    }
+
+    private AtomicInteger registerHostMetrics(String host, URI uri) {
+        AtomicInteger counter = new AtomicInteger();
+        Gauge.builder("exchange.http.in.flight", counter, AtomicInteger::get)
+                .description("거래소 HTTP 진행 중 요청 수")
+                .tag("host", host)
+                .register(meterRegistry);
+
+        if (connectionManager != null) {
+            HttpRoute route = route(uri);
+            registerPoolGauge("leased", "사용 중인 커넥션 수", host, route, PoolStats::getLeased);
+            registerPoolGauge("pending", "커넥션 대기 중인 요청 수", host, route, PoolStats::getPending);
+            registerPoolGauge("available", "유휴 커넥션 수", host, route, PoolStats::getAvailable);
+            registerPoolGauge("max", "호스트별 최대 커넥션 수", host, route, PoolStats::getMax);
+        }
+        return counter;
+    }
+
+    private void registerPoolGauge(String name, String description, String host, HttpRoute route,
+                                   ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("exchange.http.pool." + name, connectionManager,
+                        manager -> value.applyAsDouble(manager.getStats(route)))
+                .description(description)
+                .tag("host", host)
+                .register(meterRegistry);
+    }
+
+    /**
+     * HttpClient route planner와 같은 방식으로 route 구성 (포트 명시, https면 secure)
+     */
+    private HttpRoute route(URI uri) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        HttpHost target = new HttpHost(uri.getScheme(), uri.getHost(), port(uri, secure));
+        return new HttpRoute(target, null, secure);
+    }
+
+    private String hostKey(URI uri) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        return uri.getHost() + ":" + port(uri, secure);
+    }
+
+    private int port(URI uri, boolean secure) {
+        if (uri.getPort() != -1) return uri.getPort();
+        return secure ? 443 : 80;
+    }
+}
@@ -0,0 +1,18 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.Getter;
+
+/**
+ * weight 예산을 대기 상한 안에 확보하지 못해 요청을 보내지 않은 경우
+ */
+@Getter
+public class ExchangeRateLimitException extends RuntimeException {
+
+    private final ExchangeName exchangeName;
+
+    public ExchangeRateLimitException(ExchangeName exchangeName, Long apiKeyId, int weight) {
+        super("rate limit 예산 부족 - exchange: " + exchangeName + ", apiKeyId: " + apiKeyId + ", weight: " + weight);
+        this.exchangeName = exchangeName;
+    }
+}
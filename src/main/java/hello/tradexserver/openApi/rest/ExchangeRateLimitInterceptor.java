@@ -0,0 +1,46 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.io.IOException;
+
+/**
+ * 거래소 응답의 사용량 헤더 / 429·418 상태를 ExchangeRateLimiter에 전달.
+ * RestTemplate(인터셉터)과 WebClient(필터) 양쪽에 등록되어 모든 거래소 호출을 본다.
+ * 예산 차감은 요청을 만드는 쪽(거래소 클라이언트, ChartService)이 서명 전에 직접 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExchangeRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ExchangeRateLimiter rateLimiter;
+    private final ExchangeEndpointResolver endpointResolver;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        ExchangeName exchangeName = endpointResolver.resolve(request.getURI());
+        if (exchangeName != null) {
+            rateLimiter.onResponse(exchangeName, response.getStatusCode(), response.getHeaders());
+        }
+        return response;
+    }
+
+    public ExchangeFilterFunction webClientFilter() {
+        return (request, next) -> next.exchange(request)
+                .doOnNext(response -> {
+                    ExchangeName exchangeName = endpointResolver.resolve(request.url());
+                    if (exchangeName != null) {
+                        rateLimiter.onResponse(exchangeName, response.statusCode(), response.headers().asHttpHeaders());
+                    }
+                });
+    }
+}
@@ -0,0 +1,250 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeRateLimitProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 거래소 REST weight 예산 — 토큰 버킷 두 단계.
+ * - 노드(IP) 버킷: 거래소별, 이 서버가 보내는 모든 요청 (공개 API 포함)
+ * - 키 버킷: (거래소, apiKey)별, 서명 요청만 (apiKeyId가 null이면 생략)
+ * 버킷 용량은 분당 weight 한도이며 연속적으로 충전된다.
+ * reserve는 예약 방식이라 먼저 요청한 호출이 먼저 예산을 가져가고,
+ * 대기 시간이 상한을 넘으면 예약하지 않고 요청을 버린다.
+ * 거래소 응답(ExchangeRateLimitInterceptor)으로 노드 버킷을 보정한다.
+ * - X-MBX-USED-WEIGHT-1M: 거래소가 집계한 사용량만큼 잔량을 낮춤
+ * - 429/418(Bybit 403): Retry-After 동안 잔량을 음수로 만들어 해당 거래소 호출을 멈춤
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExchangeRateLimiter {
+
+    private final ExchangeRateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<BucketKey, WeightBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<ExchangeName, WeightBucket> ipBuckets = new EnumMap<>(ExchangeName.class);
+    private final Map<ExchangeName, AtomicInteger> usedWeight = new EnumMap<>(ExchangeName.class);
+
+    private record BucketKey(ExchangeName exchangeName, Long apiKeyId) {}
+
+    @PostConstruct
+    public void init() {
+        for (ExchangeName exchange : ExchangeName.values()) {
+            ipBuckets.put(exchange, new WeightBucket(properties.ipWeightPerMinute(exchange)));
+            AtomicInteger used = new AtomicInteger();
+            usedWeight.put(exchange, used);
+            Gauge.builder("exchange.ratelimit.used.weight", used, AtomicInteger::get)
+                    .description("거래소가 응답 헤더로 알려준 최근 1분 사용 weight")
+                    .tag("exchange", exchange.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * weight만큼 예산을 확보할 때까지 대기
+     *
+     * @return 예산 확보 성공 여부 (대기 상한 초과 또는 인터럽트 시 false)
+     */
+    public boolean acquire(ExchangeName exchangeName, Long apiKeyId, int weight) {
+        return acquire(exchangeName, apiKeyId, weight, properties.getMaxWaitMs());
+    }
+
+    public boolean acquire(ExchangeName exchangeName, Long apiKeyId, int weight, long maxWaitMs) {
+        long waitNanos = reserve(exchangeName, apiKeyId, weight, maxWaitMs);
+        if (waitNanos < 0) return false;
+        if (waitNanos == 0) return true;
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException e) {
+            // 요청을 보내지 않으므로 예약한 weight는 돌려준다
+            refund(exchangeName, apiKeyId, weight);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 예산 확보 실패 시 ExchangeRateLimitException — 거래소 클라이언트가 서명 직전에 호출
+     */
+    public void acquireOrThrow(ExchangeName exchangeName, Long apiKeyId, int weight) {
+        acquireOrThrow(exchangeName, apiKeyId, weight, properties.getMaxWaitMs());
+    }
+
+    public void acquireOrThrow(ExchangeName exchangeName, Long apiKeyId, int weight, long maxWaitMs) {
+        if (!acquire(exchangeName, apiKeyId, weight, maxWaitMs)) {
+            throw new ExchangeRateLimitException(exchangeName, apiKeyId, weight);
+        }
+    }
+
+    /**
+     * 대기하지 않고 예약만 — 리액티브 호출은 반환된 시간만큼 지연 후 요청
+     *
+     * @return 대기해야 할 시간(ns), 상한 초과 시 -1
+     */
+    public long reserve(ExchangeName exchangeName, Long apiKeyId, int weight, long maxWaitMs) {
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        WeightBucket ipBucket = ipBuckets.get(exchangeName);
+
+        long ipWait = ipBucket.reserve(weight, maxWaitNanos);
+        long keyWait = 0;
+        if (ipWait >= 0 && apiKeyId != null) {
+            WeightBucket keyBucket = buckets.computeIfAbsent(new BucketKey(exchangeName, apiKeyId),
+                    k -> new WeightBucket(properties.weightPerMinute(exchangeName)));
+            keyWait = keyBucket.reserve(weight, maxWaitNanos);
+            if (keyWait < 0) {
+                // 키 예산이 모자라 요청을 안 보내므로 노드 예산은 돌려준다
+                ipBucket.refund(weight);
+            }
+        }
+
+        if (ipWait < 0 || keyWait < 0) {
+            rejectedCounter(exchangeName).increment();
+            log.warn("[RateLimit] weight 예산 부족으로 요청 생략 - exchange: {}, apiKeyId: {}, weight: {}, 구간: {}",
+                    exchangeName, apiKeyId, weight, ipWait < 0 ? "ip" : "key");
+            return -1;
+        }
+
+        long waitNanos = Math.max(ipWait, keyWait);
+        waitTimer(exchangeName).record(waitNanos, TimeUnit.NANOSECONDS);
+        return waitNanos;
+    }
+
+    /**
+     * reserve 후 요청을 보내지 못한 경우(대기 중 취소/인터럽트) 노드/키 예산 반환
+     */
+    public void refund(ExchangeName exchangeName, Long apiKeyId, int weight) {
+        ipBuckets.get(exchangeName).refund(weight);
+        if (apiKeyId != null) {
+            WeightBucket keyBucket = buckets.get(new BucketKey(exchangeName, apiKeyId));
+            if (keyBucket != null) keyBucket.refund(weight);
+        }
+    }
+
+    /**
+     * 거래소 응답 헤더/상태로 노드 예산 보정
+     */
+    public void onResponse(ExchangeName exchangeName, HttpStatusCode status, HttpHeaders headers) {
+        WeightBucket ipBucket = ipBuckets.get(exchangeName);
+
+        String used = headers.getFirst("X-MBX-USED-WEIGHT-1M");
+        if (used != null) {
+            try {
+                int usedWeight1m = Integer.parseInt(used.trim());
+                usedWeight.get(exchangeName).set(usedWeight1m);
+                ipBucket.syncUsed(usedWeight1m);
+            } catch (NumberFormatException ignored) {
+                // 형식이 다르면 보정 생략
+            }
+        }
+
+        int code = status.value();
+        boolean limited = code == 429 || code == 418 || (code == 403 && exchangeName == ExchangeName.BYBIT);
+        if (!limited) return;
+
+        long backoffMs = retryAfterMs(headers);
+        ipBucket.drainFor(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+        backoffCounter(exchangeName, code).increment();
+        log.error("[RateLimit] 거래소 rate limit 응답 - exchange: {}, status: {}, {}ms 동안 요청 중단",
+                exchangeName, code, backoffMs);
+    }
+
+    private long retryAfterMs(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException ignored) {
+                // HTTP-date 형식은 기본값 사용
+            }
+        }
+        return properties.getDefaultBackoffMs();
+    }
+
+    private Timer waitTimer(ExchangeName exchangeName) {
+        return meterRegistry.timer("exchange.ratelimit.wait", "exchange", exchangeName.name().toLowerCase());
+    }
+
+    private Counter rejectedCounter(ExchangeName exchangeName) {
+        return meterRegistry.counter("exchange.ratelimit.rejected", "exchange", exchangeName.name().toLowerCase());
+    }
+
+    private Counter backoffCounter(ExchangeName exchangeName, int status) {
+        return meterRegistry.counter("exchange.ratelimit.backoff",
+                "exchange", exchangeName.name().toLowerCase(), "status", String.valueOf(status));
+    }
+
+    /**
+     * 연속 충전 토큰 버킷. 잔량이 음수가 될 수 있으며(예약), 음수만큼 뒤 요청이 기다린다.
+     */
+    static final class WeightBucket {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double available;
+        private long lastRefillNanos;
+
+        WeightBucket(int weightPerMinute) {
+            this.capacity = weightPerMinute;
+            this.refillPerNano = weightPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.available = weightPerMinute;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * @return 대기해야 할 시간(ns), 상한 초과 시 -1
+         */
+        synchronized long reserve(int weight, long maxWaitNanos) {
+            refill();
+            double deficit = weight - available;
+            long waitNanos = deficit <= 0 ? 0 : (long) Math.ceil(deficit / refillPerNano);
+            if (waitNanos > maxWaitNanos) return -1;
+
+            available -= weight;
+            return waitNanos;
+        }
+
+        synchronized void refund(int weight) {
+            available = Math.min(capacity, available + weight);
+        }
+
+        /**
+         * 거래소 집계 사용량이 우리 추정보다 많으면 잔량을 낮춘다 (반대 방향 보정은 하지 않음)
+         */
+        synchronized void syncUsed(int usedWeight) {
+            refill();
+            available = Math.min(available, capacity - usedWeight);
+        }
+
+        /**
+         * 지금부터 durationNanos 동안 어떤 요청도 예산을 얻지 못하도록 잔량을 음수로
+         */
+        synchronized void drainFor(long durationNanos) {
+            refill();
+            available = Math.min(available, -durationNanos * refillPerNano);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import lombok.Getter;
+
+/**
+ * circuit이 열려 있거나 bulkhead 자리가 없어 거래소를 호출하지 않은 경우 (reason: open / bulkhead)
+ */
+@Getter
+public class ExchangeUnavailableException extends RuntimeException {
+
+    private final ExchangeName exchangeName;
+
+    public ExchangeUnavailableException(ExchangeName exchangeName, String reason) {
+        super("거래소 호출 차단 - exchange: " + exchangeName + ", reason: " + reason);
+        this.exchangeName = exchangeName;
+    }
+}
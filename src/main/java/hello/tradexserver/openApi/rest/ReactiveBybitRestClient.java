@@ -0,0 +1,71 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeRateLimitProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.openApi.rest.dto.WalletBalanceResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 서명/응답 변환은 BybitRestClient와 공유하고 전송만 WebClient로 수행
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveBybitRestClient implements ReactiveExchangeRestClient {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient exchangeWebClient;
+    private final BybitRestClient bybitRestClient;
+    private final ExchangeRateLimiter rateLimiter;
+    private final ExchangeRateLimitProperties rateLimitProperties;
+
+    @Override
+    public Mono<WalletBalanceResponse> getWalletBalance(ExchangeApiKey apiKey) {
+        String queryString = "accountType=UNIFIED";
+
+        // 예산 대기는 스레드를 재우지 않고 지연으로, 서명 timestamp는 대기 후 구독 시점 기준
+        return Mono.defer(() -> {
+                    long waitNanos = rateLimiter.reserve(ExchangeName.BYBIT, apiKey.getId(),
+                            ExchangeEndpointWeights.BYBIT_DEFAULT, rateLimitProperties.getInteractiveMaxWaitMs());
+                    if (waitNanos < 0) {
+                        return Mono.error(new ExchangeRateLimitException(
+                                ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT));
+                    }
+                    // 대기 중 취소(타임아웃/구독 해제)되면 요청을 보내지 않으므로 예약한 weight를 돌려준다
+                    AtomicBoolean sent = new AtomicBoolean();
+                    return Mono.delay(Duration.ofNanos(waitNanos))
+                            .doOnCancel(() -> {
+                                if (!sent.get()) {
+                                    rateLimiter.refund(ExchangeName.BYBIT, apiKey.getId(), ExchangeEndpointWeights.BYBIT_DEFAULT);
+                                }
+                            })
+                            .then(Mono.defer(() -> {
+                                sent.set(true);
+                                return exchangeWebClient.get()
+                                        .uri(bybitRestClient.baseUrl() + "/account/wallet-balance?" + queryString)
+                                        .headers(headers -> headers.addAll(bybitRestClient.createSignedHeaders(apiKey, queryString)))
+                                        .retrieve()
+                                        .bodyToMono(MAP_TYPE);
+                            }));
+                })
+                .flatMap(body -> {
+                    // 오류 응답을 0 잔고로 바꾸지 않고 실패로 전달 (호출자가 마지막 성공 값으로 대체)
+                    Object retCode = body.get("retCode");
+                    if (!(retCode instanceof Number code) || code.intValue() != 0) {
+                        return Mono.error(new IllegalStateException(
+                                "Bybit wallet-balance 에러 - retCode: " + retCode + ", msg: " + body.get("retMsg")));
+                    }
+                    return Mono.just(bybitRestClient.parseWalletBalance(body));
+                });
+    }
+}
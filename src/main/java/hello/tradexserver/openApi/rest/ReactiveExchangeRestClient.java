@@ -0,0 +1,17 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.openApi.rest.dto.WalletBalanceResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * ExchangeRestClient의 논블로킹 버전 — 여러 거래소를 동시에 조회하는 집계 화면용.
+ * 거래소 오류는 Mono error로 전달한다. 구현되지 않은 거래소는 ExchangeFactory가 빈 Optional을 반환한다.
+ */
+public interface ReactiveExchangeRestClient {
+
+    /**
+     * 지갑 잔고 상세 조회 (총 자산 + 코인별 잔고)
+     */
+    Mono<WalletBalanceResponse> getWalletBalance(ExchangeApiKey apiKey);
+}
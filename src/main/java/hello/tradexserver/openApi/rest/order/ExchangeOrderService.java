@@ -16,6 +16,7 @@ public interface ExchangeOrderService {
      * @param startTime 조회 시작 시간
      * @param endTime   조회 종료 시간
      * @return 변환된 Order 엔티티 목록 (저장 필터 통과한 것만)
+     * @throws RuntimeException 조회 실패 시 — 빈 목록은 "오더 없음"으로만 쓴다 (gap fill 재시도 판단용)
      */
     List<Order> fetchAndConvertOrders(
             ExchangeApiKey apiKey,
@@ -1,16 +1,16 @@
 package hello.tradexserver.openApi.webSocket;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.domain.Order;
 import hello.tradexserver.domain.Position;
 import hello.tradexserver.domain.enums.*;
 import hello.tradexserver.openApi.rest.BinanceRestClient;
 import hello.tradexserver.openApi.rest.dto.BinancePositionRisk;
+import hello.tradexserver.openApi.webSocket.dto.BinanceAccountUpdateData;
+import hello.tradexserver.openApi.webSocket.dto.BinanceOrderUpdateData;
+import hello.tradexserver.openApi.webSocket.dto.WebSocketFrame;
 import lombok.extern.slf4j.Slf4j;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
 
 import java.math.BigDecimal;
 import java.net.URI;
@@ -19,28 +19,27 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 public class BinanceWebSocketClient implements ExchangeWebSocketClient {
 
-    // Testnet WebSocket
-    // private static final String WSS_BASE_URL = "wss://fstream.binancefuture.com";
-    // Live WebSocket
-    private static final String WSS_BASE_URL = "wss://fstream.binance.com";
-
     private final Long userId;
     private final ExchangeApiKey exchangeApiKey;
+    private final String wssBaseUrl;
     private final BinanceRestClient binanceRestClient;
-    private final ObjectMapper objectMapper;
+    private final WebSocketFrameDecoder frameDecoder;
+    // 이벤트 타입(e) 기준으로 a / o 필드를 바인딩할 타입
+    private final JavaType accountUpdateType;
+    private final JavaType orderUpdateType;
 
-    private WebSocketClient wsClient;
-    private boolean isConnected = false;
+    private SharedWebSocketConnection wsClient;
+    private volatile boolean isConnected = false;
     private PositionListener positionListener;
     private OrderListener orderListener;
+    private WebSocketFrameRecorder frameRecorder;
     private String listenKey;
 
     // 끊긴 시간 추적 - 재연결 시 Gap 보완에 사용
@@ -49,19 +48,28 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
     // Binance ORDER_TRADE_UPDATE의 n(수수료)은 이번 체결분만 → orderId별 누적 필요
     private final ConcurrentHashMap<Long, BigDecimal> orderFeeAccumulator = new ConcurrentHashMap<>();
 
-    private ScheduledExecutorService reconnectExecutor;
-    private ScheduledExecutorService keepAliveExecutor;
+    private final ExchangeWebSocketExecutor webSocketExecutor;
+    private final ReconnectCoordinator reconnectCoordinator;
+    private ScheduledFuture<?> reconnectTask;
+    private ScheduledFuture<?> keepAliveTask;
     private int reconnectAttempts = 0;
-    private boolean shouldReconnect = true;
+    private volatile boolean shouldReconnect = true;
 
     public BinanceWebSocketClient(Long userId, ExchangeApiKey exchangeApiKey,
-                                   BinanceRestClient binanceRestClient) {
+                                   BinanceRestClient binanceRestClient,
+                                   ExchangeWebSocketExecutor webSocketExecutor,
+                                   ReconnectCoordinator reconnectCoordinator,
+                                   WebSocketFrameDecoder frameDecoder,
+                                   String wssBaseUrl) {
         this.userId = userId;
         this.exchangeApiKey = exchangeApiKey;
+        this.wssBaseUrl = wssBaseUrl;
         this.binanceRestClient = binanceRestClient;
-        this.objectMapper = new ObjectMapper();
-        this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
-        this.keepAliveExecutor = Executors.newSingleThreadScheduledExecutor();
+        this.frameDecoder = frameDecoder;
+        this.accountUpdateType = frameDecoder.type(BinanceAccountUpdateData.class);
+        this.orderUpdateType = frameDecoder.type(BinanceOrderUpdateData.class);
+        this.webSocketExecutor = webSocketExecutor;
+        this.reconnectCoordinator = reconnectCoordinator;
     }
 
     @Override
@@ -74,6 +82,21 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
         this.orderListener = listener;
     }
 
+    @Override
+    public void setFrameRecorder(WebSocketFrameRecorder recorder) {
+        this.frameRecorder = recorder;
+    }
+
+    @Override
+    public void replayFrame(String message) {
+        // 재생 중에는 재연결/구독 전송이 실제 거래소로 나가지 않도록
+        shouldReconnect = false;
+        if (wsClient == null) {
+            wsClient = new BinanceWebSocketImpl(URI.create(wssBaseUrl), webSocketExecutor);
+        }
+        wsClient.onMessage(message);
+    }
+
     @Override
     public void connect() {
         try {
@@ -83,8 +106,8 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
                 return;
             }
 
-            String wssUrl = WSS_BASE_URL + "/ws/" + listenKey;
-            wsClient = new BinanceWebSocketImpl(new URI(wssUrl));
+            String wssUrl = wssBaseUrl + "/ws/" + listenKey;
+            wsClient = new BinanceWebSocketImpl(new URI(wssUrl), webSocketExecutor);
             wsClient.connect();
             log.info("[Binance] WebSocket 연결 시도 - user: {}", userId);
 
@@ -95,7 +118,11 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
     }
 
     private void startKeepAliveScheduler() {
-        keepAliveExecutor.scheduleAtFixedRate(() -> {
+        // 재연결마다 connect()가 다시 호출되므로 기존 연장 작업을 먼저 취소 (중복 예약 방지)
+        if (keepAliveTask != null) {
+            keepAliveTask.cancel(false);
+        }
+        keepAliveTask = webSocketExecutor.scheduleAtFixedRate(() -> {
             try {
                 binanceRestClient.keepAliveListenKey(exchangeApiKey);
             } catch (Exception e) {
@@ -112,16 +139,16 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
             isConnected = false;
             log.info("[Binance] WebSocket 연결 해제 - user: {}", userId);
         }
-        shutdownExecutors();
+        cancelScheduledTasks();
         orderFeeAccumulator.clear();
     }
 
-    private void shutdownExecutors() {
-        if (reconnectExecutor != null && !reconnectExecutor.isShutdown()) {
-            reconnectExecutor.shutdownNow();
+    private void cancelScheduledTasks() {
+        if (reconnectTask != null) {
+            reconnectTask.cancel(false);
         }
-        if (keepAliveExecutor != null && !keepAliveExecutor.isShutdown()) {
-            keepAliveExecutor.shutdownNow();
+        if (keepAliveTask != null) {
+            keepAliveTask.cancel(false);
         }
     }
 
@@ -141,11 +168,13 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
         log.info("[Binance] 재연결 시도 {}/{} 예약 - user: {}, {}ms 후",
                 reconnectAttempts, MAX_RECONNECT_ATTEMPTS, userId, delay);
 
-        reconnectExecutor.schedule(() -> {
-            if (shouldReconnect && !isConnected()) {
-                connect();
-            }
-        }, delay, TimeUnit.MILLISECONDS);
+        // 동시 끊김 시 폭주하지 않도록 jitter + 토큰 버킷을 거쳐 재연결
+        reconnectTask = reconnectCoordinator.scheduleReconnect(
+                exchangeApiKey.getExchangeName(), exchangeApiKey.getId(), delay, () -> {
+                    if (shouldReconnect && !isConnected()) {
+                        connect();
+                    }
+                });
     }
 
     @Override
@@ -160,13 +189,13 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
     }
 
     // ================ 내부 WebSocket 클래스 ================
-    private class BinanceWebSocketImpl extends WebSocketClient {
-        public BinanceWebSocketImpl(URI serverUri) {
-            super(serverUri);
+    private class BinanceWebSocketImpl extends SharedWebSocketConnection {
+        public BinanceWebSocketImpl(URI serverUri, ExchangeWebSocketExecutor executor) {
+            super(serverUri, executor);
         }
 
         @Override
-        public void onOpen(ServerHandshake handshakedata) {
+        public void onOpen() {
             isConnected = true;
             reconnectAttempts = 0;
             log.info("[Binance] WebSocket 연결 성공 - user: {}", userId);
@@ -189,21 +218,24 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
 
         @Override
         public void onMessage(String message) {
+            long receivedAt = System.currentTimeMillis();
             log.debug("[Binance] Raw Message 수신: {}", message);
+            if (frameRecorder != null) {
+                frameRecorder.record(exchangeApiKey, userId, message);
+            }
 
             try {
-                JsonNode jsonNode = objectMapper.readTree(message);
-
-                if (jsonNode.has("e")) {
-                    String eventType = jsonNode.get("e").asText();
+                WebSocketFrame frame = frameDecoder.decode(message, this::resolvePayloadType);
+                long decodedAt = System.currentTimeMillis();
+                String eventType = frame.getEvent();
 
+                if (eventType != null) {
                     switch (eventType) {
                         case "ACCOUNT_UPDATE":
-                            System.out.println(jsonNode);
-                            handleAccountUpdate(jsonNode);
+                            handleAccountUpdate(frame.getPayload(), frame.getTransactionTime());
                             break;
                         case "ORDER_TRADE_UPDATE":
-                            handleOrderTradeUpdate(jsonNode);
+                            handleOrderTradeUpdate(frame.getPayload(), receivedAt, decodedAt);
                             break;
                         case "listenKeyExpired":
                             handleListenKeyExpired();
@@ -217,10 +249,17 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
             }
         }
 
-        private void handleAccountUpdate(JsonNode jsonNode) {
-            JsonNode updateData = jsonNode.path("a");
-            String eventReason = updateData.path("m").asText();
-            long transactionTime = jsonNode.path("T").asLong();
+        private JavaType resolvePayloadType(String field, WebSocketFrame frame) {
+            String eventType = frame.getEvent();
+            if ("a".equals(field) && "ACCOUNT_UPDATE".equals(eventType)) return accountUpdateType;
+            if ("o".equals(field) && "ORDER_TRADE_UPDATE".equals(eventType)) return orderUpdateType;
+            return null;
+        }
+
+        private void handleAccountUpdate(BinanceAccountUpdateData updateData, Long transactionTimeValue) {
+            if (updateData == null) return;
+            String eventReason = updateData.getEventReason();
+            long transactionTime = transactionTimeValue != null ? transactionTimeValue : 0L;
 
             log.info("[Binance] ACCOUNT_UPDATE - reason: {}, user: {}", eventReason, userId);
 
@@ -230,25 +269,29 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
                 return;
             }
 
-            JsonNode positions = updateData.path("P");
-            if (positions.isArray() && positionListener != null) {
-                for (JsonNode posNode : positions) {
-                    Position position = convertToPosition(posNode, transactionTime);
+            List<BinanceAccountUpdateData.PositionData> positions = updateData.getPositions();
+            if (positions != null && positionListener != null) {
+                for (BinanceAccountUpdateData.PositionData posData : positions) {
+                    Position position = convertToPosition(posData, transactionTime);
 
-                    BigDecimal positionAmt = parseBigDecimal(posNode.path("pa").asText("0"));
+                    BigDecimal positionAmt = parseBigDecimal(posData.getPositionAmount());
                     if (positionAmt.compareTo(BigDecimal.ZERO) == 0) {
                         positionListener.onPositionClosed(position);
                     } else {
-                        positionListener.onPositionUpdate(position);
+                        // leverage는 ACCOUNT_UPDATE에 없음 → REST 보완은 IO 스레드가 아닌 이벤트 워커에서
+                        positionListener.onPositionUpdate(position, p -> {
+                            p.updateLeverage(fetchLeverage(p.getSymbol()));
+                            return p;
+                        });
                     }
                 }
             }
         }
 
-        private Position convertToPosition(JsonNode posNode, long transactionTime) {
-            String positionSideStr = posNode.path("ps").asText(); // BOTH, LONG, SHORT
-            BigDecimal positionAmt = parseBigDecimal(posNode.path("pa").asText("0"));
-            String symbol = posNode.path("s").asText();
+        private Position convertToPosition(BinanceAccountUpdateData.PositionData posData, long transactionTime) {
+            String positionSideStr = posData.getPositionSide(); // BOTH, LONG, SHORT
+            BigDecimal positionAmt = parseBigDecimal(posData.getPositionAmount());
+            String symbol = posData.getSymbol();
 
             PositionSide side;
             if ("LONG".equals(positionSideStr)) {
@@ -265,19 +308,15 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
                 }
             }
 
-            // leverage는 ACCOUNT_UPDATE에 없음 → REST 보완
-            Integer leverage = fetchLeverage(symbol);
-
             LocalDateTime eventTime = parseMillisToLocalDateTime(transactionTime);
 
             return Position.builder()
                     .exchangeApiKey(exchangeApiKey)
                     .symbol(symbol)
                     .side(side)
-                    .avgEntryPrice(parseBigDecimal(posNode.path("ep").asText("0")))
+                    .avgEntryPrice(parseBigDecimal(posData.getEntryPrice()))
                     .currentSize(positionAmt.abs())
-                    .leverage(leverage)
-                    .realizedPnl(parseBigDecimal(posNode.path("cr").asText("0")))
+                    .realizedPnl(parseBigDecimal(posData.getAccumulatedRealized()))
                     .entryTime(eventTime)
                     .status(positionAmt.compareTo(BigDecimal.ZERO) == 0
                             ? PositionStatus.CLOSED : PositionStatus.OPEN)
@@ -300,24 +339,26 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
             return null;
         }
 
-        private void handleOrderTradeUpdate(JsonNode jsonNode) {
-            JsonNode orderData = jsonNode.path("o");
-            String executionType = orderData.path("x").asText(); // NEW, TRADE, CANCELED, EXPIRED
-            String orderStatus = orderData.path("X").asText();   // NEW, PARTIALLY_FILLED, FILLED, CANCELED, EXPIRED
-            long orderId = orderData.path("i").asLong();
+        private void handleOrderTradeUpdate(BinanceOrderUpdateData orderData, long receivedAt, long decodedAt) {
+            if (orderData == null) return;
+            String executionType = orderData.getExecutionType(); // NEW, TRADE, CANCELED, EXPIRED
+            String orderStatus = orderData.getOrderStatus();     // NEW, PARTIALLY_FILLED, FILLED, CANCELED, EXPIRED
+            long orderId = orderData.getOrderId();
 
             log.info("[Binance] ORDER_TRADE_UPDATE - execType: {}, status: {}, orderId: {}, user: {}",
                     executionType, orderStatus, orderId, userId);
 
             // TRADE 이벤트: 수수료 누적 (n은 이번 체결분만)
             if ("TRADE".equals(executionType)) {
-                BigDecimal commission = parseBigDecimal(orderData.path("n").asText("0"));
+                BigDecimal commission = parseBigDecimal(orderData.getCommission());
                 orderFeeAccumulator.merge(orderId, commission, BigDecimal::add);
             }
 
             // 최종 상태에서만 Order 저장
             if (shouldSaveOrder(orderStatus, orderData)) {
                 Order order = convertToOrder(orderData, orderId, orderStatus);
+                order.markReceived(receivedAt);
+                order.markDecoded(decodedAt);
                 if (orderListener != null) {
                     orderListener.onOrderReceived(order);
                 }
@@ -325,49 +366,48 @@ public class BinanceWebSocketClient implements ExchangeWebSocketClient {
             }
         }
 
-        private boolean shouldSaveOrder(String orderStatus, JsonNode orderData) {
+        private boolean shouldSaveOrder(String orderStatus, BinanceOrderUpdateData orderData) {
             if ("FILLED".equals(orderStatus)) return true;
 
             if ("CANCELED".equals(orderStatus) || "EXPIRED".equals(orderStatus)
                     || "EXPIRED_IN_MATCH".equals(orderStatus)) {
-                BigDecimal filledQty = parseBigDecimal(orderData.path("z").asText("0"));
+                BigDecimal filledQty = parseBigDecimal(orderData.getCumulativeFilledQty());
                 return filledQty.compareTo(BigDecimal.ZERO) > 0;
             }
             return false;
         }
 
-        private Order convertToOrder(JsonNode o, long orderId, String orderStatus) {
-            String sideStr = o.path("S").asText();
+        private Order convertToOrder(BinanceOrderUpdateData o, long orderId, String orderStatus) {
+            String sideStr = o.getSide();
             OrderSide side = "BUY".equalsIgnoreCase(sideStr) ? OrderSide.BUY : OrderSide.SELL;
 
-            String typeStr = o.path("o").asText();
+            String typeStr = o.getOrderType();
             OrderType orderType = "MARKET".equalsIgnoreCase(typeStr) ? OrderType.MARKET : OrderType.LIMIT;
 
             OrderStatus status = "FILLED".equals(orderStatus) ? OrderStatus.FILLED : OrderStatus.CANCELED;
 
-            boolean reduceOnly = o.path("R").asBoolean(false);
-            PositionEffect positionEffect = reduceOnly ? PositionEffect.CLOSE : PositionEffect.OPEN;
+            PositionEffect positionEffect = o.isReduceOnly() ? PositionEffect.CLOSE : PositionEffect.OPEN;
 
-            String positionSide = o.path("ps").asText("BOTH");
+            String positionSide = o.getPositionSide() != null ? o.getPositionSide() : "BOTH";
             Integer positionIdx = convertPositionSideToIdx(positionSide);
 
             BigDecimal cumFee = orderFeeAccumulator.getOrDefault(orderId, BigDecimal.ZERO);
 
-            long tradeTime = o.path("T").asLong();
+            long tradeTime = o.getTradeTime();
 
             return Order.builder()
                     .user(exchangeApiKey.getUser())
                     .exchangeApiKey(exchangeApiKey)
                     .exchangeName(exchangeApiKey.getExchangeName())
                     .exchangeOrderId(String.valueOf(orderId))
-                    .symbol(o.path("s").asText())
+                    .symbol(o.getSymbol())
                     .side(side)
                     .orderType(orderType)
                     .positionEffect(positionEffect)
-                    .filledQuantity(parseBigDecimal(o.path("z").asText("0")))
-                    .filledPrice(parseBigDecimal(o.path("ap").asText("0")))
+                    .filledQuantity(parseBigDecimal(o.getCumulativeFilledQty()))
+                    .filledPrice(parseBigDecimal(o.getAveragePrice()))
                     .cumExecFee(cumFee)
-                    .realizedPnl(parseBigDecimal(o.path("rp").asText("0")))
+                    .realizedPnl(parseBigDecimal(o.getRealizedProfit()))
                     .status(status)
                     .orderTime(parseMillisToLocalDateTime(tradeTime))
                     .fillTime(parseMillisToLocalDateTime(tradeTime))
@@ -1,19 +1,15 @@
 package hello.tradexserver.openApi.webSocket;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.domain.Order;
 import hello.tradexserver.domain.Position;
 import hello.tradexserver.domain.enums.*;
 import hello.tradexserver.openApi.util.BitgetSignatureUtil;
 import hello.tradexserver.openApi.webSocket.dto.BitgetOrderData;
-import hello.tradexserver.openApi.webSocket.dto.BitgetOrderMessage;
 import hello.tradexserver.openApi.webSocket.dto.BitgetPositionData;
-import hello.tradexserver.openApi.webSocket.dto.BitgetPositionMessage;
+import hello.tradexserver.openApi.webSocket.dto.WebSocketFrame;
 import lombok.extern.slf4j.Slf4j;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
 
 import java.math.BigDecimal;
 import java.net.URI;
@@ -23,28 +19,27 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 public class BitgetWebSocketClient implements ExchangeWebSocketClient {
 
-    // live용 base url
-    private static final String WSS_URL = "wss://ws.bitget.com/v2/ws/private";
-    // demo용 base url
-//    private static final String WSS_URL = "wss://wspap.bitget.com/v2/ws/private";
-
     private final Long userId;
     private final ExchangeApiKey exchangeApiKey;
-    private final ObjectMapper objectMapper;
-
-    private WebSocketClient wsClient;
-    private boolean isConnected = false;
-    private boolean isAuthenticated = false;
+    private final String wssUrl;
+    private final WebSocketFrameDecoder frameDecoder;
+    // arg.channel 기준으로 data 필드를 바인딩할 타입
+    private final JavaType positionListType;
+    private final JavaType orderListType;
+
+    private SharedWebSocketConnection wsClient;
+    private volatile boolean isConnected = false;
+    private volatile boolean isAuthenticated = false;
     private PositionListener positionListener;
     private OrderListener orderListener;
+    private WebSocketFrameRecorder frameRecorder;
 
     // 끊긴 시간 추적 - 재연결 시 Gap 보완에 사용
     private final AtomicReference<LocalDateTime> disconnectTime = new AtomicReference<>(null);
@@ -52,15 +47,26 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
     // snapshot 비교용: 현재 추적 중인 오픈 포지션 (key: "instId_holdSide", value: PositionSide)
     private final ConcurrentHashMap<String, PositionSide> trackedPositions = new ConcurrentHashMap<>();
 
-    private ScheduledExecutorService scheduledExecutor;
+    private final ExchangeWebSocketExecutor webSocketExecutor;
+    private final ReconnectCoordinator reconnectCoordinator;
+    private ScheduledFuture<?> reconnectTask;
+    private ScheduledFuture<?> pingTask;
     private int reconnectAttempts = 0;
-    private boolean shouldReconnect = true;
+    private volatile boolean shouldReconnect = true;
 
-    public BitgetWebSocketClient(Long userId, ExchangeApiKey exchangeApiKey) {
+    public BitgetWebSocketClient(Long userId, ExchangeApiKey exchangeApiKey,
+                                 ExchangeWebSocketExecutor webSocketExecutor,
+                                 ReconnectCoordinator reconnectCoordinator,
+                                 WebSocketFrameDecoder frameDecoder,
+                                 String wssUrl) {
         this.userId = userId;
         this.exchangeApiKey = exchangeApiKey;
-        this.objectMapper = new ObjectMapper();
-        this.scheduledExecutor = Executors.newScheduledThreadPool(2);
+        this.wssUrl = wssUrl;
+        this.frameDecoder = frameDecoder;
+        this.positionListType = frameDecoder.listType(BitgetPositionData.class);
+        this.orderListType = frameDecoder.listType(BitgetOrderData.class);
+        this.webSocketExecutor = webSocketExecutor;
+        this.reconnectCoordinator = reconnectCoordinator;
     }
 
     @Override
@@ -73,10 +79,25 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
         this.orderListener = listener;
     }
 
+    @Override
+    public void setFrameRecorder(WebSocketFrameRecorder recorder) {
+        this.frameRecorder = recorder;
+    }
+
+    @Override
+    public void replayFrame(String message) {
+        // 재생 중에는 재연결/구독 전송이 실제 거래소로 나가지 않도록
+        shouldReconnect = false;
+        if (wsClient == null) {
+            wsClient = new BitgetWebSocketImpl(URI.create(wssUrl), webSocketExecutor);
+        }
+        wsClient.onMessage(message);
+    }
+
     @Override
     public void connect() {
         try {
-            wsClient = new BitgetWebSocketImpl(new URI(WSS_URL));
+            wsClient = new BitgetWebSocketImpl(new URI(wssUrl), webSocketExecutor);
             wsClient.connect();
             log.info("[Bitget] WebSocket connecting for user: {}", userId);
         } catch (URISyntaxException e) {
@@ -93,13 +114,14 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
             isAuthenticated = false;
             log.info("[Bitget] WebSocket disconnected for user: {}", userId);
         }
-        shutdownExecutor();
+        cancelScheduledTasks();
     }
 
-    private void shutdownExecutor() {
-        if (scheduledExecutor != null && !scheduledExecutor.isShutdown()) {
-            scheduledExecutor.shutdownNow();
+    private void cancelScheduledTasks() {
+        if (reconnectTask != null) {
+            reconnectTask.cancel(false);
         }
+        stopPingScheduler();
     }
 
     private void scheduleReconnect() {
@@ -119,11 +141,18 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
         log.info("[Bitget] 재연결 시도 {}/{} 예약 - user: {}, {}ms 후",
                 reconnectAttempts, ExchangeWebSocketClient.MAX_RECONNECT_ATTEMPTS, userId, delay);
 
-        scheduledExecutor.schedule(() -> {
-            if (shouldReconnect && !isConnected()) {
-                connect();
-            }
-        }, delay, TimeUnit.MILLISECONDS);
+        // 동시 끊김 시 폭주하지 않도록 jitter + 토큰 버킷을 거쳐 재연결
+        reconnectTask = reconnectCoordinator.scheduleReconnect(
+                exchangeApiKey.getExchangeName(), exchangeApiKey.getId(), delay, () -> {
+                    if (shouldReconnect && !isConnected()) {
+                        connect();
+                    }
+                });
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return isAuthenticated && isConnected();
     }
 
     @Override
@@ -151,21 +180,30 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
     }
 
     private void startPingScheduler() {
-        scheduledExecutor.scheduleAtFixedRate(() -> {
+        // 재연결 시 onOpen이 다시 호출되므로 기존 ping 작업을 먼저 취소 (중복 예약 방지)
+        stopPingScheduler();
+        pingTask = webSocketExecutor.scheduleAtFixedRate(() -> {
             if (isConnected && wsClient != null && wsClient.isOpen()) {
                 wsClient.send("ping");
             }
         }, 25, 25, TimeUnit.SECONDS);
     }
 
+    private void stopPingScheduler() {
+        if (pingTask != null) {
+            pingTask.cancel(false);
+            pingTask = null;
+        }
+    }
+
     // ================ 내부 WebSocket 클래스 ================
-    private class BitgetWebSocketImpl extends WebSocketClient {
-        public BitgetWebSocketImpl(URI serverUri) {
-            super(serverUri);
+    private class BitgetWebSocketImpl extends SharedWebSocketConnection {
+        public BitgetWebSocketImpl(URI serverUri, ExchangeWebSocketExecutor executor) {
+            super(serverUri, executor);
         }
 
         @Override
-        public void onOpen(ServerHandshake handshakedata) {
+        public void onOpen() {
             isConnected = true;
             reconnectAttempts = 0;
             log.info("[Bitget] WebSocket opened for user: {}", userId);
@@ -175,55 +213,63 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
 
         @Override
         public void onMessage(String message) {
+            long receivedAt = System.currentTimeMillis();
             // Bitget pong 응답
             if ("pong".equals(message)) {
                 return;
             }
+            if (frameRecorder != null) {
+                frameRecorder.record(exchangeApiKey, userId, message);
+            }
 
             log.debug("[Bitget] Message received: {}", message);
             try {
-                JsonNode jsonNode = objectMapper.readTree(message);
+                WebSocketFrame frame = frameDecoder.decode(message, this::resolvePayloadType);
+                long decodedAt = System.currentTimeMillis();
+                String event = frame.getEvent();
 
                 // 로그인 응답
-                if (jsonNode.has("event") && "login".equals(jsonNode.get("event").asText())) {
-                    handleLoginResponse(jsonNode);
+                if ("login".equals(event)) {
+                    handleLoginResponse(frame);
                     return;
                 }
 
                 // 구독 응답
-                if (jsonNode.has("event") && "subscribe".equals(jsonNode.get("event").asText())) {
-                    handleSubscribeResponse(jsonNode);
+                if ("subscribe".equals(event)) {
+                    handleSubscribeResponse(frame);
                     return;
                 }
 
                 // 에러 응답
-                if (jsonNode.has("event") && "error".equals(jsonNode.get("event").asText())) {
-                    log.error("[Bitget] Error event - user: {}, msg: {}",
-                            userId, jsonNode.path("msg").asText());
+                if ("error".equals(event)) {
+                    log.error("[Bitget] Error event - user: {}, msg: {}", userId, frame.getMessage());
                     return;
                 }
 
                 // 데이터 메시지 (포지션 / 오더)
-                if (jsonNode.has("arg")) {
-                    String channel = jsonNode.path("arg").path("channel").asText();
-                    if ("positions".equals(channel)) {
-                        System.out.println("[Bitget] Positions received "+message);
-                        handlePositionMessage(message);
-                        return;
-                    }
-                    if ("orders".equals(channel)) {
-                        System.out.println("[Bitget] Orders received "+message);
-                        handleOrderMessage(message);
-                        return;
-                    }
+                if ("positions".equals(frame.getChannel())) {
+                    handlePositionMessage(frame.getAction(), frame.getPayload());
+                    return;
+                }
+                if ("orders".equals(frame.getChannel())) {
+                    handleOrderMessage(frame.getAction(), frame.getPayload(), receivedAt, decodedAt);
+                    return;
                 }
             } catch (Exception e) {
                 log.error("[Bitget] Error processing message - user: {}", userId, e);
             }
         }
 
-        private void handleLoginResponse(JsonNode jsonNode) {
-            String code = jsonNode.path("code").asText("0");
+        private JavaType resolvePayloadType(String field, WebSocketFrame frame) {
+            // 제어 응답(event)에는 data가 없음
+            if (!"data".equals(field) || frame.getEvent() != null) return null;
+            if ("positions".equals(frame.getChannel())) return positionListType;
+            if ("orders".equals(frame.getChannel())) return orderListType;
+            return null;
+        }
+
+        private void handleLoginResponse(WebSocketFrame frame) {
+            String code = frame.getCode() != null ? frame.getCode() : "0";
             if ("0".equals(code)) {
                 isAuthenticated = true;
                 log.info("[Bitget] Login successful - user: {}", userId);
@@ -244,21 +290,19 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
                 }
             } else {
                 log.error("[Bitget] Login failed - user: {}, code: {}, msg: {}",
-                        userId, code, jsonNode.path("msg").asText());
+                        userId, code, frame.getMessage());
             }
         }
 
-        private void handleSubscribeResponse(JsonNode jsonNode) {
+        private void handleSubscribeResponse(WebSocketFrame frame) {
             log.info("[Bitget] Subscription successful - user: {}, channel: {}",
-                    userId, jsonNode.path("arg").path("channel").asText());
+                    userId, frame.getChannel());
         }
 
         // ================ 포지션 처리 ================
-        private void handlePositionMessage(String message) {
+        private void handlePositionMessage(String action, List<BitgetPositionData> data) {
             try {
-                BitgetPositionMessage posMsg = objectMapper.readValue(message, BitgetPositionMessage.class);
-                String action = posMsg.getAction();
-                List<BitgetPositionData> dataList = posMsg.getData() != null ? posMsg.getData() : List.of();
+                List<BitgetPositionData> dataList = data != null ? data : List.of();
 
                 log.info("[Bitget] Position {} - user: {}, count: {}",
                         action, userId, dataList.size());
@@ -413,19 +457,20 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
         }
 
         // ================ 오더 처리 ================
-        private void handleOrderMessage(String message) {
+        private void handleOrderMessage(String action, List<BitgetOrderData> dataList, long receivedAt,
+                                        long decodedAt) {
             try {
-                BitgetOrderMessage orderMsg = objectMapper.readValue(message, BitgetOrderMessage.class);
-                if (orderMsg.getData() == null || orderMsg.getData().isEmpty()) return;
+                if (dataList == null || dataList.isEmpty()) return;
 
-                log.info("[Bitget] Order {} - user: {}, count: {}",
-                        orderMsg.getAction(), userId, orderMsg.getData().size());
+                log.info("[Bitget] Order {} - user: {}, count: {}", action, userId, dataList.size());
 
-                for (BitgetOrderData data : orderMsg.getData()) {
+                for (BitgetOrderData data : dataList) {
                     String status = data.getStatus();
                     if (!shouldSaveOrder(status, data)) continue;
 
                     Order order = convertToOrder(data);
+                    order.markReceived(receivedAt);
+                    order.markDecoded(decodedAt);
                     if (orderListener != null) {
                         orderListener.onOrderReceived(order);
                     }
@@ -551,6 +596,7 @@ public class BitgetWebSocketClient implements ExchangeWebSocketClient {
         public void onClose(int code, String reason, boolean remote) {
             isConnected = false;
             isAuthenticated = false;
+            stopPingScheduler();
             disconnectTime.compareAndSet(null, LocalDateTime.now());
             log.warn("[Bitget] WebSocket closed - user: {}, code: {}, reason: {}, remote: {}",
                     userId, code, reason, remote);
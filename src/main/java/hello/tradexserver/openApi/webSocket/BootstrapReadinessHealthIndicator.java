@@ -0,0 +1,38 @@
+package hello.tradexserver.openApi.webSocket;
+
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+/**
+ * readiness 프로브 — 애플리케이션 readiness 상태에 WebSocket 부트스트랩 완료 여부를 더한다.
+ * Spring 기본 readinessStateHealthIndicator를 같은 이름으로 대체하므로 별도 헬스 항목이 생기지 않고,
+ * liveness 그룹(livenessState)은 부트스트랩이 오래 걸려도 영향을 받지 않는다.
+ */
+@Component("readinessStateHealthIndicator")
+public class BootstrapReadinessHealthIndicator extends ReadinessStateHealthIndicator {
+
+    private final WebSocketInitializer webSocketInitializer;
+
+    public BootstrapReadinessHealthIndicator(ApplicationAvailability availability,
+                                             WebSocketInitializer webSocketInitializer) {
+        super(availability);
+        this.webSocketInitializer = webSocketInitializer;
+    }
+
+    @Override
+    protected AvailabilityState getState(ApplicationAvailability applicationAvailability) {
+        return webSocketInitializer.isReady()
+                ? super.getState(applicationAvailability)
+                : ReadinessState.REFUSING_TRAFFIC;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        super.doHealthCheck(builder);
+        builder.withDetails(webSocketInitializer.getDetails());
+    }
+}
@@ -1,19 +1,15 @@
 package hello.tradexserver.openApi.webSocket;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.domain.Order;
 import hello.tradexserver.domain.Position;
 import hello.tradexserver.domain.enums.*;
 import hello.tradexserver.openApi.util.BybitSignatureUtil;
 import hello.tradexserver.openApi.webSocket.dto.BybitOrderData;
-import hello.tradexserver.openApi.webSocket.dto.BybitOrderMessage;
 import hello.tradexserver.openApi.webSocket.dto.BybitPositionData;
-import hello.tradexserver.openApi.webSocket.dto.BybitPositionMessage;
+import hello.tradexserver.openApi.webSocket.dto.WebSocketFrame;
 import lombok.extern.slf4j.Slf4j;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
 
 import java.math.BigDecimal;
 import java.net.URI;
@@ -21,43 +17,57 @@ import java.net.URISyntaxException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 public class BybitWebSocketClient implements ExchangeWebSocketClient {
-    // live 용
-    private static final String WSS_URL = "wss://stream.bybit.com/v5/private";
-    // demo 용
-    // private static final String WSS_URL = "wss://stream-demo.bybit.com/v5/private";
+    // Bybit 권장: 20초마다 ping 전송으로 연결 유지
+    private static final long PING_INTERVAL_SECONDS = 20;
 
     private Long userId;
     private ExchangeApiKey exchangeApiKey;
+    private final String wssUrl;
     private String apiKey;
     private String apiSecret;
-    private WebSocketClient wsClient;
-    private ObjectMapper objectMapper;
-    private boolean isConnected = false;
-    private boolean isAuthenticated = false;
+    private SharedWebSocketConnection wsClient;
+    private final WebSocketFrameDecoder frameDecoder;
+    // topic 기준으로 data 필드를 바인딩할 타입
+    private final JavaType positionListType;
+    private final JavaType orderListType;
+    private volatile boolean isConnected = false;
+    private volatile boolean isAuthenticated = false;
     private PositionListener positionListener;
     private OrderListener orderListener;
+    private WebSocketFrameRecorder frameRecorder;
 
     // 끊긴 시간 추적 - 재연결 시 Gap 보완에 사용
     private final AtomicReference<LocalDateTime> disconnectTime = new AtomicReference<>(null);
 
-    private ScheduledExecutorService reconnectExecutor;
+    private final ExchangeWebSocketExecutor webSocketExecutor;
+    private final ReconnectCoordinator reconnectCoordinator;
+    private ScheduledFuture<?> reconnectTask;
+    private ScheduledFuture<?> pingTask;
     private int reconnectAttempts = 0;
-    private boolean shouldReconnect = true;
+    private volatile boolean shouldReconnect = true;
 
-    public BybitWebSocketClient(Long userId, ExchangeApiKey exchangeApiKey) {
+    public BybitWebSocketClient(Long userId, ExchangeApiKey exchangeApiKey,
+                                ExchangeWebSocketExecutor webSocketExecutor,
+                                ReconnectCoordinator reconnectCoordinator,
+                                WebSocketFrameDecoder frameDecoder,
+                                String wssUrl) {
         this.userId = userId;
         this.exchangeApiKey = exchangeApiKey;
+        this.wssUrl = wssUrl;
         this.apiKey = exchangeApiKey.getApiKey();
         this.apiSecret = exchangeApiKey.getApiSecret();
-        this.objectMapper = new ObjectMapper();
-        this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
+        this.frameDecoder = frameDecoder;
+        this.positionListType = frameDecoder.listType(BybitPositionData.class);
+        this.orderListType = frameDecoder.listType(BybitOrderData.class);
+        this.webSocketExecutor = webSocketExecutor;
+        this.reconnectCoordinator = reconnectCoordinator;
     }
 
     @Override
@@ -70,10 +80,25 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
         this.orderListener = listener;
     }
 
+    @Override
+    public void setFrameRecorder(WebSocketFrameRecorder recorder) {
+        this.frameRecorder = recorder;
+    }
+
+    @Override
+    public void replayFrame(String message) {
+        // 재생 중에는 재연결/구독 전송이 실제 거래소로 나가지 않도록
+        shouldReconnect = false;
+        if (wsClient == null) {
+            wsClient = new BybitWebSocketImpl(URI.create(wssUrl), webSocketExecutor);
+        }
+        wsClient.onMessage(message);
+    }
+
     @Override
     public void connect() {
         try {
-            wsClient = new BybitWebSocketImpl(new URI(WSS_URL));
+            wsClient = new BybitWebSocketImpl(new URI(wssUrl), webSocketExecutor);
             wsClient.connect();
             log.debug("[Bybit] WebSocket connecting for user: {}", userId);
         } catch (URISyntaxException e) {
@@ -90,12 +115,29 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
             isAuthenticated = false;
             log.info("[Bybit] WebSocket disconnected for user: {}", userId);
         }
-        shutdownReconnectExecutor();
+        cancelScheduledTasks();
     }
 
-    private void shutdownReconnectExecutor() {
-        if (reconnectExecutor != null && !reconnectExecutor.isShutdown()) {
-            reconnectExecutor.shutdownNow();
+    private void cancelScheduledTasks() {
+        if (reconnectTask != null) {
+            reconnectTask.cancel(false);
+        }
+        stopPingScheduler();
+    }
+
+    private void startPingScheduler() {
+        stopPingScheduler();
+        pingTask = webSocketExecutor.scheduleAtFixedRate(() -> {
+            if (isConnected()) {
+                wsClient.send("{\"op\":\"ping\"}");
+            }
+        }, PING_INTERVAL_SECONDS, PING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void stopPingScheduler() {
+        if (pingTask != null) {
+            pingTask.cancel(false);
+            pingTask = null;
         }
     }
 
@@ -116,11 +158,18 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
         log.debug("[Bybit] 재연결 시도 {}/{} 예약 - user: {}, {}ms 후",
                 reconnectAttempts, ExchangeWebSocketClient.MAX_RECONNECT_ATTEMPTS, userId, delay);
 
-        reconnectExecutor.schedule(() -> {
-            if (shouldReconnect && !isConnected()) {
-                connect();
-            }
-        }, delay, TimeUnit.MILLISECONDS);
+        // 동시 끊김 시 폭주하지 않도록 jitter + 토큰 버킷을 거쳐 재연결
+        reconnectTask = reconnectCoordinator.scheduleReconnect(
+                exchangeApiKey.getExchangeName(), exchangeApiKey.getId(), delay, () -> {
+                    if (shouldReconnect && !isConnected()) {
+                        connect();
+                    }
+                });
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return isAuthenticated && isConnected();
     }
 
     @Override
@@ -155,44 +204,50 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
     }
 
     // ================ 내부 WebSocket 클래스 ================
-    private class BybitWebSocketImpl extends WebSocketClient {
-        public BybitWebSocketImpl(URI serverUri) {
-            super(serverUri);
+    private class BybitWebSocketImpl extends SharedWebSocketConnection {
+        public BybitWebSocketImpl(URI serverUri, ExchangeWebSocketExecutor executor) {
+            super(serverUri, executor);
         }
 
         @Override
-        public void onOpen(ServerHandshake handshakedata) {
+        public void onOpen() {
             isConnected = true;
             reconnectAttempts = 0;
             log.debug("[Bybit] WebSocket opened for user: {}", userId);
             sendAuthMessage();
+            startPingScheduler();
         }
 
         @Override
         public void onMessage(String message) {
+            long receivedAt = System.currentTimeMillis();
             log.debug("[Bybit] Message received: {}", message);
+            if (frameRecorder != null) {
+                frameRecorder.record(exchangeApiKey, userId, message);
+            }
             try {
-                JsonNode jsonNode = objectMapper.readTree(message);
+                WebSocketFrame frame = frameDecoder.decode(message, this::resolvePayloadType);
+                long decodedAt = System.currentTimeMillis();
+                String op = frame.getOp();
+                String topic = frame.getTopic();
 
-                if (jsonNode.has("op") && "auth".equals(jsonNode.get("op").asText())) {
-                    handleAuthResponse(jsonNode);
+                if ("auth".equals(op)) {
+                    handleAuthResponse(frame);
                     return;
                 }
-                if (jsonNode.has("op") && "subscribe".equals(jsonNode.get("op").asText())) {
-                    handleSubscribeResponse(jsonNode);
+                if ("subscribe".equals(op)) {
+                    handleSubscribeResponse(frame);
                     return;
                 }
-                if (jsonNode.has("topic") && jsonNode.get("topic").asText().startsWith("position")) {
-                    log.info("[Bybit] position message received: {}", message);
-                    handlePositionMessage(message);
+                if (topic != null && topic.startsWith("position")) {
+                    handlePositionMessage(frame.getPayload());
                     return;
                 }
-                if (jsonNode.has("topic") && jsonNode.get("topic").asText().startsWith("order")) {
-                    log.info("[Bybit] order message received: {}", message);
-                    handleOrderMessage(message);
+                if (topic != null && topic.startsWith("order")) {
+                    handleOrderMessage(frame.getPayload(), receivedAt, decodedAt);
                     return;
                 }
-                if (jsonNode.has("op") && "pong".equals(jsonNode.get("op").asText())) {
+                if ("pong".equals(op)) {
                     return;
                 }
             } catch (Exception e) {
@@ -200,8 +255,15 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
             }
         }
 
-        private void handleAuthResponse(JsonNode jsonNode) {
-            boolean success = jsonNode.has("success") && jsonNode.get("success").asBoolean();
+        private JavaType resolvePayloadType(String field, WebSocketFrame frame) {
+            if (!"data".equals(field) || frame.getTopic() == null) return null;
+            if (frame.getTopic().startsWith("position")) return positionListType;
+            if (frame.getTopic().startsWith("order")) return orderListType;
+            return null;
+        }
+
+        private void handleAuthResponse(WebSocketFrame frame) {
+            boolean success = Boolean.TRUE.equals(frame.getSuccess());
             if (success) {
                 isAuthenticated = true;
                 log.debug("[Bybit] Authentication successful - user: {}", userId);
@@ -222,27 +284,27 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
                     positionListener.onReconnected(exchangeApiKey);
                 }
             } else {
-                String retMsg = jsonNode.has("ret_msg") ? jsonNode.get("ret_msg").asText() : "Unknown error";
+                String retMsg = frame.getMessage() != null ? frame.getMessage() : "Unknown error";
                 log.error("[Bybit] Authentication failed - user: {} - {}", userId, retMsg);
             }
         }
 
-        private void handleSubscribeResponse(JsonNode jsonNode) {
-            boolean success = jsonNode.has("success") && jsonNode.get("success").asBoolean();
+        private void handleSubscribeResponse(WebSocketFrame frame) {
+            boolean success = Boolean.TRUE.equals(frame.getSuccess());
             if (success) {
                 log.debug("[Bybit] Subscription successful - user: {}", userId);
             } else {
-                String retMsg = jsonNode.has("ret_msg") ? jsonNode.get("ret_msg").asText() : "Unknown error";
+                String retMsg = frame.getMessage() != null ? frame.getMessage() : "Unknown error";
                 log.error("[Bybit] Subscription failed - user: {} - {}", userId, retMsg);
             }
         }
 
-        private void handlePositionMessage(String message) {
+        private void handlePositionMessage(List<BybitPositionData> dataList) {
             try {
-                BybitPositionMessage positionMessage = objectMapper.readValue(message, BybitPositionMessage.class);
-                if (positionMessage.getData() == null || positionMessage.getData().isEmpty()) return;
+                if (dataList == null || dataList.isEmpty()) return;
+                log.debug("[Bybit] position message received - user: {}, count: {}", userId, dataList.size());
 
-                for (BybitPositionData data : positionMessage.getData()) {
+                for (BybitPositionData data : dataList) {
                     Position position = convertToPosition(data);
 
                     if (positionListener != null) {
@@ -258,17 +320,20 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
             }
         }
 
-        private void handleOrderMessage(String message) {
+        private void handleOrderMessage(List<BybitOrderData> dataList, long receivedAt, long decodedAt) {
             try {
-                BybitOrderMessage orderMessage = objectMapper.readValue(message, BybitOrderMessage.class);
-                if (orderMessage.getData() == null || orderMessage.getData().isEmpty()) return;
+                if (dataList == null || dataList.isEmpty()) return;
+                log.debug("[Bybit] order message received - user: {}, count: {}", userId, dataList.size());
 
-                for (BybitOrderData data : orderMessage.getData()) {
+                for (BybitOrderData data : dataList) {
                     String os = data.getOrderStatus();
                     if (!"Filled".equals(os) && !"Cancelled".equals(os)) continue;
 
                     if (orderListener != null) {
-                        orderListener.onOrderReceived(convertToOrder(data));
+                        Order order = convertToOrder(data);
+                        order.markReceived(receivedAt);
+                        order.markDecoded(decodedAt);
+                        orderListener.onOrderReceived(order);
                     }
                 }
             } catch (Exception e) {
@@ -375,6 +440,7 @@ public class BybitWebSocketClient implements ExchangeWebSocketClient {
         public void onClose(int code, String reason, boolean remote) {
             isConnected = false;
             isAuthenticated = false;
+            stopPingScheduler();
             // 재연결 시 Gap 보완을 위해 끊긴 시간 기록 (처음 끊길 때만)
             disconnectTime.compareAndSet(null, LocalDateTime.now());
             log.warn("[Bybit] WebSocket closed - user: {}, code: {}, reason: {}, remote: {}",
@@ -10,10 +10,27 @@ public interface ExchangeWebSocketClient {
     void connect();
     void disconnect();
     boolean isConnected();
+
+    /**
+     * 인증까지 완료되어 이벤트를 수신할 수 있는 상태 (별도 인증 단계가 없는 거래소는 연결 여부와 동일)
+     */
+    default boolean isAuthenticated() {
+        return isConnected();
+    }
     void subscribePosition();
     void setPositionListener(PositionListener listener);
 
     default void setOrderListener(OrderListener listener) {
         // 기본 구현: 거래소별 구현체에서 필요 시 오버라이드
     }
+
+    /**
+     * 캡처 모드: 수신 원본 프레임을 기록할 recorder 지정
+     */
+    void setFrameRecorder(WebSocketFrameRecorder recorder);
+
+    /**
+     * 재생 하네스: 연결 없이 캡처된 프레임을 수신 처리 경로(onMessage)로 전달
+     */
+    void replayFrame(String message);
 }
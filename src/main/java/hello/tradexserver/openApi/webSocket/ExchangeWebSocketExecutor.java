@@ -0,0 +1,94 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.ExchangeWebSocketProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 거래소 WebSocket 클라이언트가 공유하는 스레드 자원.
+ * - HttpClient: 하나의 selector 스레드 + 고정 크기 IO 풀로 전체 연결의 프레임을 처리
+ * - scheduler: 재연결 백오프, keep-alive ping, listenKey 연장 타이머
+ * 연결 수가 늘어나도 스레드 수는 고정되므로 연결당 스레드 비용이 0에 가깝다.
+ */
+@Slf4j
+@Component
+public class ExchangeWebSocketExecutor {
+
+    private final ExecutorService ioExecutor;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    @Getter
+    private final HttpClient httpClient;
+
+    @Getter
+    private final Duration connectTimeout;
+
+    public ExchangeWebSocketExecutor(ExchangeWebSocketProperties properties) {
+        CustomizableThreadFactory ioThreadFactory = new CustomizableThreadFactory("ws-io-");
+        ioThreadFactory.setDaemon(true);
+        this.ioExecutor = new ThreadPoolExecutor(
+                properties.getIoThreads(), properties.getIoThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                ioThreadFactory);
+
+        CustomizableThreadFactory schedulerThreadFactory = new CustomizableThreadFactory("ws-scheduler-");
+        schedulerThreadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(properties.getSchedulerThreads(), schedulerThreadFactory);
+        // 연결 해제 시 cancel된 ping/재연결 작업이 큐에 남아 힙을 차지하지 않도록 즉시 제거
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        this.connectTimeout = Duration.ofSeconds(properties.getConnectTimeoutSeconds());
+        this.httpClient = HttpClient.newBuilder()
+                .executor(ioExecutor)
+                .connectTimeout(connectTimeout)
+                .build();
+
+        log.info("[WSExecutor] 공유 WebSocket 자원 초기화 - ioThreads: {}, schedulerThreads: {}",
+                properties.getIoThreads(), properties.getSchedulerThreads());
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduler.schedule(guard(task), delay, unit);
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return scheduler.scheduleAtFixedRate(guard(task), initialDelay, period, unit);
+    }
+
+    public int getScheduledTaskCount() {
+        return scheduler.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("[WSExecutor] 공유 WebSocket 자원 종료");
+        scheduler.shutdownNow();
+        ioExecutor.shutdownNow();
+    }
+
+    /**
+     * 주기 작업에서 예외가 발생하면 이후 실행이 모두 취소되므로 예외를 삼키고 로그만 남긴다.
+     */
+    private Runnable guard(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("[WSExecutor] 예약 작업 실행 중 오류", e);
+            }
+        };
+    }
+}
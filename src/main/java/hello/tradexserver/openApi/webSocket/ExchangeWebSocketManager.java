@@ -1,92 +1,220 @@
 package hello.tradexserver.openApi.webSocket;
 
+import hello.tradexserver.config.ExchangeEndpointProperties;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.openApi.rest.BinanceRestClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ExchangeWebSocketManager {
 
+    // 연결 키 단위 잠금 stripe 수 (2의 거듭제곱) — 같은 stripe의 다른 키만 연결 중에 대기
+    private static final int CONNECTION_LOCK_STRIPES = 256;
+
     private final Map<String, ExchangeWebSocketClient> activeConnections = new ConcurrentHashMap<>();
+    // 연결별 apiKeyId — 샤드 담당 변경 시 해제 대상 판별용
+    private final Map<String, Long> connectionApiKeyIds = new ConcurrentHashMap<>();
+    private final ReentrantLock[] connectionLocks = newLocks();
 
     private final BinanceRestClient binanceRestClient;
-    private final PositionListener positionListener;
-    private final OrderListener orderListener;
+    private final ExchangeWebSocketExecutor webSocketExecutor;
+    private final PositionEventQueue positionEventQueue;
+    private final OrderIngestionQueue orderIngestionQueue;
+    private final ReconnectCoordinator reconnectCoordinator;
+    private final ShardCoordinator shardCoordinator;
+    private final WebSocketFrameDecoder frameDecoder;
+    private final WebSocketFrameRecorder frameRecorder;
+    private final ExchangeEndpointProperties endpointProperties;
 
     public void connectUser(Long userId, ExchangeApiKey apiKey) {
         String webSocketKey = generateWebSocketKey(userId, apiKey.getExchangeName().name());
 
-        if (activeConnections.containsKey(webSocketKey)) {
-            disconnectUser(userId, apiKey.getExchangeName().name());
+        // 다른 노드 담당 샤드면 담당 노드에서 연결하도록 전달
+        if (!shardCoordinator.owns(apiKey.getId())) {
+            disconnectLocal(webSocketKey);
+            shardCoordinator.forwardConnect(userId, apiKey.getExchangeName().name(), apiKey.getId());
+            log.info("WebSocket connect forwarded - User: {}, Exchange: {}, shard: {}",
+                    userId, apiKey.getExchangeName(), shardCoordinator.shardOf(apiKey.getId()));
+            return;
         }
 
+        // 확인-교체를 키 단위로 직렬화 — 동시에 들어온 연결 요청(보정, 전달 요청, API Key 등록)이 클라이언트를 중복 생성하지 않도록.
+        // 연결(Binance는 listenKey REST 호출 포함)은 맵 잠금 밖에서 수행해 느린 거래소가 다른 키를 막지 않게 한다
+        ReentrantLock lock = lockFor(webSocketKey);
+        lock.lock();
         try {
-            ExchangeWebSocketClient client = createWebSocketClient(userId, apiKey);
-
-            if (positionListener != null) {
-                client.setPositionListener(positionListener);
+            ExchangeWebSocketClient existing = activeConnections.remove(webSocketKey);
+            if (existing != null) {
+                connectionApiKeyIds.remove(webSocketKey);
+                existing.disconnect();
             }
-            if (orderListener != null) {
-                client.setOrderListener(orderListener);
+
+            ExchangeWebSocketClient client = createWebSocketClient(userId, apiKey);
+            // WS IO 스레드에서 DB/REST 작업을 하지 않도록 큐를 거쳐 PositionTrackingService / WebSocketOrderService로 전달
+            client.setPositionListener(positionEventQueue);
+            client.setOrderListener(orderIngestionQueue);
+            if (frameRecorder.isEnabled()) {
+                client.setFrameRecorder(frameRecorder);
             }
 
-            client.connect();
+            // 연결 진행 중에도 hasConnection이 보이도록 먼저 등록
             activeConnections.put(webSocketKey, client);
-
-            log.info("WebSocket connected - User: {}, Exchange: {}", userId, apiKey.getExchangeName());
+            connectionApiKeyIds.put(webSocketKey, apiKey.getId());
+            try {
+                client.connect();
+                log.info("WebSocket connected - User: {}, Exchange: {}", userId, apiKey.getExchangeName());
+            } catch (Exception e) {
+                activeConnections.remove(webSocketKey);
+                connectionApiKeyIds.remove(webSocketKey);
+                log.error("Failed to connect WebSocket - User: {}, Exchange: {}",
+                        userId, apiKey.getExchangeName(), e);
+            }
         } catch (Exception e) {
             log.error("Failed to connect WebSocket - User: {}, Exchange: {}",
                     userId, apiKey.getExchangeName(), e);
+        } finally {
+            lock.unlock();
         }
     }
 
     public void disconnectUser(Long userId, String exchange) {
         String webSocketKey = generateWebSocketKey(userId, exchange);
-        ExchangeWebSocketClient client = activeConnections.remove(webSocketKey);
-
-        if (client != null) {
-            client.disconnect();
+        if (disconnectLocal(webSocketKey)) {
             log.info("WebSocket disconnected - User: {}, Exchange: {}", userId, exchange);
+        } else if (shardCoordinator.isEnabled()) {
+            // 이 노드에 연결이 없으면 연결을 가진 노드에서 해제하도록 전달
+            shardCoordinator.forwardDisconnect(userId, exchange);
         }
     }
 
+    /**
+     * 이 노드의 연결만 해제 (다른 노드로 전달하지 않음)
+     */
+    public boolean disconnectLocal(Long userId, String exchange) {
+        return disconnectLocal(generateWebSocketKey(userId, exchange));
+    }
+
+    /**
+     * 조건에 맞는 apiKeyId의 연결을 모두 해제 — 샤드 담당이 다른 노드로 넘어갈 때 사용
+     */
+    public int disconnectWhere(Predicate<Long> apiKeyIdFilter) {
+        List<String> targets = connectionApiKeyIds.entrySet().stream()
+                .filter(e -> apiKeyIdFilter.test(e.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        int disconnected = 0;
+        for (String webSocketKey : targets) {
+            if (disconnectLocal(webSocketKey)) disconnected++;
+        }
+        return disconnected;
+    }
+
+    /**
+     * 연결 객체 보유 여부 (연결/인증 진행 중 포함) — 중복 연결 방지용
+     */
+    public boolean hasConnection(Long userId, String exchange) {
+        return activeConnections.containsKey(generateWebSocketKey(userId, exchange));
+    }
+
     public boolean isConnected(Long userId, String exchange) {
         String webSocketKey = generateWebSocketKey(userId, exchange);
         ExchangeWebSocketClient client = activeConnections.get(webSocketKey);
         return client != null && client.isConnected();
     }
 
+    public int getConnectionCount() {
+        return activeConnections.size();
+    }
+
+    public int getAuthenticatedCount() {
+        int count = 0;
+        for (ExchangeWebSocketClient client : activeConnections.values()) {
+            if (client.isAuthenticated()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * 재연결/gap fill 입장 대기 수 (폭주 상황 모니터링용)
+     */
+    public int getReconnectBacklog() {
+        return reconnectCoordinator.getBacklogSize();
+    }
+
+    /**
+     * 연결하지 않고 관리 대상에도 넣지 않는 클라이언트 (재생 하네스용)
+     */
+    public ExchangeWebSocketClient createDetachedClient(Long userId, ExchangeApiKey apiKey) {
+        return createWebSocketClient(userId, apiKey);
+    }
+
     public void shutdown() {
         log.info("Shutting down all WebSocket connections");
         activeConnections.values().forEach(ExchangeWebSocketClient::disconnect);
         activeConnections.clear();
+        connectionApiKeyIds.clear();
+    }
+
+    private boolean disconnectLocal(String webSocketKey) {
+        // connectUser와 같은 키 잠금 안에서 두 맵을 함께 정리 (새로 붙은 연결의 apiKeyId를 지우지 않도록)
+        ReentrantLock lock = lockFor(webSocketKey);
+        lock.lock();
+        try {
+            ExchangeWebSocketClient client = activeConnections.remove(webSocketKey);
+            if (client == null) return false;
+            connectionApiKeyIds.remove(webSocketKey);
+            client.disconnect();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String webSocketKey) {
+        int hash = webSocketKey.hashCode();
+        hash ^= (hash >>> 16);
+        return connectionLocks[hash & (CONNECTION_LOCK_STRIPES - 1)];
     }
 
     private ExchangeWebSocketClient createWebSocketClient(Long userId, ExchangeApiKey apiKey) {
         String exchange = apiKey.getExchangeName().name();
 
         if ("BYBIT".equalsIgnoreCase(exchange)) {
-            return new BybitWebSocketClient(userId, apiKey);
+            return new BybitWebSocketClient(userId, apiKey, webSocketExecutor, reconnectCoordinator,
+                    frameDecoder, endpointProperties.getBybitWsUrl());
         }
 
         if ("BINANCE".equalsIgnoreCase(exchange)) {
-            return new BinanceWebSocketClient(userId, apiKey, binanceRestClient);
+            return new BinanceWebSocketClient(userId, apiKey, binanceRestClient, webSocketExecutor,
+                    reconnectCoordinator, frameDecoder, endpointProperties.getBinanceWsUrl());
         }
 
         if ("BITGET".equalsIgnoreCase(exchange)) {
-            return new BitgetWebSocketClient(userId, apiKey);
+            return new BitgetWebSocketClient(userId, apiKey, webSocketExecutor, reconnectCoordinator,
+                    frameDecoder, endpointProperties.getBitgetWsUrl());
         }
 
         throw new IllegalArgumentException("Unsupported exchange: " + exchange);
     }
 
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[CONNECTION_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
     private String generateWebSocketKey(Long userId, String exchange) {
         return userId + "_" + exchange.toLowerCase();
     }
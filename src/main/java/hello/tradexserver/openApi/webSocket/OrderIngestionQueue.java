@@ -0,0 +1,456 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.OrderIngestionProperties;
+import hello.tradexserver.config.OrderIngestionProperties.OverflowPolicy;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.service.FillLatencyRecorder;
+import hello.tradexserver.service.GapFillException;
+import hello.tradexserver.service.FillLatencyRecorder.Stage;
+import hello.tradexserver.service.WebSocketOrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * WebSocket 콜백과 DB 저장 사이의 수집 단계.
+ * WS IO 스레드는 큐에 넣기만 하고, DB 저장 + 포지션 재구성은 워커(레인)가 처리한다.
+ * - apiKeyId+symbol 해시로 레인을 고정 → 같은 키의 오더는 수신 순서대로 처리
+ * - 레인별 큐는 bounded, 초과 시 OverflowPolicy에 따라 대기 후 REST gap fill로 복구
+ *   버린 오더가 있는 apiKeyId+symbol은 gap fill이 끝날 때까지 이후 오더도 큐에 넣지 않고 같은 복구 구간에 합친다
+ *   (누락된 진입보다 청산이 먼저 재구성되지 않도록). gap fill은 버리기 전에 큐에 들어간 오더가 처리된 뒤 실행
+ * - batchMaxSize > 1이면 짧은 구간의 오더를 apiKey별로 모아 한 번에 저장 (마이크로 배치)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderIngestionQueue implements OrderListener {
+
+    private static final long SHUTDOWN_DRAIN_TIMEOUT_MS = 10_000;
+
+    private final WebSocketOrderService webSocketOrderService;
+    private final OrderIngestionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ReconnectCoordinator reconnectCoordinator;
+    private final FillLatencyRecorder fillLatencyRecorder;
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<ExchangeName, Timer> queueWaitTimers = new EnumMap<>(ExchangeName.class);
+    private final Map<ExchangeName, Timer> drainTimers = new EnumMap<>(ExchangeName.class);
+    private final Map<ExchangeName, Counter> overflowCounters = new EnumMap<>(ExchangeName.class);
+    private final Map<ExchangeName, Counter> divertedCounters = new EnumMap<>(ExchangeName.class);
+    private DistributionSummary batchSizeSummary;
+
+    // 큐 초과로 버린 오더 → apiKeyId별 가장 이른 fillTime부터 gap fill
+    private final ConcurrentHashMap<Long, DroppedRange> droppedRanges = new ConcurrentHashMap<>();
+    // 복구 대기/진행 중인 apiKeyId:symbol — 이후 오더도 큐를 거치지 않고 복구 구간에 합친다
+    private final Set<String> divertedKeys = ConcurrentHashMap.newKeySet();
+
+    // 오더 처리(저장 + 재구성) 완료 통지 대상 — 재생 하네스 지연 측정용
+    private final List<Consumer<Order>> processedObservers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = true;
+
+    private record IngestionTask(Order order, long enqueuedNanos) {}
+
+    /**
+     * @param laneBarriers 레인 번호 → 버릴 당시까지 그 레인에 들어간 오더 수. 모두 처리된 뒤에 gap fill 실행
+     */
+    private record DroppedRange(ExchangeApiKey apiKey, LocalDateTime gapStart, Set<String> symbols,
+                                Map<Integer, Long> laneBarriers) {
+
+        DroppedRange merge(DroppedRange other) {
+            Set<String> mergedSymbols = new HashSet<>(symbols);
+            mergedSymbols.addAll(other.symbols);
+            Map<Integer, Long> mergedBarriers = new HashMap<>(laneBarriers);
+            other.laneBarriers.forEach((lane, barrier) -> mergedBarriers.merge(lane, barrier, Math::max));
+            return new DroppedRange(apiKey,
+                    gapStart.isAfter(other.gapStart) ? other.gapStart : gapStart,
+                    Set.copyOf(mergedSymbols), Map.copyOf(mergedBarriers));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("order-ingest-");
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            Lane lane = new Lane(i, properties.getQueueCapacity());
+            lanes.add(lane);
+            Thread worker = threadFactory.newThread(lane);
+            workers.add(worker);
+            worker.start();
+        }
+
+        for (ExchangeName exchange : ExchangeName.values()) {
+            String tag = exchange.name().toLowerCase();
+            queueWaitTimers.put(exchange, Timer.builder("exchange.ingestion.queue.wait")
+                    .description("WS 수신 → 워커 처리 시작까지 대기 시간")
+                    .tag("exchange", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            drainTimers.put(exchange, Timer.builder("exchange.ingestion.drain")
+                    .description("오더 저장 + 포지션 재구성 처리 시간")
+                    .tag("exchange", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            overflowCounters.put(exchange, Counter.builder("exchange.ingestion.overflow")
+                    .description("큐 초과로 gap fill 복구 대상이 된 오더 수")
+                    .tag("exchange", tag)
+                    .register(meterRegistry));
+            divertedCounters.put(exchange, Counter.builder("exchange.ingestion.diverted")
+                    .description("복구 대기 중인 키라서 큐 대신 gap fill로 보낸 오더 수")
+                    .tag("exchange", tag)
+                    .register(meterRegistry));
+        }
+        batchSizeSummary = DistributionSummary.builder("exchange.ingestion.batch.size")
+                .description("마이크로 배치 1회당 apiKey별 오더 수")
+                .register(meterRegistry);
+        Gauge.builder("exchange.ingestion.queue.depth", this, OrderIngestionQueue::getQueueDepth)
+                .description("전체 레인의 대기 오더 수")
+                .register(meterRegistry);
+
+        log.info("[Ingestion] 오더 수집 큐 시작 - workers: {}, capacity/lane: {}, overflow: {}",
+                properties.getWorkers(), properties.getQueueCapacity(), properties.getOverflowPolicy());
+    }
+
+    /**
+     * WS IO 스레드에서 호출 — 레인 큐에 넣고 즉시 반환
+     */
+    @Override
+    public void onOrderReceived(Order order) {
+        fillLatencyRecorder.recordReceived(order);
+        fillLatencyRecorder.recordDecoded(order);
+        IngestionTask task = new IngestionTask(order, System.nanoTime());
+        Lane lane = laneFor(order);
+        reconnectCoordinator.recordActivity(order.getExchangeApiKey().getId());
+
+        if (divertedKeys.contains(divertKey(order.getExchangeApiKey().getId(), order.getSymbol()))) {
+            divertedCounters.get(order.getExchangeName()).increment();
+            markDropped(order, lane);
+            return;
+        }
+
+        boolean accepted;
+        try {
+            accepted = properties.getOverflowPolicy() == OverflowPolicy.BLOCK
+                    ? lane.queue.offer(task, properties.getBlockTimeoutMs(), TimeUnit.MILLISECONDS)
+                    : lane.queue.offer(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            lane.accepted.incrementAndGet();
+            fillLatencyRecorder.record(Stage.QUEUED, order);
+        } else {
+            overflowCounters.get(order.getExchangeName()).increment();
+            log.warn("[Ingestion] 큐 초과 - gap fill 대상 표시, apiKeyId: {}, symbol: {}, orderId: {}",
+                    order.getExchangeApiKey().getId(), order.getSymbol(), order.getExchangeOrderId());
+            markDropped(order, lane);
+        }
+    }
+
+    /**
+     * 재연결 보완은 @Async로 분리되어 있으며, 동시 재연결 시 폭주하지 않도록 입장 조절을 거친다
+     * 조회가 실패하면 해당 구간을 복구 대상에 넣어 다음 주기에 다시 요청한다
+     */
+    @Override
+    public void onReconnected(ExchangeApiKey apiKey, LocalDateTime gapStartTime) {
+        reconnectCoordinator.submitGapFill(apiKey.getExchangeName(), apiKey.getId(),
+                () -> webSocketOrderService.fillGap(apiKey, gapStartTime)
+                        .whenComplete((result, e) -> {
+                            if (e != null) retryLater(apiKey, gapStartTime, e);
+                        }));
+    }
+
+    public void addProcessedObserver(Consumer<Order> observer) {
+        processedObservers.add(observer);
+    }
+
+    public void removeProcessedObserver(Consumer<Order> observer) {
+        processedObservers.remove(observer);
+    }
+
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * 큐 초과로 버린 오더 구간을 REST gap fill로 복구
+     * 버리기 전에 큐에 들어간 같은 레인 오더가 아직 남아 있으면 다음 주기로 미룬다
+     */
+    @Scheduled(fixedDelayString = "${exchange.ingestion.gap-fill-delay-ms:5000}")
+    public void recoverDroppedOrders() {
+        if (droppedRanges.isEmpty()) return;
+
+        for (Long apiKeyId : new ArrayList<>(droppedRanges.keySet())) {
+            DroppedRange range = droppedRanges.get(apiKeyId);
+            if (range == null || !isDrained(range)) continue;
+            // 그 사이 다른 오더가 합쳐졌으면 다음 주기에 처리
+            if (!droppedRanges.remove(apiKeyId, range)) continue;
+
+            log.warn("[Ingestion] 큐 초과 구간 gap fill 요청 - apiKeyId: {}, gapStart: {}, symbols: {}",
+                    apiKeyId, range.gapStart(), range.symbols());
+            reconnectCoordinator.submitGapFill(range.apiKey().getExchangeName(), apiKeyId, () -> recover(range));
+        }
+    }
+
+    /**
+     * gap fill 완료 후 복구한 심볼의 우회를 해제 — 실패하면 구간을 되돌려 다음 주기에 재시도
+     */
+    private void recover(DroppedRange range) {
+        webSocketOrderService.fillGap(range.apiKey(), range.gapStart())
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        droppedRanges.merge(range.apiKey().getId(), range, DroppedRange::merge);
+                        log.warn("[Ingestion] gap fill 실패 - 다음 주기에 재시도, apiKeyId: {}, gapStart: {}",
+                                range.apiKey().getId(), range.gapStart(), e);
+                    }
+                    release(range);
+                });
+    }
+
+    /**
+     * 재연결 보완 실패 — 실제 조회한 시작 시각부터 복구 대상에 넣는다 (우회할 심볼/대기할 레인 없음)
+     */
+    private void retryLater(ExchangeApiKey apiKey, LocalDateTime gapStartTime, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        LocalDateTime gapStart = cause instanceof GapFillException gapFill ? gapFill.getGapStart() : gapStartTime;
+        if (gapStart == null) {
+            // 첫 연동(DB에 오더 없음)처럼 조회 구간이 없던 실패는 다음 재연결 때 다시 보완
+            log.error("[Ingestion] 재연결 보완 실패 - apiKeyId: {}", apiKey.getId(), cause);
+            return;
+        }
+        log.warn("[Ingestion] 재연결 보완 실패 - 다음 주기에 재시도, apiKeyId: {}, gapStart: {}",
+                apiKey.getId(), gapStart, cause);
+        droppedRanges.merge(apiKey.getId(), new DroppedRange(apiKey, gapStart, Set.of(), Map.of()),
+                DroppedRange::merge);
+    }
+
+    /**
+     * 복구 완료된 심볼 우회 해제 — 복구 도중 같은 심볼이 새로 버려졌으면 (대기 구간에 있으면) 유지
+     */
+    private void release(DroppedRange range) {
+        droppedRanges.compute(range.apiKey().getId(), (apiKeyId, pending) -> {
+            for (String symbol : range.symbols()) {
+                if (pending == null || !pending.symbols().contains(symbol)) {
+                    divertedKeys.remove(divertKey(apiKeyId, symbol));
+                }
+            }
+            return pending;
+        });
+    }
+
+    private boolean isDrained(DroppedRange range) {
+        for (Map.Entry<Integer, Long> barrier : range.laneBarriers().entrySet()) {
+            if (lanes.get(barrier.getKey()).completed.get() < barrier.getValue()) return false;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        log.info("[Ingestion] 오더 수집 큐 종료 - 잔여: {}건", getQueueDepth());
+
+        // DB 커넥션 풀이 닫히기 전에 남은 오더를 처리하도록 대기
+        long deadline = System.currentTimeMillis() + SHUTDOWN_DRAIN_TIMEOUT_MS;
+        for (Thread worker : workers) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) break;
+            try {
+                worker.join(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (getQueueDepth() > 0) {
+            log.warn("[Ingestion] 종료 대기 시간 초과 - 미처리: {}건 (재시작 시 gap fill로 복구)", getQueueDepth());
+        }
+    }
+
+    /**
+     * 오더를 복구 구간에 합치고 해당 apiKeyId:symbol을 우회 대상으로 표시 (같은 원자 구간)
+     */
+    private void markDropped(Order order, Lane lane) {
+        ExchangeApiKey apiKey = order.getExchangeApiKey();
+        LocalDateTime fillTime = order.getFillTime() != null ? order.getFillTime() : LocalDateTime.now();
+        DroppedRange dropped = new DroppedRange(apiKey, fillTime, Set.of(order.getSymbol()),
+                Map.of(lane.index, lane.accepted.get()));
+        droppedRanges.compute(apiKey.getId(), (apiKeyId, prev) -> {
+            divertedKeys.add(divertKey(apiKeyId, order.getSymbol()));
+            return prev == null ? dropped : prev.merge(dropped);
+        });
+    }
+
+    private String divertKey(Long apiKeyId, String symbol) {
+        return apiKeyId + ":" + symbol;
+    }
+
+    private Lane laneFor(Order order) {
+        int hash = 31 * Long.hashCode(order.getExchangeApiKey().getId()) + order.getSymbol().hashCode();
+        hash ^= (hash >>> 16);
+        return lanes.get(Math.floorMod(hash, lanes.size()));
+    }
+
+    private void process(IngestionTask task) {
+        Order order = task.order();
+        long startNanos = System.nanoTime();
+        queueWaitTimers.get(order.getExchangeName())
+                .record(startNanos - task.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        try {
+            webSocketOrderService.onOrderReceived(order);
+            fillLatencyRecorder.record(Stage.COMMITTED, order);
+        } catch (Exception e) {
+            log.error("[Ingestion] 오더 처리 실패 - symbol: {}, orderId: {}",
+                    order.getSymbol(), order.getExchangeOrderId(), e);
+        } finally {
+            drainTimers.get(order.getExchangeName())
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            notifyProcessed(order);
+        }
+    }
+
+    /**
+     * 마이크로 배치 처리: apiKey별로 묶어 한 트랜잭션에서 저장 + 재구성.
+     * 배치가 실패하면 건별 처리로 되돌려 한 오더의 문제로 나머지가 유실되지 않게 한다.
+     */
+    private void processBatch(List<IngestionTask> tasks) {
+        long startNanos = System.nanoTime();
+        Map<Long, List<Order>> byApiKey = new LinkedHashMap<>();
+        for (IngestionTask task : tasks) {
+            Order order = task.order();
+            queueWaitTimers.get(order.getExchangeName())
+                    .record(startNanos - task.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            byApiKey.computeIfAbsent(order.getExchangeApiKey().getId(), k -> new ArrayList<>()).add(order);
+        }
+
+        for (List<Order> orders : byApiKey.values()) {
+            ExchangeName exchange = orders.get(0).getExchangeName();
+            long groupStartNanos = System.nanoTime();
+            batchSizeSummary.record(orders.size());
+            try {
+                webSocketOrderService.onOrdersReceived(exchange, orders);
+                orders.forEach(order -> fillLatencyRecorder.record(Stage.COMMITTED, order));
+            } catch (Exception e) {
+                log.warn("[Ingestion] 배치 처리 실패 - 건별 처리로 재시도, apiKeyId: {}, {}건",
+                        orders.get(0).getExchangeApiKey().getId(), orders.size(), e);
+                for (Order order : orders) {
+                    try {
+                        webSocketOrderService.onOrderReceived(order);
+                        fillLatencyRecorder.record(Stage.COMMITTED, order);
+                    } catch (Exception ex) {
+                        log.error("[Ingestion] 오더 처리 실패 - symbol: {}, orderId: {}",
+                                order.getSymbol(), order.getExchangeOrderId(), ex);
+                    }
+                }
+            } finally {
+                drainTimers.get(exchange)
+                        .record(System.nanoTime() - groupStartNanos, TimeUnit.NANOSECONDS);
+                orders.forEach(this::notifyProcessed);
+            }
+        }
+    }
+
+    private void notifyProcessed(Order order) {
+        for (Consumer<Order> observer : processedObservers) {
+            try {
+                observer.accept(order);
+            } catch (Exception e) {
+                log.warn("[Ingestion] 처리 완료 통지 실패 - orderId: {}", order.getExchangeOrderId(), e);
+            }
+        }
+    }
+
+    private class Lane implements Runnable {
+        private final int index;
+        private final BlockingQueue<IngestionTask> queue;
+        // 큐에 넣은 수 / 처리를 마친 수 — FIFO이므로 completed >= 특정 시점 accepted면 그 이전 오더는 모두 처리됨
+        private final AtomicLong accepted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+
+        Lane(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            // 종료 신호 후에도 남은 오더는 모두 처리하고 종료
+            while (running || !queue.isEmpty()) {
+                try {
+                    IngestionTask task = queue.poll(1, TimeUnit.SECONDS);
+                    if (task == null) continue;
+
+                    if (properties.getBatchMaxSize() <= 1) {
+                        process(task);
+                        completed.incrementAndGet();
+                    } else {
+                        List<IngestionTask> batch = collectBatch(task);
+                        processBatch(batch);
+                        completed.addAndGet(batch.size());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 첫 오더 이후 batchWindowMs 동안 또는 batchMaxSize까지 모은다
+         */
+        private List<IngestionTask> collectBatch(IngestionTask first) throws InterruptedException {
+            int maxSize = properties.getBatchMaxSize();
+            List<IngestionTask> batch = new ArrayList<>(Math.min(maxSize, queue.size() + 1));
+            batch.add(first);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBatchWindowMs());
+            while (batch.size() < maxSize) {
+                queue.drainTo(batch, maxSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxSize || remaining <= 0) break;
+
+                IngestionTask next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) break;
+                batch.add(next);
+            }
+            return batch;
+        }
+    }
+}
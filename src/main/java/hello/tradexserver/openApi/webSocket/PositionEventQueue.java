@@ -0,0 +1,208 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.PositionEventProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.service.PositionTrackingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * WS 포지션 이벤트를 IO 스레드에서 떼어 워커로 넘기는 큐 (오더의 OrderIngestionQueue에 대응).
+ * - IO 스레드는 디코딩 후 넣기만 하고, DB 갱신 / REST 보완(leverage 조회) / 재연결 보완은 워커에서 실행
+ * - 포지션 이벤트는 시점 스냅샷이므로 아직 처리되지 않은 같은 apiKeyId+심볼+방향 이벤트는 최신 것으로 덮어씀
+ *   → 대기 건수가 키 수로 제한되어 큐 초과나 IO 스레드 대기가 없다
+ * - 단 CLOSED는 덮어쓰지 않는다 — 청산 뒤 같은 방향으로 재진입한 UPDATE는 CLOSED 처리 후 이어서 실행
+ * - apiKeyId 해시로 레인을 고정해 같은 키의 이벤트는 도착 순서대로 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PositionEventQueue implements PositionListener {
+
+    private static final long SHUTDOWN_DRAIN_TIMEOUT_MS = 5_000;
+
+    private final PositionTrackingService positionTrackingService;
+    private final PositionEventProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final List<ExecutorService> lanes = new ArrayList<>();
+    // 처리 대기 중인 최신 이벤트 — 키가 이미 있으면 레인에 다시 넣지 않고 값만 교체
+    private final ConcurrentHashMap<EventKey, PositionEvent> pending = new ConcurrentHashMap<>();
+    private final Map<ExchangeName, Counter> coalescedCounters = new EnumMap<>(ExchangeName.class);
+
+    private enum Type { UPDATE, CLOSED, RECONNECTED }
+
+    /**
+     * 재연결 이벤트는 symbol/side 없이 apiKeyId 단위
+     */
+    private record EventKey(Long apiKeyId, String symbol, PositionSide side) {}
+
+    /**
+     * followUp: CLOSED 뒤에 들어온 이벤트 (CLOSED를 처리한 다음 실행)
+     */
+    private record PositionEvent(Type type, ExchangeApiKey apiKey, Position position,
+                                 UnaryOperator<Position> enricher, PositionEvent followUp) {
+
+        PositionEvent(Type type, ExchangeApiKey apiKey, Position position, UnaryOperator<Position> enricher) {
+            this(type, apiKey, position, enricher, null);
+        }
+
+        PositionEvent withFollowUp(PositionEvent next) {
+            return new PositionEvent(type, apiKey, position, enricher, next);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("position-event-");
+        threadFactory.setDaemon(true);
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            lanes.add(Executors.newSingleThreadExecutor(threadFactory));
+        }
+
+        for (ExchangeName exchange : ExchangeName.values()) {
+            coalescedCounters.put(exchange, Counter.builder("exchange.position.events.coalesced")
+                    .description("처리 전에 더 최신 이벤트로 대체된 포지션 이벤트 수")
+                    .tag("exchange", exchange.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("exchange.position.events.pending", pending, Map::size)
+                .description("처리 대기 중인 포지션 이벤트 수")
+                .register(meterRegistry);
+
+        log.info("[PositionEvent] 포지션 이벤트 큐 시작 - workers: {}", properties.getWorkers());
+    }
+
+    @Override
+    public void onPositionUpdate(Position position) {
+        onPositionUpdate(position, UnaryOperator.identity());
+    }
+
+    /**
+     * 보완 작업(enricher)까지 워커에서 실행
+     */
+    @Override
+    public void onPositionUpdate(Position position, UnaryOperator<Position> enricher) {
+        ExchangeApiKey apiKey = position.getExchangeApiKey();
+        if (apiKey == null) return;
+        enqueue(new EventKey(apiKey.getId(), position.getSymbol(), position.getSide()),
+                new PositionEvent(Type.UPDATE, apiKey, position, enricher));
+    }
+
+    @Override
+    public void onPositionClosed(Position position) {
+        ExchangeApiKey apiKey = position.getExchangeApiKey();
+        if (apiKey == null) return;
+        enqueue(new EventKey(apiKey.getId(), position.getSymbol(), position.getSide()),
+                new PositionEvent(Type.CLOSED, apiKey, position, null));
+    }
+
+    @Override
+    public void onReconnected(ExchangeApiKey apiKey) {
+        enqueue(new EventKey(apiKey.getId(), null, null),
+                new PositionEvent(Type.RECONNECTED, apiKey, null, null));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("[PositionEvent] 포지션 이벤트 큐 종료 - 잔여: {}건", pending.size());
+        lanes.forEach(ExecutorService::shutdown);
+
+        // DB 커넥션 풀이 닫히기 전에 남은 이벤트를 처리하도록 대기
+        long deadline = System.currentTimeMillis() + SHUTDOWN_DRAIN_TIMEOUT_MS;
+        for (ExecutorService lane : lanes) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) break;
+            try {
+                lane.awaitTermination(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.warn("[PositionEvent] 종료 대기 시간 초과 - 미처리: {}건 (재연결 시 보완)", pending.size());
+        }
+    }
+
+    /**
+     * WS IO 스레드에서 호출 — 최신 이벤트로 등록하고, 새 키일 때만 레인에 처리 작업을 넣는다
+     */
+    private void enqueue(EventKey key, PositionEvent event) {
+        boolean[] added = {false};
+        pending.compute(key, (k, current) -> {
+            if (current == null) {
+                added[0] = true;
+                return event;
+            }
+            return coalesce(current, event);
+        });
+        if (!added[0]) return;
+
+        ExecutorService lane = lanes.get(Math.floorMod(Long.hashCode(key.apiKeyId()), lanes.size()));
+        try {
+            lane.execute(() -> drain(key));
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            log.warn("[PositionEvent] 종료 중 이벤트 무시 - apiKeyId: {}, type: {}", key.apiKeyId(), event.type());
+        }
+    }
+
+    /**
+     * 대기 중인 이벤트에 새 이벤트를 합친다 — CLOSED는 남기고 그 뒤의 이벤트끼리만 최신 것으로 덮어씀
+     */
+    private PositionEvent coalesce(PositionEvent current, PositionEvent incoming) {
+        if (current.type() == Type.CLOSED) {
+            PositionEvent next = current.followUp() != null ? coalesce(current.followUp(), incoming) : incoming;
+            return current.withFollowUp(next);
+        }
+        coalescedCounters.get(incoming.apiKey().getExchangeName()).increment();
+        return incoming;
+    }
+
+    private void drain(EventKey key) {
+        // 꺼낸 뒤 들어온 이벤트는 새 작업으로 다시 예약되므로 유실되지 않는다
+        PositionEvent event = pending.remove(key);
+        for (; event != null; event = event.followUp()) {
+            handle(key, event);
+        }
+    }
+
+    private void handle(EventKey key, PositionEvent event) {
+        try {
+            switch (event.type()) {
+                case UPDATE -> positionTrackingService.onPositionUpdate(event.enricher().apply(event.position()));
+                case CLOSED -> positionTrackingService.onPositionClosed(event.position());
+                case RECONNECTED -> positionTrackingService.onReconnected(event.apiKey());
+            }
+        } catch (Exception e) {
+            log.error("[PositionEvent] 포지션 이벤트 처리 실패 - apiKeyId: {}, symbol: {}, type: {}",
+                    key.apiKeyId(), key.symbol(), event.type(), e);
+        }
+    }
+}
@@ -3,10 +3,20 @@ package hello.tradexserver.openApi.webSocket;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.domain.Position;
 
+import java.util.function.UnaryOperator;
+
 public interface PositionListener {
     void onPositionUpdate(Position position);
     void onPositionClosed(Position position);
 
+    /**
+     * 전달 전에 블로킹 보완(REST 조회 등)이 필요한 업데이트 — 큐 구현체는 보완까지 워커 스레드에서 실행
+     * 기본 구현은 호출 스레드에서 보완 후 전달
+     */
+    default void onPositionUpdate(Position position, UnaryOperator<Position> enricher) {
+        onPositionUpdate(enricher.apply(position));
+    }
+
     /**
      * WebSocket 재연결 시 호출 - REST API로 포지션 상태 보완
      * Binance/Bitget 등 미구현 거래소는 default로 무시
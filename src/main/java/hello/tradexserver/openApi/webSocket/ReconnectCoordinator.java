@@ -0,0 +1,202 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.ReconnectProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.openApi.rest.ExchangeCircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재연결 폭주 제어 — 네트워크/거래소 장애로 모든 연결이 동시에 끊겼을 때
+ * 재연결과 재연결 후 gap fill이 한꺼번에 몰리지 않도록 토큰 버킷으로 입장을 조절한다.
+ * - 백오프 지연에 jitter를 섞어 재연결 시점을 분산
+ * - 지연이 끝난 작업은 거래소별 대기열에 들어가고, 거래소별 + 전체 토큰이 있을 때만 실행
+ * - 대기열은 최근 오더가 있었던 계정 우선, 같은 우선순위는 먼저 들어온 순
+ * - 거래소 REST circuit이 열려 있으면 그 거래소 gap fill은 대기열에 보류 (빈 조회 결과로 누락되지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconnectCoordinator {
+
+    private final ReconnectProperties properties;
+    private final ExchangeWebSocketExecutor webSocketExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ExchangeCircuitBreaker circuitBreaker;
+
+    private final Map<ExchangeName, ExchangeBacklog> backlogs = new EnumMap<>(ExchangeName.class);
+    private final ConcurrentHashMap<Long, Long> lastActivityMillis = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private double globalTokens;
+    private long lastRefillNanos;
+
+    enum Kind { RECONNECT, GAP_FILL }
+
+    private record Admission(Kind kind, Long apiKeyId, boolean recentlyActive, long seq, Runnable task) {}
+
+    private static final Comparator<Admission> PRIORITY = Comparator
+            .comparing((Admission a) -> !a.recentlyActive())
+            .thenComparingLong(Admission::seq);
+
+    private static final class ExchangeBacklog {
+        private final PriorityQueue<Admission> queue = new PriorityQueue<>(PRIORITY);
+        private double tokens;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (ExchangeName exchangeName : ExchangeName.values()) {
+            ExchangeBacklog backlog = new ExchangeBacklog();
+            backlog.tokens = properties.getBurstPerExchange();
+            backlogs.put(exchangeName, backlog);
+
+            Gauge.builder("exchange.reconnect.backlog", this, c -> c.getBacklogSize(exchangeName))
+                    .tag("exchange", exchangeName.name().toLowerCase())
+                    .description("입장 대기 중인 재연결/gap fill 수")
+                    .register(meterRegistry);
+        }
+        globalTokens = properties.getGlobalBurst();
+        lastRefillNanos = System.nanoTime();
+
+        webSocketExecutor.scheduleAtFixedRate(this::dispatch,
+                properties.getDispatchIntervalMs(), properties.getDispatchIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 백오프(jitter 적용) 후 재연결을 대기열에 넣는다. 반환값으로 대기 중 취소 가능.
+     */
+    public ScheduledFuture<?> scheduleReconnect(ExchangeName exchangeName, Long apiKeyId,
+                                                long backoffMs, Runnable reconnect) {
+        return webSocketExecutor.schedule(() -> enqueue(exchangeName, apiKeyId, Kind.RECONNECT, reconnect),
+                withJitter(backoffMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 재연결 후 보완(REST 조회 + DB 처리)을 대기열에 넣는다
+     */
+    public void submitGapFill(ExchangeName exchangeName, Long apiKeyId, Runnable gapFill) {
+        enqueue(exchangeName, apiKeyId, Kind.GAP_FILL, gapFill);
+    }
+
+    /**
+     * 오더 수신 시 호출 — 재연결 우선순위 판단용
+     */
+    public void recordActivity(Long apiKeyId) {
+        lastActivityMillis.put(apiKeyId, System.currentTimeMillis());
+    }
+
+    public int getBacklogSize() {
+        int total = 0;
+        for (ExchangeName exchangeName : backlogs.keySet()) {
+            total += getBacklogSize(exchangeName);
+        }
+        return total;
+    }
+
+    public int getBacklogSize(ExchangeName exchangeName) {
+        ExchangeBacklog backlog = backlogs.get(exchangeName);
+        synchronized (backlog) {
+            return backlog.queue.size();
+        }
+    }
+
+    private void enqueue(ExchangeName exchangeName, Long apiKeyId, Kind kind, Runnable task) {
+        Admission admission = new Admission(kind, apiKeyId, isRecentlyActive(apiKeyId),
+                sequence.incrementAndGet(), task);
+        ExchangeBacklog backlog = backlogs.get(exchangeName);
+        synchronized (backlog) {
+            backlog.queue.add(admission);
+        }
+    }
+
+    /**
+     * 토큰 충전 후 거래소를 번갈아 돌며 1건씩 입장 — 한 거래소 폭주가 전체 예산을 독점하지 않도록
+     */
+    void dispatch() {
+        refill();
+        boolean admitted = true;
+        while (admitted && globalTokens >= 1) {
+            admitted = false;
+            for (Map.Entry<ExchangeName, ExchangeBacklog> entry : backlogs.entrySet()) {
+                if (globalTokens < 1) break;
+                Admission admission = poll(entry.getValue(), circuitBreaker.isAvailable(entry.getKey()));
+                if (admission == null) continue;
+
+                globalTokens -= 1;
+                admitted = true;
+                run(entry.getKey(), admission);
+            }
+        }
+    }
+
+    private Admission poll(ExchangeBacklog backlog, boolean restAvailable) {
+        synchronized (backlog) {
+            if (backlog.tokens < 1 || backlog.queue.isEmpty()) return null;
+            if (restAvailable) {
+                backlog.tokens -= 1;
+                return backlog.queue.poll();
+            }
+            // REST 차단 중에는 재연결만 입장
+            Admission reconnect = backlog.queue.stream()
+                    .filter(a -> a.kind() == Kind.RECONNECT)
+                    .min(PRIORITY)
+                    .orElse(null);
+            if (reconnect == null) return null;
+            backlog.queue.remove(reconnect);
+            backlog.tokens -= 1;
+            return reconnect;
+        }
+    }
+
+    private void run(ExchangeName exchangeName, Admission admission) {
+        try {
+            admission.task().run();
+        } catch (Exception e) {
+            log.error("[Reconnect] {} 실행 실패 - exchange: {}, apiKeyId: {}",
+                    admission.kind(), exchangeName, admission.apiKeyId(), e);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+
+        globalTokens = Math.min(properties.getGlobalBurst(),
+                globalTokens + elapsedSeconds * properties.getGlobalPermitsPerSecond());
+        for (ExchangeBacklog backlog : backlogs.values()) {
+            synchronized (backlog) {
+                backlog.tokens = Math.min(properties.getBurstPerExchange(),
+                        backlog.tokens + elapsedSeconds * properties.getPermitsPerSecondPerExchange());
+            }
+        }
+    }
+
+    private long withJitter(long backoffMs) {
+        double ratio = Math.max(0, Math.min(1, properties.getJitterRatio()));
+        long fixed = (long) (backoffMs * (1 - ratio));
+        long random = (long) (backoffMs * ratio * ThreadLocalRandom.current().nextDouble());
+        return fixed + random;
+    }
+
+    private boolean isRecentlyActive(Long apiKeyId) {
+        Long last = lastActivityMillis.get(apiKeyId);
+        return last != null && System.currentTimeMillis() - last
+                <= TimeUnit.MINUTES.toMillis(properties.getRecentActivityWindowMinutes());
+    }
+}
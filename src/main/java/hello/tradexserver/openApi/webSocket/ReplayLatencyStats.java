@@ -0,0 +1,65 @@
+package hello.tradexserver.openApi.webSocket;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재생 하네스의 체결별 지연 집계.
+ * 같은 오더의 부분 체결은 키(거래소:오더id)가 같으므로 키마다 투입 시각을 FIFO로 쌓고,
+ * 처리 완료 통지마다 가장 먼저 투입된 체결의 시각을 꺼낸다 (수집 큐는 키 단위 순서를 보장).
+ */
+final class ReplayLatencyStats {
+
+    private final ConcurrentHashMap<String, Deque<Long>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    record Report(int processed, double fillsPerSecond, double p50Millis, double p99Millis, double maxMillis) {}
+
+    void dispatched(String key, long startNanos) {
+        inFlight.compute(key, (k, starts) -> {
+            Deque<Long> queue = starts != null ? starts : new ArrayDeque<>();
+            queue.addLast(startNanos);
+            return queue;
+        });
+        unfinished.incrementAndGet();
+    }
+
+    void processed(String key, long nowNanos) {
+        long[] start = {-1};
+        inFlight.computeIfPresent(key, (k, starts) -> {
+            start[0] = starts.pollFirst();
+            return starts.isEmpty() ? null : starts;
+        });
+        if (start[0] >= 0) {
+            unfinished.decrementAndGet();
+            latencies.add(nowNanos - start[0]);
+        }
+    }
+
+    int getUnfinished() {
+        return unfinished.get();
+    }
+
+    Report report(long elapsedNanos) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        return new Report(
+                sorted.length,
+                elapsedSeconds > 0 ? sorted.length / elapsedSeconds : 0,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,362 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.ShardProperties;
+import hello.tradexserver.event.ShardCommandEvent;
+import hello.tradexserver.event.ShardOwnershipChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API Key → 서버 노드 샤드 배정 (Redis 리스 기반).
+ * - apiKeyId를 shardCount개 샤드로 나누고, 샤드마다 하나의 노드만 리스(SET NX PX)를 보유
+ * - 노드는 하트비트(ZSET score)로 생존을 알리고, 살아있는 노드 목록에 대해 rendezvous 해시로 샤드 담당자를 정함
+ *   → 노드 추가/이탈 시 해당 노드 몫의 샤드만 이동
+ * - 담당이 아니게 된 샤드는 연결을 먼저 끊은 뒤 리스를 반납하고, 새 담당 노드는 리스가 비면 획득
+ * - Redis 장애로 리스를 갱신하지 못하면 만료 전에 모든 샤드를 내려놓는다 (이중 수신 방지)
+ *   → 만료 시각 - (하트비트 주기 + Redis 명령 타임아웃)부터: 다음 하트비트가 만료 뒤에 돌아도 이미 내려놓은 상태
+ * 담당 변경은 ShardOwnershipChangedEvent, 다른 노드에서 전달된 연결 요청은 ShardCommandEvent로 발행한다.
+ * 하트비트는 전용 스레드에서 돈다 — 공용 @Scheduled 스레드의 긴 작업(보정, 배치)에 밀려 리스가 만료되지 않도록.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardCoordinator {
+
+    private static final String NODES_KEY = "ws:shard:nodes";
+    private static final String LEASE_KEY_PREFIX = "ws:shard:lease:";
+    private static final String COMMAND_CHANNEL = "ws:shard:commands";
+    // spring.data.redis.timeout 미설정 시 Lettuce 기본 명령 타임아웃
+    private static final long DEFAULT_REDIS_TIMEOUT_MS = 60_000;
+
+    // 내 리스일 때만 만료 연장 / 삭제
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final ShardProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final RedisProperties redisProperties;
+
+    private final Set<Integer> ownedShards = ConcurrentHashMap.newKeySet();
+
+    private String nodeId;
+    private ScheduledExecutorService heartbeatScheduler;
+    private volatile boolean joined;
+    // 마지막으로 모든 리스 갱신에 성공한 시점 기준 만료 시각
+    private volatile long leaseValidUntil;
+    // 리스 만료보다 이만큼 먼저 샤드를 내려놓는다
+    private long fenceMarginMs;
+
+    @PostConstruct
+    public void init() {
+        nodeId = properties.getNodeId() != null && !properties.getNodeId().isBlank()
+                ? properties.getNodeId()
+                : hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+        Gauge.builder("exchange.shard.owned", ownedShards, Set::size)
+                .description("이 노드가 담당 중인 WebSocket 샤드 수")
+                .register(meterRegistry);
+
+        long redisTimeoutMs = redisProperties.getTimeout() != null
+                ? redisProperties.getTimeout().toMillis() : DEFAULT_REDIS_TIMEOUT_MS;
+        fenceMarginMs = properties.getHeartbeatIntervalMs() + redisTimeoutMs;
+
+        if (properties.isEnabled()) {
+            if (fenceMarginMs >= properties.getLeaseTtlMs()) {
+                log.warn("[Shard] 하트비트 주기 + Redis 타임아웃({}ms)이 리스 TTL({}ms) 이상 - 하트비트가 한 번만 실패해도 샤드를 내려놓음",
+                        fenceMarginMs, properties.getLeaseTtlMs());
+            }
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onCommand(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(COMMAND_CHANNEL));
+
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shard-heartbeat-");
+            threadFactory.setDaemon(true);
+            heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            // 예외가 새면 이후 실행이 중단되므로 주기 작업 안에서 모두 잡는다
+            heartbeatScheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    heartbeat();
+                } catch (Exception e) {
+                    log.error("[Shard] 하트비트 처리 중 오류 - nodeId: {}", nodeId, e);
+                }
+            }, properties.getHeartbeatIntervalMs(), properties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int shardOf(Long apiKeyId) {
+        return Math.floorMod(Long.hashCode(apiKeyId), properties.getShardCount());
+    }
+
+    /**
+     * 이 노드가 해당 API Key의 WebSocket을 담당하는지 (샤딩 비활성화 시 항상 true)
+     */
+    public boolean owns(Long apiKeyId) {
+        return !properties.isEnabled() || (apiKeyId != null && ownedShards.contains(shardOf(apiKeyId)));
+    }
+
+    /**
+     * 클러스터 참여 — 하트비트 등록 후 동시에 기동 중인 노드가 보이도록 한 주기 기다렸다가 첫 배정을 받는다.
+     * 반환된 샤드의 연결은 호출자(부트스트랩)가 수행하며, 이후 변경분만 이벤트로 발행된다.
+     */
+    public Set<Integer> join() {
+        if (!properties.isEnabled()) {
+            for (int shard = 0; shard < properties.getShardCount(); shard++) {
+                ownedShards.add(shard);
+            }
+            return Set.copyOf(ownedShards);
+        }
+        try {
+            heartbeatNode();
+            Thread.sleep(properties.getHeartbeatIntervalMs());
+            rebalance();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[Shard] 클러스터 참여 실패 - 다음 주기에 재시도, nodeId: {}", nodeId, e);
+        } finally {
+            joined = true;
+        }
+        log.info("[Shard] 클러스터 참여 - nodeId: {}, 담당 샤드: {}/{}",
+                nodeId, ownedShards.size(), properties.getShardCount());
+        return Set.copyOf(ownedShards);
+    }
+
+    /**
+     * 하트비트 + 리스 갱신 (전용 스레드에서 heartbeatIntervalMs 간격으로 실행, 참여 전에는 무시)
+     */
+    public void heartbeat() {
+        if (!properties.isEnabled() || !joined) return;
+
+        Set<Integer> before = Set.copyOf(ownedShards);
+        List<Integer> handedOff = List.of();
+        try {
+            heartbeatNode();
+            handedOff = rebalance();
+        } catch (Exception e) {
+            log.warn("[Shard] 하트비트 실패 - nodeId: {}, {}", nodeId, e.getMessage());
+            // 만료 시각까지 기다리면 그 사이 다른 노드가 리스를 가져가 같은 체결을 이중 수신할 수 있다
+            if (!ownedShards.isEmpty() && System.currentTimeMillis() >= leaseValidUntil - fenceMarginMs) {
+                log.error("[Shard] 리스 만료 임박 - 담당 샤드 {}개 해제", ownedShards.size());
+                ownedShards.clear();
+            }
+        }
+        // 리스너가 연결을 끊은 뒤에 리스를 반납해야 새 담당 노드와 동시에 수신하지 않는다
+        publishChanges(before);
+        releaseLeases(handedOff);
+    }
+
+    /**
+     * 담당하지 않는 API Key에 대한 연결 요청을 담당 노드로 전달 (트랜잭션 중이면 커밋 이후)
+     */
+    public void forwardConnect(Long userId, String exchange, Long apiKeyId) {
+        forward(ShardCommandEvent.Action.CONNECT, userId, exchange, apiKeyId);
+    }
+
+    public void forwardDisconnect(Long userId, String exchange) {
+        forward(ShardCommandEvent.Action.DISCONNECT, userId, exchange, null);
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdownNow();
+        }
+        if (!properties.isEnabled() || !joined) return;
+        try {
+            releaseLeases(List.copyOf(ownedShards));
+            redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+            log.info("[Shard] 클러스터 이탈 - nodeId: {}, 반납 샤드: {}", nodeId, ownedShards.size());
+        } catch (Exception e) {
+            log.warn("[Shard] 이탈 처리 실패 - 리스 만료 후 다른 노드가 인수, nodeId: {}", nodeId, e);
+        }
+        ownedShards.clear();
+    }
+
+    /**
+     * shard를 담당할 노드 (rendezvous 해시: 노드별 점수가 가장 높은 노드)
+     */
+    static String ownerOf(int shard, List<String> nodes) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = mix(mix(node.hashCode()) + shard * 0x9E3779B97F4A7C15L);
+            if (owner == null || score > best || (score == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    private void heartbeatNode() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+        // 하트비트가 끊긴 노드 정리
+        redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - properties.getLeaseTtlMs());
+    }
+
+    /**
+     * 리스 갱신/획득 — 다른 노드에 넘겨야 할 샤드는 담당 목록에서만 빼고 반환 (리스 반납은 연결 해제 후)
+     */
+    private List<Integer> rebalance() {
+        Set<String> members = redisTemplate.opsForZSet().range(NODES_KEY, 0, -1);
+        List<String> liveNodes = members != null ? new ArrayList<>(members) : new ArrayList<>();
+        if (!liveNodes.contains(nodeId)) {
+            liveNodes.add(nodeId);
+        }
+
+        long validUntil = System.currentTimeMillis() + properties.getLeaseTtlMs();
+        List<Integer> handedOff = new ArrayList<>();
+        Duration ttl = Duration.ofMillis(properties.getLeaseTtlMs());
+        String ttlMs = String.valueOf(properties.getLeaseTtlMs());
+
+        for (int shard = 0; shard < properties.getShardCount(); shard++) {
+            String leaseKey = LEASE_KEY_PREFIX + shard;
+            boolean desired = nodeId.equals(ownerOf(shard, liveNodes));
+
+            if (ownedShards.contains(shard)) {
+                if (!desired) {
+                    ownedShards.remove(shard);
+                    handedOff.add(shard);
+                    continue;
+                }
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey), nodeId, ttlMs);
+                if (renewed == null || renewed == 0) {
+                    log.warn("[Shard] 리스 상실 - shard: {}", shard);
+                    ownedShards.remove(shard);
+                }
+            } else if (desired) {
+                Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey, nodeId, ttl);
+                if (Boolean.TRUE.equals(acquired)) {
+                    ownedShards.add(shard);
+                }
+            }
+        }
+        leaseValidUntil = validUntil;
+        return handedOff;
+    }
+
+    private void releaseLeases(List<Integer> shards) {
+        for (Integer shard : shards) {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + shard), nodeId);
+            } catch (Exception e) {
+                log.warn("[Shard] 리스 반납 실패 - shard: {}, 만료 후 인수됨", shard);
+            }
+        }
+    }
+
+    private void publishChanges(Set<Integer> before) {
+        Set<Integer> after = Set.copyOf(ownedShards);
+        Set<Integer> gained = new HashSet<>(after);
+        gained.removeAll(before);
+        Set<Integer> lost = new HashSet<>(before);
+        lost.removeAll(after);
+        if (gained.isEmpty() && lost.isEmpty()) return;
+
+        log.info("[Shard] 담당 변경 - nodeId: {}, +{} / -{}, 담당: {}/{}",
+                nodeId, gained.size(), lost.size(), after.size(), properties.getShardCount());
+        eventPublisher.publishEvent(ShardOwnershipChangedEvent.builder()
+                .gained(gained)
+                .lost(lost)
+                .build());
+    }
+
+    private void forward(ShardCommandEvent.Action action, Long userId, String exchange, Long apiKeyId) {
+        String message = action.name() + "|" + userId + "|" + exchange + "|" + (apiKeyId != null ? apiKeyId : "");
+        Runnable send = () -> {
+            try {
+                redisTemplate.convertAndSend(COMMAND_CHANNEL, message);
+            } catch (Exception e) {
+                log.error("[Shard] 요청 전달 실패 - {}", message, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 담당 노드가 커밋된 API Key를 읽도록 커밋 이후 전달
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+
+    private void onCommand(String message) {
+        String[] parts = message.split("\\|", -1);
+        if (parts.length != 4) {
+            log.warn("[Shard] 잘못된 요청 무시 - {}", message);
+            return;
+        }
+        ShardCommandEvent.Action action = ShardCommandEvent.Action.valueOf(parts[0]);
+        Long apiKeyId = parts[3].isEmpty() ? null : Long.valueOf(parts[3]);
+        // 연결 요청은 담당 노드만 처리, 해제 요청은 연결을 가진 노드가 처리
+        if (action == ShardCommandEvent.Action.CONNECT && !owns(apiKeyId)) return;
+
+        eventPublisher.publishEvent(ShardCommandEvent.builder()
+                .action(action)
+                .userId(Long.valueOf(parts[1]))
+                .exchange(parts[2])
+                .apiKeyId(apiKeyId)
+                .build());
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.WebSocketBootstrapProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.event.ShardCommandEvent;
+import hello.tradexserver.event.ShardOwnershipChangedEvent;
+import hello.tradexserver.repository.ExchangeApiKeyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * 샤드 담당 변경을 실제 WebSocket 연결에 반영.
+ * - 넘겨준 샤드: 리스 반납 전에 동기로 연결 해제
+ * - 받은 샤드: 해당 샤드의 활성 키를 부트스트랩과 같은 속도로 연결 (비동기)
+ * - 다른 노드에서 전달된 연결/해제 요청 처리
+ * - 주기 보정: 담당 샤드의 활성 키 중 연결이 없는 키 연결 (전달 요청 유실 대비)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    private final ExchangeApiKeyRepository exchangeApiKeyRepository;
+    private final ExchangeWebSocketManager exchangeWebSocketManager;
+    private final ShardCoordinator shardCoordinator;
+    private final WebSocketBootstrapProperties bootstrapProperties;
+    private final WebSocketInitializer webSocketInitializer;
+
+    // 보정은 connectsPerSecond 속도로 오래 걸릴 수 있어 이전 회차가 끝나기 전 다음 회차를 시작하지 않음
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    @EventListener
+    public void onShardsLost(ShardOwnershipChangedEvent event) {
+        Set<Integer> lost = event.getLost();
+        if (lost.isEmpty()) return;
+
+        int disconnected = exchangeWebSocketManager.disconnectWhere(
+                apiKeyId -> lost.contains(shardCoordinator.shardOf(apiKeyId)));
+        log.info("[Shard] 샤드 인계 - {}개 샤드, 연결 해제 {}건", lost.size(), disconnected);
+    }
+
+    @Async
+    @EventListener
+    public void onShardsGained(ShardOwnershipChangedEvent event) {
+        Set<Integer> gained = event.getGained();
+        if (gained.isEmpty()) return;
+
+        int connected = connectActiveKeys(apiKeyId -> gained.contains(shardCoordinator.shardOf(apiKeyId)));
+        log.info("[Shard] 샤드 인수 - {}개 샤드, 연결 {}건", gained.size(), connected);
+    }
+
+    @Async
+    @EventListener
+    public void onCommand(ShardCommandEvent event) {
+        if (event.getAction() == ShardCommandEvent.Action.DISCONNECT) {
+            if (exchangeWebSocketManager.disconnectLocal(event.getUserId(), event.getExchange())) {
+                log.info("[Shard] 전달된 해제 처리 - userId: {}, exchange: {}", event.getUserId(), event.getExchange());
+            }
+            return;
+        }
+
+        exchangeApiKeyRepository.findById(event.getApiKeyId())
+                .filter(ExchangeApiKey::getIsActive)
+                .ifPresent(apiKey -> {
+                    exchangeWebSocketManager.connectUser(event.getUserId(), apiKey);
+                    log.info("[Shard] 전달된 연결 처리 - userId: {}, apiKeyId: {}", event.getUserId(), apiKey.getId());
+                });
+    }
+
+    /**
+     * 담당 샤드의 활성 키 중 연결이 없는 키 보정 (부트스트랩 완료 이후에만)
+     * 공용 스케줄러 스레드를 점유하지 않도록 비동기로 실행
+     */
+    @Async
+    @Scheduled(fixedDelayString = "${exchange.shard.reconcile-interval-ms:60000}",
+            initialDelayString = "${exchange.shard.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!shardCoordinator.isEnabled() || !webSocketInitializer.isConnectCompleted()) return;
+        if (!reconciling.compareAndSet(false, true)) {
+            log.debug("[Shard] 이전 보정이 진행 중 - 이번 회차 건너뜀");
+            return;
+        }
+
+        try {
+            int connected = connectActiveKeys(shardCoordinator::owns);
+            if (connected > 0) {
+                log.info("[Shard] 누락 연결 보정 - {}건", connected);
+            }
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    /**
+     * 조건에 맞는 활성 키 중 이 노드에 연결이 없는 키를 순서대로 연결 (connectsPerSecond 속도)
+     */
+    private int connectActiveKeys(Predicate<Long> apiKeyFilter) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1)
+                / Math.max(0.1, bootstrapProperties.getConnectsPerSecond()));
+        long nextConnectAt = System.nanoTime();
+        int connected = 0;
+        long afterId = 0L;
+
+        while (true) {
+            List<ExchangeApiKey> page = exchangeApiKeyRepository.findActiveAfter(
+                    afterId, PageRequest.of(0, bootstrapProperties.getPageSize()));
+            if (page.isEmpty()) break;
+
+            for (ExchangeApiKey apiKey : page) {
+                // 처리 도중 다시 넘겨준 샤드는 건너뜀
+                if (!apiKeyFilter.test(apiKey.getId()) || !shardCoordinator.owns(apiKey.getId())) continue;
+
+                Long userId = apiKey.getUser().getId();
+                if (exchangeWebSocketManager.hasConnection(userId, apiKey.getExchangeName().name())) continue;
+
+                long waitNanos = nextConnectAt - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                nextConnectAt = Math.max(nextConnectAt, System.nanoTime() - intervalNanos) + intervalNanos;
+
+                exchangeWebSocketManager.connectUser(userId, apiKey);
+                connected++;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return connected;
+    }
+}
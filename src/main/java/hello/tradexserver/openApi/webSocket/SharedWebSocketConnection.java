@@ -0,0 +1,161 @@
+package hello.tradexserver.openApi.webSocket;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 공유 HttpClient 위에서 동작하는 WebSocket 연결.
+ * Java-WebSocket의 WebSocketClient처럼 연결마다 reader/writer 스레드를 만들지 않고,
+ * ExchangeWebSocketExecutor의 IO 풀에서 콜백을 실행한다.
+ * 콜백은 연결 단위로 순차 호출되므로 메시지 순서는 보장된다.
+ */
+@Slf4j
+public abstract class SharedWebSocketConnection {
+
+    private static final int CLOSE_NEVER_CONNECTED = -1;
+    private static final int CLOSE_ABNORMAL = 1006;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final URI serverUri;
+    private final ExchangeWebSocketExecutor executor;
+
+    private volatile WebSocket webSocket;
+    private volatile boolean closedLocally = false;
+    private final AtomicBoolean closeNotified = new AtomicBoolean(false);
+
+    // 프레임이 여러 조각으로 나뉘어 도착할 수 있으므로 last=true까지 누적
+    private final StringBuilder textBuffer = new StringBuilder();
+
+    // JDK WebSocket은 이전 send가 끝나기 전에 다시 send하면 예외 → 체인으로 직렬화
+    private CompletableFuture<?> sendChain = CompletableFuture.completedFuture(null);
+
+    protected SharedWebSocketConnection(URI serverUri, ExchangeWebSocketExecutor executor) {
+        this.serverUri = serverUri;
+        this.executor = executor;
+    }
+
+    public abstract void onOpen();
+
+    public abstract void onMessage(String message);
+
+    public abstract void onClose(int code, String reason, boolean remote);
+
+    public abstract void onError(Exception ex);
+
+    public void connect() {
+        executor.getHttpClient().newWebSocketBuilder()
+                .connectTimeout(executor.getConnectTimeout())
+                .buildAsync(serverUri, new Listener())
+                .whenComplete((ws, ex) -> {
+                    if (ex != null) {
+                        Exception cause = unwrap(ex);
+                        onError(cause);
+                        notifyClose(CLOSE_NEVER_CONNECTED, cause.getMessage(), false);
+                    }
+                });
+    }
+
+    public synchronized void send(String text) {
+        WebSocket ws = requireOpen();
+        sendChain = sendChain
+                .handle((result, ex) -> null)
+                .thenCompose(v -> ws.sendText(text, true));
+    }
+
+    public synchronized void sendPing() {
+        WebSocket ws = requireOpen();
+        sendChain = sendChain
+                .handle((result, ex) -> null)
+                .thenCompose(v -> ws.sendPing(ByteBuffer.allocate(0)));
+    }
+
+    public boolean isOpen() {
+        WebSocket ws = webSocket;
+        return ws != null && !closeNotified.get() && !ws.isOutputClosed() && !ws.isInputClosed();
+    }
+
+    public void close() {
+        closedLocally = true;
+        WebSocket ws = webSocket;
+        if (ws == null) return;
+
+        ws.sendClose(WebSocket.NORMAL_CLOSURE, "")
+                .orTimeout(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((result, ex) -> ws.abort());
+        notifyClose(WebSocket.NORMAL_CLOSURE, "", false);
+    }
+
+    private WebSocket requireOpen() {
+        WebSocket ws = webSocket;
+        if (ws == null || ws.isOutputClosed()) {
+            throw new IllegalStateException("WebSocket is not open: " + serverUri);
+        }
+        return ws;
+    }
+
+    private void notifyClose(int code, String reason, boolean remote) {
+        if (closeNotified.compareAndSet(false, true)) {
+            try {
+                onClose(code, reason, remote);
+            } catch (Exception e) {
+                log.error("[WSConnection] onClose 처리 중 오류 - uri: {}", serverUri, e);
+            }
+        }
+    }
+
+    private Exception unwrap(Throwable ex) {
+        Throwable cause = (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+        return (cause instanceof Exception e) ? e : new RuntimeException(cause);
+    }
+
+    private class Listener implements WebSocket.Listener {
+
+        @Override
+        public void onOpen(WebSocket ws) {
+            webSocket = ws;
+            try {
+                SharedWebSocketConnection.this.onOpen();
+            } catch (Exception e) {
+                log.error("[WSConnection] onOpen 처리 중 오류 - uri: {}", serverUri, e);
+            }
+            ws.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            textBuffer.append(data);
+            if (last) {
+                String message = textBuffer.toString();
+                textBuffer.setLength(0);
+                try {
+                    onMessage(message);
+                } catch (Exception e) {
+                    log.error("[WSConnection] onMessage 처리 중 오류 - uri: {}", serverUri, e);
+                }
+            }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            notifyClose(statusCode, reason, !closedLocally);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            Exception cause = unwrap(error);
+            SharedWebSocketConnection.this.onError(cause);
+            notifyClose(CLOSE_ABNORMAL, cause.getMessage(), true);
+        }
+    }
+}
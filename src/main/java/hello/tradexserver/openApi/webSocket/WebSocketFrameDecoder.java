@@ -0,0 +1,126 @@
+package hello.tradexserver.openApi.webSocket;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import hello.tradexserver.openApi.webSocket.dto.WebSocketFrame;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 거래소 WebSocket 프레임 스트리밍 디코더 — 트리(JsonNode)를 만들지 않고 한 번만 읽는다.
+ * - 최상위 라우팅 필드(op, topic, e/event, action, arg.channel 등)를 읽는 동안
+ * - payload 필드를 만나면 그 시점까지 읽은 라우팅 정보로 타입을 정해 파서에서 바로 DTO로 바인딩
+ * - 라우팅 필드가 payload 뒤에 오는 드문 경우에만 payload를 토큰 버퍼에 보관했다가 마지막에 바인딩
+ * ObjectMapper는 애플리케이션 공용 인스턴스를 모든 연결이 공유한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketFrameDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 거래소별 payload 타입 결정 — 현재까지 읽은 라우팅 정보 기준 (null이면 바인딩하지 않고 건너뜀)
+     */
+    @FunctionalInterface
+    public interface PayloadTypeResolver {
+        JavaType resolve(String fieldName, WebSocketFrame frame);
+    }
+
+    public JavaType type(Class<?> type) {
+        return objectMapper.constructType(type);
+    }
+
+    public JavaType listType(Class<?> elementType) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    /**
+     * JSON 객체가 아닌 프레임(예: Bitget "pong")은 빈 프레임으로 반환
+     */
+    public WebSocketFrame decode(String message, PayloadTypeResolver resolver) throws IOException {
+        WebSocketFrame frame = new WebSocketFrame();
+        String deferredField = null;
+        TokenBuffer deferred = null;
+
+        try (JsonParser parser = objectMapper.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return frame;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "op" -> frame.setOp(text(parser));
+                    case "topic" -> frame.setTopic(text(parser));
+                    case "e", "event" -> frame.setEvent(text(parser));
+                    case "action" -> frame.setAction(text(parser));
+                    case "code" -> frame.setCode(text(parser));
+                    case "msg", "ret_msg" -> frame.setMessage(text(parser));
+                    case "success" -> frame.setSuccess(parser.currentToken().isBoolean()
+                            ? parser.getBooleanValue() : Boolean.valueOf(text(parser)));
+                    case "T" -> frame.setTransactionTime(parser.currentToken().isNumeric()
+                            ? parser.getLongValue() : null);
+                    case "arg" -> readArg(parser, frame);
+                    default -> {
+                        if (!parser.currentToken().isStructStart()) continue;
+                        JavaType type = resolver.resolve(field, frame);
+                        if (type != null) {
+                            frame.setPayload(objectMapper.readValue(parser, type));
+                        } else if (!frame.isRouted() && deferred == null) {
+                            deferredField = field;
+                            deferred = new TokenBuffer(parser);
+                            deferred.copyCurrentStructure(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+
+        if (deferred != null && frame.getPayload() == null) {
+            JavaType type = resolver.resolve(deferredField, frame);
+            if (type != null) {
+                try (JsonParser buffered = deferred.asParser(objectMapper)) {
+                    frame.setPayload(objectMapper.readValue(buffered, type));
+                }
+            }
+        }
+        return frame;
+    }
+
+    /**
+     * Bitget arg 객체에서 channel만 읽음
+     */
+    private void readArg(JsonParser parser, WebSocketFrame frame) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("channel".equals(field)) {
+                frame.setChannel(text(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * WebSocket 원본 프레임 캡처 파일 포맷 (append-only, gzip).
+ * 헤더: MAGIC(4byte) + VERSION(1byte)
+ * 레코드: 수신시각(epoch micros, long) + 거래소(byte, ordinal) + apiKeyId(long) + userId(long)
+ *        + 길이(int) + 프레임 UTF-8 바이트
+ */
+public final class WebSocketFrameLog {
+
+    private static final int MAGIC = 0x54585753; // "TXWS"
+    private static final byte VERSION = 1;
+
+    private WebSocketFrameLog() {
+    }
+
+    public record Frame(long receivedMicros, ExchangeName exchange, long apiKeyId, long userId, String message) {}
+
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+
+        public Writer(Path path) throws IOException {
+            // syncFlush: flush() 시 지금까지 기록한 프레임을 파일에 내려 비정상 종료에도 읽을 수 있게
+            OutputStream file = Files.newOutputStream(path);
+            this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file, 64 * 1024, true)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        }
+
+        public void write(Frame frame) throws IOException {
+            byte[] bytes = frame.message().getBytes(StandardCharsets.UTF_8);
+            out.writeLong(frame.receivedMicros());
+            out.writeByte(frame.exchange().ordinal());
+            out.writeLong(frame.apiKeyId());
+            out.writeLong(frame.userId());
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+
+        public Reader(Path path) throws IOException {
+            InputStream file = Files.newInputStream(path);
+            this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file, 64 * 1024)));
+            if (in.readInt() != MAGIC) {
+                in.close();
+                throw new IOException("Not a WebSocket frame capture: " + path);
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                in.close();
+                throw new IOException("Unsupported capture version: " + version);
+            }
+        }
+
+        /**
+         * 다음 프레임 (끝이거나 마지막 레코드가 잘린 경우 null)
+         */
+        public Frame next() throws IOException {
+            try {
+                long receivedMicros = in.readLong();
+                ExchangeName exchange = ExchangeName.values()[in.readUnsignedByte()];
+                long apiKeyId = in.readLong();
+                long userId = in.readLong();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new Frame(receivedMicros, exchange, apiKeyId, userId, new String(bytes, StandardCharsets.UTF_8));
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.WebSocketCaptureProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캡처 모드: WS로 수신한 원본 프레임을 WebSocketFrameLog 파일로 기록.
+ * WS IO 스레드는 큐에 넣기만 하고, 파일 기록은 전용 스레드 1개가 담당한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketFrameRecorder {
+
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final WebSocketCaptureProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<WebSocketFrameLog.Frame> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    private Counter recordedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) return;
+
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("ws-frames-" + LocalDateTime.now().format(FILE_TIME_FORMAT) + ".bin.gz");
+        WebSocketFrameLog.Writer writer = new WebSocketFrameLog.Writer(file);
+
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        recordedCounter = Counter.builder("exchange.capture.frames")
+                .description("캡처 파일에 기록한 WS 프레임 수")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("exchange.capture.dropped")
+                .description("기록 큐 초과로 버린 WS 프레임 수")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(() -> writeLoop(writer), "ws-capture-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("[Capture] WS 프레임 캡처 시작 - file: {}", file.toAbsolutePath());
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * WS IO 스레드에서 호출 — 큐가 가득 차면 대기하지 않고 버린다
+     */
+    public void record(ExchangeApiKey apiKey, Long userId, String message) {
+        if (!running) return;
+        WebSocketFrameLog.Frame frame = new WebSocketFrameLog.Frame(
+                ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()),
+                apiKey.getExchangeName(), apiKey.getId(), userId, message);
+        if (!queue.offer(frame)) {
+            droppedCounter.increment();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void writeLoop(WebSocketFrameLog.Writer writer) {
+        long lastFlush = System.nanoTime();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        try (writer) {
+            while (running || !queue.isEmpty()) {
+                WebSocketFrameLog.Frame frame = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (frame != null) {
+                    writer.write(frame);
+                    recordedCounter.increment();
+                }
+                if (System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                    writer.flush();
+                    lastFlush = System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            running = false;
+            log.error("[Capture] 캡처 파일 기록 실패 - 캡처 중단", e);
+        }
+        log.info("[Capture] WS 프레임 캡처 종료 - {}건", (long) recordedCounter.count());
+    }
+}
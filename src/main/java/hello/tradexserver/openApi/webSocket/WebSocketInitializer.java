@@ -1,56 +1,245 @@
 package hello.tradexserver.openApi.webSocket;
 
+import hello.tradexserver.config.WebSocketBootstrapProperties;
+import hello.tradexserver.config.WebSocketReplayProperties;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.repository.ExchangeApiKeyRepository;
+import hello.tradexserver.service.PositionRecoveryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * 애플리케이션 시작 시 활성 API Key의 WebSocket을 단계적으로 연결.
+ * - shard: 클러스터에 참여해 이 노드가 담당할 샤드를 배정받음 (담당 키만 연결)
+ * - recovery: (옵트인) 담당 키의 미매핑 오더 재구성 — 연결 후 gap fill과 겹치지 않도록 연결 전에 완료
+ * - load: 활성 키를 id 순 페이지 단위로 조회 (전체를 한 번에 메모리에 올리지 않음)
+ * - connect: connectsPerSecond 속도로 연결 시도를 분산 (거래소 연결 폭주 방지)
+ * - ready: 연결 대상의 readyFraction 이상이 인증되면 readiness UP (BootstrapReadinessHealthIndicator)
+ * - synced: 연결 직후 몰린 재연결/gap fill 대기열이 모두 소진된 시점
+ * 단계별 소요 시간은 exchange.bootstrap.stage 타이머와 로그로 남긴다.
+ */
 @Slf4j
 @Component
 public class WebSocketInitializer {
 
+    private static final long READY_POLL_INTERVAL_MS = 500;
+
     @Autowired
     private ExchangeApiKeyRepository exchangeApiKeyRepository;
 
     @Autowired
     private ExchangeWebSocketManager exchangeWebSocketManager;
 
+    @Autowired
+    private WebSocketBootstrapProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardCoordinator shardCoordinator;
+
+    @Autowired
+    private WebSocketReplayProperties replayProperties;
+
+    @Autowired
+    private PositionRecoveryService positionRecoveryService;
+
+    private volatile Stage stage = Stage.PENDING;
+    private volatile int targetCount;
+    private volatile boolean connectCompleted;
+
+    private enum Stage {
+        PENDING, RECOVERING, CONNECTING, WAITING_READY, READY
+    }
+
     /**
-     * 애플리케이션 시작 시 모든 사용자의 거래소 WebSocket 연결
+     * 애플리케이션 시작 시 모든 사용자의 거래소 WebSocket 연결 (이벤트 스레드를 막지 않도록 비동기)
      */
+    @Async
     @EventListener(ApplicationReadyEvent.class)
     public void initializeWebSockets() {
-        log.info("Initializing WebSocket connections...");
+        if (replayProperties.getFile() != null) {
+            // 재생 하네스 실행 중에는 실제 거래소에 연결하지 않고 시작 복구도 하지 않음
+            log.info("[Bootstrap] 재생 모드 - WebSocket 초기화/시작 복구 생략");
+            stage = Stage.READY;
+            connectCompleted = true;
+            return;
+        }
+        log.info("[Bootstrap] WebSocket 초기화 시작 - {}건/초, 페이지 {}건",
+                properties.getConnectsPerSecond(), properties.getPageSize());
+        long bootstrapStart = System.nanoTime();
 
         try {
-            // DB에서 모든 활성화된 API Key 조회
-            List<ExchangeApiKey> activeApiKeys = exchangeApiKeyRepository.findAllActive();
+            Set<Integer> shards = shardCoordinator.join();
+            long joinedAt = System.nanoTime();
+            recordStage("shard", joinedAt - bootstrapStart);
+            log.info("[Bootstrap] 샤드 배정 - nodeId: {}, 담당 샤드: {}개",
+                    shardCoordinator.getNodeId(), shards.size());
+
+            stage = Stage.RECOVERING;
+            positionRecoveryService.recoverOnStartup(shardCoordinator::owns);
+            long recoveredAt = System.nanoTime();
+            recordStage("recovery", recoveredAt - joinedAt);
+
+            stage = Stage.CONNECTING;
+            connectAll();
+            connectCompleted = true;
+            long connectedAt = System.nanoTime();
+            log.info("[Bootstrap] 연결 시도 완료 - 대상: {}건, 소요: {}ms",
+                    targetCount, TimeUnit.NANOSECONDS.toMillis(connectedAt - bootstrapStart));
+
+            stage = Stage.WAITING_READY;
+            awaitReady();
+            long readyAt = System.nanoTime();
+            recordStage("ready", readyAt - connectedAt);
+            stage = Stage.READY;
+            log.info("[Bootstrap] readiness UP - 인증: {}/{}, 시작 후 {}ms",
+                    exchangeWebSocketManager.getAuthenticatedCount(), targetCount,
+                    TimeUnit.NANOSECONDS.toMillis(readyAt - bootstrapStart));
+
+            awaitSynced();
+            long syncedAt = System.nanoTime();
+            recordStage("synced", syncedAt - readyAt);
+            log.info("[Bootstrap] 재연결/gap fill 대기열 소진 - 시작 후 {}ms",
+                    TimeUnit.NANOSECONDS.toMillis(syncedAt - bootstrapStart));
+        } catch (Exception e) {
+            log.error("[Bootstrap] WebSocket 초기화 중 오류", e);
+        } finally {
+            // 오류로 중단되더라도 트래픽 수신이 영구히 막히지 않도록
+            stage = Stage.READY;
+            connectCompleted = true;
+        }
+    }
+
+    /**
+     * 부트스트랩 연결 단계 완료 여부 (이후에는 샤드 재분배/보정이 연결을 담당)
+     */
+    public boolean isConnectCompleted() {
+        return connectCompleted;
+    }
+
+    /**
+     * readiness 판단용 — 부트스트랩이 ready 단계까지 끝났는지 (오류로 중단된 경우 포함)
+     */
+    public boolean isReady() {
+        return stage == Stage.READY;
+    }
+
+    /**
+     * readiness 프로브 상세 정보
+     */
+    public Map<String, Object> getDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("stage", stage.name());
+        details.put("target", targetCount);
+        details.put("authenticated", exchangeWebSocketManager.getAuthenticatedCount());
+        details.put("reconnectBacklog", exchangeWebSocketManager.getReconnectBacklog());
+        return details;
+    }
 
-            log.info("Found {} active API keys to initialize", activeApiKeys.size());
+    private void connectAll() {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.1, properties.getConnectsPerSecond()));
+        long nextConnectAt = System.nanoTime();
+        long loadNanos = 0;
+        long connectNanos = 0;
+        long afterId = 0L;
 
-            // 각 사용자별로 WebSocket 연결
-            activeApiKeys.forEach(apiKey -> {
+        while (true) {
+            long loadStart = System.nanoTime();
+            List<ExchangeApiKey> page = exchangeApiKeyRepository.findActiveAfter(
+                    afterId, PageRequest.of(0, properties.getPageSize()));
+            long connectStart = System.nanoTime();
+            loadNanos += connectStart - loadStart;
+            if (page.isEmpty()) break;
+
+            for (ExchangeApiKey apiKey : page) {
+                // 다른 노드 담당 키는 건너뜀
+                if (!shardCoordinator.owns(apiKey.getId())) continue;
+
+                long waitNanos = nextConnectAt - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                nextConnectAt = Math.max(nextConnectAt, System.nanoTime() - intervalNanos) + intervalNanos;
+
+                Long userId = apiKey.getUser().getId();
                 try {
-                    exchangeWebSocketManager.connectUser(
-                            apiKey.getUser().getId(),
-                            apiKey
-                    );
-                    log.info("WebSocket initialized - UserId: {}, Exchange: {}",
-                            apiKey.getUser().getId(), apiKey.getExchangeName());
+                    exchangeWebSocketManager.connectUser(userId, apiKey);
+                    targetCount++;
+                    log.debug("[Bootstrap] 연결 요청 - userId: {}, exchange: {}", userId, apiKey.getExchangeName());
                 } catch (Exception e) {
-                    log.error("Failed to initialize WebSocket for user: {}, exchange: {}",
-                            apiKey.getUser().getId(), apiKey.getExchangeName(), e);
+                    log.error("[Bootstrap] 연결 실패 - userId: {}, exchange: {}",
+                            userId, apiKey.getExchangeName(), e);
                 }
-            });
+            }
+            connectNanos += System.nanoTime() - connectStart;
+            afterId = page.get(page.size() - 1).getId();
+            log.info("[Bootstrap] 진행 - 연결 요청 {}건 (마지막 apiKeyId: {})", targetCount, afterId);
+        }
+        recordStage("load", loadNanos);
+        recordStage("connect", connectNanos);
+    }
 
-            log.info("WebSocket initialization completed");
-        } catch (Exception e) {
-            log.error("Error during WebSocket initialization", e);
+    /**
+     * 인증 완료 수가 목표 비율에 도달하거나 타임아웃될 때까지 대기
+     */
+    private void awaitReady() {
+        long required = (long) Math.ceil(targetCount * properties.getReadyFraction());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getReadyTimeoutSeconds());
+        while (exchangeWebSocketManager.getAuthenticatedCount() < required) {
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("[Bootstrap] readiness 타임아웃 - 인증: {}/{} (필요: {})",
+                        exchangeWebSocketManager.getAuthenticatedCount(), targetCount, required);
+                return;
+            }
+            sleep();
+        }
+    }
+
+    /**
+     * 재연결/gap fill 대기열이 빌 때까지 대기 (readiness와 무관, 관측용)
+     */
+    private void awaitSynced() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getReadyTimeoutSeconds());
+        while (exchangeWebSocketManager.getReconnectBacklog() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("[Bootstrap] 대기열 소진 타임아웃 - 남은 대기: {}건",
+                        exchangeWebSocketManager.getReconnectBacklog());
+                return;
+            }
+            sleep();
         }
     }
+
+    private void sleep() {
+        try {
+            Thread.sleep(READY_POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bootstrap interrupted", e);
+        }
+    }
+
+    private void recordStage(String name, long nanos) {
+        Timer.builder("exchange.bootstrap.stage")
+                .description("서버 시작 시 WebSocket 부트스트랩 단계별 소요 시간")
+                .tag("stage", name)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
 }
@@ -0,0 +1,227 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.WebSocketReplayProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.repository.ExchangeApiKeyRepository;
+import hello.tradexserver.repository.PositionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 캡처 파일 재생 하네스 — exchange.replay.file 지정 시에만 동작.
+ * 캡처된 프레임을 거래소 클라이언트의 수신 처리 경로(onMessage)에 그대로 넣고,
+ * 오더는 실제 수집 큐 → 저장 → 포지션 재구성까지 흘려보낸다.
+ * - 속도: 캡처 시각 간격 × 1/speed (0 이하면 대기 없음)
+ * - 지연: 프레임 투입 → 수집 큐에서 처리 완료까지
+ * - 결과: 처리량/지연 리포트 + 재생 대상 apiKey의 최종 포지션 덤프 (실행 간 diff용)
+ * 재연결/gap fill 트리거(onReconnected)는 실제 거래소 호출이 나가지 않도록 무시한다.
+ * 캡처의 apiKeyId가 로컬 DB에 있어야 하며, 없는 키의 프레임은 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "exchange.replay", name = "file")
+public class WebSocketReplayRunner implements ApplicationRunner {
+
+    private final WebSocketReplayProperties properties;
+    private final ExchangeWebSocketManager exchangeWebSocketManager;
+    private final OrderIngestionQueue orderIngestionQueue;
+    private final PositionEventQueue positionEventQueue;
+    private final ExchangeApiKeyRepository exchangeApiKeyRepository;
+    private final PositionRepository positionRepository;
+    private final ApplicationContext applicationContext;
+
+    // 체결별 투입 시각/지연 (부분 체결은 같은 오더 키에 순서대로 쌓임)
+    private final ReplayLatencyStats stats = new ReplayLatencyStats();
+
+    private long currentFrameNanos;
+    private long dispatchedOrders;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = Path.of(properties.getFile());
+        log.info("[Replay] 재생 시작 - file: {}, speed: {}", file, properties.getSpeed());
+
+        Consumer<Order> observer = order -> stats.processed(orderKey(order), System.nanoTime());
+        orderIngestionQueue.addProcessedObserver(observer);
+
+        Map<Long, ExchangeWebSocketClient> clients = new HashMap<>();
+        Set<Long> missingApiKeys = new HashSet<>();
+        long frames = 0;
+        long skippedFrames = 0;
+        long startNanos = System.nanoTime();
+
+        try (WebSocketFrameLog.Reader reader = new WebSocketFrameLog.Reader(file)) {
+            long firstMicros = -1;
+            WebSocketFrameLog.Frame frame;
+            while ((frame = reader.next()) != null) {
+                ExchangeWebSocketClient client = clients.computeIfAbsent(frame.apiKeyId(), this::createClient);
+                if (client == null) {
+                    clients.remove(frame.apiKeyId());
+                    missingApiKeys.add(frame.apiKeyId());
+                    skippedFrames++;
+                    continue;
+                }
+
+                if (firstMicros < 0) firstMicros = frame.receivedMicros();
+                pace(startNanos, frame.receivedMicros() - firstMicros);
+
+                currentFrameNanos = System.nanoTime();
+                client.replayFrame(frame.message());
+                frames++;
+            }
+        }
+        long dispatchedNanos = System.nanoTime() - startNanos;
+        log.info("[Replay] 프레임 투입 완료 - {}건, 오더 {}건, {}ms - 처리 완료 대기",
+                frames, dispatchedOrders, TimeUnit.NANOSECONDS.toMillis(dispatchedNanos));
+
+        awaitCompletion();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        orderIngestionQueue.removeProcessedObserver(observer);
+
+        if (!missingApiKeys.isEmpty()) {
+            log.warn("[Replay] 로컬 DB에 없는 apiKey 프레임 건너뜀 - apiKeyIds: {}, {}건", missingApiKeys, skippedFrames);
+        }
+        writeResults(file, frames, skippedFrames, elapsedNanos, new TreeSet<>(clients.keySet()));
+
+        if (properties.isExitOnComplete()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private ExchangeWebSocketClient createClient(Long apiKeyId) {
+        ExchangeApiKey apiKey = exchangeApiKeyRepository.findById(apiKeyId).orElse(null);
+        if (apiKey == null) return null;
+
+        ExchangeWebSocketClient client = exchangeWebSocketManager.createDetachedClient(apiKey.getUser().getId(), apiKey);
+        client.setOrderListener(new OrderListener() {
+            @Override
+            public void onOrderReceived(Order order) {
+                stats.dispatched(orderKey(order), currentFrameNanos);
+                dispatchedOrders++;
+                orderIngestionQueue.onOrderReceived(order);
+            }
+
+            @Override
+            public void onReconnected(ExchangeApiKey key, LocalDateTime gapStartTime) {
+                // 재생 중에는 REST gap fill 생략
+            }
+        });
+        client.setPositionListener(new PositionListener() {
+            @Override
+            public void onPositionUpdate(Position position) {
+                positionEventQueue.onPositionUpdate(position);
+            }
+
+            @Override
+            public void onPositionUpdate(Position position, UnaryOperator<Position> enricher) {
+                // 재생 중에는 REST 보완(leverage 조회) 생략
+                positionEventQueue.onPositionUpdate(position);
+            }
+
+            @Override
+            public void onPositionClosed(Position position) {
+                positionEventQueue.onPositionClosed(position);
+            }
+        });
+        return client;
+    }
+
+    /**
+     * 캡처 시각 간격을 speed 배수로 재현
+     */
+    private void pace(long startNanos, long offsetMicros) {
+        if (properties.getSpeed() <= 0) return;
+        long targetNanos = startNanos + (long) (TimeUnit.MICROSECONDS.toNanos(offsetMicros) / properties.getSpeed());
+        long waitNanos = targetNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getCompletionTimeoutSeconds());
+        // 포지션 이벤트(leverage/TP/SL 갱신)도 워커에서 처리되므로 함께 기다린다
+        while ((stats.getUnfinished() > 0 || positionEventQueue.getPendingCount() > 0)
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(100);
+        }
+        if (stats.getUnfinished() > 0) {
+            log.warn("[Replay] 처리 완료 대기 타임아웃 - 미완료 체결 {}건 (큐 초과로 gap fill 대상이 된 오더 포함)",
+                    stats.getUnfinished());
+        }
+    }
+
+    private void writeResults(Path file, long frames, long skippedFrames, long elapsedNanos,
+                              Set<Long> apiKeyIds) throws IOException {
+        ReplayLatencyStats.Report result = stats.report(elapsedNanos);
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+
+        List<String> report = List.of(
+                "file: " + file,
+                "speed: " + properties.getSpeed(),
+                "frames: " + frames + " (skipped: " + skippedFrames + ")",
+                "fills: dispatched " + dispatchedOrders + ", processed " + result.processed()
+                        + ", unfinished " + stats.getUnfinished(),
+                String.format("elapsed: %.3f s", elapsedSeconds),
+                String.format("throughput: %.1f fills/sec", result.fillsPerSecond()),
+                String.format("latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                        result.p50Millis(), result.p99Millis(), result.maxMillis()));
+
+        List<String> positions = new ArrayList<>();
+        for (Long apiKeyId : apiKeyIds) {
+            for (Position p : positionRepository.findAllByApiKeyIdForReplay(apiKeyId)) {
+                positions.add(String.join(" ",
+                        "apiKeyId=" + apiKeyId, p.getSymbol(), String.valueOf(p.getSide()), String.valueOf(p.getStatus()),
+                        "size=" + plain(p.getCurrentSize()), "closedSize=" + plain(p.getClosedSize()),
+                        "avgEntry=" + plain(p.getAvgEntryPrice()), "avgExit=" + plain(p.getAvgExitPrice()),
+                        "realizedPnl=" + plain(p.getRealizedPnl()),
+                        "openFee=" + plain(p.getOpenFee()), "closedFee=" + plain(p.getClosedFee()),
+                        "entry=" + p.getEntryTime(), "exit=" + p.getExitTime()));
+            }
+        }
+
+        String prefix = properties.getOutputPrefix() != null && !properties.getOutputPrefix().isBlank()
+                ? properties.getOutputPrefix() : file.toString();
+        Path reportPath = Path.of(prefix + ".report.txt");
+        Path positionsPath = Path.of(prefix + ".positions.txt");
+        Files.write(reportPath, report);
+        Files.write(positionsPath, positions);
+
+        report.forEach(line -> log.info("[Replay] {}", line));
+        log.info("[Replay] 결과 기록 - report: {}, positions: {} ({}건)", reportPath, positionsPath, positions.size());
+    }
+
+    private String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "-";
+    }
+
+    private String orderKey(Order order) {
+        return order.getExchangeName() + ":" + order.getExchangeOrderId();
+    }
+}
@@ -0,0 +1,34 @@
+package hello.tradexserver.openApi.webSocket.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * ACCOUNT_UPDATE 이벤트의 a 필드
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BinanceAccountUpdateData {
+    @JsonProperty("m")
+    private String eventReason;         // ORDER / LIQUIDATION / FUNDING_FEE ...
+    @JsonProperty("P")
+    private List<PositionData> positions;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PositionData {
+        @JsonProperty("s")
+        private String symbol;
+        @JsonProperty("pa")
+        private String positionAmount;
+        @JsonProperty("ep")
+        private String entryPrice;
+        @JsonProperty("cr")
+        private String accumulatedRealized;
+        @JsonProperty("ps")
+        private String positionSide;    // BOTH / LONG / SHORT
+    }
+}
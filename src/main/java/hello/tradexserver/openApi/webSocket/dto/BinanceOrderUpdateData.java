@@ -0,0 +1,39 @@
+package hello.tradexserver.openApi.webSocket.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * ORDER_TRADE_UPDATE 이벤트의 o 필드
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BinanceOrderUpdateData {
+    @JsonProperty("s")
+    private String symbol;
+    @JsonProperty("S")
+    private String side;                // BUY / SELL
+    @JsonProperty("o")
+    private String orderType;           // MARKET / LIMIT ...
+    @JsonProperty("x")
+    private String executionType;       // NEW / TRADE / CANCELED / EXPIRED
+    @JsonProperty("X")
+    private String orderStatus;         // NEW / PARTIALLY_FILLED / FILLED / CANCELED / EXPIRED
+    @JsonProperty("i")
+    private long orderId;
+    @JsonProperty("z")
+    private String cumulativeFilledQty;
+    @JsonProperty("ap")
+    private String averagePrice;
+    @JsonProperty("n")
+    private String commission;          // 이번 체결분 수수료
+    @JsonProperty("rp")
+    private String realizedProfit;
+    @JsonProperty("R")
+    private boolean reduceOnly;
+    @JsonProperty("ps")
+    private String positionSide;        // BOTH / LONG / SHORT
+    @JsonProperty("T")
+    private long tradeTime;
+}
@@ -0,0 +1,38 @@
+package hello.tradexserver.openApi.webSocket.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 거래소 WebSocket 프레임의 라우팅/제어 필드와 바인딩된 payload.
+ * 거래소마다 사용하는 필드만 채워진다.
+ * - Bybit: op, topic, success, message(ret_msg), payload(data)
+ * - Bitget: event, channel(arg.channel), action, code, message(msg), payload(data)
+ * - Binance: event(e), transactionTime(T), payload(a 또는 o)
+ */
+@Getter
+@Setter
+public class WebSocketFrame {
+    private String op;
+    private String topic;
+    private String event;
+    private String channel;
+    private String action;
+    private Boolean success;
+    private String code;
+    private String message;
+    private Long transactionTime;
+    private Object payload;
+
+    /**
+     * 라우팅 필드가 하나라도 읽혔는지 (payload 타입 결정 가능 여부)
+     */
+    public boolean isRouted() {
+        return op != null || topic != null || event != null || channel != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getPayload() {
+        return (T) payload;
+    }
+}
@@ -3,8 +3,10 @@ package hello.tradexserver.repository;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.domain.User;
 import hello.tradexserver.domain.enums.ExchangeName;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,6 +29,17 @@ public interface ExchangeApiKeyRepository extends JpaRepository<ExchangeApiKey,
     @Query("SELECT eak FROM ExchangeApiKey eak WHERE eak.isActive = true")
     List<ExchangeApiKey> findAllActive();
 
+    /**
+     * 활성 API Key id 순 페이지 조회 (서버 시작 시 WebSocket 단계적 연결용)
+     */
+    @Query("""
+        SELECT eak FROM ExchangeApiKey eak
+        WHERE eak.isActive = true
+          AND eak.id > :afterId
+        ORDER BY eak.id ASC
+        """)
+    List<ExchangeApiKey> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * 특정 사용자의 활성화된 API Key만 조회
      */
@@ -2,18 +2,20 @@ package hello.tradexserver.repository;
 
 import hello.tradexserver.domain.Order;
 import hello.tradexserver.domain.enums.ExchangeName;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     List<Order> findByPositionId(Long positionId);
 
@@ -36,6 +38,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByIdAndUserId(Long id, Long userId);
 
+    /**
+     * batchInsert 후 영속 상태의 Order로 다시 읽어오기 (포지션 재구성용)
+     */
+    List<Order> findByExchangeNameAndExchangeOrderIdIn(ExchangeName exchangeName, Collection<String> exchangeOrderIds);
+
     /**
      * 리스크 분석용: 포지션 ID 목록에 해당하는 진입 오더 bulk 조회 (물타기 계산용)
      * OPEN 오더만 조회하여 fillTime 순으로 정렬
@@ -60,6 +67,62 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
         """)
     List<Order> findUnmappedOrdersByApiKeyId(@Param("apiKeyId") Long apiKeyId);
 
+    /**
+     * 재구성 복구용 페이지 조회: (fillTime, id) keyset 기준 첫 페이지.
+     * 처리된 오더는 매핑되어 결과에서 빠지므로 offset 대신 커서로 이어서 읽는다.
+     */
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.exchangeApiKey.id = :apiKeyId
+          AND o.position IS NULL
+          AND o.filledQuantity > 0
+          AND o.fillTime IS NOT NULL
+        ORDER BY o.fillTime ASC, o.id ASC
+        """)
+    List<Order> findUnmappedOrdersByApiKeyId(@Param("apiKeyId") Long apiKeyId, Pageable pageable);
+
+    /**
+     * 재구성 복구용 페이지 조회: 직전 페이지 마지막 (fillTime, id) 이후
+     */
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.exchangeApiKey.id = :apiKeyId
+          AND o.position IS NULL
+          AND o.filledQuantity > 0
+          AND (o.fillTime > :afterFillTime
+               OR (o.fillTime = :afterFillTime AND o.id > :afterId))
+        ORDER BY o.fillTime ASC, o.id ASC
+        """)
+    List<Order> findUnmappedOrdersByApiKeyIdAfter(
+            @Param("apiKeyId") Long apiKeyId,
+            @Param("afterFillTime") LocalDateTime afterFillTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 재구성 복구용: fillTime 없는 미매핑 오더 (기존 조회의 NULLS LAST 구간)
+     */
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.exchangeApiKey.id = :apiKeyId
+          AND o.position IS NULL
+          AND o.filledQuantity > 0
+          AND o.fillTime IS NULL
+        ORDER BY o.id ASC
+        """)
+    List<Order> findUnmappedOrdersWithoutFillTime(@Param("apiKeyId") Long apiKeyId);
+
+    /**
+     * 재구성 복구 대상 apiKey별 미매핑 오더 수 — [apiKeyId, count]
+     */
+    @Query("""
+        SELECT o.exchangeApiKey.id, COUNT(o) FROM Order o
+        WHERE o.position IS NULL
+          AND o.filledQuantity > 0
+        GROUP BY o.exchangeApiKey.id
+        """)
+    List<Object[]> countUnmappedOrdersGroupByApiKey();
+
     /**
      * 서버 재시작/첫 연결 시 gap 시작 시점 결정용: apiKey의 마지막 오더 fillTime 조회
      */
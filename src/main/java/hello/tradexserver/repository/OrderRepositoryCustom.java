@@ -0,0 +1,14 @@
+package hello.tradexserver.repository;
+
+import hello.tradexserver.domain.Order;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * 실시간 마이크로 배치용: JDBC batch insert 한 번으로 여러 오더 저장.
+     * (exchange_name, exchange_order_id) 중복은 무시하고 실제 삽입된 건수를 반환한다.
+     */
+    int batchInsert(List<Order> orders);
+}
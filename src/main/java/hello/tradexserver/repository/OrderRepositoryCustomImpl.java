@@ -0,0 +1,70 @@
+package hello.tradexserver.repository;
+
+import hello.tradexserver.domain.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO orders (
+                user_id, exchange_api_key_id, exchange_name, exchange_order_id, symbol,
+                side, order_type, position_effect, filled_quantity, filled_price,
+                cum_exec_fee, status, realized_pnl, order_time, fill_time,
+                position_idx, order_link_id, data_source, created_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (exchange_name, exchange_order_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<Order> orders) {
+        if (orders.isEmpty()) return 0;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, orders, orders.size(), (ps, o) -> {
+            ps.setLong(1, o.getUser().getId());
+            ps.setLong(2, o.getExchangeApiKey().getId());
+            ps.setString(3, o.getExchangeName().name());
+            ps.setString(4, o.getExchangeOrderId());
+            ps.setString(5, o.getSymbol());
+            ps.setString(6, o.getSide().name());
+            ps.setString(7, o.getOrderType().name());
+            ps.setString(8, o.getPositionEffect() != null ? o.getPositionEffect().name() : null);
+            ps.setBigDecimal(9, o.getFilledQuantity());
+            ps.setBigDecimal(10, o.getFilledPrice());
+            ps.setBigDecimal(11, o.getCumExecFee());
+            ps.setString(12, o.getStatus() != null ? o.getStatus().name() : null);
+            ps.setBigDecimal(13, o.getRealizedPnl());
+            ps.setTimestamp(14, Timestamp.valueOf(o.getOrderTime()));
+            ps.setTimestamp(15, o.getFillTime() != null ? Timestamp.valueOf(o.getFillTime()) : null);
+            if (o.getPositionIdx() != null) {
+                ps.setInt(16, o.getPositionIdx());
+            } else {
+                ps.setNull(16, Types.INTEGER);
+            }
+            ps.setString(17, o.getOrderLinkId());
+            ps.setString(18, o.getDataSource().name());
+            ps.setTimestamp(19, now);
+        });
+
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // 드라이버가 건별 결과를 모를 때 SUCCESS_NO_INFO(-2) 반환 → 삽입으로 간주
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) inserted++;
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,72 @@
+package hello.tradexserver.repository;
+
+import hello.tradexserver.domain.PositionDailyRollup;
+import hello.tradexserver.domain.enums.ExchangeName;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PositionDailyRollupRepository extends JpaRepository<PositionDailyRollup, Long> {
+
+    boolean existsByUserId(Long userId);
+
+    Optional<PositionDailyRollup> findByUserIdAndExchangeNameAndSymbolAndStatDate(
+            Long userId, ExchangeName exchangeName, String symbol, LocalDate statDate);
+
+    @Modifying
+    @Query("DELETE FROM PositionDailyRollup r WHERE r.user.id = :userId")
+    int deleteByUserIdInBulk(@Param("userId") Long userId);
+
+    // 기간 합계 (총 손익, 승/패, 거래 수, 거래 규모, 롱/숏별 손익)
+    @Query("""
+        SELECT COALESCE(SUM(r.realizedPnl), 0), COALESCE(SUM(r.winCount), 0), COALESCE(SUM(r.lossCount), 0),
+               COALESCE(SUM(r.tradeCount), 0), COALESCE(SUM(r.volume), 0),
+               COALESCE(SUM(r.longPnl), 0), COALESCE(SUM(r.longCount), 0),
+               COALESCE(SUM(r.shortPnl), 0), COALESCE(SUM(r.shortCount), 0)
+        FROM PositionDailyRollup r
+        WHERE r.user.id = :userId
+          AND (:exchangeName IS NULL OR r.exchangeName = :exchangeName)
+          AND (cast(:startDate as LocalDate) IS NULL OR r.statDate >= :startDate)
+        """)
+    Object[] sumByPeriod(
+            @Param("userId") Long userId,
+            @Param("exchangeName") ExchangeName exchangeName,
+            @Param("startDate") LocalDate startDate);
+
+    // 페어별 손익 랭킹 (symbol, 손익, 거래 수, 승 수)
+    @Query("""
+        SELECT r.symbol, SUM(r.realizedPnl), SUM(r.tradeCount), SUM(r.winCount)
+        FROM PositionDailyRollup r
+        WHERE r.user.id = :userId
+          AND (:exchangeName IS NULL OR r.exchangeName = :exchangeName)
+          AND (cast(:startDate as LocalDate) IS NULL OR r.statDate >= :startDate)
+        GROUP BY r.symbol
+        ORDER BY SUM(r.realizedPnl) DESC
+        """)
+    List<Object[]> sumBySymbol(
+            @Param("userId") Long userId,
+            @Param("exchangeName") ExchangeName exchangeName,
+            @Param("startDate") LocalDate startDate);
+
+    // 일별 손익 (손익 차트용, 날짜 ASC)
+    @Query("""
+        SELECT r.statDate, SUM(r.realizedPnl)
+        FROM PositionDailyRollup r
+        WHERE r.user.id = :userId
+          AND (:exchangeName IS NULL OR r.exchangeName = :exchangeName)
+          AND (cast(:startDate as LocalDate) IS NULL OR r.statDate >= :startDate)
+        GROUP BY r.statDate
+        ORDER BY r.statDate ASC
+        """)
+    List<Object[]> sumByDate(
+            @Param("userId") Long userId,
+            @Param("exchangeName") ExchangeName exchangeName,
+            @Param("startDate") LocalDate startDate);
+}
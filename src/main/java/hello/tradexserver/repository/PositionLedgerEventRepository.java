@@ -0,0 +1,33 @@
+package hello.tradexserver.repository;
+
+import hello.tradexserver.domain.PositionLedgerEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PositionLedgerEventRepository extends JpaRepository<PositionLedgerEvent, Long> {
+
+    /**
+     * 스냅샷 이후 이벤트만 순번대로 조회 (재생용)
+     */
+    @Query("""
+        SELECT e FROM PositionLedgerEvent e
+        WHERE e.position.id = :positionId
+          AND e.sequence > :afterSequence
+        ORDER BY e.sequence ASC
+        """)
+    List<PositionLedgerEvent> findEventsAfter(@Param("positionId") Long positionId,
+                                              @Param("afterSequence") Long afterSequence);
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM PositionLedgerEvent e WHERE e.position.id = :positionId")
+    long findLastSequence(@Param("positionId") Long positionId);
+
+    @Modifying
+    @Query("DELETE FROM PositionLedgerEvent e WHERE e.position.id = :positionId")
+    void deleteByPositionId(@Param("positionId") Long positionId);
+}
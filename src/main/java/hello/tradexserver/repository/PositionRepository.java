@@ -7,6 +7,7 @@ import hello.tradexserver.domain.enums.PositionStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -114,6 +115,35 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
             @Param("startDate") LocalDateTime startDate,
             @Param("exchangeName") String exchangeName);
 
+    // 일별 집계(position_daily_rollups) 계산용: 거래소·심볼·종료일별 합계 (필터가 null이면 전체)
+    @Query(value = "SELECT exchange_name, symbol, CAST(exit_time AS DATE) as stat_date, " +
+            "COUNT(*) as trade_count, " +
+            "SUM(CASE WHEN realized_pnl > 0 THEN 1 ELSE 0 END) as win_count, " +
+            "SUM(CASE WHEN realized_pnl <= 0 THEN 1 ELSE 0 END) as loss_count, " +
+            "COALESCE(SUM(realized_pnl), 0) as total_pnl, " +
+            "SUM(CASE WHEN side = 'LONG' THEN 1 ELSE 0 END) as long_count, " +
+            "COALESCE(SUM(CASE WHEN side = 'LONG' THEN realized_pnl ELSE 0 END), 0) as long_pnl, " +
+            "SUM(CASE WHEN side = 'SHORT' THEN 1 ELSE 0 END) as short_count, " +
+            "COALESCE(SUM(CASE WHEN side = 'SHORT' THEN realized_pnl ELSE 0 END), 0) as short_pnl, " +
+            "COALESCE(SUM(avg_entry_price * closed_size * COALESCE(leverage, 1)), 0) as volume " +
+            "FROM positions WHERE user_id = :userId " +
+            "AND status = 'CLOSED' " +
+            "AND exit_time IS NOT NULL " +
+            "AND (CAST(:exchangeName AS VARCHAR) IS NULL OR exchange_name = :exchangeName) " +
+            "AND (CAST(:symbol AS VARCHAR) IS NULL OR symbol = :symbol) " +
+            "AND (CAST(:fromTime AS TIMESTAMP) IS NULL OR exit_time >= :fromTime) " +
+            "AND (CAST(:toTime AS TIMESTAMP) IS NULL OR exit_time < :toTime) " +
+            "GROUP BY exchange_name, symbol, CAST(exit_time AS DATE)",
+            nativeQuery = true)
+    List<Object[]> aggregateDailyRollups(
+            @Param("userId") Long userId,
+            @Param("exchangeName") String exchangeName,
+            @Param("symbol") String symbol,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime);
+
+    boolean existsByUserIdAndStatus(Long userId, PositionStatus status);
+
     @Query("SELECT p FROM Position p WHERE p.user.id = :userId " +
             "AND p.exchangeName = :exchangeName AND p.symbol = :symbol " +
             "AND p.side = :side AND p.status = 'OPEN'")
@@ -168,6 +198,34 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
         """)
     List<Position> findAllOpenByApiKeyId(@Param("apiKeyId") Long apiKeyId);
 
+    /**
+     * 특정 apiKey의 전체 포지션 (재생 하네스 결과 비교용 — 실행 간 id가 달라도 순서가 같도록 정렬)
+     */
+    @Query("""
+        SELECT p FROM Position p
+        WHERE p.exchangeApiKey.id = :apiKeyId
+        ORDER BY p.symbol, p.side, p.entryTime, p.id
+        """)
+    List<Position> findAllByApiKeyIdForReplay(@Param("apiKeyId") Long apiKeyId);
+
+    /**
+     * WS 포지션 보조 업데이트: leverage, TP/SL을 조회 없이 단건 UPDATE
+     */
+    @Modifying
+    @Query("""
+        UPDATE Position p
+        SET p.leverage = COALESCE(:leverage, p.leverage),
+            p.targetPrice = :targetPrice,
+            p.stopLossPrice = :stopLossPrice,
+            p.updatedAt = CURRENT_TIMESTAMP
+        WHERE p.id = :id
+          AND p.status = 'OPEN'
+        """)
+    int updateRiskParams(@Param("id") Long id,
+                         @Param("leverage") Integer leverage,
+                         @Param("targetPrice") BigDecimal targetPrice,
+                         @Param("stopLossPrice") BigDecimal stopLossPrice);
+
     Optional<Position> findByIdAndUserId(Long id, Long userId);
 
     /**
@@ -201,7 +259,7 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
           AND (:exchangeName IS NULL OR p.exchangeName = :exchangeName)
           AND (cast(:startDate as LocalDateTime) IS NULL OR p.exitTime >= :startDate)
           AND (cast(:endDate as LocalDateTime) IS NULL OR p.exitTime <= :endDate)
-        ORDER BY p.entryTime ASC
+        ORDER BY p.entryTime ASC, p.id ASC
         """)
     List<Position> findClosedWithJournalForRiskAnalysis(
             @Param("userId") Long userId,
@@ -209,4 +267,63 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
-}
\ No newline at end of file
+
+    /**
+     * 리스크 증분 집계용: 종료 포지션 + TradingJournal
+     */
+    @Query("""
+        SELECT p FROM Position p
+        LEFT JOIN FETCH p.tradingJournal
+        WHERE p.id = :positionId
+          AND p.status = 'CLOSED'
+        """)
+    Optional<Position> findClosedWithJournalById(@Param("positionId") Long positionId);
+
+    /**
+     * 리스크 증분 집계용: 같은 거래소·심볼에서 진입 시각이 앞선 종료 포지션 (가까운 순)
+     * 정렬 기준은 findClosedWithJournalForRiskAnalysis와 같다 (entryTime, id)
+     */
+    @Query("""
+        SELECT p FROM Position p
+        WHERE p.user.id = :userId
+          AND p.status = 'CLOSED'
+          AND p.exchangeName = :exchangeName
+          AND p.symbol = :symbol
+          AND (p.entryTime < :entryTime OR (p.entryTime = :entryTime AND p.id < :positionId))
+        ORDER BY p.entryTime DESC, p.id DESC
+        """)
+    List<Position> findRiskPredecessors(
+            @Param("userId") Long userId,
+            @Param("exchangeName") ExchangeName exchangeName,
+            @Param("symbol") String symbol,
+            @Param("entryTime") LocalDateTime entryTime,
+            @Param("positionId") Long positionId,
+            Pageable pageable
+    );
+
+    /**
+     * 리스크 증분 집계용: 진입 시각이 더 늦은 종료 포지션이 이미 있는지
+     * (있으면 뒤 포지션의 재진입 판단이 바뀌므로 증분 반영 불가)
+     */
+    @Query("""
+        SELECT COUNT(p) > 0 FROM Position p
+        WHERE p.user.id = :userId
+          AND p.status = 'CLOSED'
+          AND p.exchangeName = :exchangeName
+          AND p.symbol = :symbol
+          AND (p.entryTime > :entryTime OR (p.entryTime = :entryTime AND p.id > :positionId))
+        """)
+    boolean existsLaterClosed(
+            @Param("userId") Long userId,
+            @Param("exchangeName") ExchangeName exchangeName,
+            @Param("symbol") String symbol,
+            @Param("entryTime") LocalDateTime entryTime,
+            @Param("positionId") Long positionId
+    );
+
+    /**
+     * 포지션 행 잠금 (커밋까지 유지) — 원장 순번 결정 직렬화용
+     */
+    @Query(value = "SELECT id FROM positions WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
+}
@@ -0,0 +1,20 @@
+package hello.tradexserver.repository;
+
+import hello.tradexserver.domain.PositionSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PositionSnapshotRepository extends JpaRepository<PositionSnapshot, Long> {
+
+    Optional<PositionSnapshot> findTopByPositionIdAndSequenceLessThanOrderBySequenceDesc(Long positionId, Long sequence);
+
+    @Modifying
+    @Query("DELETE FROM PositionSnapshot s WHERE s.position.id = :positionId")
+    void deleteByPositionId(@Param("positionId") Long positionId);
+}
@@ -1,11 +1,33 @@
 package hello.tradexserver.repository;
 
 import hello.tradexserver.domain.RiskPattern;
+import hello.tradexserver.domain.enums.ExchangeName;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RiskPatternRepository extends JpaRepository<RiskPattern, Long> {
 
     Optional<RiskPattern> findByUserIdAndExchangeNameIsNull(Long userId);
+
+    Optional<RiskPattern> findByUserIdAndExchangeName(Long userId, ExchangeName exchangeName);
+
+    List<RiskPattern> findByUserId(Long userId);
+
+    /**
+     * 집계 검증 배치 대상 사용자
+     */
+    @Query("SELECT DISTINCT r.user.id FROM RiskPattern r")
+    List<Long> findUserIds();
+
+    /**
+     * 증분 반영이 불가능한 변경(포지션 수정/삭제, 오더 재매핑) 후 — 재집계 전까지 전체 재계산으로 응답
+     */
+    @Modifying
+    @Query("UPDATE RiskPattern r SET r.stale = true WHERE r.user.id = :userId AND r.stale = false")
+    int markStaleByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,248 @@
+package hello.tradexserver.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.config.AnalysisCacheProperties;
+import hello.tradexserver.event.AnalysisDataChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 분석 API 결과 캐시 — (userId, 분석 이름, 파라미터) → 응답 DTO.
+ * 분석 결과는 사용자의 종료 포지션/매매일지/일별 집계만의 함수이므로, 데이터가 바뀔 때 사용자 단위로 통째로 무효화한다.
+ * - 로컬: 노드 메모리, 짧은 TTL
+ * - Redis: 노드 간 공유. 키에 사용자 세대(analysis:{userId}:gen)를 넣어 무효화는 INCR 1회로 끝나고,
+ *   이전 세대 키는 TTL로 사라진다. 계산 도중 무효화되면 이전 세대 키에 저장되어 읽히지 않는다.
+ * - 무효화는 커밋 이후 수행하고 pub/sub으로 다른 노드의 로컬 캐시도 비운다
+ * - 무효화를 시작한 노드는 AnalysisDataChangedEvent를 발행한다 (채팅 컨텍스트 등 파생 결과 갱신)
+ * 지표
+ * - analysis.cache.requests{name, result=local|redis|miss}: 적중률 = (local + redis) / 전체
+ * - analysis.cache.age{name, tier}: 캐시에서 응답한 결과의 생성 후 경과 시간 (staleness)
+ * - analysis.cache.discarded{name}: 계산 도중 무효화되어 로컬에 저장하지 않은 결과 수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisResultCache {
+
+    private static final String KEY_PREFIX = "analysis:";
+    private static final String INVALIDATE_CHANNEL = "analysis:invalidate";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final AnalysisCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // userId → (이름:파라미터 → 결과)
+    private final ConcurrentHashMap<Long, Map<String, CachedResult>> localResults = new ConcurrentHashMap<>();
+    // userId → 로컬 무효화 세대 — 계산 전후 세대가 다르면 결과를 저장하지 않는다
+    private final ConcurrentHashMap<Long, AtomicLong> localGenerations = new ConcurrentHashMap<>();
+
+    private record CachedResult(Object value, long createdAtMillis) {}
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("analysis.cache.local.users", localResults, Map::size)
+                .description("분석 결과 로컬 캐시에 적재된 사용자 수")
+                .register(meterRegistry);
+        if (properties.isRedisEnabled()) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onInvalidate(new String(message.getBody())),
+                    new ChannelTopic(INVALIDATE_CHANNEL));
+        }
+    }
+
+    /**
+     * 캐시된 결과 반환, 없으면 loader로 계산 후 저장
+     *
+     * @param params 결과를 결정하는 파라미터 (null 허용) — 기간이 오늘 기준이면 오늘 날짜도 포함해야 한다
+     */
+    public <T> T get(String name, Long userId, Class<T> type, Supplier<T> loader, Object... params) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        String key = name + ":" + Arrays.stream(params)
+                .map(p -> p != null ? p.toString() : "-")
+                .collect(Collectors.joining(":"));
+
+        CachedResult local = localResults.getOrDefault(userId, Map.of()).get(key);
+        if (local != null && !isExpired(local)) {
+            record(name, "local", local.createdAtMillis());
+            return type.cast(local.value());
+        }
+
+        long generation = localGeneration(userId).get();
+        Long redisGeneration = null;
+        if (properties.isRedisEnabled()) {
+            try {
+                redisGeneration = redisGeneration(userId);
+                CachedResult shared = readRedis(redisKey(userId, redisGeneration, key), type);
+                if (shared != null) {
+                    record(name, "redis", shared.createdAtMillis());
+                    putLocal(userId, generation, key, shared);
+                    return type.cast(shared.value());
+                }
+            } catch (Exception e) {
+                log.warn("[AnalysisCache] Redis 조회 실패 - 계산으로 대체, name: {}, userId: {}, {}",
+                        name, userId, e.getMessage());
+            }
+        }
+
+        meterRegistry.counter("analysis.cache.requests", "name", name, "result", "miss").increment();
+        T value = loader.get();
+        CachedResult computed = new CachedResult(value, System.currentTimeMillis());
+        if (!putLocal(userId, generation, key, computed)) {
+            meterRegistry.counter("analysis.cache.discarded", "name", name).increment();
+        }
+        if (redisGeneration != null) {
+            writeRedis(redisKey(userId, redisGeneration, key), computed);
+        }
+        return value;
+    }
+
+    /**
+     * 사용자 분석 결과 전체 무효화 — 트랜잭션 안이면 커밋 이후 (커밋 전 값이 다시 캐시되지 않도록)
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        } else {
+            evictNow(userId);
+        }
+    }
+
+    /**
+     * 만료된 로컬 결과 정리
+     */
+    @Scheduled(fixedDelayString = "${analysis.cache.cleanup-interval-ms:60000}")
+    public void cleanUp() {
+        localResults.forEach((userId, results) -> {
+            results.values().removeIf(this::isExpired);
+            if (results.isEmpty()) {
+                localResults.remove(userId, results);
+            }
+        });
+    }
+
+    private void evictNow(Long userId) {
+        evictLocal(userId);
+        meterRegistry.counter("analysis.cache.invalidations").increment();
+        eventPublisher.publishEvent(AnalysisDataChangedEvent.builder().userId(userId).build());
+        if (!properties.isRedisEnabled()) return;
+        try {
+            String generationKey = generationKey(userId);
+            redisTemplate.opsForValue().increment(generationKey);
+            // 세대 키는 결과 키보다 오래 살아야 이전 세대 키와 겹치지 않는다
+            redisTemplate.expire(generationKey, properties.getRedisTtlMs() * 2, TimeUnit.MILLISECONDS);
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            log.error("[AnalysisCache] Redis 무효화 실패 - userId: {}, 최대 {}ms 동안 이전 결과가 응답될 수 있음",
+                    userId, properties.getRedisTtlMs(), e);
+        }
+    }
+
+    private void onInvalidate(String message) {
+        try {
+            evictLocal(Long.valueOf(message.replace("\"", "")));
+        } catch (NumberFormatException e) {
+            log.warn("[AnalysisCache] 잘못된 무효화 메시지 무시 - {}", message);
+        }
+    }
+
+    private void evictLocal(Long userId) {
+        localGeneration(userId).incrementAndGet();
+        localResults.remove(userId);
+    }
+
+    /**
+     * 계산 시작 시점 세대와 같을 때만 저장
+     *
+     * @return 저장 여부
+     */
+    private boolean putLocal(Long userId, long generation, String key, CachedResult result) {
+        if (localGeneration(userId).get() != generation) return false;
+        Map<String, CachedResult> results = localResults.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+        if (results.size() >= properties.getLocalMaxEntriesPerUser()) {
+            results.clear();
+        }
+        results.put(key, result);
+        // 저장 직후 무효화가 끼어들었으면 되돌린다
+        if (localGeneration(userId).get() != generation) {
+            results.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private CachedResult readRedis(String redisKey, Class<?> type) throws Exception {
+        Object raw = redisTemplate.opsForValue().get(redisKey);
+        if (!(raw instanceof String json)) return null;
+        JsonNode node = objectMapper.readTree(json);
+        return new CachedResult(objectMapper.treeToValue(node.get("value"), type), node.get("createdAt").asLong());
+    }
+
+    private void writeRedis(String redisKey, CachedResult result) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of(
+                    "createdAt", result.createdAtMillis(),
+                    "value", result.value()));
+            redisTemplate.opsForValue().set(redisKey, json, properties.getRedisTtlMs(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("[AnalysisCache] Redis 저장 실패 - key: {}, {}", redisKey, e.getMessage());
+        }
+    }
+
+    private long redisGeneration(Long userId) {
+        Object generation = redisTemplate.opsForValue().get(generationKey(userId));
+        return generation != null ? Long.parseLong(generation.toString()) : 0L;
+    }
+
+    private AtomicLong localGeneration(Long userId) {
+        return localGenerations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private boolean isExpired(CachedResult result) {
+        return System.currentTimeMillis() - result.createdAtMillis() > properties.getLocalTtlMs();
+    }
+
+    private void record(String name, String tier, long createdAtMillis) {
+        meterRegistry.counter("analysis.cache.requests", "name", name, "result", tier).increment();
+        meterRegistry.timer("analysis.cache.age", "name", name, "tier", tier)
+                .record(System.currentTimeMillis() - createdAtMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private String generationKey(Long userId) {
+        return KEY_PREFIX + userId + ":gen";
+    }
+
+    private String redisKey(Long userId, long generation, String key) {
+        return KEY_PREFIX + userId + ":" + generation + ":" + key;
+    }
+}
@@ -3,10 +3,14 @@ package hello.tradexserver.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.config.ExchangeRateLimitProperties;
 import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.dto.response.chart.BarData;
 import hello.tradexserver.dto.response.chart.BarsResponse;
 import hello.tradexserver.dto.response.chart.SymbolInfoResponse;
+import hello.tradexserver.openApi.rest.ExchangeEndpointWeights;
+import hello.tradexserver.openApi.rest.ExchangeRateLimiter;
+import hello.tradexserver.openApi.rest.ExchangeUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -27,6 +31,8 @@ public class ChartService {
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ExchangeRateLimiter rateLimiter;
+    private final ExchangeRateLimitProperties rateLimitProperties;
 
     private static final String BINANCE_FAPI = "https://fapi.binance.com";
     private static final String BYBIT_API    = "https://api.bybit.com";
@@ -39,6 +45,8 @@ public class ChartService {
     private static final long BARS_CACHE_TTL_SECONDS = 300L;
     // 현재 캔들(열린 봉): 10초 캐싱
     private static final long CURRENT_BAR_CACHE_TTL_SECONDS = 10L;
+    // 거래소 장애(circuit 차단 포함) 시 대체용 마지막 응답: 1일 보관
+    private static final long STALE_BARS_TTL_SECONDS = 24 * 60 * 60L;
 
     // Binance exchangeInfo 인메모리 캐시 (심볼 검색/정보용)
     private volatile JsonNode exchangeInfoCache;
@@ -51,6 +59,8 @@ public class ChartService {
                                 Integer countBack, ExchangeName exchange) {
         String normalizedSymbol = symbol.replace("/", "").toUpperCase();
         String cacheKey = "chart:bars:" + exchange + ":" + normalizedSymbol + ":" + resolution + ":" + from + ":" + to;
+        // 대체용 마지막 응답은 구간과 무관하게 심볼/해상도별 1건 — 구간마다 쌓이지 않고, 다른 구간 요청도 대체 가능
+        String staleKey = "chart:bars:stale:" + exchange + ":" + normalizedSymbol + ":" + resolution;
 
         Object cached = redisTemplate.opsForValue().get(cacheKey);
         if (cached instanceof BarsResponse barsResponse) {
@@ -71,11 +81,25 @@ public class ChartService {
                         ? CURRENT_BAR_CACHE_TTL_SECONDS
                         : BARS_CACHE_TTL_SECONDS;
                 redisTemplate.opsForValue().set(cacheKey, response, ttl, TimeUnit.SECONDS);
+                redisTemplate.opsForValue().set(staleKey, response, STALE_BARS_TTL_SECONDS, TimeUnit.SECONDS);
             }
 
             return response;
         } catch (Exception e) {
-            log.error("[Chart] 캔들 조회 실패: exchange={}, symbol={}, resolution={}", exchange, symbol, resolution, e);
+            if (e instanceof ExchangeUnavailableException) {
+                log.warn("[Chart] 거래소 호출 차단: exchange={}, symbol={}, resolution={}", exchange, symbol, resolution);
+            } else {
+                log.error("[Chart] 캔들 조회 실패: exchange={}, symbol={}, resolution={}", exchange, symbol, resolution, e);
+            }
+            Object stale = redisTemplate.opsForValue().get(staleKey);
+            if (stale instanceof BarsResponse barsResponse) {
+                // 마지막 응답 중 요청 구간에 속한 봉만 반환
+                List<BarData> bars = barsResponse.getBars().stream()
+                        .filter(bar -> bar.getTime() >= from && bar.getTime() <= to)
+                        .toList();
+                log.info("[Chart] 마지막 조회 결과로 대체: {}, {}건", staleKey, bars.size());
+                return new BarsResponse(bars, bars.isEmpty());
+            }
             return new BarsResponse(List.of(), true);
         }
     }
@@ -92,6 +116,7 @@ public class ChartService {
                 + "&endTime=" + (to * 1000L)
                 + "&limit=" + limit;
 
+        acquirePublic(ExchangeName.BINANCE, ExchangeEndpointWeights.binanceKlines(limit));
         ResponseEntity<String> resp = restTemplate.getForEntity(url, String.class);
         List<List<Object>> raw = objectMapper.readValue(resp.getBody(), new TypeReference<>() {});
         if (raw.isEmpty()) return new BarsResponse(List.of(), true);
@@ -124,6 +149,7 @@ public class ChartService {
                 + "&end=" + (to * 1000L)
                 + "&limit=" + limit;
 
+        acquirePublic(ExchangeName.BYBIT, ExchangeEndpointWeights.BYBIT_DEFAULT);
         ResponseEntity<String> resp = restTemplate.getForEntity(url, String.class);
         JsonNode root = objectMapper.readTree(resp.getBody());
 
@@ -168,6 +194,7 @@ public class ChartService {
                 + "&endTime=" + (to * 1000L)
                 + "&limit=" + limit;
 
+        acquirePublic(ExchangeName.BITGET, ExchangeEndpointWeights.BITGET_DEFAULT);
         ResponseEntity<String> resp = restTemplate.getForEntity(url, String.class);
         JsonNode root = objectMapper.readTree(resp.getBody());
 
@@ -303,8 +330,18 @@ public class ChartService {
         if (exchangeInfoCache != null && (now - exchangeInfoCacheTime) < EXCHANGE_INFO_TTL_MS) {
             return exchangeInfoCache;
         }
-        ResponseEntity<String> resp = restTemplate.getForEntity(
-                BINANCE_FAPI + "/fapi/v1/exchangeInfo", String.class);
+        ResponseEntity<String> resp;
+        try {
+            acquirePublic(ExchangeName.BINANCE, ExchangeEndpointWeights.BINANCE_EXCHANGE_INFO);
+            resp = restTemplate.getForEntity(BINANCE_FAPI + "/fapi/v1/exchangeInfo", String.class);
+        } catch (Exception e) {
+            // 갱신 실패 시 만료된 캐시라도 있으면 그대로 사용
+            if (exchangeInfoCache != null) {
+                log.warn("[Chart] Binance exchangeInfo 갱신 실패 - 이전 캐시 사용: {}", e.getMessage());
+                return exchangeInfoCache;
+            }
+            throw e;
+        }
         exchangeInfoCache = objectMapper.readTree(resp.getBody());
         exchangeInfoCacheTime = now;
         log.info("[Chart] Binance exchangeInfo 갱신 완료");
@@ -313,6 +350,11 @@ public class ChartService {
 
     // ==================== UTILS ====================
 
+    // 공개 시세 API는 키 예산 없이 노드(IP) 예산만 사용 — 사용자 요청 경로라 오래 기다리지 않음
+    private void acquirePublic(ExchangeName exchange, int weight) {
+        rateLimiter.acquireOrThrow(exchange, null, weight, rateLimitProperties.getInteractiveMaxWaitMs());
+    }
+
     private double parseDouble(Object obj) {
         return Double.parseDouble(obj.toString());
     }
@@ -1,5 +1,7 @@
 package hello.tradexserver.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.config.ChatContextProperties;
 import hello.tradexserver.domain.TradingJournal;
 import hello.tradexserver.dto.chat.JournalSearchRequest;
 import hello.tradexserver.dto.chat.JournalSearchResponse;
@@ -7,10 +9,15 @@ import hello.tradexserver.dto.response.risk.RiskAnalysisResponse;
 import hello.tradexserver.dto.response.strategy.StrategyAnalysisResponse;
 import hello.tradexserver.repository.PositionRepository;
 import hello.tradexserver.repository.TradingJournalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -19,19 +26,124 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * AI 채팅 시스템 메시지(개인화 트레이딩 컨텍스트).
+ * 집계 쿼리 + 전략/리스크 분석을 채팅마다 돌리지 않도록 사용자별 스냅샷을 Redis에 미리 만들어 둔다.
+ * - chat:context:{userId}:version — 사용자 데이터 버전. 분석 데이터 변경(AnalysisDataChangedEvent)마다 INCR
+ * - chat:context:{userId} — {version, builtAt, content}. 생성 시작 시점의 버전을 기록
+ * - 변경 후 refreshDelayMs 뒤 별도 스레드에서 재생성 (연속 변경은 예약 1건으로 묶임)
+ * - 채팅 시 스냅샷 버전이 현재 버전과 다르면 (재생성 진행 중) 이전 스냅샷으로 응답하고 재생성을 예약,
+ *   스냅샷이 없거나 Redis 장애면 동기 생성
+ * 지표
+ * - chat.context.requests{result=fresh|stale|miss}
+ * - chat.context.build: 컨텍스트 생성 시간
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatContextService {
 
+    private static final String KEY_PREFIX = "chat:context:";
+
     private final PositionRepository positionRepository;
     private final TradingJournalRepository tradingJournalRepository;
     private final StrategyAnalysisService strategyAnalysisService;
     private final RiskAnalysisService riskAnalysisService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatContextProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // 재생성 예약된 사용자 — 실행 시작 시 제거되므로 생성 도중 변경은 새로 예약된다
+    private final Set<Long> scheduledRefreshes = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService refresher;
+
+    private record ContextSnapshot(long version, long builtAt, String content) {}
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("chat-context-");
+        threadFactory.setDaemon(true);
+        refresher = Executors.newScheduledThreadPool(properties.getRefreshThreads(), threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
 
     public SystemMessage buildSystemMessage(Long userId) {
+        ContextSnapshot snapshot;
+        long version;
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(List.of(snapshotKey(userId), versionKey(userId)));
+            snapshot = values != null ? readSnapshot(values.get(0)) : null;
+            version = values != null ? toVersion(values.get(1)) : 0L;
+        } catch (Exception e) {
+            log.warn("[ChatContext] 스냅샷 조회 실패 - 직접 생성, userId: {}, {}", userId, e.getMessage());
+            return new SystemMessage(buildContext(userId));
+        }
+
+        if (snapshot == null) {
+            meterRegistry.counter("chat.context.requests", "result", "miss").increment();
+            return new SystemMessage(rebuild(userId, version).content());
+        }
+        boolean fresh = snapshot.version() == version;
+        meterRegistry.counter("chat.context.requests", "result", fresh ? "fresh" : "stale").increment();
+        if (!fresh) {
+            scheduleRefresh(userId);
+        }
+        return new SystemMessage(snapshot.content());
+    }
+
+    /**
+     * 사용자 데이터 변경 — 버전 증가 후 재생성 예약 (커밋 이후 호출)
+     */
+    public void markStale(Long userId) {
+        String versionKey = versionKey(userId);
+        redisTemplate.opsForValue().increment(versionKey);
+        redisTemplate.expire(versionKey, properties.getSnapshotTtlHours(), TimeUnit.HOURS);
+        scheduleRefresh(userId);
+    }
+
+    private void scheduleRefresh(Long userId) {
+        if (!scheduledRefreshes.add(userId)) return;
+        refresher.schedule(() -> {
+            scheduledRefreshes.remove(userId);
+            try {
+                rebuild(userId, toVersion(redisTemplate.opsForValue().get(versionKey(userId))));
+            } catch (Exception e) {
+                log.error("[ChatContext] 컨텍스트 재생성 실패 - userId: {}", userId, e);
+            }
+        }, properties.getRefreshDelayMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 컨텍스트 생성 후 저장 — 생성 도중 버전이 바뀌면 이전 버전으로 기록되어 다음 채팅/변경 때 다시 생성된다
+     */
+    private ContextSnapshot rebuild(Long userId, long version) {
+        long start = System.nanoTime();
+        ContextSnapshot snapshot = new ContextSnapshot(version, System.currentTimeMillis(), buildContext(userId));
+        meterRegistry.timer("chat.context.build").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            redisTemplate.opsForValue().set(snapshotKey(userId), objectMapper.writeValueAsString(snapshot),
+                    properties.getSnapshotTtlHours(), TimeUnit.HOURS);
+            log.debug("[ChatContext] 컨텍스트 생성 - userId: {}, version: {}", userId, version);
+        } catch (Exception e) {
+            log.warn("[ChatContext] 스냅샷 저장 실패 - userId: {}, {}", userId, e.getMessage());
+        }
+        return snapshot;
+    }
+
+    private String buildContext(Long userId) {
         // 전체 통합 통계 (exchangeName = null)
         Object[] summaryStats = positionRepository.getFuturesSummaryStats(userId, "CLOSED", null, null);
         Object[] closedSummary = positionRepository.getClosedPositionsSummary(userId, "CLOSED", null, null);
@@ -58,7 +170,24 @@ public class ChatContextService {
         buildStrategySection(prompt, strategies);
         buildRiskSection(prompt, riskAnalysis);
 
-        return new SystemMessage(prompt.toString());
+        return prompt.toString();
+    }
+
+    private ContextSnapshot readSnapshot(Object raw) throws Exception {
+        if (!(raw instanceof String json)) return null;
+        return objectMapper.readValue(json, ContextSnapshot.class);
+    }
+
+    private long toVersion(Object raw) {
+        return raw != null ? Long.parseLong(raw.toString()) : 0L;
+    }
+
+    private String versionKey(Long userId) {
+        return KEY_PREFIX + userId + ":version";
+    }
+
+    private String snapshotKey(Long userId) {
+        return KEY_PREFIX + userId;
     }
 
     public JournalSearchResponse searchJournals(Long userId, JournalSearchRequest request) {
@@ -21,6 +21,7 @@ public class DailyStatsAggregationService {
     private final DailyStatsRepository dailyStatsRepository;
     private final UserRepository userRepository;
     private final ExchangeAssetService exchangeAssetService;
+    private final AnalysisResultCache analysisResultCache;
 
     /**
      * 포지션 청산 이벤트 → 오늘 실현 손익/승패 누적
@@ -28,6 +29,7 @@ public class DailyStatsAggregationService {
     public void accumulatePnl(Long userId, BigDecimal pnl) {
         DailyStats stats = findOrCreate(userId, LocalDate.now());
         stats.accumulate(pnl);
+        analysisResultCache.evictUser(userId);
     }
 
     /**
@@ -39,6 +41,7 @@ public class DailyStatsAggregationService {
         if (stats.getTotalAsset() == null) {
             BigDecimal asset = exchangeAssetService.getTotalAsset(userId);
             stats.updateTotalAsset(asset);
+            analysisResultCache.evictUser(userId);
             return asset;
         }
         return stats.getTotalAsset();
@@ -52,6 +55,7 @@ public class DailyStatsAggregationService {
         DailyStats stats = findOrCreate(userId, yesterday);
         BigDecimal asset = exchangeAssetService.getTotalAsset(userId);
         stats.updateTotalAsset(asset);
+        analysisResultCache.evictUser(userId);
     }
 
     private DailyStats findOrCreate(Long userId, LocalDate date) {
@@ -1,8 +1,9 @@
 package hello.tradexserver.service;
 
+import hello.tradexserver.config.ExchangeHttpProperties;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.openApi.rest.ExchangeFactory;
-import hello.tradexserver.openApi.rest.ExchangeRestClient;
+import hello.tradexserver.openApi.rest.ReactiveExchangeRestClient;
 import hello.tradexserver.openApi.rest.dto.WalletBalanceResponse;
 import hello.tradexserver.repository.ExchangeApiKeyRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,11 +11,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import hello.tradexserver.openApi.rest.dto.CoinBalanceDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 거래소별 자산 조회를 동시에 보내고 모아서 합산한다 (소요 시간 = 가장 느린 거래소 기준).
+ * 거래소별로 fanOutTimeoutMs를 넘기거나 실패한(circuit 차단 포함) 거래소는
+ * 마지막으로 성공한 잔고로 대체하고, 그것도 없으면 제외한 부분 결과를 반환한다.
+ * 논블로킹 잔고 조회가 구현되지 않은 거래소의 키는 조회하지 않고 제외한다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,25 +34,16 @@ public class ExchangeAssetService {
 
     private final ExchangeApiKeyRepository exchangeApiKeyRepository;
     private final ExchangeFactory exchangeFactory;
+    private final ExchangeHttpProperties httpProperties;
+
+    // apiKeyId → 마지막으로 성공한 잔고 (노드 로컬, 장애 시 대체값)
+    private final Map<Long, WalletBalanceResponse> lastKnownBalances = new ConcurrentHashMap<>();
 
     /**
      * 사용자 전체 자산 합계 조회
      */
     public BigDecimal getTotalAsset(Long userId) {
-        List<ExchangeApiKey> apiKeys = exchangeApiKeyRepository.findActiveByUserId(userId);
-
-        return apiKeys.stream()
-                .map(key -> {
-                    try {
-                        ExchangeRestClient client = exchangeFactory.getExchangeService(key.getExchangeName());
-                        BigDecimal asset = client.getAsset(key);
-                        return asset != null ? asset : BigDecimal.ZERO;
-                    } catch (Exception e) {
-                        log.warn("Failed to get asset from {}: {}", key.getExchangeName(), e.getMessage());
-                        return BigDecimal.ZERO;
-                    }
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return fetchTotalAsset(exchangeApiKeyRepository.findActiveByUserId(userId)).block();
     }
 
     /**
@@ -48,32 +51,57 @@ public class ExchangeAssetService {
      * - totalEquity 합산, coins 목록 통합
      */
     public WalletBalanceResponse getAggregatedWalletBalance(Long userId) {
-        List<ExchangeApiKey> apiKeys = exchangeApiKeyRepository.findActiveByUserId(userId);
-
-        BigDecimal totalEquity = BigDecimal.ZERO;
-        List<CoinBalanceDto> allCoins = new ArrayList<>();
+        return fetchAggregatedWalletBalance(exchangeApiKeyRepository.findActiveByUserId(userId)).block();
+    }
 
-        for (ExchangeApiKey key : apiKeys) {
-            try {
-                ExchangeRestClient client = exchangeFactory.getExchangeService(key.getExchangeName());
-                WalletBalanceResponse walletBalance = client.getWalletBalance(key);
+    public Mono<BigDecimal> fetchTotalAsset(List<ExchangeApiKey> apiKeys) {
+        return fanOut(apiKeys)
+                .mapNotNull(WalletBalanceResponse::getTotalEquity)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-                if (walletBalance != null) {
-                    if (walletBalance.getTotalEquity() != null) {
-                        totalEquity = totalEquity.add(walletBalance.getTotalEquity());
-                    }
-                    if (walletBalance.getCoins() != null) {
-                        allCoins.addAll(walletBalance.getCoins());
+    public Mono<WalletBalanceResponse> fetchAggregatedWalletBalance(List<ExchangeApiKey> apiKeys) {
+        return fanOut(apiKeys)
+                .collectList()
+                .map(walletBalances -> {
+                    BigDecimal totalEquity = BigDecimal.ZERO;
+                    List<CoinBalanceDto> allCoins = new ArrayList<>();
+                    for (WalletBalanceResponse walletBalance : walletBalances) {
+                        if (walletBalance.getTotalEquity() != null) {
+                            totalEquity = totalEquity.add(walletBalance.getTotalEquity());
+                        }
+                        if (walletBalance.getCoins() != null) {
+                            allCoins.addAll(walletBalance.getCoins());
+                        }
                     }
-                }
-            } catch (Exception e) {
-                log.warn("Failed to get wallet balance from {}: {}", key.getExchangeName(), e.getMessage());
-            }
-        }
+                    return WalletBalanceResponse.builder()
+                            .totalEquity(totalEquity)
+                            .coins(allCoins)
+                            .build();
+                });
+    }
+
+    /**
+     * API Key별 잔고 조회를 동시에 구독 — 타임아웃/실패한 건은 마지막 성공 값으로 대체
+     */
+    private Flux<WalletBalanceResponse> fanOut(List<ExchangeApiKey> apiKeys) {
+        Duration timeout = Duration.ofMillis(httpProperties.getFanOutTimeoutMs());
+        return Flux.fromIterable(apiKeys)
+                .flatMap(key -> exchangeFactory.findReactiveExchangeService(key.getExchangeName())
+                        .map(client -> fetchWalletBalance(client, key, timeout))
+                        .orElseGet(Mono::empty));
+    }
 
-        return WalletBalanceResponse.builder()
-                .totalEquity(totalEquity)
-                .coins(allCoins)
-                .build();
+    private Mono<WalletBalanceResponse> fetchWalletBalance(ReactiveExchangeRestClient client, ExchangeApiKey key,
+                                                          Duration timeout) {
+        return Mono.defer(() -> client.getWalletBalance(key))
+                .timeout(timeout)
+                .doOnNext(balance -> lastKnownBalances.put(key.getId(), balance))
+                .onErrorResume(e -> {
+                    WalletBalanceResponse lastKnown = lastKnownBalances.get(key.getId());
+                    log.warn("Failed to get wallet balance from {}: {} (fallback: {})",
+                            key.getExchangeName(), e.toString(), lastKnown != null ? "last known" : "none");
+                    return Mono.justOrEmpty(lastKnown);
+                });
     }
 }
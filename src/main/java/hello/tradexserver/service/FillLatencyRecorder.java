@@ -0,0 +1,90 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.enums.ExchangeName;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결 수집 지연 — 거래소 체결 시각(fillTime)부터 각 단계 도달까지 걸린 시간.
+ * exchange.fill.lag{exchange, stage} 하나의 타이머에 단계를 태그로 구분한다.
+ * - received: WS 프레임 수신
+ * - decoded: WS 클라이언트의 프레임 디코딩 직후 (클라이언트가 기록한 시각)
+ * - queued: 수집 큐 적재 완료
+ * - persisted: 오더 저장 (트랜잭션 내)
+ * - reconstructed: 포지션 재구성 반영 (트랜잭션 내)
+ * - committed: 저장 + 재구성 트랜잭션 커밋
+ * - published: 포지션 종료 이벤트 수신 (커밋 후 비동기 리스너 시작)
+ * - pushed: 종료 알림 STOMP push 완료
+ * WS로 실시간 수신한 오더(receivedAt 있음)만 기록 — gap fill 오더는 과거 체결이라 제외한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FillLatencyRecorder {
+
+    public enum Stage {
+        RECEIVED, DECODED, QUEUED, PERSISTED, RECONSTRUCTED, COMMITTED, PUBLISHED, PUSHED
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ExchangeName, Map<Stage, Timer>> timers = new EnumMap<>(ExchangeName.class);
+
+    @PostConstruct
+    public void registerTimers() {
+        for (ExchangeName exchange : ExchangeName.values()) {
+            Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                stageTimers.put(stage, Timer.builder("exchange.fill.lag")
+                        .description("거래소 체결 시각부터 수집 단계 도달까지 지연")
+                        .tag("exchange", exchange.name().toLowerCase())
+                        .tag("stage", stage.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(Duration.ofMillis(250), Duration.ofSeconds(1),
+                                Duration.ofSeconds(3), Duration.ofSeconds(10))
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofMinutes(5))
+                        .register(meterRegistry));
+            }
+            timers.put(exchange, stageTimers);
+        }
+    }
+
+    public void record(Stage stage, Order order) {
+        if (order.getReceivedAt() == null) return;
+        record(stage, order.getExchangeName(), order.getFillTime(), System.currentTimeMillis());
+    }
+
+    /**
+     * RECEIVED 단계는 현재 시각이 아니라 오더에 기록된 프레임 수신 시각 기준
+     */
+    public void recordReceived(Order order) {
+        if (order.getReceivedAt() == null) return;
+        record(Stage.RECEIVED, order.getExchangeName(), order.getFillTime(), order.getReceivedAt());
+    }
+
+    /**
+     * DECODED 단계도 WS 클라이언트가 decode 직후 기록한 시각 기준 (큐 진입 시각과 구분)
+     */
+    public void recordDecoded(Order order) {
+        if (order.getReceivedAt() == null || order.getDecodedAt() == null) return;
+        record(Stage.DECODED, order.getExchangeName(), order.getFillTime(), order.getDecodedAt());
+    }
+
+    public void record(Stage stage, ExchangeName exchange, LocalDateTime fillTime, long atMillis) {
+        if (exchange == null || fillTime == null) return;
+        long fillMillis = fillTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // 거래소와 서버 시계 차이로 음수가 나오면 0으로 기록
+        timers.get(exchange).get(stage).record(Math.max(0, atMillis - fillMillis), TimeUnit.MILLISECONDS);
+    }
+}
@@ -5,6 +5,7 @@ import hello.tradexserver.domain.enums.ExchangeName;
 import hello.tradexserver.domain.enums.PositionSide;
 import hello.tradexserver.domain.enums.PositionStatus;
 import hello.tradexserver.dto.response.futures.*;
+import hello.tradexserver.repository.PositionDailyRollupRepository;
 import hello.tradexserver.repository.PositionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,12 +16,8 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,35 +25,32 @@ import java.util.stream.Collectors;
 public class FuturesService {
 
     private final PositionRepository positionRepository;
+    private final PositionDailyRollupRepository rollupRepository;
+    private final PositionRollupService positionRollupService;
+    private final AnalysisResultCache analysisResultCache;
 
     /**
      * 선물 거래 요약 조회
-     * - 총 손익, 거래 규모, 승률, 손익 차트
+     * - 총 손익, 거래 규모, 승률, 손익 차트 (일별 집계 합산)
      */
     public FuturesSummaryResponse getFuturesSummary(Long userId, String period, String exchangeName) {
-        LocalDateTime startDate = getStartDateFromPeriod(period);
-
-        // 요약 통계 조회
-        Object[] stats = positionRepository.getFuturesSummaryStats(userId, "CLOSED", startDate, exchangeName);
-
-        BigDecimal totalPnl = BigDecimal.ZERO;
-        int winCount = 0;
-        int lossCount = 0;
-        int totalCount = 0;
-
-        if (stats != null && stats.length > 0) {
-            Object[] row = stats[0] instanceof Object[] ? (Object[]) stats[0] : stats;
-            totalPnl = row[0] != null ? new BigDecimal(row[0].toString()) : BigDecimal.ZERO;
-            winCount = row[1] != null ? ((Number) row[1]).intValue() : 0;
-            lossCount = row[2] != null ? ((Number) row[2]).intValue() : 0;
-            totalCount = row[3] != null ? ((Number) row[3]).intValue() : 0;
-        }
+        return analysisResultCache.get("futures-summary", userId, FuturesSummaryResponse.class,
+                () -> computeFuturesSummary(userId, period, exchangeName),
+                period, exchangeName, LocalDate.now());
+    }
 
-        // 거래 규모 조회
-        BigDecimal totalVolume = positionRepository.getTotalVolume(userId, "CLOSED", startDate, exchangeName);
-        if (totalVolume == null) {
-            totalVolume = BigDecimal.ZERO;
-        }
+    private FuturesSummaryResponse computeFuturesSummary(Long userId, String period, String exchangeName) {
+        LocalDate startDate = getStartDateFromPeriod(period);
+        ExchangeName exchangeEnum = exchangeName != null ? ExchangeName.valueOf(exchangeName) : null;
+        positionRollupService.ensureBackfilled(userId);
+
+        // 요약 통계 + 거래 규모
+        Object[] row = singleRow(rollupRepository.sumByPeriod(userId, exchangeEnum, startDate));
+        BigDecimal totalPnl = toDecimal(row[0]);
+        int winCount = toInt(row[1]);
+        int lossCount = toInt(row[2]);
+        int totalCount = toInt(row[3]);
+        BigDecimal totalVolume = toDecimal(row[4]);
 
         // 승률 계산
         BigDecimal winRate = BigDecimal.ZERO;
@@ -66,12 +60,9 @@ public class FuturesService {
                     .multiply(BigDecimal.valueOf(100));
         }
 
-        // 손익 차트 데이터 (기간 내 종료 포지션 기준)
-        ExchangeName exchangeEnum = exchangeName != null ? ExchangeName.valueOf(exchangeName) : null;
-        List<Position> positions = positionRepository.findClosedPositionsByPeriod(
-                userId, PositionStatus.CLOSED, startDate, exchangeEnum);
-
-        List<FuturesSummaryResponse.PnlChartData> pnlChart = buildPnlChart(positions);
+        // 손익 차트 데이터 (기간 내 종료일별)
+        List<FuturesSummaryResponse.PnlChartData> pnlChart = buildPnlChart(
+                rollupRepository.sumByDate(userId, exchangeEnum, startDate));
 
         return FuturesSummaryResponse.builder()
                 .totalPnl(totalPnl.setScale(2, RoundingMode.HALF_UP))
@@ -88,18 +79,20 @@ public class FuturesService {
      * 페어별 손익 랭킹 조회
      */
     public ProfitRankingResponse getProfitRanking(Long userId, String period, String exchangeName) {
-        LocalDateTime startDate = getStartDateFromPeriod(period);
+        LocalDate startDate = getStartDateFromPeriod(period);
+        ExchangeName exchangeEnum = exchangeName != null ? ExchangeName.valueOf(exchangeName) : null;
+        positionRollupService.ensureBackfilled(userId);
 
-        List<Object[]> rankings = positionRepository.getProfitRankingBySymbol(userId, "CLOSED", startDate, exchangeName);
+        List<Object[]> rankings = rollupRepository.sumBySymbol(userId, exchangeEnum, startDate);
 
         List<ProfitRankingResponse.PairProfit> pairProfits = new ArrayList<>();
         int rank = 1;
 
         for (Object[] row : rankings) {
             String symbol = row[0] != null ? row[0].toString() : "";
-            BigDecimal totalPnl = row[1] != null ? new BigDecimal(row[1].toString()) : BigDecimal.ZERO;
-            int tradeCount = row[2] != null ? ((Number) row[2]).intValue() : 0;
-            int winCount = row[3] != null ? ((Number) row[3]).intValue() : 0;
+            BigDecimal totalPnl = toDecimal(row[1]);
+            int tradeCount = toInt(row[2]);
+            int winCount = toInt(row[3]);
 
             BigDecimal winRate = BigDecimal.ZERO;
             if (tradeCount > 0) {
@@ -126,26 +119,17 @@ public class FuturesService {
      * 종료 포지션 요약 조회
      */
     public ClosedPositionsSummaryResponse getClosedPositionsSummary(Long userId, String period, String exchangeName) {
-        LocalDateTime startDate = getStartDateFromPeriod(period);
-
-        Object[] stats = positionRepository.getClosedPositionsSummary(userId, "CLOSED", startDate, exchangeName);
-
-        int totalCount = 0;
-        int winCount = 0;
-        BigDecimal longPnl = BigDecimal.ZERO;
-        int longCount = 0;
-        BigDecimal shortPnl = BigDecimal.ZERO;
-        int shortCount = 0;
-
-        if (stats != null && stats.length > 0) {
-            Object[] row = stats[0] instanceof Object[] ? (Object[]) stats[0] : stats;
-            totalCount = row[0] != null ? ((Number) row[0]).intValue() : 0;
-            winCount = row[1] != null ? ((Number) row[1]).intValue() : 0;
-            longPnl = row[2] != null ? new BigDecimal(row[2].toString()) : BigDecimal.ZERO;
-            longCount = row[3] != null ? ((Number) row[3]).intValue() : 0;
-            shortPnl = row[4] != null ? new BigDecimal(row[4].toString()) : BigDecimal.ZERO;
-            shortCount = row[5] != null ? ((Number) row[5]).intValue() : 0;
-        }
+        LocalDate startDate = getStartDateFromPeriod(period);
+        ExchangeName exchangeEnum = exchangeName != null ? ExchangeName.valueOf(exchangeName) : null;
+        positionRollupService.ensureBackfilled(userId);
+
+        Object[] row = singleRow(rollupRepository.sumByPeriod(userId, exchangeEnum, startDate));
+        int winCount = toInt(row[1]);
+        int totalCount = toInt(row[3]);
+        BigDecimal longPnl = toDecimal(row[5]);
+        int longCount = toInt(row[6]);
+        BigDecimal shortPnl = toDecimal(row[7]);
+        int shortCount = toInt(row[8]);
 
         BigDecimal winRate = BigDecimal.ZERO;
         if (totalCount > 0) {
@@ -205,7 +189,7 @@ public class FuturesService {
         return positions.map(ClosedPositionResponse::from);
     }
 
-    private LocalDateTime getStartDateFromPeriod(String period) {
+    private LocalDate getStartDateFromPeriod(String period) {
         if (period == null || period.equals("all")) {
             return null;
         }
@@ -224,33 +208,20 @@ public class FuturesService {
             return null;
         }
 
-        return today.minusDays(days - 1).atStartOfDay();
+        return today.minusDays(days - 1);
     }
 
-    private List<FuturesSummaryResponse.PnlChartData> buildPnlChart(List<Position> positions) {
-        // 일별로 그룹핑
-        Map<LocalDate, BigDecimal> dailyPnl = positions.stream()
-                .filter(p -> p.getExitTime() != null && p.getRealizedPnl() != null)
-                .collect(Collectors.groupingBy(
-                        p -> p.getExitTime().toLocalDate(),
-                        Collectors.reducing(BigDecimal.ZERO,
-                                Position::getRealizedPnl,
-                                BigDecimal::add)
-                ));
-
+    private List<FuturesSummaryResponse.PnlChartData> buildPnlChart(List<Object[]> dailyRows) {
         List<FuturesSummaryResponse.PnlChartData> chartData = new ArrayList<>();
         BigDecimal cumulativePnl = BigDecimal.ZERO;
 
-        List<LocalDate> sortedDates = dailyPnl.keySet().stream()
-                .sorted()
-                .collect(Collectors.toList());
-
-        for (LocalDate date : sortedDates) {
-            BigDecimal pnl = dailyPnl.get(date);
+        // 종료일 ASC로 정렬되어 있음
+        for (Object[] row : dailyRows) {
+            BigDecimal pnl = toDecimal(row[1]);
             cumulativePnl = cumulativePnl.add(pnl);
 
             chartData.add(FuturesSummaryResponse.PnlChartData.builder()
-                    .date(date)
+                    .date((LocalDate) row[0])
                     .pnl(pnl.setScale(2, RoundingMode.HALF_UP))
                     .cumulativePnl(cumulativePnl.setScale(2, RoundingMode.HALF_UP))
                     .build());
@@ -258,4 +229,16 @@ public class FuturesService {
 
         return chartData;
     }
+
+    private Object[] singleRow(Object[] stats) {
+        return stats.length > 0 && stats[0] instanceof Object[] ? (Object[]) stats[0] : stats;
+    }
+
+    private int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private BigDecimal toDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
 }
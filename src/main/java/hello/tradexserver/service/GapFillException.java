@@ -0,0 +1,23 @@
+package hello.tradexserver.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * gap fill 조회 실패 — 일부 심볼만 실패해도 전체를 실패로 보고 호출자가 같은 구간을 다시 요청한다.
+ * gapStart는 실제로 조회한 시작 시각 (첫 연결 시 DB 마지막 오더 시각으로 정해진 값 포함)
+ */
+@Getter
+public class GapFillException extends RuntimeException {
+
+    private final LocalDateTime gapStart;
+    private final Set<String> failedSymbols;
+
+    public GapFillException(LocalDateTime gapStart, Set<String> failedSymbols, Throwable cause) {
+        super("gap fill 조회 실패 - gapStart: " + gapStart + ", symbols: " + failedSymbols, cause);
+        this.gapStart = gapStart;
+        this.failedSymbols = failedSymbols;
+    }
+}
@@ -0,0 +1,121 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.config.GapFillProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.openApi.rest.order.ExchangeOrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 재연결 gap fill용 심볼별 오더 조회 병렬 실행기.
+ * - 심볼마다 별도 작업으로 동시에 조회 (전체 apiKey가 고정 크기 풀 공유)
+ * - weight 예산은 거래소 REST 클라이언트가 요청마다 확보 (ExchangeRateLimiter)
+ * - 결과를 합쳐 fillTime 순으로 정렬해 반환 (processOrdersBatch 입력 순서)
+ * - 한 심볼이라도 실패/시간 초과면 남은 조회를 중단하고 GapFillException — 호출자가 구간 전체를 재시도
+ */
+@Slf4j
+@Component
+public class GapFillExecutor {
+
+    private final GapFillProperties properties;
+    private final ExecutorService executor;
+    private final Map<ExchangeName, Timer> fetchTimers = new EnumMap<>(ExchangeName.class);
+
+    public GapFillExecutor(GapFillProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gap-fill-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory);
+
+        for (ExchangeName exchange : ExchangeName.values()) {
+            fetchTimers.put(exchange, Timer.builder("exchange.gapfill.fetch")
+                    .tag("exchange", exchange.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @throws GapFillException 조회에 실패하거나 timeoutSeconds 안에 끝나지 않은 심볼이 있으면
+     */
+    public List<Order> fetchOrdersBySymbols(ExchangeOrderService orderService, ExchangeApiKey apiKey,
+                                            Set<String> symbols, LocalDateTime startTime, LocalDateTime endTime) {
+        if (symbols.isEmpty()) return List.of();
+
+        long start = System.nanoTime();
+        // FutureTask는 cancel(true) 시 실행 중인 스레드를 interrupt (supplyAsync는 interrupt하지 않음)
+        Map<String, Future<List<Order>>> futures = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            futures.put(symbol, executor.submit(
+                    () -> orderService.fetchAndConvertOrders(apiKey, symbol, startTime, endTime)));
+        }
+
+        List<Order> merged = new ArrayList<>();
+        Set<String> failed = new TreeSet<>();
+        Throwable firstCause = null;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getTimeoutSeconds());
+        try {
+            for (Map.Entry<String, Future<List<Order>>> entry : futures.entrySet()) {
+                try {
+                    merged.addAll(entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    failed.add(entry.getKey());
+                    if (firstCause == null) firstCause = e;
+                } catch (ExecutionException e) {
+                    failed.add(entry.getKey());
+                    if (firstCause == null) firstCause = e.getCause();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.values().forEach(f -> f.cancel(true));
+            throw new GapFillException(startTime, symbols, e);
+        } finally {
+            fetchTimers.get(apiKey.getExchangeName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!failed.isEmpty()) {
+            futures.values().forEach(f -> f.cancel(true));
+            log.error("[GapFill] 심볼 조회 실패 - apiKeyId: {}, 실패 심볼: {}/{}개 {}",
+                    apiKey.getId(), failed.size(), symbols.size(), failed);
+            throw new GapFillException(startTime, failed, firstCause);
+        }
+
+        merged.sort(Comparator.comparing(Order::getFillTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        log.info("[GapFill] 심볼별 오더 조회 완료 - apiKeyId: {}, 심볼: {}개, 오더: {}건",
+                apiKey.getId(), symbols.size(), merged.size());
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
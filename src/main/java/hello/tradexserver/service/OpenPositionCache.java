@@ -0,0 +1,317 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.repository.PositionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * apiKey별 OPEN 포지션 인메모리 인덱스 — (apiKeyId, symbol, side) → positionId.
+ * 오더 처리 hot path에서 "현재 열린 포지션이 무엇인지" 찾기 위해 DB를 조회하지 않도록 한다.
+ * - apiKey 첫 접근 시(또는 WS 연결/재연결 시) findAllOpenByApiKeyId로 적재
+ * - 포지션 생성/종료는 트랜잭션 로컬 변경분에만 기록해 같은 트랜잭션(마이크로 배치)에서만 보이고,
+ *   커밋 이후 공유 인덱스에 반영한다. 롤백되면 버린다
+ * - DB 적재는 커밋 전 변경분을 모르므로, 해당 apiKey에 진행 중인 트랜잭션이 있거나
+ *   적재 도중 커밋/무효화가 일어나면(apiKey별 버전 변경) 결과를 인덱스에 넣지 않는다
+ * - 주기적으로 DB와 대조해 불일치 시 무효화 (다음 접근 때 재적재)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenPositionCache {
+
+    private final PositionRepository positionRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, Map<PositionKey, CachedPosition>> openPositions = new ConcurrentHashMap<>();
+    // apiKey별 버전 — 커밋 반영/무효화마다 증가. 적재 시작 시점과 다르면 적재 결과를 버린다
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    // apiKey별 포지션 생성/종료를 기록하고 아직 완료되지 않은 트랜잭션 수
+    private final ConcurrentHashMap<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private Counter mismatchCounter;
+    private Counter discardedLoads;
+
+    private record PositionKey(String symbol, PositionSide side) {}
+
+    private record CachedPosition(Long positionId, LocalDateTime entryTime) {}
+
+    /**
+     * 트랜잭션 로컬 변경 — opened가 null이면 closedPositionId 종료
+     */
+    private record PendingChange(CachedPosition opened, Long closedPositionId) {}
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("position.cache.api-keys", openPositions, Map::size)
+                .description("OPEN 포지션 캐시에 적재된 apiKey 수")
+                .register(meterRegistry);
+        mismatchCounter = Counter.builder("position.cache.mismatch")
+                .description("DB 대조 시 발견된 캐시 불일치 apiKey 수")
+                .register(meterRegistry);
+        discardedLoads = Counter.builder("position.cache.load.discarded")
+                .description("진행 중인 트랜잭션과 겹쳐 인덱스에 넣지 않은 DB 적재 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 헷지 모드 / 진입: (symbol, side) 정확히 일치하는 OPEN 포지션
+     */
+    public Optional<Position> findOpen(Long apiKeyId, String symbol, PositionSide side) {
+        if (side == null) return Optional.empty();
+        return load(apiKeyId, lookup(apiKeyId, new PositionKey(symbol, side)));
+    }
+
+    /**
+     * 원웨이 모드: side 무관하게 symbol의 OPEN 포지션 중 entryTime 최신 1건
+     */
+    public Optional<Position> findOpenBySymbol(Long apiKeyId, String symbol) {
+        CachedPosition longPos = lookup(apiKeyId, new PositionKey(symbol, PositionSide.LONG));
+        CachedPosition shortPos = lookup(apiKeyId, new PositionKey(symbol, PositionSide.SHORT));
+        return load(apiKeyId, latest(longPos, shortPos));
+    }
+
+    /**
+     * positionId만 필요한 경우 (WS 포지션 보조 업데이트) — DB 조회 없음
+     */
+    public Optional<Long> findOpenId(Long apiKeyId, String symbol, PositionSide side) {
+        if (side == null) return Optional.empty();
+        return Optional.ofNullable(lookup(apiKeyId, new PositionKey(symbol, side))).map(CachedPosition::positionId);
+    }
+
+    public void onOpened(Position position) {
+        record(position.getExchangeApiKey().getId(), new PositionKey(position.getSymbol(), position.getSide()),
+                new PendingChange(new CachedPosition(position.getId(), position.getEntryTime()), null));
+    }
+
+    public void onClosed(Position position) {
+        record(position.getExchangeApiKey().getId(), new PositionKey(position.getSymbol(), position.getSide()),
+                new PendingChange(null, position.getId()));
+    }
+
+    /**
+     * 수동 편집(오더 이동 등)으로 포지션 상태가 바뀌었을 때 — 다음 접근 시 DB에서 재적재
+     */
+    public void invalidate(Long apiKeyId) {
+        if (apiKeyId == null) return;
+        openPositions.compute(apiKeyId, (id, positions) -> {
+            version(id).incrementAndGet();
+            return null;
+        });
+        log.debug("[PositionCache] 무효화 - apiKeyId: {}", apiKeyId);
+    }
+
+    /**
+     * WS 연결/재연결 시 DB 기준으로 다시 적재 — 진행 중인 트랜잭션과 겹치면 무효화만 하고 다음 접근 때 적재
+     */
+    public void reload(Long apiKeyId) {
+        invalidate(apiKeyId);
+        positionsOf(apiKeyId);
+    }
+
+    /**
+     * 캐시와 DB 대조 — 불일치한 apiKey는 무효화하여 다음 접근 때 재적재
+     * 진행 중인 트랜잭션이 있거나 대조 도중 변경된 apiKey는 건너뛴다 (커밋 전 상태는 DB와 다를 수 있음)
+     */
+    @Scheduled(fixedDelayString = "${position.cache.verify-interval-ms:600000}")
+    public void verifyConsistency() {
+        int mismatched = 0;
+        for (Long apiKeyId : List.copyOf(openPositions.keySet())) {
+            long startVersion = version(apiKeyId).get();
+            if (inFlight(apiKeyId).get() > 0 || !openPositions.containsKey(apiKeyId)) continue;
+
+            Map<PositionKey, CachedPosition> actual = loadFromDb(apiKeyId);
+            boolean[] mismatch = {false};
+            openPositions.computeIfPresent(apiKeyId, (id, cached) -> {
+                if (version(id).get() != startVersion || idsOf(cached).equals(idsOf(actual))) {
+                    return cached;
+                }
+                log.warn("[PositionCache] DB 불일치 - apiKeyId: {}, cache: {}, db: {}",
+                        id, idsOf(cached), idsOf(actual));
+                version(id).incrementAndGet();
+                mismatch[0] = true;
+                return null;
+            });
+            if (mismatch[0]) mismatched++;
+        }
+        if (mismatched > 0) {
+            mismatchCounter.increment(mismatched);
+        }
+    }
+
+    /**
+     * 트랜잭션 로컬 변경분 우선, 없으면 공유 인덱스
+     */
+    private CachedPosition lookup(Long apiKeyId, PositionKey key) {
+        Map<PositionKey, PendingChange> pending = pendingChanges(apiKeyId);
+        if (pending != null && pending.containsKey(key)) {
+            return pending.get(key).opened();
+        }
+        return positionsOf(apiKeyId).get(key);
+    }
+
+    private void record(Long apiKeyId, PositionKey key, PendingChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(apiKeyId, Map.of(key, change));
+            return;
+        }
+        PendingTransaction tx = (PendingTransaction) TransactionSynchronizationManager.getResource(this);
+        if (tx == null) {
+            tx = new PendingTransaction();
+            TransactionSynchronizationManager.bindResource(this, tx);
+            TransactionSynchronizationManager.registerSynchronization(tx);
+        }
+        Map<PositionKey, PendingChange> changes = tx.changes.computeIfAbsent(apiKeyId, id -> {
+            inFlight(id).incrementAndGet();
+            return new HashMap<>();
+        });
+        PendingChange previous = changes.get(key);
+        if (change.opened() == null && previous != null && previous.opened() != null
+                && !Objects.equals(previous.opened().positionId(), change.closedPositionId())) {
+            // 같은 트랜잭션에서 연 다른 포지션은 유지
+            return;
+        }
+        changes.put(key, change);
+    }
+
+    /**
+     * 커밋된 변경분 반영 (rollback이면 changes = null) — 버전 증가와 같은 원자 구간에서 처리
+     */
+    private void publish(Long apiKeyId, Map<PositionKey, PendingChange> changes) {
+        openPositions.compute(apiKeyId, (id, positions) -> {
+            version(id).incrementAndGet();
+            if (positions != null && changes != null) {
+                changes.forEach((key, change) -> {
+                    if (change.opened() != null) {
+                        positions.put(key, change.opened());
+                    } else {
+                        positions.computeIfPresent(key,
+                                (k, cached) -> Objects.equals(cached.positionId(), change.closedPositionId()) ? null : cached);
+                    }
+                });
+            }
+            return positions;
+        });
+    }
+
+    private Map<PositionKey, PendingChange> pendingChanges(Long apiKeyId) {
+        PendingTransaction tx = (PendingTransaction) TransactionSynchronizationManager.getResource(this);
+        return tx != null ? tx.changes.get(apiKeyId) : null;
+    }
+
+    /**
+     * 공유 인덱스 조회, 없으면 DB 적재 — 겹치는 트랜잭션/변경이 없을 때만 인덱스에 넣는다
+     */
+    private Map<PositionKey, CachedPosition> positionsOf(Long apiKeyId) {
+        Map<PositionKey, CachedPosition> cached = openPositions.get(apiKeyId);
+        if (cached != null) return cached;
+
+        PendingTransaction tx = (PendingTransaction) TransactionSynchronizationManager.getResource(this);
+        if (tx != null && tx.snapshots.containsKey(apiKeyId)) {
+            return tx.snapshots.get(apiKeyId);
+        }
+
+        long startVersion = version(apiKeyId).get();
+        boolean overlapping = inFlight(apiKeyId).get() > 0;
+        Map<PositionKey, CachedPosition> loaded = loadFromDb(apiKeyId);
+        if (overlapping) {
+            // 이 트랜잭션 안에서는 재사용 (배치 내 오더마다 재적재하지 않도록)
+            if (tx != null) tx.snapshots.put(apiKeyId, loaded);
+            discardedLoads.increment();
+            return loaded;
+        }
+        Map<PositionKey, CachedPosition> installed = openPositions.compute(apiKeyId, (id, current) -> {
+            if (current != null) return current;
+            return version(id).get() == startVersion ? loaded : null;
+        });
+        if (installed == null) {
+            discardedLoads.increment();
+            return loaded;
+        }
+        return installed;
+    }
+
+    private Map<PositionKey, CachedPosition> loadFromDb(Long apiKeyId) {
+        Map<PositionKey, CachedPosition> positions = new ConcurrentHashMap<>();
+        for (Position p : positionRepository.findAllOpenByApiKeyId(apiKeyId)) {
+            // 같은 키에 중복 OPEN이 있으면 기존 조회와 동일하게 entryTime 최신 1건 사용
+            positions.merge(new PositionKey(p.getSymbol(), p.getSide()),
+                    new CachedPosition(p.getId(), p.getEntryTime()), this::latest);
+        }
+        log.debug("[PositionCache] 적재 - apiKeyId: {}, {}건", apiKeyId, positions.size());
+        return positions;
+    }
+
+    private Optional<Position> load(Long apiKeyId, CachedPosition cached) {
+        if (cached == null) return Optional.empty();
+        // 같은 트랜잭션(마이크로 배치) 내에서는 1차 캐시에서 반환되어 쿼리가 발생하지 않음
+        Optional<Position> position = positionRepository.findById(cached.positionId());
+        if (position.isEmpty() || position.get().isClosed()) {
+            invalidate(apiKeyId);
+            return Optional.empty();
+        }
+        return position;
+    }
+
+    private CachedPosition latest(CachedPosition a, CachedPosition b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.entryTime() == null) return b;
+        if (b.entryTime() == null) return a;
+        return a.entryTime().isAfter(b.entryTime()) ? a : b;
+    }
+
+    private Map<PositionKey, Long> idsOf(Map<PositionKey, CachedPosition> positions) {
+        Map<PositionKey, Long> ids = new HashMap<>();
+        positions.forEach((key, cached) -> ids.put(key, cached.positionId()));
+        return ids;
+    }
+
+    private AtomicLong version(Long apiKeyId) {
+        return versions.computeIfAbsent(apiKeyId, id -> new AtomicLong());
+    }
+
+    private AtomicInteger inFlight(Long apiKeyId) {
+        return inFlight.computeIfAbsent(apiKeyId, id -> new AtomicInteger());
+    }
+
+    /**
+     * 트랜잭션에 묶인 apiKey별 변경분 — 완료 시 커밋이면 반영, 아니면 버림
+     */
+    private class PendingTransaction implements TransactionSynchronization {
+        private final Map<Long, Map<PositionKey, PendingChange>> changes = new HashMap<>();
+        // 공유 인덱스에 넣지 못한 적재 결과 — 이 트랜잭션 동안만 사용
+        private final Map<Long, Map<PositionKey, CachedPosition>> snapshots = new HashMap<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OpenPositionCache.this);
+            changes.forEach((apiKeyId, keyChanges) -> {
+                try {
+                    publish(apiKeyId, status == STATUS_COMMITTED ? keyChanges : null);
+                } finally {
+                    inFlight(apiKeyId).decrementAndGet();
+                }
+            });
+        }
+    }
+}
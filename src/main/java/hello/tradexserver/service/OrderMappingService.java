@@ -19,6 +19,9 @@ public class OrderMappingService {
     private final OrderRepository orderRepository;
     private final PositionRepository positionRepository;
     private final PositionCalculationService positionCalculationService;
+    private final PositionLedgerService positionLedgerService;
+    private final RiskPatternService riskPatternService;
+    private final PositionRollupService positionRollupService;
 
     /**
      * 포지션에 연결된 오더가 수정되었을 때 포지션 데이터를 재계산한다.
@@ -38,7 +41,12 @@ public class OrderMappingService {
             return;
         }
 
+        PositionRollupService.Bucket before = PositionRollupService.Bucket.of(position);
         positionCalculationService.recalculateFromOrders(position, orders);
         positionRepository.save(position);
+        // 이후 원장 재생은 재계산 결과 스냅샷에서 시작
+        positionLedgerService.recordRecalculation(position);
+        riskPatternService.markStale(position.getUser().getId());
+        positionRollupService.refresh(position.getUser().getId(), before, PositionRollupService.Bucket.of(position));
     }
 }
@@ -28,6 +28,8 @@ public class OrderService {
     private final PositionRepository positionRepository;
     private final UserRepository userRepository;
     private final OrderMappingService orderMappingService;
+    private final OpenPositionCache openPositionCache;
+    private final AnalysisResultCache analysisResultCache;
 
     /**
      * 오더 수동 추가 (포지션에 연결) + closed 포지션이면 재계산
@@ -69,6 +71,7 @@ public class OrderService {
         if (position.isClosed()) {
             orderMappingService.recalculatePosition(positionId);
         }
+        analysisResultCache.evictUser(userId);
 
         return OrderResponse.from(order);
     }
@@ -96,6 +99,7 @@ public class OrderService {
         if (order.getPosition() != null && order.getPosition().isClosed()) {
             orderMappingService.recalculatePosition(order.getPosition().getId());
         }
+        analysisResultCache.evictUser(userId);
 
         return OrderResponse.from(order);
     }
@@ -120,6 +124,8 @@ public class OrderService {
 
         Long oldPositionId = order.getPosition() != null ? order.getPosition().getId() : null;
         boolean oldWasClosed = order.getPosition() != null && order.getPosition().isClosed();
+        Long oldApiKeyId = order.getPosition() != null && order.getPosition().getExchangeApiKey() != null
+                ? order.getPosition().getExchangeApiKey().getId() : null;
 
         order.assignToPosition(targetPosition);
         orderRepository.save(order);
@@ -134,6 +140,13 @@ public class OrderService {
             orderMappingService.recalculatePosition(targetPositionId);
         }
 
+        // 수동 이동으로 포지션 상태가 바뀌었을 수 있으므로 OPEN 포지션 캐시 무효화
+        openPositionCache.invalidate(oldApiKeyId);
+        if (targetPosition.getExchangeApiKey() != null) {
+            openPositionCache.invalidate(targetPosition.getExchangeApiKey().getId());
+        }
+        analysisResultCache.evictUser(userId);
+
         return OrderResponse.from(order);
     }
 
@@ -157,5 +170,6 @@ public class OrderService {
         if (wasClosed && positionId != null) {
             orderMappingService.recalculatePosition(positionId);
         }
+        analysisResultCache.evictUser(userId);
     }
 }
\ No newline at end of file
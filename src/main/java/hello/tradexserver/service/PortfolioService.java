@@ -23,6 +23,7 @@ public class PortfolioService {
 
     private final DailyStatsRepository dailyStatsRepository;
     private final ExchangeAssetService exchangeAssetService;
+    private final AnalysisResultCache analysisResultCache;
 
     /**
      * 포트폴리오 요약 조회
@@ -67,6 +68,13 @@ public class PortfolioService {
      */
     public CumulativeProfitResponse getCumulativeProfit(Long userId, String period,
                                                         LocalDate customStartDate, LocalDate customEndDate) {
+        return analysisResultCache.get("cumulative-profit", userId, CumulativeProfitResponse.class,
+                () -> computeCumulativeProfit(userId, period, customStartDate, customEndDate),
+                period, customStartDate, customEndDate, LocalDate.now());
+    }
+
+    private CumulativeProfitResponse computeCumulativeProfit(Long userId, String period,
+                                                             LocalDate customStartDate, LocalDate customEndDate) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate;
 
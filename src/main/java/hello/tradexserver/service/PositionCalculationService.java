@@ -1,5 +1,6 @@
 package hello.tradexserver.service;
 
+import hello.tradexserver.common.util.FixedPoint;
 import hello.tradexserver.domain.Order;
 import hello.tradexserver.domain.Position;
 import hello.tradexserver.domain.enums.PositionEffect;
@@ -14,49 +15,78 @@ import java.util.List;
 @Service
 public class PositionCalculationService {
 
+    private record Totals(BigDecimal closedSize, BigDecimal closedFee, BigDecimal avgExitPrice,
+                          BigDecimal realizedPnl, BigDecimal openFee) {}
+
     /**
      * 매핑된 오더 목록으로부터 포지션 필드를 계산하여 반영한다.
      * - 청산 오더: closedFee, avgExitPrice, realizedPnl
      * - 진입 오더: openFee
+     * 오더 목록을 한 번만 순회하며 scaled long으로 누적하고,
+     * 소수점 8자리/long 범위를 벗어나는 값이 있으면 BigDecimal로 다시 계산한다.
      */
     public void recalculateFromOrders(Position position, List<Order> orders) {
-        List<Order> entryOrders = orders.stream()
-                .filter(o -> o.getPositionEffect() == PositionEffect.OPEN)
-                .toList();
-
-        List<Order> exitOrders = orders.stream()
-                .filter(o -> o.getPositionEffect() == PositionEffect.CLOSE)
-                .toList();
-
-        // 청산 오더 기반 계산
-        BigDecimal closedSize = exitOrders.stream()
-                .map(Order::getFilledQuantity)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal closedFee = exitOrders.stream()
-                .map(o -> o.getCumExecFee() != null ? o.getCumExecFee() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal avgExitPrice = BigDecimal.ZERO;
-        if (closedSize.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal totalNotional = exitOrders.stream()
-                    .map(o -> o.getFilledPrice().multiply(o.getFilledQuantity()))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            avgExitPrice = totalNotional.divide(closedSize, 8, RoundingMode.HALF_UP);
+        Totals totals;
+        try {
+            totals = sumScaled(orders);
+        } catch (ArithmeticException e) {
+            totals = sumExact(orders);
         }
 
-        BigDecimal realizedPnl = exitOrders.stream()
-                .map(o -> o.getRealizedPnl() != null ? o.getRealizedPnl() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        position.applyMappingResult(totals.avgExitPrice(), totals.realizedPnl(),
+                totals.closedFee(), totals.openFee(), totals.closedSize());
+
+        log.info("[PositionCalc] 재계산 완료 - positionId: {}, avgExitPrice: {}, realizedPnl: {}, openFee: {}, closedFee: {}",
+                position.getId(), totals.avgExitPrice(), totals.realizedPnl(), totals.openFee(), totals.closedFee());
+    }
 
-        // 진입 오더 기반 계산
-        BigDecimal openFee = entryOrders.stream()
-                .map(o -> o.getCumExecFee() != null ? o.getCumExecFee() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Totals sumScaled(List<Order> orders) {
+        long closedSize = 0;
+        long closedFee = 0;
+        long realizedPnl = 0;
+        long openFee = 0;
+        FixedPoint.Notional exitNotional = new FixedPoint.Notional();
 
-        position.applyMappingResult(avgExitPrice, realizedPnl, closedFee, openFee, closedSize);
+        for (Order o : orders) {
+            if (o.getPositionEffect() == PositionEffect.CLOSE) {
+                long qty = FixedPoint.toScaled(o.getFilledQuantity());
+                closedSize = Math.addExact(closedSize, qty);
+                closedFee = Math.addExact(closedFee, FixedPoint.toScaledOrZero(o.getCumExecFee()));
+                realizedPnl = Math.addExact(realizedPnl, FixedPoint.toScaledOrZero(o.getRealizedPnl()));
+                exitNotional.add(FixedPoint.toScaled(o.getFilledPrice()), qty);
+            } else if (o.getPositionEffect() == PositionEffect.OPEN) {
+                openFee = Math.addExact(openFee, FixedPoint.toScaledOrZero(o.getCumExecFee()));
+            }
+        }
 
-        log.info("[PositionCalc] 재계산 완료 - positionId: {}, avgExitPrice: {}, realizedPnl: {}, openFee: {}, closedFee: {}",
-                position.getId(), avgExitPrice, realizedPnl, openFee, closedFee);
+        BigDecimal avgExitPrice = closedSize > 0
+                ? FixedPoint.toDecimal(exitNotional.divide(closedSize))
+                : BigDecimal.ZERO;
+        return new Totals(FixedPoint.toDecimal(closedSize), FixedPoint.toDecimal(closedFee), avgExitPrice,
+                FixedPoint.toDecimal(realizedPnl), FixedPoint.toDecimal(openFee));
+    }
+
+    private Totals sumExact(List<Order> orders) {
+        BigDecimal closedSize = BigDecimal.ZERO;
+        BigDecimal closedFee = BigDecimal.ZERO;
+        BigDecimal realizedPnl = BigDecimal.ZERO;
+        BigDecimal openFee = BigDecimal.ZERO;
+        BigDecimal exitNotional = BigDecimal.ZERO;
+
+        for (Order o : orders) {
+            if (o.getPositionEffect() == PositionEffect.CLOSE) {
+                closedSize = closedSize.add(o.getFilledQuantity());
+                closedFee = closedFee.add(o.getCumExecFee() != null ? o.getCumExecFee() : BigDecimal.ZERO);
+                realizedPnl = realizedPnl.add(o.getRealizedPnl() != null ? o.getRealizedPnl() : BigDecimal.ZERO);
+                exitNotional = exitNotional.add(o.getFilledPrice().multiply(o.getFilledQuantity()));
+            } else if (o.getPositionEffect() == PositionEffect.OPEN) {
+                openFee = openFee.add(o.getCumExecFee() != null ? o.getCumExecFee() : BigDecimal.ZERO);
+            }
+        }
+
+        BigDecimal avgExitPrice = closedSize.compareTo(BigDecimal.ZERO) > 0
+                ? exitNotional.divide(closedSize, 8, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        return new Totals(closedSize, closedFee, avgExitPrice, realizedPnl, openFee);
     }
-}
\ No newline at end of file
+}
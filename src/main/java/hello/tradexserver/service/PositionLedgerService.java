@@ -0,0 +1,154 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.PositionLedgerEvent;
+import hello.tradexserver.domain.PositionSnapshot;
+import hello.tradexserver.domain.enums.LedgerEventType;
+import hello.tradexserver.repository.PositionLedgerEventRepository;
+import hello.tradexserver.repository.PositionRepository;
+import hello.tradexserver.repository.PositionSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 포지션 원장 — 포지션에 반영된 오더를 이벤트로 append하고 주기적으로 스냅샷을 남긴다.
+ * 감사는 "직전 스냅샷 + 이후 이벤트" 재생으로 처리하므로 전체 오더 이력을 다시 처리하지 않는다.
+ * - 포지션 종료 커밋 후 종료 직전 스냅샷부터 재생해 저장된 컬럼과 대조 (position.ledger.mismatch)
+ * - 오더 수정 재계산(OrderMappingService)은 해당 포지션 오더만 다시 합산하고, 결과를 새 기준 스냅샷으로 남긴다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PositionLedgerService {
+
+    private final PositionLedgerEventRepository eventRepository;
+    private final PositionSnapshotRepository snapshotRepository;
+    private final PositionRepository positionRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${position.ledger.snapshot-interval:50}")
+    private int snapshotInterval;
+
+    /**
+     * 오더 반영 이벤트 기록. 포지션 도메인 메서드 적용·저장 후 호출해야 한다.
+     * 순번은 포지션 행 잠금(커밋까지 유지) 후 정하므로 다른 트랜잭션과 겹치지 않는다.
+     *
+     * @param quantity 포지션에 실제 반영된 수량 (플립/헷지 초과 청산 시 오더 수량과 다름)
+     */
+    public void record(Position position, LedgerEventType type, Order order, BigDecimal quantity) {
+        // 신규 포지션은 조회 없이 1번
+        long sequence = type == LedgerEventType.OPEN ? 1 : nextSequence(position);
+        eventRepository.save(PositionLedgerEvent.builder()
+                .position(position)
+                .sequence(sequence)
+                .eventType(type)
+                .orderId(order.getId())
+                .price(order.getFilledPrice())
+                .quantity(quantity)
+                .fee(order.getCumExecFee())
+                .realizedPnl(type == LedgerEventType.PARTIAL_CLOSE || type == LedgerEventType.CLOSE
+                        ? order.getRealizedPnl() : null)
+                .eventTime(order.getFillTime())
+                .build());
+
+        // 종료 시점과 snapshotInterval마다 스냅샷 — 재생 구간을 최대 snapshotInterval로 제한
+        if (type == LedgerEventType.CLOSE || sequence % snapshotInterval == 0) {
+            snapshot(position, sequence);
+        }
+    }
+
+    /**
+     * 오더 수정으로 포지션을 재계산한 경우 — 재계산 결과를 새 기준점으로 기록
+     */
+    public void recordRecalculation(Position position) {
+        long sequence = nextSequence(position);
+        eventRepository.save(PositionLedgerEvent.builder()
+                .position(position)
+                .sequence(sequence)
+                .eventType(LedgerEventType.RECALCULATED)
+                .build());
+        snapshot(position, sequence);
+    }
+
+    /**
+     * 포지션 삭제 전 원장/스냅샷 삭제 (position_id FK)
+     */
+    public void deleteByPositionId(Long positionId) {
+        eventRepository.deleteByPositionId(positionId);
+        snapshotRepository.deleteByPositionId(positionId);
+    }
+
+    /**
+     * beforeSequence 미만의 마지막 스냅샷 + 이후 이벤트를 재생한 상태.
+     * 원장이 없는 포지션(도입 이전 생성)이나 시작 상태를 알 수 없으면 empty.
+     */
+    public Optional<PositionLedgerState> replay(Long positionId, long beforeSequence) {
+        Optional<PositionSnapshot> snapshot = snapshotRepository
+                .findTopByPositionIdAndSequenceLessThanOrderBySequenceDesc(positionId, beforeSequence);
+        PositionLedgerState state = snapshot.map(PositionLedgerState::from).orElseGet(PositionLedgerState::empty);
+
+        List<PositionLedgerEvent> events = eventRepository.findEventsAfter(positionId, state.getSequence());
+        if (snapshot.isEmpty() && events.isEmpty()) {
+            return Optional.empty();
+        }
+        if (snapshot.isEmpty() && events.get(0).getEventType() != LedgerEventType.OPEN) {
+            // 원장 도입 이전에 열린 포지션 — 시작 상태를 알 수 없음
+            log.debug("[Ledger] 시작 이벤트 없음 - positionId: {}", positionId);
+            return Optional.empty();
+        }
+        events.forEach(state::apply);
+        return Optional.of(state);
+    }
+
+    /**
+     * 저장된 포지션 상태가 원장 재생 결과와 일치하는지 확인.
+     * 마지막 이벤트 시점 스냅샷은 컬럼 복사본이므로 그 직전 스냅샷부터 재생한다.
+     */
+    @Transactional(readOnly = true)
+    public boolean verify(Long positionId) {
+        Position position = positionRepository.findById(positionId).orElse(null);
+        if (position == null) return true;
+
+        long lastSequence = eventRepository.findLastSequence(positionId);
+        Optional<PositionLedgerState> state = replay(positionId, lastSequence);
+        if (state.isEmpty()) return true;
+        boolean matched = state.get().matches(position);
+        if (!matched) {
+            meterRegistry.counter("position.ledger.mismatch").increment();
+            log.warn("[Ledger] 포지션 상태 불일치 - positionId: {}, ledgerSequence: {}",
+                    positionId, state.get().getSequence());
+        }
+        return matched;
+    }
+
+    private long nextSequence(Position position) {
+        // 행 잠금 후 조회 — 앞선 트랜잭션이 커밋한 순번까지 보인다
+        positionRepository.lockById(position.getId());
+        return eventRepository.findLastSequence(position.getId()) + 1;
+    }
+
+    private void snapshot(Position position, long sequence) {
+        snapshotRepository.save(PositionSnapshot.builder()
+                .position(position)
+                .sequence(sequence)
+                .avgEntryPrice(position.getAvgEntryPrice())
+                .currentSize(position.getCurrentSize())
+                .openFee(position.getOpenFee())
+                .closedFee(position.getClosedFee())
+                .closedSize(position.getClosedSize())
+                .avgExitPrice(position.getAvgExitPrice())
+                .realizedPnl(position.getRealizedPnl())
+                .status(position.getStatus())
+                .exitTime(position.getExitTime())
+                .build());
+    }
+}
@@ -0,0 +1,111 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.common.util.FixedPoint;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.PositionLedgerEvent;
+import hello.tradexserver.domain.PositionSnapshot;
+import hello.tradexserver.domain.enums.PositionStatus;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 원장 재생용 포지션 상태 — 스냅샷에서 시작해 이벤트를 순서대로 적용한다.
+ * 계산식은 Position.addEntry / addPartialClose / completeClose와 동일해야 한다.
+ */
+@Getter
+public class PositionLedgerState {
+
+    private long sequence;
+    private BigDecimal avgEntryPrice;
+    private BigDecimal currentSize;
+    private BigDecimal openFee;
+    private BigDecimal closedFee;
+    private BigDecimal closedSize;
+    private BigDecimal avgExitPrice;
+    private BigDecimal realizedPnl;
+    private PositionStatus status;
+    private LocalDateTime exitTime;
+
+    public static PositionLedgerState empty() {
+        return new PositionLedgerState();
+    }
+
+    public static PositionLedgerState from(PositionSnapshot snapshot) {
+        PositionLedgerState state = new PositionLedgerState();
+        state.sequence = snapshot.getSequence();
+        state.avgEntryPrice = snapshot.getAvgEntryPrice();
+        state.currentSize = snapshot.getCurrentSize();
+        state.openFee = snapshot.getOpenFee();
+        state.closedFee = snapshot.getClosedFee();
+        state.closedSize = snapshot.getClosedSize();
+        state.avgExitPrice = snapshot.getAvgExitPrice();
+        state.realizedPnl = snapshot.getRealizedPnl();
+        state.status = snapshot.getStatus();
+        state.exitTime = snapshot.getExitTime();
+        return state;
+    }
+
+    public void apply(PositionLedgerEvent event) {
+        switch (event.getEventType()) {
+            case OPEN -> {
+                avgEntryPrice = event.getPrice();
+                currentSize = event.getQuantity();
+                openFee = event.getFee();
+                status = PositionStatus.OPEN;
+            }
+            case ENTRY -> addEntry(event.getPrice(), event.getQuantity(), event.getFee());
+            case PARTIAL_CLOSE -> addPartialClose(event.getPrice(), event.getQuantity(),
+                    event.getFee(), event.getRealizedPnl());
+            case CLOSE -> {
+                addPartialClose(event.getPrice(), event.getQuantity(), event.getFee(), event.getRealizedPnl());
+                exitTime = event.getEventTime();
+                currentSize = BigDecimal.ZERO;
+                status = PositionStatus.CLOSED;
+            }
+            // 재계산 결과는 같은 sequence의 스냅샷에 담겨 있어 재생 대상이 아님
+            case RECALCULATED -> { }
+        }
+        sequence = event.getSequence();
+    }
+
+    /**
+     * 저장된 포지션 컬럼과 재생 결과가 일치하는지 (감사용)
+     */
+    public boolean matches(Position position) {
+        return sameValue(avgEntryPrice, position.getAvgEntryPrice())
+                && sameValue(currentSize, position.getCurrentSize())
+                && sameValue(openFee, position.getOpenFee())
+                && sameValue(closedFee, position.getClosedFee())
+                && sameValue(closedSize, position.getClosedSize())
+                && sameValue(avgExitPrice, position.getAvgExitPrice())
+                && sameValue(realizedPnl, position.getRealizedPnl())
+                && status == position.getStatus();
+    }
+
+    private void addEntry(BigDecimal price, BigDecimal qty, BigDecimal fee) {
+        BigDecimal prevSize = currentSize;
+        currentSize = prevSize.add(qty);
+        avgEntryPrice = FixedPoint.weightedAverage(avgEntryPrice, prevSize, price, qty, currentSize);
+        openFee = (openFee != null ? openFee : BigDecimal.ZERO).add(fee != null ? fee : BigDecimal.ZERO);
+    }
+
+    private void addPartialClose(BigDecimal price, BigDecimal qty, BigDecimal fee, BigDecimal pnl) {
+        BigDecimal prevClosedSize = closedSize != null ? closedSize : BigDecimal.ZERO;
+        BigDecimal prevAvgExitPrice = avgExitPrice != null ? avgExitPrice : BigDecimal.ZERO;
+
+        closedSize = prevClosedSize.add(qty);
+        avgExitPrice = FixedPoint.weightedAverage(prevAvgExitPrice, prevClosedSize, price, qty, closedSize);
+        currentSize = currentSize.subtract(qty);
+        closedFee = (closedFee != null ? closedFee : BigDecimal.ZERO).add(fee != null ? fee : BigDecimal.ZERO);
+        realizedPnl = (realizedPnl != null ? realizedPnl : BigDecimal.ZERO).add(pnl != null ? pnl : BigDecimal.ZERO);
+    }
+
+    // DB numeric(20,8) 왕복 시 scale이 달라지므로 compareTo로 비교
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) return Objects.equals(a, b);
+        return a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,110 @@
+package hello.tradexserver.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 포지션 재구성용 락 테이블 — apiKeyId+symbol 단위 직렬화.
+ * 고정 개수의 stripe 락을 사용하므로 거래된 심볼 수와 무관하게 메모리가 일정하고,
+ * 키 문자열을 만들지 않고 해시만으로 stripe를 고른다.
+ * 경합이 발생한 경우에만 키를 기록해 주기적으로 핫 심볼을 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PositionLockManager {
+
+    // 경합 기록 키 최대 개수 — 보고 주기마다 초기화
+    private static final int MAX_TRACKED_HOT_KEYS = 1000;
+    private static final int HOT_KEY_REPORT_LIMIT = 10;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${position.lock.stripes:1024}")
+    private int stripeCount;
+
+    private ReentrantLock[] stripes;
+    private int mask;
+
+    private final ConcurrentHashMap<String, LongAdder> contendedKeys = new ConcurrentHashMap<>();
+    private Counter contendedCounter;
+    private Timer waitTimer;
+
+    @PostConstruct
+    public void init() {
+        // 2의 거듭제곱으로 맞춰 나머지 연산 대신 비트 마스크 사용
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+
+        contendedCounter = Counter.builder("position.lock.contended")
+                .description("다른 스레드가 보유 중이라 대기한 락 획득 수")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("position.lock.wait")
+                .description("경합 시 락 대기 시간")
+                .register(meterRegistry);
+    }
+
+    public void runLocked(Long apiKeyId, String symbol, Runnable task) {
+        ReentrantLock lock = stripes[indexOf(apiKeyId, symbol)];
+        if (!lock.tryLock()) {
+            long start = System.nanoTime();
+            lock.lock();
+            recordContention(apiKeyId, symbol, System.nanoTime() - start);
+        }
+        try {
+            task.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 경합이 잦았던 키 상위 N개를 로그로 남기고 초기화
+     */
+    @Scheduled(fixedDelayString = "${position.lock.report-interval-ms:300000}")
+    public void reportHotKeys() {
+        if (contendedKeys.isEmpty()) return;
+
+        String hotKeys = contendedKeys.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(HOT_KEY_REPORT_LIMIT)
+                .map(e -> e.getKey() + "=" + e.getValue().sum())
+                .collect(Collectors.joining(", "));
+        log.info("[PositionLock] 경합 상위 키 - {}", hotKeys);
+        contendedKeys.clear();
+    }
+
+    private int indexOf(Long apiKeyId, String symbol) {
+        int hash = 31 * Long.hashCode(apiKeyId) + symbol.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & mask;
+    }
+
+    private void recordContention(Long apiKeyId, String symbol, long waitNanos) {
+        contendedCounter.increment();
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        // 경합 시에만 키 문자열 생성 — 상한을 넘으면 새 키는 기록하지 않음
+        if (contendedKeys.size() < MAX_TRACKED_HOT_KEYS) {
+            contendedKeys.computeIfAbsent(apiKeyId + ":" + symbol, k -> new LongAdder()).increment();
+        }
+    }
+}
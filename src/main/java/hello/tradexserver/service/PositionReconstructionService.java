@@ -3,6 +3,7 @@ package hello.tradexserver.service;
 import hello.tradexserver.domain.Order;
 import hello.tradexserver.domain.Position;
 import hello.tradexserver.domain.TradingJournal;
+import hello.tradexserver.domain.enums.LedgerEventType;
 import hello.tradexserver.domain.enums.OrderSide;
 import hello.tradexserver.domain.enums.PositionEffect;
 import hello.tradexserver.domain.enums.PositionSide;
@@ -15,6 +16,8 @@ import hello.tradexserver.repository.TradingJournalRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +25,7 @@ import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
 
 @Slf4j
 @Service
@@ -34,8 +36,11 @@ public class PositionReconstructionService {
     private final OrderRepository orderRepository;
     private final TradingJournalRepository tradingJournalRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final OpenPositionCache openPositionCache;
+    private final PositionLockManager positionLockManager;
+    private final PositionLedgerService positionLedgerService;
 
-    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private static final int DEFAULT_PAGE_SIZE = 500;
 
     /**
      * 단건 오더 처리 — 실시간 WS용.
@@ -47,14 +52,8 @@ public class PositionReconstructionService {
             return;
         }
 
-        String lockKey = order.getExchangeApiKey().getId() + "_" + order.getSymbol();
-        ReentrantLock lock = locks.computeIfAbsent(lockKey, k -> new ReentrantLock());
-        lock.lock();
-        try {
-            processOrderInternal(order);
-        } finally {
-            lock.unlock();
-        }
+        positionLockManager.runLocked(order.getExchangeApiKey().getId(), order.getSymbol(),
+                () -> processOrderInternal(order));
     }
 
     /**
@@ -69,18 +68,52 @@ public class PositionReconstructionService {
     }
 
     /**
-     * 전체 재구성 — 서버 시작 복구용.
-     * 해당 apiKey의 미매핑 오더를 시간순으로 재처리.
+     * 전체 재구성 — 해당 apiKey의 미매핑 오더를 시간순으로 재처리.
+     */
+    public long fullReconstruction(Long apiKeyId) {
+        return fullReconstruction(apiKeyId, DEFAULT_PAGE_SIZE, processed -> {});
+    }
+
+    /**
+     * 전체 재구성 — 서버 시작 복구용 (PositionRecoveryService).
+     * 미매핑 오더를 (fillTime, id) 순으로 pageSize씩 끊어 읽어 순차 처리하므로
+     * 오더 수와 무관하게 한 번에 한 페이지만 메모리에 올린다.
+     * 처리 중 예외가 나면 이후 오더의 포지션이 어긋나므로 해당 apiKey는 중단한다.
+     *
+     * @param onProcessed 페이지 처리 후 처리 건수 콜백 (진행률 집계용)
+     * @return 처리한 오더 수
      */
-    public void fullReconstruction(Long apiKeyId) {
-        List<Order> unmappedOrders = orderRepository.findUnmappedOrdersByApiKeyId(apiKeyId);
-        if (unmappedOrders.isEmpty()) {
+    public long fullReconstruction(Long apiKeyId, int pageSize, LongConsumer onProcessed) {
+        Pageable page = PageRequest.of(0, pageSize);
+        List<Order> orders = orderRepository.findUnmappedOrdersByApiKeyId(apiKeyId, page);
+        if (orders.isEmpty() && orderRepository.findUnmappedOrdersWithoutFillTime(apiKeyId).isEmpty()) {
             log.info("[Reconstruction] 미매핑 오더 없음 - apiKeyId: {}", apiKeyId);
-            return;
+            return 0;
         }
-        log.info("[Reconstruction] 전체 재구성 시작 - apiKeyId: {}, {}건", apiKeyId, unmappedOrders.size());
-        unmappedOrders.forEach(this::processOrder);
-        log.info("[Reconstruction] 전체 재구성 완료 - apiKeyId: {}", apiKeyId);
+
+        log.info("[Reconstruction] 전체 재구성 시작 - apiKeyId: {}", apiKeyId);
+        long total = 0;
+        while (!orders.isEmpty()) {
+            orders.forEach(this::processOrder);
+            total += orders.size();
+            onProcessed.accept(orders.size());
+
+            if (orders.size() < pageSize) break;
+            Order last = orders.get(orders.size() - 1);
+            orders = orderRepository.findUnmappedOrdersByApiKeyIdAfter(
+                    apiKeyId, last.getFillTime(), last.getId(), page);
+        }
+
+        // fillTime 없는 오더는 기존과 동일하게 마지막에 처리
+        List<Order> withoutFillTime = orderRepository.findUnmappedOrdersWithoutFillTime(apiKeyId);
+        if (!withoutFillTime.isEmpty()) {
+            withoutFillTime.forEach(this::processOrder);
+            total += withoutFillTime.size();
+            onProcessed.accept(withoutFillTime.size());
+        }
+
+        log.info("[Reconstruction] 전체 재구성 완료 - apiKeyId: {}, {}건", apiKeyId, total);
+        return total;
     }
 
     @Transactional
@@ -105,10 +138,8 @@ public class PositionReconstructionService {
 
     private void handleOneWayMode(Order order) {
         Long apiKeyId = order.getExchangeApiKey().getId();
-        List<Position> openPositions = positionRepository.findOpenPositionsByApiKeyAndSymbol(
-                apiKeyId, order.getSymbol());
-
-        Position existingPosition = openPositions.isEmpty() ? null : openPositions.get(0);
+        Position existingPosition = openPositionCache.findOpenBySymbol(apiKeyId, order.getSymbol())
+                .orElse(null);
 
         if (existingPosition == null) {
             // 기존 OPEN 포지션 없음 → 신규 진입
@@ -130,7 +161,7 @@ public class PositionReconstructionService {
     private void handleEntry(Order order, PositionSide positionSide) {
         Long apiKeyId = order.getExchangeApiKey().getId();
 
-        Optional<Position> existingOpt = positionRepository.findOpenPositionByApiKey(
+        Optional<Position> existingOpt = openPositionCache.findOpen(
                 apiKeyId, order.getSymbol(), positionSide);
 
         if (existingOpt.isPresent()) {
@@ -141,6 +172,7 @@ public class PositionReconstructionService {
             order.correctPositionEffect(PositionEffect.OPEN);
             positionRepository.save(existing);
             orderRepository.save(order);
+            positionLedgerService.record(existing, LedgerEventType.ENTRY, order, order.getFilledQuantity());
             log.info("[Reconstruction] 추가 진입 - positionId: {}, symbol: {}, newSize: {}",
                     existing.getId(), existing.getSymbol(), existing.getCurrentSize());
         } else {
@@ -158,6 +190,7 @@ public class PositionReconstructionService {
                     .status(PositionStatus.OPEN)
                     .build();
             positionRepository.save(newPosition);
+            openPositionCache.onOpened(newPosition);
 
             // 매매일지 자동 생성
             TradingJournal journal = TradingJournal.builder()
@@ -169,6 +202,7 @@ public class PositionReconstructionService {
             order.assignToPosition(newPosition);
             order.correctPositionEffect(PositionEffect.OPEN);
             orderRepository.save(order);
+            positionLedgerService.record(newPosition, LedgerEventType.OPEN, order, order.getFilledQuantity());
             log.info("[Reconstruction] 신규 포지션 생성 - symbol: {}, side: {}, size: {}",
                     newPosition.getSymbol(), positionSide, order.getFilledQuantity());
 
@@ -219,7 +253,7 @@ public class PositionReconstructionService {
 
     private void handleExitHedge(Order order, PositionSide positionSide) {
         Long apiKeyId = order.getExchangeApiKey().getId();
-        Optional<Position> existingOpt = positionRepository.findOpenPositionByApiKey(
+        Optional<Position> existingOpt = openPositionCache.findOpen(
                 apiKeyId, order.getSymbol(), positionSide);
 
         if (existingOpt.isEmpty()) {
@@ -256,6 +290,7 @@ public class PositionReconstructionService {
         order.correctPositionEffect(PositionEffect.CLOSE);
         positionRepository.save(position);
         orderRepository.save(order);
+        positionLedgerService.record(position, LedgerEventType.PARTIAL_CLOSE, order, exitQty);
         log.info("[Reconstruction] 부분 청산 - positionId: {}, symbol: {}, closedQty: {}, remainingSize: {}",
                 position.getId(), position.getSymbol(), exitQty, position.getCurrentSize());
     }
@@ -269,6 +304,8 @@ public class PositionReconstructionService {
         order.correctPositionEffect(PositionEffect.CLOSE);
         positionRepository.save(position);
         orderRepository.save(order);
+        positionLedgerService.record(position, LedgerEventType.CLOSE, order, exitQty);
+        openPositionCache.onClosed(position);
 
         log.info("[Reconstruction] 포지션 종료 - positionId: {}, symbol: {}, pnl: {}",
                 position.getId(), position.getSymbol(), position.getRealizedPnl());
@@ -279,6 +316,8 @@ public class PositionReconstructionService {
                 .symbol(position.getSymbol())
                 .side(position.getSide())
                 .realizedPnl(position.getRealizedPnl())
+                .exchangeName(order.getExchangeName())
+                .exchangeFillTime(order.getReceivedAt() != null ? order.getFillTime() : null)
                 .build());
     }
 }
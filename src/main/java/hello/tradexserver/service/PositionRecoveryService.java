@@ -0,0 +1,166 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.config.PositionRecoveryProperties;
+import hello.tradexserver.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 서버 시작 복구 — apiKey별 미매핑 오더 전체 재구성을 병렬로 수행.
+ * - apiKey 간에는 독립적이므로 고정 크기 풀에서 동시에 처리
+ * - apiKey 내부는 한 작업이 fillTime 순으로 순차 처리 (순서 보장)
+ * - 미매핑 오더가 많은 apiKey부터 제출해 마지막 키가 혼자 오래 도는 것을 줄인다
+ * - 주기적으로 진행률과 ETA를 로그로 남기고 Micrometer로 노출
+ * 시작 복구는 옵트인이며, WebSocketInitializer가 WebSocket 연결 전에 동기로 호출한다
+ * → 재구성과 연결 직후 gap fill이 같은 apiKey를 동시에 처리하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PositionRecoveryService {
+
+    private final PositionReconstructionService positionReconstructionService;
+    private final OrderRepository orderRepository;
+    private final PositionRecoveryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong totalOrders = new AtomicLong();
+    private final AtomicLong processedOrders = new AtomicLong();
+
+    private record RecoveryTarget(Long apiKeyId, long unmappedCount) {}
+
+    /**
+     * 부트스트랩 시작 복구 — 이 노드가 담당하는 apiKey만 재구성하고 끝날 때까지 반환하지 않는다.
+     */
+    public void recoverOnStartup(Predicate<Long> apiKeyFilter) {
+        if (!properties.isEnabled()) {
+            log.debug("[Recovery] 시작 복구 비활성화");
+            return;
+        }
+        recoverAll(apiKeyFilter);
+    }
+
+    /**
+     * 미매핑 오더가 있는 apiKey 중 조건에 맞는 키를 재구성. 이미 실행 중이면 무시.
+     */
+    public void recoverAll(Predicate<Long> apiKeyFilter) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("[Recovery] 이미 복구 진행 중 - skip");
+            return;
+        }
+        try {
+            List<RecoveryTarget> targets = findTargets(apiKeyFilter);
+            if (targets.isEmpty()) {
+                log.info("[Recovery] 미매핑 오더 없음");
+                return;
+            }
+            run(targets);
+        } catch (Exception e) {
+            log.error("[Recovery] 복구 실패", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private List<RecoveryTarget> findTargets(Predicate<Long> apiKeyFilter) {
+        List<RecoveryTarget> targets = new ArrayList<>();
+        for (Object[] row : orderRepository.countUnmappedOrdersGroupByApiKey()) {
+            Long apiKeyId = (Long) row[0];
+            if (!apiKeyFilter.test(apiKeyId)) continue;
+            targets.add(new RecoveryTarget(apiKeyId, ((Number) row[1]).longValue()));
+        }
+        targets.sort(Comparator.comparingLong(RecoveryTarget::unmappedCount).reversed());
+        return targets;
+    }
+
+    private void run(List<RecoveryTarget> targets) throws InterruptedException {
+        long total = targets.stream().mapToLong(RecoveryTarget::unmappedCount).sum();
+        totalOrders.set(total);
+        processedOrders.set(0);
+        registerMetrics();
+
+        int threads = Math.max(1, Math.min(properties.getParallelism(), targets.size()));
+        log.info("[Recovery] 전체 재구성 시작 - apiKey: {}개, 미매핑 오더: {}건, 병렬도: {}",
+                targets.size(), total, threads);
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "position-recovery-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        AtomicInteger completedKeys = new AtomicInteger();
+        AtomicInteger failedKeys = new AtomicInteger();
+        Timer keyTimer = meterRegistry.timer("position.recovery.key");
+        long startNanos = System.nanoTime();
+
+        for (RecoveryTarget target : targets) {
+            pool.execute(() -> {
+                long keyStart = System.nanoTime();
+                try {
+                    positionReconstructionService.fullReconstruction(
+                            target.apiKeyId(), properties.getPageSize(), processedOrders::addAndGet);
+                } catch (Exception e) {
+                    failedKeys.incrementAndGet();
+                    log.error("[Recovery] apiKey 재구성 실패 - apiKeyId: {}", target.apiKeyId(), e);
+                } finally {
+                    keyTimer.record(System.nanoTime() - keyStart, TimeUnit.NANOSECONDS);
+                    completedKeys.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+
+        while (!pool.awaitTermination(properties.getProgressLogIntervalMs(), TimeUnit.MILLISECONDS)) {
+            logProgress(startNanos, completedKeys.get(), targets.size());
+        }
+
+        log.info("[Recovery] 전체 재구성 완료 - apiKey: {}개 (실패 {}), 처리 오더: {}건, 소요: {}s",
+                targets.size(), failedKeys.get(), processedOrders.get(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toSeconds());
+    }
+
+    private void logProgress(long startNanos, int completedKeys, int totalKeys) {
+        long processed = processedOrders.get();
+        long total = Math.max(totalOrders.get(), processed);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        String eta = "-";
+        if (processed > 0) {
+            long remainingMs = elapsedMs * (total - processed) / processed;
+            eta = Duration.ofMillis(remainingMs).toSeconds() + "s";
+        }
+        log.info("[Recovery] 진행 - apiKey: {}/{}, 오더: {}/{} ({}%), ETA: {}",
+                completedKeys, totalKeys, processed, total,
+                total == 0 ? 100 : processed * 100 / total, eta);
+    }
+
+    private void registerMetrics() {
+        // 동일 이름 재등록 시 기존 Gauge가 반환되므로 최초 1회만 실제 등록됨
+        Gauge.builder("position.recovery.remaining", this,
+                        s -> Math.max(0, s.totalOrders.get() - s.processedOrders.get()))
+                .description("시작 복구에서 남은 미매핑 오더 수")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,157 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.PositionDailyRollup;
+import hello.tradexserver.domain.User;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.PositionStatus;
+import hello.tradexserver.repository.PositionDailyRollupRepository;
+import hello.tradexserver.repository.PositionRepository;
+import hello.tradexserver.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 종료 포지션 일별 집계(position_daily_rollups) 유지.
+ * - 포지션 종료/수정/삭제/재계산: 영향받은 (거래소, 심볼, 종료일) 버킷만 포지션으로 다시 계산
+ * - 집계 행이 하나도 없는 사용자: 첫 조회 또는 첫 종료 시 전체 생성 (이후로는 버킷 갱신만)
+ * 사용자 행 비관적 락으로 같은 사용자의 갱신을 직렬화한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PositionRollupService {
+
+    private final PositionDailyRollupRepository rollupRepository;
+    private final PositionRepository positionRepository;
+    private final UserRepository userRepository;
+    private final AnalysisResultCache analysisResultCache;
+
+    /**
+     * 집계 버킷 — 종료 시각이 없는 포지션은 버킷 없음
+     */
+    public record Bucket(ExchangeName exchangeName, String symbol, LocalDate statDate) {
+
+        public static Bucket of(Position position) {
+            if (position.getExitTime() == null) return null;
+            return new Bucket(position.getExchangeName(), position.getSymbol(),
+                    position.getExitTime().toLocalDate());
+        }
+    }
+
+    /**
+     * 포지션 종료 이벤트 → 해당 버킷 재계산
+     */
+    public void onPositionClosed(Long positionId) {
+        positionRepository.findById(positionId).ifPresent(position ->
+                refresh(position.getUser().getId(), Bucket.of(position)));
+    }
+
+    /**
+     * 버킷 재계산 (null은 무시) — 수정 전후 버킷을 함께 넘긴다
+     */
+    public void refresh(Long userId, Bucket... buckets) {
+        Set<Bucket> targets = new LinkedHashSet<>();
+        for (Bucket bucket : buckets) {
+            if (bucket != null) targets.add(bucket);
+        }
+        if (targets.isEmpty()) return;
+
+        userRepository.findByIdForUpdate(userId);
+        analysisResultCache.evictUser(userId);
+        if (!rollupRepository.existsByUserId(userId)) {
+            rebuild(userId);
+            return;
+        }
+
+        for (Bucket bucket : targets) {
+            List<Object[]> rows = positionRepository.aggregateDailyRollups(userId,
+                    bucket.exchangeName().name(), bucket.symbol(),
+                    bucket.statDate().atStartOfDay(), bucket.statDate().plusDays(1).atStartOfDay());
+            PositionDailyRollup existing = rollupRepository.findByUserIdAndExchangeNameAndSymbolAndStatDate(
+                    userId, bucket.exchangeName(), bucket.symbol(), bucket.statDate()).orElse(null);
+
+            if (rows.isEmpty()) {
+                if (existing != null) rollupRepository.delete(existing);
+                continue;
+            }
+            PositionDailyRollup computed = toRollup(userId, rows.get(0));
+            if (existing != null) {
+                existing.overwrite(computed);
+            } else {
+                rollupRepository.save(computed);
+            }
+        }
+    }
+
+    /**
+     * 조회 전 호출 — 집계 행이 없는데 종료 포지션이 있으면 전체 생성
+     */
+    public void ensureBackfilled(Long userId) {
+        if (rollupRepository.existsByUserId(userId)) return;
+        if (!positionRepository.existsByUserIdAndStatus(userId, PositionStatus.CLOSED)) return;
+
+        userRepository.findByIdForUpdate(userId);
+        if (!rollupRepository.existsByUserId(userId)) {
+            rebuild(userId);
+        }
+    }
+
+    /**
+     * 사용자 종료 포지션 전체로 집계 행을 다시 만든다
+     */
+    public void rebuild(Long userId) {
+        userRepository.findByIdForUpdate(userId);
+        rollupRepository.deleteByUserIdInBulk(userId);
+
+        List<PositionDailyRollup> rollups = new ArrayList<>();
+        for (Object[] row : positionRepository.aggregateDailyRollups(userId, null, null, null, null)) {
+            rollups.add(toRollup(userId, row));
+        }
+        rollupRepository.saveAll(rollups);
+        log.info("[PositionRollup] 일별 집계 생성 - userId: {}, 버킷: {}건", userId, rollups.size());
+    }
+
+    private PositionDailyRollup toRollup(Long userId, Object[] row) {
+        User user = userRepository.getReferenceById(userId);
+        return PositionDailyRollup.builder()
+                .user(user)
+                .exchangeName(ExchangeName.valueOf(row[0].toString()))
+                .symbol(row[1].toString())
+                .statDate(toLocalDate(row[2]))
+                .tradeCount(toInt(row[3]))
+                .winCount(toInt(row[4]))
+                .lossCount(toInt(row[5]))
+                .realizedPnl(toDecimal(row[6]))
+                .longCount(toInt(row[7]))
+                .longPnl(toDecimal(row[8]))
+                .shortCount(toInt(row[9]))
+                .shortPnl(toDecimal(row[10]))
+                .volume(toDecimal(row[11]))
+                .build();
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) return date.toLocalDate();
+        return (LocalDate) Objects.requireNonNull(value);
+    }
+
+    private int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private BigDecimal toDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+}
@@ -32,6 +32,10 @@ public class PositionService {
     private final TradingJournalRepository tradingJournalRepository;
     private final UserRepository userRepository;
     private final ExchangeApiKeyRepository exchangeApiKeyRepository;
+    private final RiskPatternService riskPatternService;
+    private final PositionRollupService positionRollupService;
+    private final AnalysisResultCache analysisResultCache;
+    private final PositionLedgerService positionLedgerService;
 
     /**
      * 포지션 수동 생성 → TradingJournal 자동 생성
@@ -80,6 +84,7 @@ public class PositionService {
             throw new BusinessException(ErrorCode.EXCHANGE_POSITION_IMMUTABLE);
         }
 
+        PositionRollupService.Bucket before = PositionRollupService.Bucket.of(position);
         position.update(
                 request.getAvgEntryPrice(), request.getAvgExitPrice(),
                 request.getCurrentSize(), request.getLeverage(),
@@ -88,6 +93,9 @@ public class PositionService {
         );
 
         positionRepository.save(position);
+        riskPatternService.markStale(userId);
+        positionRollupService.refresh(userId, before, PositionRollupService.Bucket.of(position));
+        analysisResultCache.evictUser(userId);
         log.info("[PositionService] 포지션 수정 - userId: {}, positionId: {}", userId, positionId);
 
         return PositionResponse.from(position);
@@ -104,7 +112,13 @@ public class PositionService {
             throw new BusinessException(ErrorCode.EXCHANGE_POSITION_IMMUTABLE);
         }
 
+        PositionRollupService.Bucket bucket = PositionRollupService.Bucket.of(position);
+        // 오더 재계산으로 남은 원장/스냅샷 행이 position_id FK로 삭제를 막지 않도록 먼저 삭제
+        positionLedgerService.deleteByPositionId(positionId);
         positionRepository.delete(position);
+        riskPatternService.markStale(userId);
+        positionRollupService.refresh(userId, bucket);
+        analysisResultCache.evictUser(userId);
         log.info("[PositionService] 포지션 삭제 - userId: {}, positionId: {}", userId, positionId);
     }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package hello.tradexserver.service;
 import hello.tradexserver.domain.ExchangeApiKey;
 import hello.tradexserver.domain.Position;
 import hello.tradexserver.openApi.webSocket.PositionListener;
-import hello.tradexserver.repository.ExchangeApiKeyRepository;
 import hello.tradexserver.repository.PositionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,11 +17,12 @@ import java.util.Optional;
 public class PositionTrackingService implements PositionListener {
 
     private final PositionRepository positionRepository;
-    private final ExchangeApiKeyRepository exchangeApiKeyRepository;
+    private final OpenPositionCache openPositionCache;
 
     /**
      * 보조 역할: 기존 OPEN 포지션의 leverage, TP/SL만 업데이트.
      * 포지션 생성/종료는 PositionReconstructionService가 오더 기반으로 처리.
+     * OPEN 포지션 식별은 캐시로, 갱신은 조회 없이 단건 UPDATE로 처리한다.
      */
     @Override
     @Transactional
@@ -30,22 +30,16 @@ public class PositionTrackingService implements PositionListener {
         ExchangeApiKey apiKey = wsPosition.getExchangeApiKey();
         if (apiKey == null) return;
 
-        ExchangeApiKey freshApiKey = exchangeApiKeyRepository.findById(apiKey.getId())
-                .orElse(null);
-        if (freshApiKey == null) return;
-
-        Optional<Position> existingOpt = positionRepository.findOpenPositionByApiKey(
-                freshApiKey.getId(), wsPosition.getSymbol(), wsPosition.getSide()
+        Optional<Long> positionIdOpt = openPositionCache.findOpenId(
+                apiKey.getId(), wsPosition.getSymbol(), wsPosition.getSide()
         );
 
-        if (existingOpt.isPresent()) {
-            Position existing = existingOpt.get();
-            existing.updateLeverage(wsPosition.getLeverage());
-            existing.updateTargetPrice(wsPosition.getTargetPrice());
-            existing.updateStopLossPrice(wsPosition.getStopLossPrice());
-            positionRepository.save(existing);
+        if (positionIdOpt.isPresent()) {
+            Long positionId = positionIdOpt.get();
+            positionRepository.updateRiskParams(positionId, wsPosition.getLeverage(),
+                    wsPosition.getTargetPrice(), wsPosition.getStopLossPrice());
             log.debug("[PositionTracking] 보조 업데이트 - id: {}, symbol: {}, leverage: {}",
-                    existing.getId(), existing.getSymbol(), wsPosition.getLeverage());
+                    positionId, wsPosition.getSymbol(), wsPosition.getLeverage());
         } else {
             log.debug("[PositionTracking] OPEN 포지션 없음, skip - symbol: {}, side: {}",
                     wsPosition.getSymbol(), wsPosition.getSide());
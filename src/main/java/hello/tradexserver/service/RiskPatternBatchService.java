@@ -0,0 +1,45 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.repository.RiskPatternRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RiskPatternBatchService {
+
+    private final RiskPatternRepository riskPatternRepository;
+    private final RiskPatternService riskPatternService;
+
+    /**
+     * 새벽 배치: 증분 유지한 리스크 집계를 전체 재계산 결과와 비교하고 덮어쓴다.
+     * 불일치는 사용자·항목별로 로그에 남긴다 (이벤트 누락 / 동시 갱신 / 종료 순서 역전 확인용).
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void verifyRiskPatterns() {
+        List<Long> userIds = riskPatternRepository.findUserIds();
+
+        log.info("[RiskPatternBatch] 리스크 집계 검증 시작 - 대상 유저: {}명", userIds.size());
+
+        int drifted = 0;
+        int fail = 0;
+        for (Long userId : userIds) {
+            try {
+                if (riskPatternService.rebuild(userId) > 0) {
+                    drifted++;
+                }
+            } catch (Exception e) {
+                log.warn("[RiskPatternBatch] userId={} 리스크 재집계 실패: {}", userId, e.getMessage());
+                fail++;
+            }
+        }
+
+        log.info("[RiskPatternBatch] 리스크 집계 검증 완료 - 대상: {}, 불일치: {}, 실패: {}",
+                userIds.size(), drifted, fail);
+    }
+}
@@ -0,0 +1,192 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.RiskContribution;
+import hello.tradexserver.domain.RiskPattern;
+import hello.tradexserver.domain.TradeColumns;
+import hello.tradexserver.domain.User;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.repository.OrderRepository;
+import hello.tradexserver.repository.PositionRepository;
+import hello.tradexserver.repository.RiskPatternRepository;
+import hello.tradexserver.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 전체 기간 리스크 집계(risk_patterns) 유지.
+ * - 포지션 종료: 해당 포지션 기여분만 전 거래소 행 + 거래소 행에 더함
+ * - 매매일지 수정: 수정 전 기여분을 빼고 수정 후 기여분을 더함
+ * - 증분 반영이 불가능한 경우(집계 없음/stale/진입 시각이 더 늦은 포지션이 먼저 종료됨)는 전체 재집계
+ * 사용자 행 비관적 락으로 같은 사용자의 갱신을 직렬화한다.
+ * 이벤트 누락 등으로 어긋난 값은 RiskPatternBatchService가 매일 전체 재계산과 비교해 바로잡는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RiskPatternService {
+
+    // 재진입/연속 진입 판단에 필요한 앞선 포지션 수
+    private static final int PREDECESSOR_LIMIT = 3;
+
+    private final RiskPatternRepository riskPatternRepository;
+    private final PositionRepository positionRepository;
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final RiskAnalysisService riskAnalysisService;
+    private final AnalysisResultCache analysisResultCache;
+
+    /**
+     * 매매일지 수정 전 상태 — 앞선 포지션은 수정 전후 같은 값을 쓴다
+     */
+    public record JournalEdit(Position position, List<Position> predecessors, RiskContribution before) {}
+
+    /**
+     * 포지션 종료 → 기여분 추가
+     */
+    public void onPositionClosed(Long userId, Long positionId) {
+        lockUser(userId);
+        analysisResultCache.evictUser(userId);
+
+        Position position = positionRepository.findClosedWithJournalById(positionId).orElse(null);
+        if (position == null) {
+            log.warn("[RiskPattern] 종료 포지션 없음 - positionId: {}, 집계 스킵", positionId);
+            return;
+        }
+
+        RiskPattern all = riskPatternRepository.findByUserIdAndExchangeNameIsNull(userId).orElse(null);
+        if (all == null || all.isStale()
+                || positionRepository.existsLaterClosed(userId, position.getExchangeName(),
+                position.getSymbol(), position.getEntryTime(), position.getId())) {
+            rebuild(userId);
+            return;
+        }
+        if (all.getRebuiltAt() != null && position.getUpdatedAt() != null
+                && !position.getUpdatedAt().isAfter(all.getRebuiltAt())) {
+            // 재집계에 이미 포함된 포지션
+            return;
+        }
+
+        List<Order> openOrders = orderRepository.findOpenOrdersByPositionIds(List.of(positionId));
+        RiskContribution contribution = RiskContribution.of(position, findPredecessors(position), openOrders);
+        all.apply(contribution, 1);
+        findOrCreate(userId, position.getExchangeName()).apply(contribution, 1);
+    }
+
+    /**
+     * 매매일지 수정 직전 호출 — 종료되지 않은 포지션이면 null
+     */
+    public JournalEdit beginJournalEdit(Position position) {
+        if (!position.isClosed()) return null;
+        List<Position> predecessors = findPredecessors(position);
+        return new JournalEdit(position, predecessors, RiskContribution.of(position, predecessors, List.of()));
+    }
+
+    /**
+     * 매매일지 수정 반영 — 오더(물타기)는 수정과 무관하므로 전후 모두 제외하고 계산
+     */
+    public void finishJournalEdit(JournalEdit edit) {
+        if (edit == null) return;
+        Long userId = edit.position().getUser().getId();
+        lockUser(userId);
+        analysisResultCache.evictUser(userId);
+
+        RiskPattern all = riskPatternRepository.findByUserIdAndExchangeNameIsNull(userId).orElse(null);
+        if (all == null || all.isStale()) return;
+
+        RiskContribution after = RiskContribution.of(edit.position(), edit.predecessors(), List.of());
+        RiskPattern exchangeRow = findOrCreate(userId, edit.position().getExchangeName());
+        for (RiskPattern row : List.of(all, exchangeRow)) {
+            row.apply(edit.before(), -1);
+            row.apply(after, 1);
+        }
+    }
+
+    public void markStale(Long userId) {
+        riskPatternRepository.markStaleByUserId(userId);
+    }
+
+    /**
+     * 종료 포지션 전체로 다시 합산해 덮어쓴다
+     *
+     * @return 저장돼 있던 값과 달랐던 행 수 (처음 만드는 행은 제외)
+     */
+    public int rebuild(Long userId) {
+        lockUser(userId);
+        LocalDateTime rebuiltAt = LocalDateTime.now();
+
+        TradeColumns columns = riskAnalysisService.loadColumns(userId, null, null, null);
+        RiskPattern expectedAll = columns.riskPattern(null);
+
+        Map<ExchangeName, RiskPattern> stored = new EnumMap<>(ExchangeName.class);
+        RiskPattern storedAll = null;
+        for (RiskPattern row : riskPatternRepository.findByUserId(userId)) {
+            if (row.getExchangeName() == null) storedAll = row;
+            else stored.put(row.getExchangeName(), row);
+        }
+
+        int drifted = overwrite(userId, null, storedAll, expectedAll, rebuiltAt);
+        for (ExchangeName exchangeName : ExchangeName.values()) {
+            RiskPattern expected = columns.riskPattern(exchangeName);
+            RiskPattern row = stored.get(exchangeName);
+            if (expected.getTotalTrades() == 0 && row == null) continue;
+            drifted += overwrite(userId, exchangeName, row, expected, rebuiltAt);
+        }
+        if (drifted > 0) {
+            // 어긋났던 카운터로 만든 전체 기간 응답이 캐시돼 있을 수 있음
+            analysisResultCache.evictUser(userId);
+        }
+        return drifted;
+    }
+
+    private int overwrite(Long userId, ExchangeName exchangeName, RiskPattern row,
+                          RiskPattern expected, LocalDateTime rebuiltAt) {
+        int drifted = 0;
+        if (row == null) {
+            row = riskPatternRepository.save(RiskPattern.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .exchangeName(exchangeName)
+                    .build());
+        } else if (!row.isStale()) {
+            List<String> mismatches = row.mismatches(expected);
+            if (!mismatches.isEmpty()) {
+                log.warn("[RiskPattern] 증분 집계 불일치 - userId: {}, exchange: {}, 항목: {}",
+                        userId, exchangeName != null ? exchangeName : "ALL", mismatches);
+                drifted = 1;
+            }
+        }
+        row.overwrite(expected, rebuiltAt);
+        return drifted;
+    }
+
+    private RiskPattern findOrCreate(Long userId, ExchangeName exchangeName) {
+        Optional<RiskPattern> row = riskPatternRepository.findByUserIdAndExchangeName(userId, exchangeName);
+        return row.orElseGet(() -> {
+            User user = userRepository.getReferenceById(userId);
+            return riskPatternRepository.save(RiskPattern.builder()
+                    .user(user)
+                    .exchangeName(exchangeName)
+                    .build());
+        });
+    }
+
+    private List<Position> findPredecessors(Position position) {
+        return positionRepository.findRiskPredecessors(position.getUser().getId(), position.getExchangeName(),
+                position.getSymbol(), position.getEntryTime(), position.getId(), PageRequest.of(0, PREDECESSOR_LIMIT));
+    }
+
+    private void lockUser(Long userId) {
+        userRepository.findByIdForUpdate(userId);
+    }
+}
@@ -1,10 +1,8 @@
 package hello.tradexserver.service;
 
 import hello.tradexserver.domain.Position;
-import hello.tradexserver.domain.TradingJournal;
+import hello.tradexserver.domain.TradeColumns;
 import hello.tradexserver.domain.enums.ExchangeName;
-import hello.tradexserver.domain.enums.MarketCondition;
-import hello.tradexserver.domain.enums.PositionSide;
 import hello.tradexserver.dto.response.strategy.PerformanceResponse;
 import hello.tradexserver.dto.response.strategy.StrategyAnalysisResponse;
 import hello.tradexserver.dto.response.strategy.StrategyAnalysisResponse.StrategyItem;
@@ -15,7 +13,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.IsoFields;
@@ -28,9 +25,17 @@ import java.util.stream.Collectors;
 public class StrategyAnalysisService {
 
     private final PositionRepository positionRepository;
+    private final AnalysisResultCache analysisResultCache;
 
     public StrategyAnalysisResponse analyze(Long userId, String exchangeName, String period,
                                             LocalDate startDate, LocalDate endDate) {
+        return analysisResultCache.get("strategy", userId, StrategyAnalysisResponse.class,
+                () -> computeStrategies(userId, exchangeName, period, startDate, endDate),
+                exchangeName, period, startDate, endDate, LocalDate.now());
+    }
+
+    private StrategyAnalysisResponse computeStrategies(Long userId, String exchangeName, String period,
+                                                       LocalDate startDate, LocalDate endDate) {
         ExchangeName exchange = exchangeName != null ? ExchangeName.valueOf(exchangeName.toUpperCase()) : null;
         LocalDateTime[] range = resolveRange(period, startDate, endDate);
 
@@ -46,12 +51,8 @@ public class StrategyAnalysisService {
         }
 
         // 매매일지가 있는 포지션만 집계 (일지 없으면 전략 키 구성 불가)
-        Map<StrategyKey, List<Position>> grouped = positions.stream()
-                .filter(p -> p.getTradingJournal() != null)
-                .collect(Collectors.groupingBy(p -> buildKey(p, p.getTradingJournal())));
-
-        List<StrategyItem> strategies = grouped.entrySet().stream()
-                .map(e -> buildItem(e.getKey(), e.getValue()))
+        List<StrategyItem> strategies = TradeColumns.of(positions, Map.of()).strategyStats().stream()
+                .map(this::buildItem)
                 .sorted(Comparator.comparing(StrategyItem::getWinRate,
                         Comparator.nullsLast(Comparator.reverseOrder())))
                 .collect(Collectors.toList());
@@ -68,6 +69,13 @@ public class StrategyAnalysisService {
 
     public PerformanceResponse performance(Long userId, String exchangeName, String period,
                                            LocalDate startDate, LocalDate endDate) {
+        return analysisResultCache.get("performance", userId, PerformanceResponse.class,
+                () -> computePerformance(userId, exchangeName, period, startDate, endDate),
+                exchangeName, period, startDate, endDate, LocalDate.now());
+    }
+
+    private PerformanceResponse computePerformance(Long userId, String exchangeName, String period,
+                                                   LocalDate startDate, LocalDate endDate) {
         ExchangeName exchange = exchangeName != null ? ExchangeName.valueOf(exchangeName.toUpperCase()) : null;
         LocalDateTime[] range = resolveRange(period, startDate, endDate);
 
@@ -84,11 +92,12 @@ public class StrategyAnalysisService {
         }
 
         String granularity = resolveGranularity(period, startDate, endDate, positions);
+        TradeColumns columns = TradeColumns.of(positions, Map.of());
 
         return PerformanceResponse.builder()
                 .granularity(granularity)
-                .data(buildDataPoints(positions, granularity))
-                .summary(buildSummary(positions))
+                .data(buildDataPoints(columns, granularity))
+                .summary(buildSummary(columns))
                 .build();
     }
 
@@ -114,154 +123,58 @@ public class StrategyAnalysisService {
         return "MONTHLY";
     }
 
-    private List<PerformanceResponse.DataPoint> buildDataPoints(List<Position> positions, String granularity) {
-        // exitTime ASC로 이미 정렬된 positions → LinkedHashMap으로 순서 유지
-        Map<String, List<Position>> grouped = new LinkedHashMap<>();
-        for (Position p : positions) {
-            String key = getPeriodKey(p.getExitTime().toLocalDate(), granularity);
-            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(p);
-        }
-
+    private List<PerformanceResponse.DataPoint> buildDataPoints(TradeColumns columns, String granularity) {
+        // exitTime ASC로 이미 정렬된 positions → 구간 순서 유지
         BigDecimal cumulative = BigDecimal.ZERO;
         List<PerformanceResponse.DataPoint> result = new ArrayList<>();
 
-        for (Map.Entry<String, List<Position>> entry : grouped.entrySet()) {
-            String key = entry.getKey();
-            List<Position> group = entry.getValue();
-
-            BigDecimal pnl = group.stream()
-                    .map(p -> p.getRealizedPnl() != null ? p.getRealizedPnl() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            cumulative = cumulative.add(pnl);
-
-            int wins = (int) group.stream()
-                    .filter(p -> p.getRealizedPnl() != null && p.getRealizedPnl().compareTo(BigDecimal.ZERO) > 0)
-                    .count();
-
-            LocalDate[] dateRange = getDateRange(key, granularity);
+        for (TradeColumns.PeriodStats stats : columns.periodStats(granularity)) {
+            cumulative = cumulative.add(stats.pnl());
 
             result.add(PerformanceResponse.DataPoint.builder()
-                    .label(toLabel(key, granularity))
-                    .startDate(dateRange[0].toString())
-                    .endDate(dateRange[1].toString())
-                    .pnl(pnl.setScale(2, RoundingMode.HALF_UP))
+                    .label(toLabel(stats.startDate(), granularity))
+                    .startDate(stats.startDate().toString())
+                    .endDate(stats.endDate().toString())
+                    .pnl(stats.pnl().setScale(2, RoundingMode.HALF_UP))
                     .cumulativePnl(cumulative.setScale(2, RoundingMode.HALF_UP))
-                    .tradeCount(group.size())
-                    .winCount(wins)
-                    .lossCount(group.size() - wins)
+                    .tradeCount(stats.trades())
+                    .winCount(stats.wins())
+                    .lossCount(stats.trades() - stats.wins())
                     .build());
         }
         return result;
     }
 
-    /** 포지션을 단위별 키로 변환 (DAILY: "2026-02-15", WEEKLY: "2026-07", MONTHLY: "2026-02") */
-    private String getPeriodKey(LocalDate date, String granularity) {
-        return switch (granularity) {
-            case "WEEKLY" -> String.format("%d-%02d",
-                    date.get(IsoFields.WEEK_BASED_YEAR),
-                    date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
-            case "MONTHLY" -> String.format("%d-%02d", date.getYear(), date.getMonthValue());
-            default -> date.toString(); // DAILY
-        };
-    }
-
-    /** 응답용 label (WEEKLY만 "2026-W07" 형식으로 변환, 나머지는 key 그대로) */
-    private String toLabel(String key, String granularity) {
-        if ("WEEKLY".equals(granularity)) {
-            String[] parts = key.split("-");
-            return parts[0] + "-W" + parts[1];
-        }
-        return key;
-    }
-
-    private LocalDate[] getDateRange(String key, String granularity) {
+    /** 응답용 label (DAILY: "2026-02-15", WEEKLY: "2026-W07", MONTHLY: "2026-02") */
+    private String toLabel(LocalDate start, String granularity) {
         return switch (granularity) {
-            case "WEEKLY" -> {
-                String[] parts = key.split("-");
-                LocalDate monday = LocalDate.now()
-                        .with(IsoFields.WEEK_BASED_YEAR, Long.parseLong(parts[0]))
-                        .with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, Long.parseLong(parts[1]))
-                        .with(DayOfWeek.MONDAY);
-                yield new LocalDate[]{monday, monday.plusDays(6)};
-            }
-            case "MONTHLY" -> {
-                String[] parts = key.split("-");
-                LocalDate first = LocalDate.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 1);
-                yield new LocalDate[]{first, first.withDayOfMonth(first.lengthOfMonth())};
-            }
-            default -> { // DAILY
-                LocalDate date = LocalDate.parse(key);
-                yield new LocalDate[]{date, date};
-            }
+            case "WEEKLY" -> String.format("%d-W%02d",
+                    start.get(IsoFields.WEEK_BASED_YEAR),
+                    start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case "MONTHLY" -> String.format("%d-%02d", start.getYear(), start.getMonthValue());
+            default -> start.toString(); // DAILY
         };
     }
 
-    private PerformanceResponse.Summary buildSummary(List<Position> positions) {
-        int maxWin = 0, maxLoss = 0, curWin = 0, curLoss = 0;
-        BigDecimal totalPnl = BigDecimal.ZERO;
-
-        for (Position p : positions) {
-            BigDecimal pnl = p.getRealizedPnl() != null ? p.getRealizedPnl() : BigDecimal.ZERO;
-            totalPnl = totalPnl.add(pnl);
-            if (pnl.compareTo(BigDecimal.ZERO) > 0) {
-                curWin++;
-                curLoss = 0;
-                maxWin = Math.max(maxWin, curWin);
-            } else {
-                curLoss++;
-                curWin = 0;
-                maxLoss = Math.max(maxLoss, curLoss);
-            }
-        }
+    private PerformanceResponse.Summary buildSummary(TradeColumns columns) {
+        TradeColumns.StreakStats streaks = columns.streakStats();
 
         return PerformanceResponse.Summary.builder()
-                .maxWinStreak(maxWin)
-                .maxLossStreak(maxLoss)
-                .totalPnl(totalPnl.setScale(2, RoundingMode.HALF_UP))
+                .maxWinStreak(streaks.maxWinStreak())
+                .maxLossStreak(streaks.maxLossStreak())
+                .totalPnl(streaks.totalPnl().setScale(2, RoundingMode.HALF_UP))
                 .build();
     }
 
-    // ──────────────────────────────────────────────────────────────────────────
-    // 전략 키 구성
-    // ──────────────────────────────────────────────────────────────────────────
-
-    private StrategyKey buildKey(Position p, TradingJournal j) {
-        // 리스트 정렬: ["MACD","RSI"] == ["RSI","MACD"] 동일 전략으로 처리
-        return new StrategyKey(
-                sortedList(j.getIndicators()),
-                sortedList(j.getTechnicalAnalyses()),
-                sortedList(j.getTimeframes()),
-                p.getSide(),
-                p.getMarketCondition()
-        );
-    }
-
-    private List<String> sortedList(List<String> list) {
-        if (list == null || list.isEmpty()) return List.of();
-        return list.stream().sorted().toList();
-    }
-
     // ──────────────────────────────────────────────────────────────────────────
     // 전략 항목 집계
     // ──────────────────────────────────────────────────────────────────────────
 
-    private StrategyItem buildItem(StrategyKey key, List<Position> group) {
-        int total = group.size();
-        int wins = 0;
-        BigDecimal profitSum = BigDecimal.ZERO;
-        List<BigDecimal> winPnls = new ArrayList<>();
-        List<BigDecimal> lossPnls = new ArrayList<>();
-
-        for (Position p : group) {
-            BigDecimal pnl = p.getRealizedPnl() != null ? p.getRealizedPnl() : BigDecimal.ZERO;
-            if (pnl.compareTo(BigDecimal.ZERO) > 0) {
-                wins++;
-                winPnls.add(pnl);
-            } else {
-                lossPnls.add(pnl.abs());
-            }
-            profitSum = profitSum.add(pnl);
-        }
+    private StrategyItem buildItem(TradeColumns.StrategyStats stats) {
+        TradeColumns.StrategyKey key = stats.key();
+        int total = stats.trades();
+        int wins = stats.wins();
+        BigDecimal profitSum = stats.pnlSum();
 
         BigDecimal winRate = total > 0
                 ? BigDecimal.valueOf(wins)
@@ -285,17 +198,17 @@ public class StrategyAnalysisService {
                 .lossCount(total - wins)
                 .winRate(winRate)
                 .avgProfit(avgProfit)
-                .avgRrRatio(calcAvgRrRatio(winPnls, lossPnls))
+                .avgRrRatio(calcAvgRrRatio(stats))
                 .build();
     }
 
     /** 평균 R/R = avgWin / avgLoss (실현 손익 기준) */
-    private BigDecimal calcAvgRrRatio(List<BigDecimal> winPnls, List<BigDecimal> lossPnls) {
-        if (winPnls.isEmpty() || lossPnls.isEmpty()) return null;
-        BigDecimal avgWin = winPnls.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(winPnls.size()), 8, RoundingMode.HALF_UP);
-        BigDecimal avgLoss = lossPnls.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(lossPnls.size()), 8, RoundingMode.HALF_UP);
+    private BigDecimal calcAvgRrRatio(TradeColumns.StrategyStats stats) {
+        if (stats.wins() == 0 || stats.losses() == 0) return null;
+        BigDecimal avgWin = stats.winPnlSum()
+                .divide(BigDecimal.valueOf(stats.wins()), 8, RoundingMode.HALF_UP);
+        BigDecimal avgLoss = stats.lossPnlSum()
+                .divide(BigDecimal.valueOf(stats.losses()), 8, RoundingMode.HALF_UP);
         if (avgLoss.compareTo(BigDecimal.ZERO) == 0) return null;
         return avgWin.divide(avgLoss, 4, RoundingMode.HALF_UP);
     }
@@ -320,16 +233,4 @@ public class StrategyAnalysisService {
             default      -> new LocalDateTime[]{ now.minusDays(30), null };
         };
     }
-
-    // ──────────────────────────────────────────────────────────────────────────
-    // 전략 그루핑 키
-    // ──────────────────────────────────────────────────────────────────────────
-
-    private record StrategyKey(
-            List<String> indicators,
-            List<String> technicalAnalyses,
-            List<String> timeframes,
-            PositionSide side,
-            MarketCondition marketCondition
-    ) {}
 }
@@ -49,6 +49,8 @@ public class TradingJournalService {
     private final TradingPrincipleRepository tradingPrincipleRepository;
     private final TradingPrincipleCheckRepository tradingPrincipleCheckRepository;
     private final S3Service s3Service;
+    private final RiskPatternService riskPatternService;
+    private final AnalysisResultCache analysisResultCache;
 
     /**
      * 매매일지 목록 조회 (포지션 요약 포함, 필터링 + 페이지네이션)
@@ -111,6 +113,7 @@ public class TradingJournalService {
         TradingJournal journal = tradingJournalRepository.findByIdAndUserId(journalId, userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.JOURNAL_NOT_FOUND));
 
+        RiskPatternService.JournalEdit riskEdit = riskPatternService.beginJournalEdit(journal.getPosition());
         journal.update(
                 request.getTargetPrice(), request.getStopLoss(),
                 request.getEntryReason(), request.getTargetScenario(),
@@ -121,6 +124,8 @@ public class TradingJournalService {
         if (request.getMarketCondition() != null) {
             journal.getPosition().updateMarketCondition(request.getMarketCondition());
         }
+        riskPatternService.finishJournalEdit(riskEdit);
+        analysisResultCache.evictUser(userId);
 
         if (request.getPrincipleChecks() != null) {
             tradingPrincipleCheckRepository.deleteByTradingJournalId(journalId);
@@ -200,6 +205,8 @@ public class TradingJournalService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.JOURNAL_NOT_FOUND));
 
         tradingJournalRepository.delete(journal);
+        riskPatternService.markStale(userId);
+        analysisResultCache.evictUser(userId);
         log.info("[JournalService] 매매일지 삭제 - userId: {}, journalId: {}", userId, journalId);
     }
 
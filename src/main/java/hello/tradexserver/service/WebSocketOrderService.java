@@ -31,12 +31,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,11 +49,14 @@ public class WebSocketOrderService implements OrderListener {
     private final PositionRepository positionRepository;
     private final ExchangeApiKeyRepository exchangeApiKeyRepository;
     private final PositionReconstructionService positionReconstructionService;
+    private final OpenPositionCache openPositionCache;
     private final Map<String, ExchangeOrderService> orderServiceMap;
     private final BybitRestClient bybitRestClient;
     private final BybitPositionRestService bybitPositionRestService;
     private final BinancePositionRestService binancePositionRestService;
     private final BitgetPositionRestService bitgetPositionRestService;
+    private final GapFillExecutor gapFillExecutor;
+    private final FillLatencyRecorder fillLatencyRecorder;
 
     /**
      * WebSocket으로 수신한 Order를 즉시 DB에 저장
@@ -68,10 +72,59 @@ public class WebSocketOrderService implements OrderListener {
         }
 
         orderRepository.save(order);
+        fillLatencyRecorder.record(FillLatencyRecorder.Stage.PERSISTED, order);
         log.info("[WSOrder] Order 저장 - symbol: {}, side: {}, status: {}, orderId: {}",
                 order.getSymbol(), order.getSide(), order.getStatus(), order.getExchangeOrderId());
 
         positionReconstructionService.processOrder(order);
+        fillLatencyRecorder.record(FillLatencyRecorder.Stage.RECONSTRUCTED, order);
+    }
+
+    /**
+     * 마이크로 배치 저장 — 같은 계정에서 짧은 구간에 모인 오더를 한 번에 처리.
+     * 중복 조회 1회 + JDBC batch insert 1회 후 fillTime 순으로 포지션 재구성.
+     */
+    @Transactional
+    public void onOrdersReceived(ExchangeName exchangeName, List<Order> orders) {
+        List<Order> candidates = orders.stream()
+                .filter(this::shouldSaveOrder)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) return;
+
+        List<String> orderIds = candidates.stream()
+                .map(Order::getExchangeOrderId)
+                .collect(Collectors.toList());
+        Set<String> existing = orderRepository.findExistingOrderIds(exchangeName, orderIds);
+
+        List<Order> toSave = candidates.stream()
+                .filter(o -> !existing.contains(o.getExchangeOrderId()))
+                .collect(Collectors.toList());
+        if (toSave.isEmpty()) {
+            log.debug("[WSOrder] 배치 내 신규 Order 없음 - {}건 모두 중복", candidates.size());
+            return;
+        }
+
+        int inserted = orderRepository.batchInsert(toSave);
+        toSave.forEach(o -> fillLatencyRecorder.record(FillLatencyRecorder.Stage.PERSISTED, o));
+        Map<String, Long> receivedAtById = new HashMap<>();
+        for (Order o : toSave) {
+            if (o.getReceivedAt() != null) receivedAtById.put(o.getExchangeOrderId(), o.getReceivedAt());
+        }
+        List<String> savedIds = toSave.stream()
+                .map(Order::getExchangeOrderId)
+                .collect(Collectors.toList());
+        List<Order> saved = orderRepository.findByExchangeNameAndExchangeOrderIdIn(exchangeName, savedIds);
+        // 다시 읽은 엔티티에 수신 시각을 옮겨 포지션 종료 이벤트까지 지연 측정이 이어지게
+        for (Order o : saved) {
+            Long receivedAt = receivedAtById.get(o.getExchangeOrderId());
+            if (receivedAt != null) o.markReceived(receivedAt);
+        }
+
+        log.info("[WSOrder] Order 배치 저장 - exchange: {}, 수신: {}건, 저장: {}건",
+                exchangeName, orders.size(), inserted);
+
+        positionReconstructionService.processOrdersBatch(saved);
+        toSave.forEach(o -> fillLatencyRecorder.record(FillLatencyRecorder.Stage.RECONSTRUCTED, o));
     }
 
     /**
@@ -87,6 +140,21 @@ public class WebSocketOrderService implements OrderListener {
     @Async
     @Transactional
     public void onReconnected(ExchangeApiKey apiKey, LocalDateTime gapStartTime) {
+        reconcile(apiKey, gapStartTime);
+    }
+
+    /**
+     * onReconnected와 같은 통합 보완 — 조회 실패(GapFillException)면 롤백 후 future를 실패로 완료해
+     * 호출자(OrderIngestionQueue)가 같은 구간을 다시 요청할 수 있게 한다.
+     */
+    @Async
+    @Transactional
+    public CompletableFuture<Void> fillGap(ExchangeApiKey apiKey, LocalDateTime gapStartTime) {
+        reconcile(apiKey, gapStartTime);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void reconcile(ExchangeApiKey apiKey, LocalDateTime gapStartTime) {
         ExchangeApiKey freshApiKey = exchangeApiKeyRepository.findById(apiKey.getId()).orElse(null);
         if (freshApiKey == null) {
             log.warn("[WSOrder] API Key 조회 실패 - apiKeyId: {}", apiKey.getId());
@@ -96,6 +164,9 @@ public class WebSocketOrderService implements OrderListener {
         log.info("[WSOrder] 통합 보완 시작 - apiKeyId: {}, exchange: {}, gapStart: {}",
                 freshApiKey.getId(), freshApiKey.getExchangeName(), gapStartTime);
 
+        // 연결/재연결 시점에 OPEN 포지션 캐시를 DB 기준으로 재적재
+        openPositionCache.reload(freshApiKey.getId());
+
         // 0. gapStartTime 결정: null이면 DB 마지막 오더 시간으로 대체
         LocalDateTime effectiveGapStart = gapStartTime;
         if (effectiveGapStart == null) {
@@ -182,9 +253,13 @@ public class WebSocketOrderService implements OrderListener {
         List<Order> fetched;
         if (apiKey.getExchangeName() == ExchangeName.BINANCE || apiKey.getExchangeName() == ExchangeName.BITGET) {
             Set<String> symbols = collectAllSymbols(apiKey, restPositions);
-            fetched = fetchOrdersBySymbols(orderService, apiKey, symbols, gapStart, now);
+            fetched = gapFillExecutor.fetchOrdersBySymbols(orderService, apiKey, symbols, gapStart, now);
         } else {
-            fetched = orderService.fetchAndConvertOrders(apiKey, null, gapStart, now);
+            try {
+                fetched = orderService.fetchAndConvertOrders(apiKey, null, gapStart, now);
+            } catch (RuntimeException e) {
+                throw new GapFillException(gapStart, Set.of(), e);
+            }
         }
 
         if (fetched.isEmpty()) {
@@ -239,16 +314,6 @@ public class WebSocketOrderService implements OrderListener {
         return symbols;
     }
 
-    private List<Order> fetchOrdersBySymbols(ExchangeOrderService orderService, ExchangeApiKey apiKey,
-                                              Set<String> symbols, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Order> allOrders = new ArrayList<>();
-        for (String symbol : symbols) {
-            List<Order> orders = orderService.fetchAndConvertOrders(apiKey, symbol, startTime, endTime);
-            allOrders.addAll(orders);
-        }
-        return allOrders;
-    }
-
     // ============ 시드 오더 생성 ============
 
     /**
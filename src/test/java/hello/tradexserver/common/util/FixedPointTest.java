@@ -0,0 +1,107 @@
+package hello.tradexserver.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointTest {
+
+    @Nested
+    @DisplayName("weightedAverage")
+    class WeightedAverage {
+
+        @Test
+        @DisplayName("무작위 가격/수량에서 BigDecimal 계산과 scale 8까지 정확히 일치한다")
+        void matchesBigDecimal_random() {
+            Random random = new Random(20240501L);
+            for (int i = 0; i < 200_000; i++) {
+                BigDecimal p1 = randomDecimal(random, 100_000);
+                BigDecimal q1 = randomDecimal(random, 1_000);
+                BigDecimal p2 = randomDecimal(random, 100_000);
+                BigDecimal q2 = randomDecimal(random, 1_000);
+                BigDecimal total = q1.add(q2);
+                if (total.signum() == 0) continue;
+
+                BigDecimal expected = p1.multiply(q1).add(p2.multiply(q2))
+                        .divide(total, 8, RoundingMode.HALF_UP);
+
+                assertThat(FixedPoint.weightedAverage(p1, q1, p2, q2, total)).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("HALF_UP 경계값(나머지가 정확히 절반)은 절댓값이 큰 쪽으로 반올림한다")
+        void halfUp() {
+            // (0.00000001 × 1 + 0 × 1) / 2 = 0.000000005 → 0.00000001
+            BigDecimal result = FixedPoint.weightedAverage(new BigDecimal("0.00000001"), BigDecimal.ONE,
+                    BigDecimal.ZERO, BigDecimal.ONE, new BigDecimal("2"));
+            assertThat(result).isEqualTo(new BigDecimal("0.00000001"));
+
+            BigDecimal negative = FixedPoint.weightedAverage(new BigDecimal("-0.00000001"), BigDecimal.ONE,
+                    BigDecimal.ZERO, BigDecimal.ONE, new BigDecimal("2"));
+            assertThat(negative).isEqualTo(new BigDecimal("-0.00000001"));
+        }
+
+        @Test
+        @DisplayName("소수점 8자리를 넘는 입력은 BigDecimal 계산으로 대체된다")
+        void fallback_whenScaleExceeded() {
+            BigDecimal p1 = new BigDecimal("40000.123456789");
+            BigDecimal q1 = new BigDecimal("0.3");
+            BigDecimal p2 = new BigDecimal("41000");
+            BigDecimal q2 = new BigDecimal("0.7");
+
+            BigDecimal expected = p1.multiply(q1).add(p2.multiply(q2))
+                    .divide(BigDecimal.ONE, 8, RoundingMode.HALF_UP);
+
+            assertThat(FixedPoint.weightedAverage(p1, q1, p2, q2, BigDecimal.ONE)).isEqualTo(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("Notional")
+    class NotionalTest {
+
+        @Test
+        @DisplayName("128bit 누적 후 나눗셈이 BigInteger 계산과 일치한다")
+        void divide_matchesBigInteger() {
+            Random random = new Random(7L);
+            for (int i = 0; i < 200_000; i++) {
+                long price = random.nextLong() >> random.nextInt(24);
+                long qty = random.nextLong() >> (24 + random.nextInt(24));
+                long divisor = random.nextLong() >> (1 + random.nextInt(40));
+                if (divisor == 0) continue;
+
+                BigDecimal expected = new BigDecimal(BigInteger.valueOf(price).multiply(BigInteger.valueOf(qty)), 16)
+                        .divide(new BigDecimal(BigInteger.valueOf(divisor), 8), 8, RoundingMode.HALF_UP);
+                if (expected.unscaledValue().bitLength() >= 63) continue;
+
+                FixedPoint.Notional notional = new FixedPoint.Notional();
+                notional.add(price, qty);
+
+                assertThat(FixedPoint.toDecimal(notional.divide(divisor))).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("0으로 나누면 ArithmeticException")
+        void divide_byZero() {
+            FixedPoint.Notional notional = new FixedPoint.Notional();
+            notional.add(1, 1);
+            assertThatThrownBy(() -> notional.divide(0)).isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    private static BigDecimal randomDecimal(Random random, int maxIntegerPart) {
+        long unscaled = (long) (random.nextDouble() * maxIntegerPart * 100_000_000L);
+        BigDecimal value = BigDecimal.valueOf(unscaled, 8).setScale(random.nextInt(9), RoundingMode.DOWN);
+        return random.nextInt(10) == 0 ? value.negate() : value;
+    }
+}
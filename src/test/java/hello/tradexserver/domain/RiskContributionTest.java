@@ -0,0 +1,101 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.domain.enums.PositionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RiskContributionTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 1, 15, 10, 0, 0);
+
+    @Test
+    @DisplayName("15분 내 연속 진입 4건 체인 — 3번째에서 3건, 4번째에서 1건이 더해져 뇌동매매 4건")
+    void impulsiveChain() {
+        List<Position> positions = List.of(
+                pos(1L, "BTCUSDT", PositionSide.LONG, "10", T, T.plusMinutes(5), null),
+                pos(2L, "BTCUSDT", PositionSide.LONG, "10", T.plusMinutes(10), T.plusMinutes(15), null),
+                pos(3L, "BTCUSDT", PositionSide.LONG, "10", T.plusMinutes(20), T.plusMinutes(25), null),
+                pos(4L, "BTCUSDT", PositionSide.LONG, "10", T.plusMinutes(30), T.plusMinutes(35), null),
+                pos(5L, "BTCUSDT", PositionSide.LONG, "10", T.plusHours(5), T.plusHours(6), null)
+        );
+
+        List<RiskContribution> contributions = RiskContribution.ofAll(positions, Map.of());
+
+        assertThat(contributions).extracting(RiskContribution::impulsiveTrades).containsExactly(0, 0, 3, 1, 0);
+        assertThat(sum(contributions).getConsecutiveEntryCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("손절 후 15분 내 계획 없는 반대 방향 재진입 — 감정 매매 + 역포지션, 다른 심볼은 무관")
+    void reEntryAfterLoss() {
+        List<Position> positions = List.of(
+                pos(1L, "BTCUSDT", PositionSide.LONG, "-50", T, T.plusMinutes(30), null),
+                pos(2L, "ETHUSDT", PositionSide.SHORT, "20", T.plusMinutes(35), T.plusMinutes(50), null),
+                pos(3L, "BTCUSDT", PositionSide.SHORT, "-10", T.plusMinutes(40), T.plusHours(1), null)
+        );
+
+        RiskPattern pattern = sum(RiskContribution.ofAll(positions, Map.of()));
+
+        assertThat(pattern.getEmotionalTradeCount()).isEqualTo(1);
+        assertThat(pattern.getImmediateReverseCount()).isEqualTo(1);
+        assertThat(pattern.getOverconfidentEntryCount()).isZero();
+        assertThat(pattern.getWinCount()).isEqualTo(1);
+        assertThat(pattern.getLossCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("매매일지 수정 전 기여분을 빼고 수정 후 기여분을 더하면 전체 재계산과 같다")
+    void journalEditMatchesRecompute() {
+        TradingJournal journal = TradingJournal.builder().build();
+        Position first = pos(1L, "BTCUSDT", PositionSide.LONG, "-50", T, T.plusMinutes(30), null);
+        Position second = pos(2L, "BTCUSDT", PositionSide.LONG, "30", T.plusMinutes(40), T.plusHours(1), journal);
+        List<Position> positions = List.of(first, second);
+
+        RiskPattern incremental = sum(RiskContribution.ofAll(positions, Map.of()));
+        assertThat(incremental.getEmotionalTradeCount()).isEqualTo(1);
+
+        RiskContribution before = RiskContribution.of(second, List.of(first), List.of());
+        journal.update(null, new BigDecimal("100"), "지지선 반등", null, null, null, null, null, null);
+        RiskContribution after = RiskContribution.of(second, List.of(first), List.of());
+        incremental.apply(before, -1);
+        incremental.apply(after, 1);
+
+        RiskPattern recomputed = sum(RiskContribution.ofAll(positions, Map.of()));
+        assertThat(incremental.mismatches(recomputed)).isEmpty();
+        assertThat(incremental.getEmotionalTradeCount()).isZero();
+        assertThat(incremental.getPlannedWinCount()).isEqualTo(1);
+        assertThat(incremental.getSlTargetCount()).isEqualTo(1);
+    }
+
+    private RiskPattern sum(List<RiskContribution> contributions) {
+        RiskPattern pattern = RiskPattern.builder().build();
+        contributions.forEach(c -> pattern.apply(c, 1));
+        return pattern;
+    }
+
+    private Position pos(long id, String symbol, PositionSide side, String pnl,
+                         LocalDateTime entry, LocalDateTime exit, TradingJournal journal) {
+        return Position.builder()
+                .id(id)
+                .exchangeName(ExchangeName.BYBIT)
+                .symbol(symbol)
+                .side(side)
+                .avgEntryPrice(new BigDecimal("100"))
+                .avgExitPrice(new BigDecimal("101"))
+                .realizedPnl(new BigDecimal(pnl))
+                .entryTime(entry)
+                .exitTime(exit)
+                .status(PositionStatus.CLOSED)
+                .tradingJournal(journal)
+                .build();
+    }
+}
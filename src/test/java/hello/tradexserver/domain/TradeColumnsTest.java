@@ -0,0 +1,136 @@
+package hello.tradexserver.domain;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.MarketCondition;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.domain.enums.PositionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeColumnsTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 1, 15, 10, 0, 0);
+
+    @Test
+    @DisplayName("열 지향 1회 순회 집계는 포지션별 기여분 합산과 전 거래소/거래소별로 같다")
+    void riskMatchesContributions() {
+        List<Position> positions = randomPositions(500);
+
+        TradeColumns columns = TradeColumns.of(positions, Map.of());
+        List<RiskContribution> contributions = RiskContribution.ofAll(positions, Map.of());
+
+        RiskPattern expectedAll = RiskPattern.builder().build();
+        contributions.forEach(c -> expectedAll.apply(c, 1));
+        assertThat(columns.riskPattern(null).mismatches(expectedAll)).isEmpty();
+        assertThat(columns.riskPattern(null).getConsecutiveEntryCount()).isPositive();
+
+        for (ExchangeName exchangeName : List.of(ExchangeName.BYBIT, ExchangeName.BINANCE)) {
+            RiskPattern expected = RiskPattern.builder().exchangeName(exchangeName).build();
+            contributions.stream().filter(c -> c.exchangeName() == exchangeName).forEach(c -> expected.apply(c, 1));
+            assertThat(columns.riskPattern(exchangeName).mismatches(expected)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("전략 조합은 지표 순서와 무관하게 묶이고 매매일지 없는 포지션은 제외한다")
+    void strategyStats() {
+        TradingJournal macdRsi = TradingJournal.builder().indicators(List.of("MACD", "RSI")).build();
+        TradingJournal rsiMacd = TradingJournal.builder().indicators(List.of("RSI", "MACD")).build();
+        List<Position> positions = List.of(
+                pos(ExchangeName.BYBIT, "BTCUSDT", PositionSide.LONG, "30", T, T.plusHours(1), macdRsi),
+                pos(ExchangeName.BYBIT, "BTCUSDT", PositionSide.LONG, "-10", T.plusHours(2), T.plusHours(3), rsiMacd),
+                pos(ExchangeName.BYBIT, "BTCUSDT", PositionSide.LONG, "50", T.plusHours(4), T.plusHours(5), null)
+        );
+
+        List<TradeColumns.StrategyStats> stats = TradeColumns.of(positions, Map.of()).strategyStats();
+
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).key().indicators()).containsExactly("MACD", "RSI");
+        assertThat(stats.get(0).trades()).isEqualTo(2);
+        assertThat(stats.get(0).wins()).isEqualTo(1);
+        assertThat(stats.get(0).pnlSum()).isEqualByComparingTo("20");
+        assertThat(stats.get(0).lossPnlSum()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    @DisplayName("주별 성과 구간은 월요일~일요일로 묶고 연속 승/패를 센다")
+    void weeklyPeriods() {
+        LocalDateTime monday = LocalDateTime.of(2025, 1, 13, 9, 0);
+        List<Position> positions = List.of(
+                pos(ExchangeName.BYBIT, "BTCUSDT", PositionSide.LONG, "10", monday, monday.plusHours(1), null),
+                pos(ExchangeName.BYBIT, "BTCUSDT", PositionSide.LONG, "-5", monday, monday.plusDays(6), null),
+                pos(ExchangeName.BYBIT, "BTCUSDT", PositionSide.LONG, "-5", monday, monday.plusDays(7), null)
+        );
+
+        TradeColumns columns = TradeColumns.of(positions, Map.of());
+        List<TradeColumns.PeriodStats> weeks = columns.periodStats("WEEKLY");
+
+        assertThat(weeks).extracting(TradeColumns.PeriodStats::startDate)
+                .containsExactly(LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 20));
+        assertThat(weeks.get(0).endDate()).isEqualTo(LocalDate.of(2025, 1, 19));
+        assertThat(weeks.get(0).trades()).isEqualTo(2);
+        assertThat(weeks.get(0).pnl()).isEqualByComparingTo("5");
+        assertThat(columns.streakStats().maxLossStreak()).isEqualTo(2);
+        assertThat(columns.streakStats().totalPnl()).isEqualByComparingTo("0");
+    }
+
+    /**
+     * 거래소 2곳 × 심볼 3개, 재진입 간격이 섞인 entryTime ASC 포지션
+     */
+    private List<Position> randomPositions(int count) {
+        Random random = new Random(42);
+        String[] symbols = {"BTCUSDT", "ETHUSDT", "SOLUSDT"};
+        MarketCondition[] conditions = MarketCondition.values();
+        List<Position> positions = new ArrayList<>(count);
+        LocalDateTime entry = T;
+        for (int i = 0; i < count; i++) {
+            entry = entry.plusMinutes(random.nextInt(10));
+            LocalDateTime exit = entry.plusMinutes(1 + random.nextInt(5));
+            TradingJournal journal = random.nextBoolean()
+                    ? TradingJournal.builder().entryReason(random.nextBoolean() ? "돌파" : null).build()
+                    : null;
+            positions.add(Position.builder()
+                    .id((long) i)
+                    .exchangeName(random.nextBoolean() ? ExchangeName.BYBIT : ExchangeName.BINANCE)
+                    .symbol(symbols[random.nextInt(symbols.length)])
+                    .side(random.nextBoolean() ? PositionSide.LONG : PositionSide.SHORT)
+                    .avgEntryPrice(new BigDecimal("100"))
+                    .avgExitPrice(new BigDecimal(95 + random.nextInt(10)))
+                    .stopLossPrice(random.nextBoolean() ? new BigDecimal("97") : null)
+                    .targetPrice(random.nextBoolean() ? new BigDecimal("104") : null)
+                    .realizedPnl(BigDecimal.valueOf(random.nextInt(2001) - 1000, 2))
+                    .entryTime(entry)
+                    .exitTime(exit)
+                    .marketCondition(random.nextInt(4) == 0 ? null : conditions[random.nextInt(conditions.length)])
+                    .status(PositionStatus.CLOSED)
+                    .tradingJournal(journal)
+                    .build());
+        }
+        return positions;
+    }
+
+    private Position pos(ExchangeName exchangeName, String symbol, PositionSide side, String pnl,
+                         LocalDateTime entry, LocalDateTime exit, TradingJournal journal) {
+        return Position.builder()
+                .exchangeName(exchangeName)
+                .symbol(symbol)
+                .side(side)
+                .avgEntryPrice(new BigDecimal("100"))
+                .realizedPnl(new BigDecimal(pnl))
+                .entryTime(entry)
+                .exitTime(exit)
+                .status(PositionStatus.CLOSED)
+                .tradingJournal(journal)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package hello.tradexserver.openApi.mock;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MockAccountTest {
+
+    /**
+     * nextBoolean은 항상 true(매수 오픈), nextDouble은 주어진 순서대로 반환
+     */
+    private static RandomGenerator random(double... doubles) {
+        return new RandomGenerator() {
+            private int index;
+
+            @Override
+            public long nextLong() {
+                return 0;
+            }
+
+            @Override
+            public boolean nextBoolean() {
+                return true;
+            }
+
+            @Override
+            public double nextDouble() {
+                return doubles[index++];
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("오픈 → 추가 → 전량 청산 시 평균 진입가와 청산 손익이 맞게 계산된다")
+    void fill_openAddClose() {
+        MockAccount account = new MockAccount(ExchangeName.BYBIT, "key", 100);
+        RandomGenerator random = random(0.1, 0.9);
+
+        MockAccount.Fill open = account.fill(1, "BTCUSDT", new BigDecimal("100"), new BigDecimal("1"), random, 1000);
+        MockAccount.Fill add = account.fill(2, "BTCUSDT", new BigDecimal("200"), new BigDecimal("1"), random, 2000);
+
+        assertThat(open.buy()).isTrue();
+        assertThat(add.buy()).isTrue();
+        assertThat(add.reduceOnly()).isFalse();
+        assertThat(account.position("BTCUSDT").size()).isEqualByComparingTo("2");
+        assertThat(account.position("BTCUSDT").entryPrice()).isEqualByComparingTo("150");
+
+        MockAccount.Fill close = account.fill(3, "BTCUSDT", new BigDecimal("160"), new BigDecimal("5"), random, 3000);
+
+        assertThat(close.buy()).isFalse();
+        assertThat(close.reduceOnly()).isTrue();
+        assertThat(close.qty()).isEqualByComparingTo("2");
+        assertThat(close.realizedPnl()).isEqualByComparingTo("20");
+        assertThat(account.openPositions()).isEmpty();
+
+        List<MockAccount.ClosedPnl> closed = account.closedPnls(null, null, null, 10);
+        assertThat(closed).hasSize(1);
+        // 20 - 오픈 수수료(100*0.00055 + 200*0.00055) - 청산 수수료(320*0.00055)
+        assertThat(closed.get(0).closedPnl()).isEqualByComparingTo("19.659");
+    }
+
+    @Test
+    @DisplayName("체결 조회는 기간/심볼로 거르고 정렬 방향과 limit를 따른다")
+    void fills_filterAndOrder() {
+        MockAccount account = new MockAccount(ExchangeName.BINANCE, "key", 100);
+        account.fill(1, "BTCUSDT", new BigDecimal("100"), BigDecimal.ONE, random(), 1000);
+        account.fill(2, "ETHUSDT", new BigDecimal("10"), BigDecimal.ONE, random(), 2000);
+        account.fill(3, "BTCUSDT", new BigDecimal("100"), BigDecimal.ONE, random(0.1), 3000);
+        account.fill(4, "BTCUSDT", new BigDecimal("100"), BigDecimal.ONE, random(0.1), 4000);
+
+        assertThat(account.fills("BTCUSDT", null, null, 10, true))
+                .extracting(MockAccount.Fill::orderId).containsExactly(4L, 3L, 1L);
+        assertThat(account.fills("BTCUSDT", 2000L, null, 1, false))
+                .extracting(MockAccount.Fill::orderId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("보관 한도를 넘으면 오래된 체결부터 버린다")
+    void fills_historyLimit() {
+        MockAccount account = new MockAccount(ExchangeName.BYBIT, "key", 2);
+        for (int i = 1; i <= 3; i++) {
+            account.fill(i, "ETHUSDT", new BigDecimal("10"), BigDecimal.ONE, random(0.1), i * 1000L);
+        }
+
+        assertThat(account.fills(null, null, null, 10, false))
+                .extracting(MockAccount.Fill::orderId).containsExactly(2L, 3L);
+    }
+}
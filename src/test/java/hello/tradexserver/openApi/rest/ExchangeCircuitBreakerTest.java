@@ -0,0 +1,152 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeCircuitBreakerProperties;
+import hello.tradexserver.config.ExchangeEndpointProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExchangeCircuitBreakerTest {
+
+    private static final URI BYBIT = URI.create("https://api.bybit.com/v5/order/history");
+    private static final URI BINANCE = URI.create("https://fapi.binance.com/fapi/v1/allOrders");
+
+    private ExchangeCircuitBreakerProperties properties;
+    private ExchangeCircuitBreaker circuitBreaker;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final ClientHttpRequestExecution ok = (request, body) -> {
+        calls.incrementAndGet();
+        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    };
+    private final ClientHttpRequestExecution serverError = (request, body) -> {
+        calls.incrementAndGet();
+        return new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY);
+    };
+    private final ClientHttpRequestExecution timeout = (request, body) -> {
+        calls.incrementAndGet();
+        throw new SocketTimeoutException("Read timed out");
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExchangeCircuitBreakerProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDurationMs(100);
+        properties.setHalfOpenProbes(2);
+        circuitBreaker = new ExchangeCircuitBreaker(properties,
+                new ExchangeEndpointResolver(new ExchangeEndpointProperties()), new SimpleMeterRegistry());
+        circuitBreaker.init();
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 OPEN — 호출 없이 즉시 거절하고 다른 거래소는 영향이 없다")
+    void opensOnFailureRate() throws IOException {
+        call(BYBIT, ok);
+        call(BYBIT, ok);
+        assertThatThrownBy(() -> call(BYBIT, timeout)).isInstanceOf(SocketTimeoutException.class);
+        call(BYBIT, serverError);
+
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isAvailable(ExchangeName.BYBIT)).isFalse();
+
+        int before = calls.get();
+        assertThatThrownBy(() -> call(BYBIT, ok)).isInstanceOf(ExchangeUnavailableException.class);
+        assertThat(calls.get()).isEqualTo(before);
+
+        call(BINANCE, ok);
+        assertThat(circuitBreaker.getState(ExchangeName.BINANCE)).isEqualTo(ExchangeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("차단 시간이 지나면 HALF_OPEN — 시험 호출이 모두 성공하면 CLOSED")
+    void halfOpenProbesClose() throws Exception {
+        openBybit();
+        Thread.sleep(150);
+
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.HALF_OPEN);
+        call(BYBIT, ok);
+        call(BYBIT, ok);
+
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출이 실패하면 다시 OPEN")
+    void halfOpenFailureReopens() throws Exception {
+        openBybit();
+        Thread.sleep(150);
+
+        call(BYBIT, serverError);
+
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.snapshot()).containsKey("BYBIT");
+    }
+
+    @Test
+    @DisplayName("WebClient 시험 호출이 결과 없이 취소되면 자리를 반납해 다음 시험 호출을 허용한다")
+    void cancelledProbeReleased() throws Exception {
+        openBybit();
+        Thread.sleep(150);
+
+        ExchangeFilterFunction filter = circuitBreaker.webClientFilter();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, BYBIT).build();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> filter.filter(request, r -> Mono.never())
+                    .timeout(Duration.ofMillis(50))
+                    .block())
+                    .isInstanceOf(RuntimeException.class);
+        }
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.HALF_OPEN);
+
+        for (int i = 0; i < 2; i++) {
+            filter.filter(request, r -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block();
+        }
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("4xx/429는 실패로 세지 않는다")
+    void clientErrorsAreNotFailures() throws IOException {
+        ClientHttpRequestExecution tooMany = (request, body) ->
+                new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+        for (int i = 0; i < 10; i++) {
+            call(BYBIT, tooMany);
+        }
+
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.CLOSED);
+    }
+
+    private void openBybit() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            call(BYBIT, serverError);
+        }
+        assertThat(circuitBreaker.getState(ExchangeName.BYBIT)).isEqualTo(ExchangeCircuitBreaker.State.OPEN);
+    }
+
+    private void call(URI uri, ClientHttpRequestExecution execution) throws IOException {
+        circuitBreaker.intercept(new MockClientHttpRequest(HttpMethod.GET, uri), new byte[0], execution);
+    }
+}
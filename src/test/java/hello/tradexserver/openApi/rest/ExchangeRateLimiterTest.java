@@ -0,0 +1,91 @@
+package hello.tradexserver.openApi.rest;
+
+import hello.tradexserver.config.ExchangeRateLimitProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExchangeRateLimiterTest {
+
+    private ExchangeRateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ExchangeRateLimitProperties properties = new ExchangeRateLimitProperties();
+        properties.setWeightPerMinute(Map.of(ExchangeName.BINANCE, 10));
+        properties.setIpWeightPerMinute(Map.of(ExchangeName.BINANCE, 100));
+        properties.setMaxWaitMs(0);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new ExchangeRateLimiter(properties, meterRegistry);
+        rateLimiter.init();
+    }
+
+    @Test
+    @DisplayName("키 예산을 다 쓰면 요청을 버리고, 같은 거래소의 다른 키는 영향이 없다")
+    void keyBudget() {
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, 1L, 10)).isTrue();
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, 1L, 5)).isFalse();
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, 2L, 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("키 예산 부족으로 버린 요청은 노드 예산을 돌려준다")
+    void refundIpBudgetOnKeyRejection() {
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, 1L, 10)).isTrue();
+        for (int i = 0; i < 20; i++) {
+            assertThat(rateLimiter.acquire(ExchangeName.BINANCE, 1L, 10)).isFalse();
+        }
+        // 노드 예산 100 중 10만 사용됨 → 공개 API 90 가능
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, null, 90)).isTrue();
+    }
+
+    @Test
+    @DisplayName("예약 후 요청을 보내지 못하면 반환한 weight를 다시 쓸 수 있다")
+    void refundReservation() {
+        assertThat(rateLimiter.reserve(ExchangeName.BINANCE, 1L, 10, 0)).isZero();
+        assertThat(rateLimiter.reserve(ExchangeName.BINANCE, 1L, 10, 0)).isNegative();
+
+        rateLimiter.refund(ExchangeName.BINANCE, 1L, 10);
+
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, 1L, 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("X-MBX-USED-WEIGHT-1M 헤더만큼 노드 예산이 줄어든다")
+    void syncUsedWeightHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-MBX-USED-WEIGHT-1M", "95");
+        rateLimiter.onResponse(ExchangeName.BINANCE, HttpStatus.OK, headers);
+
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, null, 10)).isFalse();
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, null, 5)).isTrue();
+        assertThat(meterRegistry.get("exchange.ratelimit.used.weight").tag("exchange", "binance").gauge().value())
+                .isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("429 응답을 받으면 Retry-After 동안 해당 거래소 요청을 모두 버린다")
+    void backoffOnTooManyRequests() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+        rateLimiter.onResponse(ExchangeName.BINANCE, HttpStatus.TOO_MANY_REQUESTS, headers);
+
+        assertThat(rateLimiter.acquire(ExchangeName.BINANCE, null, 1, 29_000)).isFalse();
+        assertThatThrownBy(() -> rateLimiter.acquireOrThrow(ExchangeName.BINANCE, 1L, 1))
+                .isInstanceOf(ExchangeRateLimitException.class);
+        assertThat(meterRegistry.get("exchange.ratelimit.backoff").tag("status", "429").counter().count())
+                .isEqualTo(1);
+        // 다른 거래소는 영향 없음
+        assertThat(rateLimiter.acquire(ExchangeName.BYBIT, null, 1)).isTrue();
+    }
+}
@@ -0,0 +1,179 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.OrderIngestionProperties;
+import hello.tradexserver.config.OrderIngestionProperties.OverflowPolicy;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Order;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.service.FillLatencyRecorder;
+import hello.tradexserver.service.GapFillException;
+import hello.tradexserver.service.WebSocketOrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestionQueueTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Mock
+    private WebSocketOrderService webSocketOrderService;
+    @Mock
+    private ReconnectCoordinator reconnectCoordinator;
+    @Mock
+    private FillLatencyRecorder fillLatencyRecorder;
+
+    private OrderIngestionQueue queue;
+    private final ExchangeApiKey apiKey = ExchangeApiKey.builder().id(1L).exchangeName(ExchangeName.BYBIT).build();
+    private final List<String> processed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirst = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        OrderIngestionProperties properties = new OrderIngestionProperties();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(OverflowPolicy.GAP_FILL);
+        properties.setBatchMaxSize(1);
+        queue = new OrderIngestionQueue(webSocketOrderService, properties, new SimpleMeterRegistry(),
+                reconnectCoordinator, fillLatencyRecorder);
+
+        // 재연결 보완만 검증하는 테스트에서는 오더 처리 스텁을 쓰지 않는다
+        lenient().doAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            if (processed.isEmpty()) {
+                firstStarted.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            processed.add(order.getExchangeOrderId());
+            return null;
+        }).when(webSocketOrderService).onOrderReceived(any());
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirst.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("큐 초과로 버린 심볼은 gap fill이 끝날 때까지 이후 오더도 큐에 넣지 않는다")
+    void divertUntilGapFilled() throws Exception {
+        overflowBtc();
+
+        // 우회 중인 심볼은 처리되지 않고, 다른 심볼은 그대로 처리
+        queue.onOrderReceived(order("4", "BTCUSDT", T.plusMinutes(4)));
+        queue.onOrderReceived(order("5", "ETHUSDT", T.plusMinutes(5)));
+        awaitProcessed(3);
+        assertThat(processed).containsExactly("1", "2", "5");
+
+        given(webSocketOrderService.fillGap(any(), any())).willReturn(CompletableFuture.completedFuture(null));
+        Runnable gapFill = captureGapFill();
+        gapFill.run();
+        verify(webSocketOrderService).fillGap(apiKey, T.plusMinutes(3));
+
+        queue.onOrderReceived(order("6", "BTCUSDT", T.plusMinutes(6)));
+        awaitProcessed(4);
+        assertThat(processed).containsExactly("1", "2", "5", "6");
+    }
+
+    @Test
+    @DisplayName("gap fill이 실패하면 구간을 되돌려 다음 주기에 재시도하고 우회를 유지한다")
+    void retryFailedGapFill() throws Exception {
+        overflowBtc();
+        given(webSocketOrderService.fillGap(any(), any()))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        Runnable gapFill = captureGapFill();
+        gapFill.run();
+
+        queue.onOrderReceived(order("4", "BTCUSDT", T.plusMinutes(4)));
+        queue.onOrderReceived(order("5", "ETHUSDT", T.plusMinutes(5)));
+        awaitProcessed(3);
+        assertThat(processed).containsExactly("1", "2", "5");
+
+        queue.recoverDroppedOrders();
+        verify(reconnectCoordinator, times(2)).submitGapFill(eq(ExchangeName.BYBIT), eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("재연결 보완의 심볼 조회가 실패하면 조회한 시작 시각부터 복구 대상에 넣어 재시도한다")
+    void retryFailedReconnectGapFill() {
+        given(webSocketOrderService.fillGap(any(), any())).willReturn(CompletableFuture.failedFuture(
+                new GapFillException(T, Set.of("BTCUSDT"), new IllegalStateException("timeout"))));
+
+        queue.onReconnected(apiKey, null);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(reconnectCoordinator).submitGapFill(eq(ExchangeName.BYBIT), eq(1L), captor.capture());
+        captor.getValue().run();
+
+        given(webSocketOrderService.fillGap(any(), any())).willReturn(CompletableFuture.completedFuture(null));
+        queue.recoverDroppedOrders();
+        verify(reconnectCoordinator, times(2)).submitGapFill(eq(ExchangeName.BYBIT), eq(1L), captor.capture());
+        captor.getValue().run();
+        verify(webSocketOrderService).fillGap(apiKey, T);
+    }
+
+    /**
+     * 1번 처리 중 2번이 큐를 채우고 3번은 버려진다. 1, 2번 처리 완료까지 대기
+     */
+    private void overflowBtc() throws InterruptedException {
+        queue.onOrderReceived(order("1", "BTCUSDT", T.plusMinutes(1)));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.onOrderReceived(order("2", "BTCUSDT", T.plusMinutes(2)));
+        queue.onOrderReceived(order("3", "BTCUSDT", T.plusMinutes(3)));
+        releaseFirst.countDown();
+        awaitProcessed(2);
+    }
+
+    private Runnable captureGapFill() {
+        queue.recoverDroppedOrders();
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(reconnectCoordinator).submitGapFill(eq(ExchangeName.BYBIT), eq(1L), captor.capture());
+        return captor.getValue();
+    }
+
+    private void awaitProcessed(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (processed.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // 처리 완료 카운트가 반영될 때까지 잠시 대기
+        Thread.sleep(50);
+    }
+
+    private Order order(String orderId, String symbol, LocalDateTime fillTime) {
+        return Order.builder()
+                .exchangeApiKey(apiKey)
+                .exchangeName(ExchangeName.BYBIT)
+                .exchangeOrderId(orderId)
+                .symbol(symbol)
+                .fillTime(fillTime)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.PositionEventProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.service.PositionTrackingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class PositionEventQueueTest {
+
+    @Mock
+    private PositionTrackingService positionTrackingService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PositionEventQueue queue;
+    private final ExchangeApiKey apiKey = ExchangeApiKey.builder().id(1L).exchangeName(ExchangeName.BINANCE).build();
+    private final List<Integer> delivered = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirst = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        PositionEventProperties properties = new PositionEventProperties();
+        properties.setWorkers(1);
+        queue = new PositionEventQueue(positionTrackingService, properties, meterRegistry);
+        queue.start();
+
+        willAnswer(invocation -> {
+            Position position = invocation.getArgument(0);
+            if (delivered.isEmpty()) {
+                firstStarted.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            delivered.add(position.getLeverage());
+            return null;
+        }).given(positionTrackingService).onPositionUpdate(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirst.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("처리 대기 중인 같은 포지션 이벤트는 최신 것만 전달하고, 보완 작업은 워커에서 실행한다")
+    void coalescePendingUpdates() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Thread> enrichThreads = new CopyOnWriteArrayList<>();
+
+        queue.onPositionUpdate(position(1));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.onPositionUpdate(position(2));
+        queue.onPositionUpdate(position(null), p -> {
+            enrichThreads.add(Thread.currentThread());
+            p.updateLeverage(3);
+            return p;
+        });
+        releaseFirst.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(delivered).containsExactly(1, 3);
+        assertThat(enrichThreads).hasSize(1).doesNotContain(caller);
+        assertThat(meterRegistry.counter("exchange.position.events.coalesced", "exchange", "binance").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기 중인 CLOSED는 이후 UPDATE로 덮어쓰지 않고 먼저 처리한 뒤 최신 UPDATE를 이어서 전달한다")
+    void pendingClosedIsNotOverwritten() throws Exception {
+        // CLOSED는 음수 레버리지로 기록해 순서를 구분
+        willAnswer(invocation -> {
+            Position position = invocation.getArgument(0);
+            delivered.add(-position.getLeverage());
+            return null;
+        }).given(positionTrackingService).onPositionClosed(any());
+
+        queue.onPositionUpdate(position(1));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.onPositionClosed(position(2));
+        queue.onPositionUpdate(position(3));
+        queue.onPositionUpdate(position(4));
+        releaseFirst.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(delivered).containsExactly(1, -2, 4);
+        assertThat(meterRegistry.counter("exchange.position.events.coalesced", "exchange", "binance").count())
+                .isEqualTo(1);
+    }
+
+    private Position position(Integer leverage) {
+        return Position.builder()
+                .exchangeApiKey(apiKey)
+                .symbol("BTCUSDT")
+                .side(PositionSide.LONG)
+                .leverage(leverage)
+                .build();
+    }
+}
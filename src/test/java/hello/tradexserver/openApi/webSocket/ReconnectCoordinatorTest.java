@@ -0,0 +1,90 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.ReconnectProperties;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.openApi.rest.ExchangeCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReconnectCoordinatorTest {
+
+    @Mock
+    private ExchangeWebSocketExecutor webSocketExecutor;
+    @Mock
+    private ExchangeCircuitBreaker circuitBreaker;
+
+    private ReconnectCoordinator coordinator;
+    private final List<Long> executed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReconnectProperties properties = new ReconnectProperties();
+        properties.setBurstPerExchange(1);
+        properties.setPermitsPerSecondPerExchange(0.001);
+        properties.setGlobalBurst(10);
+        coordinator = new ReconnectCoordinator(properties, webSocketExecutor, new SimpleMeterRegistry(), circuitBreaker);
+        coordinator.init();
+        lenient().when(circuitBreaker.isAvailable(any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("거래소별 토큰이 없으면 대기열에 남고, 최근 활동 계정이 먼저 입장한다")
+    void dispatch_prioritizesRecentlyActive() {
+        coordinator.recordActivity(2L);
+        coordinator.submitGapFill(ExchangeName.BYBIT, 1L, () -> executed.add(1L));
+        coordinator.submitGapFill(ExchangeName.BYBIT, 2L, () -> executed.add(2L));
+
+        coordinator.dispatch();
+
+        assertThat(executed).containsExactly(2L);
+        assertThat(coordinator.getBacklogSize(ExchangeName.BYBIT)).isEqualTo(1);
+        assertThat(coordinator.getBacklogSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 거래소의 대기열이 다른 거래소의 입장을 막지 않는다")
+    void dispatch_isolatesExchanges() {
+        coordinator.submitGapFill(ExchangeName.BYBIT, 1L, () -> executed.add(1L));
+        coordinator.submitGapFill(ExchangeName.BYBIT, 2L, () -> executed.add(2L));
+        coordinator.submitGapFill(ExchangeName.BINANCE, 3L, () -> executed.add(3L));
+
+        coordinator.dispatch();
+
+        assertThat(executed).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(coordinator.getBacklogSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("거래소 REST circuit이 열려 있으면 gap fill은 보류하고 재연결만 입장한다")
+    void dispatch_holdsGapFillWhileCircuitOpen() {
+        given(circuitBreaker.isAvailable(ExchangeName.BYBIT)).willReturn(false);
+        coordinator.submitGapFill(ExchangeName.BYBIT, 1L, () -> executed.add(1L));
+        coordinator.scheduleReconnect(ExchangeName.BYBIT, 2L, 0, () -> executed.add(2L));
+        ArgumentCaptor<Runnable> delayed = ArgumentCaptor.forClass(Runnable.class);
+        verify(webSocketExecutor).schedule(delayed.capture(), anyLong(), any(TimeUnit.class));
+        delayed.getValue().run();
+
+        coordinator.dispatch();
+
+        assertThat(executed).containsExactly(2L);
+        assertThat(coordinator.getBacklogSize(ExchangeName.BYBIT)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,60 @@
+package hello.tradexserver.openApi.webSocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ReplayLatencyStatsTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("같은 오더의 부분 체결은 투입 순서대로 각자의 시작 시각으로 지연을 잰다")
+    void partialFills_keepOwnStartTime() {
+        ReplayLatencyStats stats = new ReplayLatencyStats();
+        stats.dispatched("BYBIT:o1", 0);
+        stats.dispatched("BYBIT:o1", 10 * MS);
+
+        stats.processed("BYBIT:o1", 5 * MS);
+        assertThat(stats.getUnfinished()).isEqualTo(1);
+        stats.processed("BYBIT:o1", 30 * MS);
+        // 투입되지 않은 키의 통지는 무시
+        stats.processed("BYBIT:unknown", 40 * MS);
+
+        ReplayLatencyStats.Report report = stats.report(1_000 * MS);
+        assertThat(stats.getUnfinished()).isZero();
+        assertThat(report.processed()).isEqualTo(2);
+        assertThat(report.p50Millis()).isEqualTo(5.0);
+        assertThat(report.maxMillis()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("처리량은 처리 건수/경과 초, 백분위는 nearest-rank")
+    void reportArithmetic() {
+        ReplayLatencyStats stats = new ReplayLatencyStats();
+        for (int i = 1; i <= 100; i++) {
+            stats.dispatched("BINANCE:" + i, 0);
+            stats.processed("BINANCE:" + i, i * MS);
+        }
+
+        ReplayLatencyStats.Report report = stats.report(2_000 * MS);
+
+        assertThat(report.processed()).isEqualTo(100);
+        assertThat(report.fillsPerSecond()).isCloseTo(50.0, within(1e-9));
+        assertThat(report.p50Millis()).isEqualTo(50.0);
+        assertThat(report.p99Millis()).isEqualTo(99.0);
+        assertThat(report.maxMillis()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("처리된 체결이 없으면 모든 지표가 0")
+    void emptyReport() {
+        ReplayLatencyStats.Report report = new ReplayLatencyStats().report(0);
+
+        assertThat(report.processed()).isZero();
+        assertThat(report.fillsPerSecond()).isZero();
+        assertThat(report.p99Millis()).isZero();
+    }
+}
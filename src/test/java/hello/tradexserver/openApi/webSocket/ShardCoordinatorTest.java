@@ -0,0 +1,145 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.config.ShardProperties;
+import hello.tradexserver.event.ShardOwnershipChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ShardCoordinatorTest {
+
+    private static final int SHARDS = 256;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ShardCoordinator coordinator;
+
+    @AfterEach
+    void tearDown() {
+        if (coordinator != null) {
+            coordinator.leave();
+        }
+    }
+
+    @Test
+    @DisplayName("하트비트 실패 직후에는 샤드를 유지하고, 리스가 만료되기 전에 모두 내려놓는다")
+    void heartbeatFailure_fencesBeforeLeaseExpiry() throws Exception {
+        ShardProperties properties = new ShardProperties();
+        properties.setEnabled(true);
+        properties.setShardCount(4);
+        properties.setNodeId("node-a");
+        properties.setLeaseTtlMs(600);
+        properties.setHeartbeatIntervalMs(100);
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTimeout(Duration.ofMillis(100));
+
+        // 스텁은 하트비트 스레드가 돌기 전에 모두 등록하고, 장애는 플래그로 전환
+        AtomicBoolean redisDown = new AtomicBoolean();
+        AtomicLong lastHeartbeatAt = new AtomicLong();
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.add(anyString(), anyString(), anyDouble())).willAnswer(invocation -> {
+            if (redisDown.get()) throw new IllegalStateException("redis down");
+            lastHeartbeatAt.set(System.currentTimeMillis());
+            return true;
+        });
+        given(zSetOperations.range(anyString(), anyLong(), anyLong())).willReturn(Set.of("node-a"));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L);
+
+        coordinator = new ShardCoordinator(properties, redisTemplate, listenerContainer, eventPublisher,
+                new SimpleMeterRegistry(), redisProperties);
+        coordinator.init();
+        assertThat(coordinator.join()).hasSize(4);
+
+        redisDown.set(true);
+        coordinator.heartbeat();
+        assertThat(coordinator.owns(1L)).isTrue();
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (coordinator.owns(1L) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        long fencedAt = System.currentTimeMillis();
+
+        // 마지막으로 갱신한 리스(lastHeartbeatAt + TTL 이후 만료)가 끝나기 전에 내려놓았어야 한다
+        assertThat(coordinator.owns(1L)).isFalse();
+        assertThat(fencedAt).isLessThan(lastHeartbeatAt.get() + properties.getLeaseTtlMs());
+        verify(eventPublisher, timeout(1000)).publishEvent(argThat((Object event) ->
+                event instanceof ShardOwnershipChangedEvent changed && changed.getLost().size() == 4));
+    }
+
+    @Test
+    @DisplayName("노드가 추가되면 새 노드로 넘어가는 샤드만 이동한다")
+    void ownerOf_nodeJoin_movesOnlyToNewNode() {
+        List<String> before = List.of("node-a", "node-b");
+        List<String> after = List.of("node-a", "node-b", "node-c");
+
+        int moved = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            String oldOwner = ShardCoordinator.ownerOf(shard, before);
+            String newOwner = ShardCoordinator.ownerOf(shard, after);
+            if (!oldOwner.equals(newOwner)) {
+                assertThat(newOwner).isEqualTo("node-c");
+                moved++;
+            }
+        }
+        assertThat(moved).isPositive().isLessThan(SHARDS);
+    }
+
+    @Test
+    @DisplayName("노드 목록 순서와 무관하게 같은 담당자를 정하고, 모든 노드가 샤드를 나눠 갖는다")
+    void ownerOf_deterministicAndSpread() {
+        List<String> nodes = List.of("node-a", "node-b", "node-c", "node-d");
+        List<String> reversed = List.of("node-d", "node-c", "node-b", "node-a");
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            String owner = ShardCoordinator.ownerOf(shard, nodes);
+            assertThat(ShardCoordinator.ownerOf(shard, reversed)).isEqualTo(owner);
+            counts.merge(owner, 1, Integer::sum);
+        }
+        assertThat(counts).containsOnlyKeys(nodes);
+    }
+}
@@ -0,0 +1,77 @@
+package hello.tradexserver.openApi.webSocket;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.tradexserver.openApi.webSocket.dto.BinanceOrderUpdateData;
+import hello.tradexserver.openApi.webSocket.dto.BitgetOrderData;
+import hello.tradexserver.openApi.webSocket.dto.BybitOrderData;
+import hello.tradexserver.openApi.webSocket.dto.WebSocketFrame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSocketFrameDecoderTest {
+
+    private final WebSocketFrameDecoder decoder = new WebSocketFrameDecoder(new ObjectMapper());
+
+    @Test
+    @DisplayName("Bybit order 프레임 - topic으로 data를 한 번에 DTO 리스트로 바인딩")
+    void decode_bybitOrder() throws Exception {
+        JavaType orderListType = decoder.listType(BybitOrderData.class);
+        String message = "{\"id\":\"1\",\"topic\":\"order\",\"creationTime\":1700000000000,"
+                + "\"data\":[{\"orderId\":\"abc\",\"symbol\":\"BTCUSDT\",\"orderStatus\":\"Filled\"}]}";
+
+        WebSocketFrame frame = decoder.decode(message,
+                (field, f) -> "data".equals(field) && "order".equals(f.getTopic()) ? orderListType : null);
+
+        List<BybitOrderData> data = frame.getPayload();
+        assertThat(frame.getTopic()).isEqualTo("order");
+        assertThat(data).hasSize(1);
+        assertThat(data.get(0).getOrderId()).isEqualTo("abc");
+        assertThat(data.get(0).getOrderStatus()).isEqualTo("Filled");
+    }
+
+    @Test
+    @DisplayName("Bitget 프레임 - arg.channel/action을 읽고 제어 응답의 숫자 code도 문자열로 읽는다")
+    void decode_bitgetChannelAndControl() throws Exception {
+        JavaType orderListType = decoder.listType(BitgetOrderData.class);
+        WebSocketFrameDecoder.PayloadTypeResolver resolver =
+                (field, f) -> "data".equals(field) && "orders".equals(f.getChannel()) ? orderListType : null;
+
+        WebSocketFrame data = decoder.decode("{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\","
+                + "\"channel\":\"orders\",\"instId\":\"default\"},\"data\":[{\"orderId\":\"9\",\"status\":\"filled\"}],"
+                + "\"ts\":1}", resolver);
+        WebSocketFrame login = decoder.decode("{\"event\":\"login\",\"code\":0,\"msg\":\"\"}", resolver);
+
+        assertThat(data.getAction()).isEqualTo("snapshot");
+        assertThat(data.getChannel()).isEqualTo("orders");
+        assertThat(data.<List<BitgetOrderData>>getPayload()).extracting(BitgetOrderData::getOrderId)
+                .containsExactly("9");
+        assertThat(login.getEvent()).isEqualTo("login");
+        assertThat(login.getCode()).isEqualTo("0");
+        assertThat(login.<Object>getPayload()).isNull();
+    }
+
+    @Test
+    @DisplayName("Binance 프레임 - 이벤트 타입(e)이 payload 뒤에 와도 바인딩한다")
+    void decode_binanceDeferredPayload() throws Exception {
+        JavaType orderType = decoder.type(BinanceOrderUpdateData.class);
+        String message = "{\"E\":1700000000002,\"T\":1700000000001,"
+                + "\"o\":{\"s\":\"ETHUSDT\",\"S\":\"SELL\",\"X\":\"FILLED\",\"i\":42,\"R\":true,\"z\":\"0.5\"},"
+                + "\"e\":\"ORDER_TRADE_UPDATE\"}";
+
+        WebSocketFrame frame = decoder.decode(message,
+                (field, f) -> "o".equals(field) && "ORDER_TRADE_UPDATE".equals(f.getEvent()) ? orderType : null);
+
+        BinanceOrderUpdateData order = frame.getPayload();
+        assertThat(frame.getTransactionTime()).isEqualTo(1700000000001L);
+        assertThat(order.getSymbol()).isEqualTo("ETHUSDT");
+        assertThat(order.getSide()).isEqualTo("SELL");
+        assertThat(order.getOrderId()).isEqualTo(42L);
+        assertThat(order.isReduceOnly()).isTrue();
+        assertThat(order.getCumulativeFilledQty()).isEqualTo("0.5");
+    }
+}
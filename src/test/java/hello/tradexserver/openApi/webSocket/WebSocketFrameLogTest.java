@@ -0,0 +1,56 @@
+package hello.tradexserver.openApi.webSocket;
+
+import hello.tradexserver.domain.enums.ExchangeName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSocketFrameLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Writer로 기록한 프레임을 Reader가 순서대로 그대로 읽고 끝에서 null을 반환")
+    void roundTrip() throws Exception {
+        Path file = dir.resolve("capture.bin.gz");
+        WebSocketFrameLog.Frame first = new WebSocketFrameLog.Frame(1_000L, ExchangeName.BYBIT, 1L, 10L, "{\"topic\":\"order\"}");
+        WebSocketFrameLog.Frame second = new WebSocketFrameLog.Frame(2_500L, ExchangeName.BINANCE, 2L, 20L, "{\"e\":\"체결\"}");
+
+        try (WebSocketFrameLog.Writer writer = new WebSocketFrameLog.Writer(file)) {
+            writer.write(first);
+            writer.write(second);
+        }
+
+        try (WebSocketFrameLog.Reader reader = new WebSocketFrameLog.Reader(file)) {
+            assertThat(reader.next()).isEqualTo(first);
+            assertThat(reader.next()).isEqualTo(second);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("비정상 종료로 gzip trailer가 없어도 flush까지 기록된 프레임은 읽힌다")
+    void readFlushedWithoutClose() throws Exception {
+        Path file = dir.resolve("capture.bin.gz");
+        Path copy = dir.resolve("crashed.bin.gz");
+        WebSocketFrameLog.Frame frame = new WebSocketFrameLog.Frame(1_000L, ExchangeName.BITGET, 3L, 30L, "{\"arg\":{}}");
+
+        try (WebSocketFrameLog.Writer writer = new WebSocketFrameLog.Writer(file)) {
+            writer.write(frame);
+            writer.flush();
+            // close 전에 복사 → 프로세스가 죽은 시점의 파일
+            Files.copy(file, copy);
+        }
+
+        try (WebSocketFrameLog.Reader reader = new WebSocketFrameLog.Reader(copy)) {
+            assertThat(reader.next()).isEqualTo(frame);
+            assertThat(reader.next()).isNull();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.config.AnalysisCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AnalysisResultCache cache;
+    private final AtomicInteger computeCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        AnalysisCacheProperties properties = new AnalysisCacheProperties();
+        properties.setRedisEnabled(false);
+        cache = new AnalysisResultCache(null, null, null, properties, meterRegistry, event -> {});
+        cache.init();
+    }
+
+    @Test
+    @DisplayName("같은 파라미터는 로컬 캐시에서 응답하고 파라미터가 다르면 새로 계산한다")
+    void localHit() {
+        assertThat(cache.get("risk", 1L, String.class, this::compute, "BYBIT")).isEqualTo("r1");
+        assertThat(cache.get("risk", 1L, String.class, this::compute, "BYBIT")).isEqualTo("r1");
+        assertThat(cache.get("risk", 1L, String.class, this::compute, (Object) null)).isEqualTo("r2");
+
+        assertThat(meterRegistry.counter("analysis.cache.requests", "name", "risk", "result", "local").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사용자 무효화 후에는 다시 계산하고 다른 사용자 결과는 유지한다")
+    void evictUser() {
+        cache.get("risk", 1L, String.class, this::compute);
+        cache.get("risk", 2L, String.class, this::compute);
+
+        cache.evictUser(1L);
+
+        assertThat(cache.get("risk", 1L, String.class, this::compute)).isEqualTo("r3");
+        assertThat(cache.get("risk", 2L, String.class, this::compute)).isEqualTo("r2");
+    }
+
+    @Test
+    @DisplayName("계산 도중 무효화된 결과는 저장하지 않는다")
+    void discardStaleResult() {
+        String stale = cache.get("risk", 1L, String.class, () -> {
+            cache.evictUser(1L);
+            return compute();
+        });
+
+        assertThat(stale).isEqualTo("r1");
+        assertThat(cache.get("risk", 1L, String.class, this::compute)).isEqualTo("r2");
+        assertThat(meterRegistry.counter("analysis.cache.discarded", "name", "risk").count()).isEqualTo(1);
+    }
+
+    private String compute() {
+        return "r" + computeCount.incrementAndGet();
+    }
+}
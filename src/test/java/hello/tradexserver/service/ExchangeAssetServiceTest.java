@@ -0,0 +1,129 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.config.ExchangeHttpProperties;
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.enums.ExchangeName;
+import hello.tradexserver.openApi.rest.ExchangeFactory;
+import hello.tradexserver.openApi.rest.ExchangeUnavailableException;
+import hello.tradexserver.openApi.rest.ReactiveExchangeRestClient;
+import hello.tradexserver.openApi.rest.dto.CoinBalanceDto;
+import hello.tradexserver.openApi.rest.dto.WalletBalanceResponse;
+import hello.tradexserver.repository.ExchangeApiKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeAssetServiceTest {
+
+    @Mock
+    private ExchangeApiKeyRepository exchangeApiKeyRepository;
+    @Mock
+    private ExchangeFactory exchangeFactory;
+
+    private ExchangeAssetService exchangeAssetService;
+
+    // 논블로킹 잔고 조회는 Bybit만 구현 — Binance 키는 조회 대상에서 빠져야 한다
+    private final ExchangeApiKey mainKey = ExchangeApiKey.builder().id(1L).exchangeName(ExchangeName.BYBIT).build();
+    private final ExchangeApiKey subKey = ExchangeApiKey.builder().id(2L).exchangeName(ExchangeName.BYBIT).build();
+    private final ExchangeApiKey binanceKey = ExchangeApiKey.builder().id(3L).exchangeName(ExchangeName.BINANCE).build();
+
+    @BeforeEach
+    void setUp() {
+        ExchangeHttpProperties properties = new ExchangeHttpProperties();
+        properties.setFanOutTimeoutMs(500);
+        exchangeAssetService = new ExchangeAssetService(exchangeApiKeyRepository, exchangeFactory, properties);
+        given(exchangeApiKeyRepository.findActiveByUserId(1L)).willReturn(List.of(mainKey, subKey, binanceKey));
+        given(exchangeFactory.findReactiveExchangeService(ExchangeName.BINANCE)).willReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("API Key별 조회는 동시에 진행되어 가장 느린 조회 시간만큼만 걸린다")
+    void fanOutConcurrently() {
+        stubBybit(Map.of(
+                1L, () -> balance("100", "USDT").delayElement(Duration.ofMillis(400)),
+                2L, () -> balance("50", "BTC").delayElement(Duration.ofMillis(400))));
+
+        long start = System.nanoTime();
+        WalletBalanceResponse response = exchangeAssetService.getAggregatedWalletBalance(1L);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(response.getTotalEquity()).isEqualByComparingTo("150");
+        assertThat(response.getCoins()).extracting(CoinBalanceDto::getCoin)
+                .containsExactlyInAnyOrder("USDT", "BTC");
+        assertThat(elapsedMs).isLessThan(700);
+    }
+
+    @Test
+    @DisplayName("타임아웃/실패한 조회는 제외하고 나머지 합계를 반환한다")
+    void partialResult() {
+        stubBybit(Map.of(
+                1L, () -> balance("100", "USDT"),
+                2L, Mono::never));
+
+        BigDecimal totalAsset = exchangeAssetService.getTotalAsset(1L);
+
+        assertThat(totalAsset).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("조회에 실패한 API Key는 마지막으로 성공한 잔고로 대체한다")
+    void lastKnownFallback() {
+        stubBybit(Map.of(
+                1L, () -> balance("100", "USDT"),
+                2L, () -> balance("50", "BTC")));
+        exchangeAssetService.getTotalAsset(1L);
+
+        stubBybit(Map.of(
+                1L, () -> balance("100", "USDT"),
+                2L, () -> Mono.error(new ExchangeUnavailableException(ExchangeName.BYBIT, "open"))));
+
+        assertThat(exchangeAssetService.getTotalAsset(1L)).isEqualByComparingTo("150");
+    }
+
+    @Test
+    @DisplayName("논블로킹 잔고 조회를 구현하지 않은 거래소의 키는 조회하지 않고 합계에서 제외한다")
+    void skipUnsupportedExchange() {
+        stubBybit(Map.of(
+                1L, () -> balance("100", "USDT"),
+                2L, () -> balance("50", "BTC")));
+
+        assertThat(exchangeAssetService.getTotalAsset(1L)).isEqualByComparingTo("150");
+        assertThat(exchangeAssetService.getAggregatedWalletBalance(1L).getCoins())
+                .extracting(CoinBalanceDto::getCoin)
+                .containsExactlyInAnyOrder("USDT", "BTC");
+        verify(exchangeFactory, times(2)).findReactiveExchangeService(ExchangeName.BINANCE);
+    }
+
+    private void stubBybit(Map<Long, Supplier<Mono<WalletBalanceResponse>>> responses) {
+        ReactiveExchangeRestClient client = key -> responses.get(key.getId()).get();
+        given(exchangeFactory.findReactiveExchangeService(ExchangeName.BYBIT)).willReturn(Optional.of(client));
+    }
+
+    private Mono<WalletBalanceResponse> balance(String equity, String coin) {
+        return Mono.just(WalletBalanceResponse.builder()
+                .totalEquity(new BigDecimal(equity))
+                .coins(List.of(CoinBalanceDto.builder()
+                        .coin(coin)
+                        .walletBalance(new BigDecimal(equity))
+                        .usdValue(new BigDecimal(equity))
+                        .build()))
+                .build());
+    }
+}
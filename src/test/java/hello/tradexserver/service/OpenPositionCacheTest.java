@@ -0,0 +1,171 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.ExchangeApiKey;
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.domain.enums.PositionStatus;
+import hello.tradexserver.repository.PositionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class OpenPositionCacheTest {
+
+    private static final Long API_KEY_ID = 1L;
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    private OpenPositionCache cache;
+
+    private final Position position = Position.builder()
+            .id(10L)
+            .exchangeApiKey(ExchangeApiKey.builder().id(API_KEY_ID).build())
+            .symbol("BTCUSDT")
+            .side(PositionSide.LONG)
+            .entryTime(LocalDateTime.of(2025, 1, 15, 10, 0))
+            .status(PositionStatus.OPEN)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cache = new OpenPositionCache(positionRepository, new SimpleMeterRegistry());
+        cache.initMetrics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("커밋 전 생성은 같은 트랜잭션에서만 보이고 커밋 후 공유된다")
+    void visibleAfterCommit() throws Exception {
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willReturn(List.of());
+        cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG);
+
+        begin();
+        cache.onOpened(position);
+
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).contains(10L);
+        assertThat(onOtherThread(() -> cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG))).isEmpty();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).contains(10L);
+    }
+
+    @Test
+    @DisplayName("롤백된 생성은 반영하지 않는다")
+    void discardOnRollback() {
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willReturn(List.of());
+        cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG);
+
+        begin();
+        cache.onOpened(position);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 도중 재적재해도 커밋된 포지션이 캐시에서 사라지지 않는다")
+    void reloadDuringTransaction() throws Exception {
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willReturn(List.of());
+
+        begin();
+        cache.onOpened(position);
+        // 다른 스레드(재연결)의 재적재 — DB에는 아직 커밋 전 포지션이 없다
+        onOtherThread(() -> {
+            cache.reload(API_KEY_ID);
+            return null;
+        });
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willReturn(List.of(position));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).contains(10L);
+    }
+
+    @Test
+    @DisplayName("적재 도중 커밋된 변경이 있으면 적재 결과를 인덱스에 넣지 않는다")
+    void discardLoadOverlappingCommit() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willAnswer(invocation -> {
+            loading.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        CompletableFuture<Optional<Long>> load = CompletableFuture.supplyAsync(
+                () -> cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG));
+        loading.await(5, TimeUnit.SECONDS);
+
+        begin();
+        cache.onOpened(position);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        committed.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEmpty();
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willReturn(List.of(position));
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).contains(10L);
+    }
+
+    @Test
+    @DisplayName("같은 트랜잭션에서 종료한 포지션은 즉시 보이지 않고 커밋 후 인덱스에서 제거된다")
+    void closeInTransaction() {
+        given(positionRepository.findAllOpenByApiKeyId(API_KEY_ID)).willReturn(List.of(position));
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).contains(10L);
+
+        begin();
+        cache.onClosed(position);
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).isEmpty();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.findOpenId(API_KEY_ID, "BTCUSDT", PositionSide.LONG)).isEmpty();
+    }
+
+    private void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    /**
+     * AbstractPlatformTransactionManager와 같은 순서 — 동기화 해제 후 afterCompletion 호출
+     */
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    private <T> T onOtherThread(Callable<T> task) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,79 @@
+package hello.tradexserver.service;
+
+import hello.tradexserver.domain.Position;
+import hello.tradexserver.domain.PositionLedgerEvent;
+import hello.tradexserver.domain.PositionSnapshot;
+import hello.tradexserver.domain.enums.LedgerEventType;
+import hello.tradexserver.domain.enums.PositionSide;
+import hello.tradexserver.domain.enums.PositionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionLedgerStateTest {
+
+    private final LocalDateTime NOW = LocalDateTime.now();
+
+    @Test
+    @DisplayName("원장 재생 결과가 Position 도메인 메서드 적용 결과와 일치한다")
+    void replay_matchesPositionDomainMethods() {
+        Position position = Position.builder()
+                .symbol("BTCUSDT").side(PositionSide.LONG)
+                .avgEntryPrice(new BigDecimal("40000")).currentSize(new BigDecimal("0.3"))
+                .openFee(new BigDecimal("1.2"))
+                .entryTime(NOW).status(PositionStatus.OPEN)
+                .build();
+        position.addEntry(new BigDecimal("41234.5"), new BigDecimal("0.7"), new BigDecimal("2.8"));
+        position.addPartialClose(new BigDecimal("42000"), new BigDecimal("0.4"),
+                new BigDecimal("1.6"), new BigDecimal("311.3"));
+        position.addPartialClose(new BigDecimal("42100.1"), new BigDecimal("0.6"),
+                null, new BigDecimal("497.03"));
+        position.completeClose(NOW.plusHours(1));
+
+        PositionLedgerState state = PositionLedgerState.empty();
+        state.apply(event(1, LedgerEventType.OPEN, "40000", "0.3", "1.2", null));
+        state.apply(event(2, LedgerEventType.ENTRY, "41234.5", "0.7", "2.8", null));
+        state.apply(event(3, LedgerEventType.PARTIAL_CLOSE, "42000", "0.4", "1.6", "311.3"));
+        state.apply(event(4, LedgerEventType.CLOSE, "42100.1", "0.6", null, "497.03"));
+
+        assertThat(state.matches(position)).isTrue();
+        assertThat(state.getSequence()).isEqualTo(4);
+        assertThat(state.getStatus()).isEqualTo(PositionStatus.CLOSED);
+    }
+
+    @Test
+    @DisplayName("스냅샷에서 시작하면 이후 이벤트만 적용한다")
+    void replay_fromSnapshot() {
+        PositionSnapshot snapshot = PositionSnapshot.builder()
+                .sequence(50L)
+                .avgEntryPrice(new BigDecimal("100")).currentSize(new BigDecimal("2"))
+                .openFee(new BigDecimal("0.5"))
+                .status(PositionStatus.OPEN)
+                .build();
+
+        PositionLedgerState state = PositionLedgerState.from(snapshot);
+        state.apply(event(51, LedgerEventType.ENTRY, "130", "1", "0.25", null));
+
+        assertThat(state.getSequence()).isEqualTo(51);
+        assertThat(state.getAvgEntryPrice()).isEqualByComparingTo("110");
+        assertThat(state.getCurrentSize()).isEqualByComparingTo("3");
+        assertThat(state.getOpenFee()).isEqualByComparingTo("0.75");
+    }
+
+    private PositionLedgerEvent event(long sequence, LedgerEventType type,
+                                      String price, String qty, String fee, String pnl) {
+        return PositionLedgerEvent.builder()
+                .sequence(sequence)
+                .eventType(type)
+                .price(new BigDecimal(price))
+                .quantity(new BigDecimal(qty))
+                .fee(fee != null ? new BigDecimal(fee) : null)
+                .realizedPnl(pnl != null ? new BigDecimal(pnl) : null)
+                .eventTime(NOW.plusHours(1))
+                .build();
+    }
+}
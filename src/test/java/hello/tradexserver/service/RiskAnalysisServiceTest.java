@@ -8,6 +8,7 @@ import hello.tradexserver.domain.enums.PositionSide;
 import hello.tradexserver.dto.response.risk.RiskAnalysisResponse;
 import hello.tradexserver.repository.OrderRepository;
 import hello.tradexserver.repository.PositionRepository;
+import hello.tradexserver.repository.RiskPatternRepository;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -44,6 +45,9 @@ class RiskAnalysisServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private RiskPatternRepository riskPatternRepository;
+
     private static final Long USER_ID = 1L;
     private static final LocalDateTime T = LocalDateTime.of(2025, 1, 15, 10, 0, 0);
 
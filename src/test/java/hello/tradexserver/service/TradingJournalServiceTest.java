@@ -45,6 +45,8 @@ class TradingJournalServiceTest {
     @Mock private OrderRepository orderRepository;
     @Mock private TradingPrincipleRepository tradingPrincipleRepository;
     @Mock private TradingPrincipleCheckRepository tradingPrincipleCheckRepository;
+    @Mock private RiskPatternService riskPatternService;
+    @Mock private AnalysisResultCache analysisResultCache;
 
     @InjectMocks private TradingJournalService tradingJournalService;
 